@@ -505,6 +505,8 @@ public final class Game {
       RenderComponent.configurePipeline();
 
       gameLoop = new GameLoop("Main Update Loop", config().client().getMaxFps());
+      gameLoop.setParallelUpdate(config().client().parallelUpdate());
+      world().emitters().setParallelism(config().client().getEmitterThreads());
       loop().attach(physics());
       loop().attach(world());
 
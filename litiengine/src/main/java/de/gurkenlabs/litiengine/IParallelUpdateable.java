@@ -0,0 +1,31 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * The {@code IParallelUpdateable} interface marks an {@link IUpdateable} whose {@code update()} procedure may be called on a worker thread,
+ * concurrently to the updates of other parallel updateables.
+ *
+ * <p>
+ * This only has an effect if the parallel update phase of the loop is enabled. In that case, all regular updateables are updated sequentially on
+ * the loop thread first. Afterwards, the parallel updateables are updated on a fork-join pool and the loop waits for all of them to finish before
+ * it proceeds, e.g. with rendering the frame.
+ * </p>
+ *
+ * <p>
+ * Updateables that share state which is not thread-safe can still be updated in parallel to others by returning the same partition: All
+ * updateables of a partition are updated sequentially on the same thread.
+ * </p>
+ *
+ * @see UpdateLoop#setParallelUpdate(boolean)
+ */
+public interface IParallelUpdateable extends IUpdateable {
+
+  /**
+   * Gets the partition of this instance. Instances with equal partitions are never updated concurrently. The partition must not change while this
+   * instance is attached to a loop.
+   *
+   * @return The partition of this instance; by default, the instance itself, which means that it is thread-safe with regard to all other updateables.
+   */
+  default Object getUpdatePartition() {
+    return this;
+  }
+}
@@ -1,7 +1,14 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -13,14 +20,24 @@ import de.gurkenlabs.litiengine.util.TimeUtilities;
  * The {@code UpdateLoop} is a basic loop implementation that performs operations at the specified {@code tickRate} by
  * continuously processing the registered logic and delaying the loop until the requested rate is met.
  *
+ * <p>
+ * Optionally, the loop can update all attached {@link IParallelUpdateable} instances concurrently on a fork-join pool.
+ * </p>
+ *
  * @see #process()
  * @see #delay()
+ * @see #setParallelUpdate(boolean)
  */
 public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
   private final Set<IUpdateable> updatables = ConcurrentHashMap.newKeySet();
   private final Lock lock = new ReentrantLock();
 
+  private volatile boolean parallelUpdate;
+  private volatile boolean partitionsChanged = true;
+  private List<List<IUpdateable>> partitions = List.of();
+  private ForkJoinPool pool;
+
   private int tickRate;
 
   private long totalTicks;
@@ -74,6 +91,9 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   @Override
   public void terminate() {
     this.interrupt();
+    if (this.pool != null) {
+      this.pool.shutdown();
+    }
   }
 
   @Override
@@ -89,12 +109,19 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
     if (!this.updatables.add(updatable)) {
       log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] {updatable});
+      return;
+    }
+
+    if (updatable instanceof IParallelUpdateable) {
+      this.partitionsChanged = true;
     }
   }
 
   @Override
   public void detach(final IUpdateable updatable) {
-    this.updatables.remove(updatable);
+    if (this.updatables.remove(updatable) && updatable instanceof IParallelUpdateable) {
+      this.partitionsChanged = true;
+    }
   }
 
   @Override
@@ -126,6 +153,27 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
     this.tickRate = tickRate;
   }
 
+  /**
+   * Determines whether the attached {@link IParallelUpdateable} instances are updated concurrently.
+   *
+   * @return True if the parallel update phase is enabled; otherwise false.
+   */
+  public boolean isParallelUpdate() {
+    return this.parallelUpdate;
+  }
+
+  /**
+   * Enables or disables the parallel update phase. If enabled, the attached {@link IParallelUpdateable} instances are updated on a fork-join pool
+   * after all other instances have been updated sequentially. The update of a tick only completes once all of them are finished. If disabled, all
+   * instances are updated sequentially on the thread of this loop.
+   *
+   * @param parallelUpdate
+   *          True to enable the parallel update phase; false to disable it.
+   */
+  public void setParallelUpdate(boolean parallelUpdate) {
+    this.parallelUpdate = parallelUpdate;
+  }
+
   protected Set<IUpdateable> getUpdatables() {
     return this.updatables;
   }
@@ -148,18 +196,17 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
    * @see IUpdateable#update()
    */
   protected void update() {
+    final boolean parallel = this.isParallelUpdate();
     for (IUpdateable updatable : this.getUpdatables()) {
-      try {
-        if (updatable != null) {
-          updatable.update();
-        }
-      } catch (final Exception e) {
-        if (Game.config().client().exitOnError()) {
-          throw e;
-        }
-
-        log.log(Level.SEVERE, e.getMessage(), e);
+      if (parallel && updatable instanceof IParallelUpdateable) {
+        continue;
       }
+
+      update(updatable);
+    }
+
+    if (parallel) {
+      this.updateParallel();
     }
   }
 
@@ -197,4 +244,94 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   public Lock getLock() {
     return this.lock;
   }
+
+  private static void update(IUpdateable updatable) {
+    try {
+      if (updatable != null) {
+        updatable.update();
+      }
+    } catch (final Exception e) {
+      if (Game.config().client().exitOnError()) {
+        throw e;
+      }
+
+      log.log(Level.SEVERE, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Updates the partitions of the attached {@code IParallelUpdateable} instances on the fork-join pool and waits for all of them to finish. If an
+   * update fails while the client is configured to exit on errors, the remaining instances of the partition are skipped and the first exception is
+   * rethrown on the thread of this loop once all other partitions are finished.
+   */
+  private void updateParallel() {
+    if (this.partitionsChanged) {
+      this.partitionsChanged = false;
+      this.partitions = this.createPartitions();
+    }
+
+    if (this.partitions.isEmpty()) {
+      return;
+    }
+
+    if (this.pool == null) {
+      this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    final AtomicReference<RuntimeException> error = new AtomicReference<>();
+    this.pool.invoke(new PartitionUpdate(this.partitions, 0, this.partitions.size(), error));
+    if (error.get() != null) {
+      throw error.get();
+    }
+  }
+
+  private List<List<IUpdateable>> createPartitions() {
+    final Map<Object, List<IUpdateable>> partitionsByKey = new LinkedHashMap<>();
+    for (IUpdateable updatable : this.getUpdatables()) {
+      if (updatable instanceof IParallelUpdateable parallelUpdatable) {
+        partitionsByKey.computeIfAbsent(parallelUpdatable.getUpdatePartition(), key -> new ArrayList<>()).add(updatable);
+      }
+    }
+
+    return List.copyOf(partitionsByKey.values());
+  }
+
+  /**
+   * Splits the partitions recursively so that idle workers can steal the updates of the remaining partitions.
+   */
+  private static class PartitionUpdate extends RecursiveAction {
+    private final transient List<List<IUpdateable>> partitions;
+    private final int from;
+    private final int to;
+    private final transient AtomicReference<RuntimeException> error;
+
+    private PartitionUpdate(List<List<IUpdateable>> partitions, int from, int to, AtomicReference<RuntimeException> error) {
+      this.partitions = partitions;
+      this.from = from;
+      this.to = to;
+      this.error = error;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > 1) {
+        final int middle = (this.from + this.to) >>> 1;
+        invokeAll(new PartitionUpdate(this.partitions, this.from, middle, this.error),
+            new PartitionUpdate(this.partitions, middle, this.to, this.error));
+        return;
+      }
+
+      for (IUpdateable updatable : this.partitions.get(this.from)) {
+        try {
+          update(updatable);
+        } catch (final RuntimeException e) {
+          if (!this.error.compareAndSet(null, e)) {
+            this.error.get().addSuppressed(e);
+          }
+
+          return;
+        }
+      }
+    }
+  }
 }
@@ -18,6 +18,10 @@ public class ClientConfiguration extends ConfigurationGroup {
 
   private boolean exitOnError;
 
+  private boolean parallelUpdate;
+
+  private int emitterThreads;
+
   /**
    * Constructs a new ClientConfiguration with default settings.
    */
@@ -26,6 +30,8 @@ public class ClientConfiguration extends ConfigurationGroup {
     this.setMaxFps(60);
     this.setShowGameMetrics(false);
     this.setExitOnError(false);
+    this.setParallelUpdate(false);
+    this.setEmitterThreads(0);
 
     this.setLanguage(Locale.getDefault().getLanguage());
     this.setCountry(Locale.getDefault().getCountry());
@@ -132,4 +138,42 @@ public class ClientConfiguration extends ConfigurationGroup {
   public boolean exitOnError() {
     return this.exitOnError;
   }
+
+  /**
+   * Sets whether the game loop updates the attached {@code IParallelUpdateable} instances concurrently.
+   *
+   * @param parallelUpdate true to enable the parallel update phase, false to update all instances sequentially.
+   * @see de.gurkenlabs.litiengine.UpdateLoop#setParallelUpdate(boolean)
+   */
+  public void setParallelUpdate(boolean parallelUpdate) {
+    this.set("parallelUpdate", parallelUpdate);
+  }
+
+  /**
+   * Checks if the game loop updates the attached {@code IParallelUpdateable} instances concurrently.
+   *
+   * @return true if the parallel update phase is enabled, false otherwise.
+   */
+  public boolean parallelUpdate() {
+    return this.parallelUpdate;
+  }
+
+  /**
+   * Sets the number of worker threads that update the particles of the emitters in the current environment.
+   *
+   * @param emitterThreads the number of worker threads or 0 to update each emitter on the loop thread.
+   * @see de.gurkenlabs.litiengine.graphics.emitters.EmitterSystem#setParallelism(int)
+   */
+  public void setEmitterThreads(int emitterThreads) {
+    this.set("emitterThreads", Math.max(0, emitterThreads));
+  }
+
+  /**
+   * Gets the number of worker threads that update the particles of the emitters in the current environment.
+   *
+   * @return the number of worker threads or 0 if each emitter is updated on the loop thread.
+   */
+  public int getEmitterThreads() {
+    return this.emitterThreads;
+  }
 }
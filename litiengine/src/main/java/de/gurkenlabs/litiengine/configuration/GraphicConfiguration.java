@@ -31,6 +31,10 @@ public class GraphicConfiguration extends ConfigurationGroup {
 
   private Java2DPipeline java2DPipeline;
 
+  private boolean cacheTileLayers;
+
+  private int tileLayerCacheSize;
+
   /**
    * Constructs a new GraphicConfiguration with default settings.
    */
@@ -46,6 +50,8 @@ public class GraphicConfiguration extends ConfigurationGroup {
     this.setAntiAliasing(false);
     this.setColorInterpolation(false);
     this.setJava2DPipeline(Java2DPipeline.OPENGL);
+    this.setCacheTileLayers(true);
+    this.setTileLayerCacheSize(128);
   }
 
 
@@ -237,4 +243,43 @@ public class GraphicConfiguration extends ConfigurationGroup {
   public void setJava2DPipeline(Java2DPipeline pipeline) {
     this.set("java2DPipeline", pipeline);
   }
+
+  /**
+   * Checks if tile layers are pre-rendered into cached chunks instead of being rendered tile by tile each frame. This is enabled by
+   * default. The chunks of a map are released once its environment is unloaded; their total memory is bounded by
+   * {@link #getTileLayerCacheSize()}.
+   *
+   * @return true if tile layer caching is enabled, false otherwise.
+   */
+  public boolean cacheTileLayers() {
+    return cacheTileLayers;
+  }
+
+  /**
+   * Sets whether tile layers are pre-rendered into cached chunks.
+   *
+   * @param cacheTileLayers true to enable tile layer caching, false to disable.
+   */
+  public void setCacheTileLayers(boolean cacheTileLayers) {
+    this.set("cacheTileLayers", cacheTileLayers);
+  }
+
+  /**
+   * Gets the maximum amount of memory in megabytes that is used for cached tile layer chunks.
+   *
+   * @return the tile layer cache size in megabytes.
+   */
+  public int getTileLayerCacheSize() {
+    return tileLayerCacheSize;
+  }
+
+  /**
+   * Sets the maximum amount of memory in megabytes that is used for cached tile layer chunks. Chunks that have not been rendered for the
+   * longest time are discarded first once this limit is exceeded. The default is 128 MB.
+   *
+   * @param tileLayerCacheSize the tile layer cache size in megabytes.
+   */
+  public void setTileLayerCacheSize(int tileLayerCacheSize) {
+    this.set("tileLayerCacheSize", tileLayerCacheSize);
+  }
 }
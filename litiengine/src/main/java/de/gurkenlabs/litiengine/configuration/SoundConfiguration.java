@@ -7,12 +7,18 @@ public class SoundConfiguration extends ConfigurationGroup {
 
   private float soundVolume;
 
+  private boolean softwareMixer;
+
+  private int maxVoices;
+
   /**
    * Constructs a new SoundConfiguration with default volume settings.
    */
   SoundConfiguration() {
     this.setSoundVolume(0.5f);
     this.setMusicVolume(0.5f);
+    this.setSoftwareMixer(false);
+    this.setMaxVoices(32);
   }
 
   /**
@@ -50,4 +56,41 @@ public class SoundConfiguration extends ConfigurationGroup {
   public void setSoundVolume(final float soundVolume) {
     this.set("soundVolume", soundVolume);
   }
+
+  /**
+   * Checks if sound effects are mixed in software and played on a single output line.
+   *
+   * @return true if the software mixer is used, false if each sound effect is played on its own line.
+   */
+  public boolean softwareMixer() {
+    return this.softwareMixer;
+  }
+
+  /**
+   * Sets whether sound effects are mixed in software and played on a single output line.
+   *
+   * @param softwareMixer true to use the software mixer, false to play each sound effect on its own line.
+   * @see de.gurkenlabs.litiengine.sound.SoundMixer
+   */
+  public void setSoftwareMixer(final boolean softwareMixer) {
+    this.set("softwareMixer", softwareMixer);
+  }
+
+  /**
+   * Gets the maximum number of sound effects that are mixed at the same time by the software mixer.
+   *
+   * @return the maximum number of voices.
+   */
+  public int getMaxVoices() {
+    return this.maxVoices;
+  }
+
+  /**
+   * Sets the maximum number of sound effects that are mixed at the same time by the software mixer.
+   *
+   * @param maxVoices the new maximum number of voices.
+   */
+  public void setMaxVoices(final int maxVoices) {
+    this.set("maxVoices", Math.max(1, maxVoices));
+  }
 }
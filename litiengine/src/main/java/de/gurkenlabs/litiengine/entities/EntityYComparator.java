@@ -14,20 +14,21 @@ public class EntityYComparator implements Comparator<IEntity> {
 
   @Override
   public int compare(final IEntity m1, final IEntity m2) {
-    ICollisionEntity coll1 = null;
-    ICollisionEntity coll2 = null;
-    if (m1 instanceof ICollisionEntity ice1) {
-      coll1 = ice1;
-    }
+    return Double.compare(getSortY(m1), getSortY(m2));
+  }
 
-    if (m2 instanceof ICollisionEntity ice2) {
-      coll2 = ice2;
+  /**
+   * Gets the y-coordinate by which the specified entity is sorted, which is the max y-coordinate of its collision box (if its a
+   * {@code ICollisionEntity}) or of its bounding box.
+   *
+   * @param entity The entity to get the sort coordinate for.
+   * @return The y-coordinate that determines the render order of the entity.
+   */
+  public static double getSortY(final IEntity entity) {
+    if (entity instanceof ICollisionEntity collisionEntity) {
+      return collisionEntity.getCollisionBox().getMaxY();
     }
 
-    final double m1MaxY =
-      coll1 != null ? coll1.getCollisionBox().getMaxY() : m1.getBoundingBox().getMaxY();
-    final double m2MaxY =
-      coll2 != null ? coll2.getCollisionBox().getMaxY() : m2.getBoundingBox().getMaxY();
-    return Double.compare(m1MaxY, m2MaxY);
+    return entity.getBoundingBox().getMaxY();
   }
 }
@@ -44,6 +44,22 @@ public class LightSource extends Entity implements IRenderable {
     RECTANGLE
   }
 
+  /**
+   * Enum representing the algorithm that computes the static shadows of a light source.
+   */
+  public enum ShadowMode {
+    /**
+     * Each static shadow is extruded away from the light, which allows for the directional shadow types of {@link StaticShadow}.
+     * Rectangular lights are not occluded in this mode.
+     */
+    EXTRUSION,
+    /**
+     * The light is limited to its visibility polygon, i.e. the area that can be seen from its center without looking through a static
+     * shadow. This yields correct occlusion of overlapping shadows and applies to elliptic and rectangular lights.
+     */
+    VISIBILITY
+  }
+
   /** Message identifier used to toggle this light source via the engine's messaging system. */
   public static final String TOGGLE_MESSAGE = "toggle";
   /** Default light intensity used when none is specified. */
@@ -70,6 +86,12 @@ public class LightSource extends Entity implements IRenderable {
   @TmxProperty(name = MapObjectProperty.LIGHT_SHAPE)
   private Type lightShapeType;
 
+  @TmxProperty(name = MapObjectProperty.LIGHT_SHADOW_MODE)
+  private ShadowMode shadowMode = ShadowMode.EXTRUSION;
+
+  @TmxProperty(name = MapObjectProperty.LIGHT_DYNAMIC)
+  private boolean dynamic;
+
   private Color color;
   private Shape lightShape;
 
@@ -167,6 +189,25 @@ public class LightSource extends Entity implements IRenderable {
     return lightShapeType;
   }
 
+  /**
+   * Gets the algorithm that computes the static shadows of this light source.
+   *
+   * @return the shadow mode
+   */
+  public ShadowMode getShadowMode() {
+    return shadowMode;
+  }
+
+  /**
+   * Returns whether the light source is dynamic, i.e. composited into the ambient light each frame instead of being rendered into its
+   * cached layer.
+   *
+   * @return {@code true} if dynamic
+   */
+  public boolean isDynamic() {
+    return dynamic;
+  }
+
   /**
    * Returns whether the light source is currently active.
    *
@@ -205,6 +246,33 @@ public class LightSource extends Entity implements IRenderable {
     this.lightShapeType = shapeType;
   }
 
+  /**
+   * Sets the algorithm that computes the static shadows of this light source and refreshes the affected ambient layers.
+   *
+   * @param shadowMode the new shadow mode
+   */
+  public void setShadowMode(final ShadowMode shadowMode) {
+    this.shadowMode = shadowMode;
+    updateAmbientLayers();
+  }
+
+  /**
+   * Sets whether the light source is dynamic. Moving a static light source re-renders the ambient light around it, whereas dynamic light
+   * sources are composited from a pre-rendered sprite each frame, which is much cheaper for lights that move constantly, e.g. a torch
+   * carried by the player. Dynamic light sources are not occluded by static shadows.
+   *
+   * @param dynamic {@code true} to composite the light source each frame
+   */
+  public void setDynamic(final boolean dynamic) {
+    if (this.dynamic == dynamic) {
+      return;
+    }
+
+    this.dynamic = dynamic;
+    // adds the light to or removes it from the cached ambient light layer
+    refreshAmbientLayers(getBoundingBox());
+  }
+
 
   @Override public void setSize(double width, double height) {
     Rectangle2D previousBounds = new Rectangle2D.Double(getX(), getY(), getWidth(), getHeight());
@@ -259,6 +327,13 @@ public class LightSource extends Entity implements IRenderable {
   }
 
   private void updateAmbientLayers(Rectangle2D section) {
+    // dynamic lights are not part of the cached layers
+    if (!isDynamic()) {
+      refreshAmbientLayers(section);
+    }
+  }
+
+  private void refreshAmbientLayers(Rectangle2D section) {
     if (!isLoaded()) {
       return;
     }
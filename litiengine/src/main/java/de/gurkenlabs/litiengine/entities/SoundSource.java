@@ -172,6 +172,9 @@ public class SoundSource extends Entity {
    */
   public void setRange(int range) {
     this.range = range;
+    if (this.getEnvironment() != null) {
+      this.getEnvironment().updateSoundSource(this);
+    }
   }
 
   /**
@@ -11,6 +11,7 @@ import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -385,7 +386,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
       return;
     }
 
-    final List<IEntity> collEntities = this.getEntitiesInCollisionBox();
+    final Collection<IEntity> collEntities = this.getEntitiesInCollisionBox();
     for (final IEntity ent : collEntities) {
       if (this.collisionActivated.contains(ent)) {
         continue;
@@ -499,16 +500,16 @@ public class Trigger extends CollisionEntity implements IUpdateable {
   }
 
   /**
-   * Retrieves a list of entities that are in collision with this entity's collision box.
+   * Retrieves the entities that are in collision with this entity's collision box. Only the entities near the trigger are tested,
+   * because the candidates are looked up in the broad phase of the physics engine.
    *
-   * @return a list of entities that intersect with this trigger's collision box
+   * @return the entities that intersect with this trigger's collision box, in the order of their registration on the physics engine
    */
-  private List<IEntity> getEntitiesInCollisionBox() {
-    final List<IEntity> collEntities = new CopyOnWriteArrayList<>();
-    for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
+  private Collection<IEntity> getEntitiesInCollisionBox() {
+    final Collection<IEntity> collEntities = new LinkedHashSet<>();
+    for (final ICollisionEntity coll : Game.physics().getCollisionEntities(this.getCollisionBox())) {
       if (coll != this && coll.canCollideWith(this) &&
-        (activators.isEmpty() || activators.contains(coll.getMapId())) &&
-        coll.getCollisionBox().intersects(getCollisionBox())) {
+        (activators.isEmpty() || activators.contains(coll.getMapId()))) {
         collEntities.add(coll);
       }
     }
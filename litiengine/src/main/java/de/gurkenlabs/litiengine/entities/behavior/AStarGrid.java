@@ -11,7 +11,11 @@ import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EventListener;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents an A* grid used for pathfinding.
@@ -28,10 +32,16 @@ public class AStarGrid implements IRenderable {
    * The penalty value assigned to nodes that have non-walkable neighboring nodes.
    */
   public static final double PENALTY_NOT_WALKABLE_NEIGHBOR = 4;
+  /**
+   * The maximum number of neighbors that a single node can have.
+   */
+  public static final int MAX_NEIGHBORS = 8;
 
+  private final Collection<NodesUpdatedListener> nodesUpdatedListeners = ConcurrentHashMap.newKeySet();
   private final AStarNode[][] grid;
   private final int nodeSize;
   private final Dimension size;
+  private final AtomicLong modificationCount = new AtomicLong();
 
   private boolean allowDiagonalMovement = true;
   private boolean allowCuttingCorners;
@@ -62,6 +72,96 @@ public class AStarGrid implements IRenderable {
     this.populateGrid(gridSizeX, gridSizeY);
   }
 
+  /**
+   * Constructs a copy of the specified grid.
+   *
+   * @param source The grid to copy.
+   */
+  private AStarGrid(final AStarGrid source) {
+    this.size = new Dimension(source.size);
+    this.nodeSize = source.nodeSize;
+    this.allowDiagonalMovement = source.allowDiagonalMovement;
+    this.allowCuttingCorners = source.allowCuttingCorners;
+    this.grid = new AStarNode[source.grid.length][];
+    for (int x = 0; x < source.grid.length; x++) {
+      this.grid[x] = new AStarNode[source.grid[x].length];
+      for (int y = 0; y < source.grid[x].length; y++) {
+        final AStarNode node = source.grid[x][y];
+        final AStarNode copy = new AStarNode(node.isWalkable(), new Rectangle(node.getBounds()), x, y);
+        copy.setPenalty(node.getPenalty());
+        copy.setGrid(this);
+        this.grid[x][y] = copy;
+      }
+    }
+  }
+
+  /**
+   * Creates a copy of this grid that reflects the current walkable state and penalties of all nodes. Subsequent changes to this grid don't affect the
+   * snapshot, which allows finding paths on another thread while the game continues to update this grid.
+   *
+   * @return A snapshot of this grid.
+   */
+  public AStarGrid snapshot() {
+    return new AStarGrid(this);
+  }
+
+  /**
+   * Checks whether the walkable state and penalties of all nodes as well as the movement options of this grid equal the ones of the specified grid.
+   *
+   * @param other The grid to compare with.
+   * @return True if both grids would yield the same paths; otherwise false.
+   */
+  public boolean hasSameState(final AStarGrid other) {
+    if (other == null || other.nodeSize != this.nodeSize || other.grid.length != this.grid.length
+      || other.allowDiagonalMovement != this.allowDiagonalMovement || other.allowCuttingCorners != this.allowCuttingCorners) {
+      return false;
+    }
+
+    for (int x = 0; x < this.grid.length; x++) {
+      if (other.grid[x].length != this.grid[x].length) {
+        return false;
+      }
+
+      for (int y = 0; y < this.grid[x].length; y++) {
+        final AStarNode node = this.grid[x][y];
+        final AStarNode otherNode = other.grid[x][y];
+        if (node.isWalkable() != otherNode.isWalkable() || node.getPenalty() != otherNode.getPenalty()) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets the number of modifications of this grid, which is increased whenever the walkable state or the penalty of one of its nodes or its
+   * movement options change. Comparing this number is much cheaper than comparing the state of all nodes with {@link #hasSameState(AStarGrid)}.
+   *
+   * @return The number of modifications of this grid.
+   */
+  public long getModificationCount() {
+    return this.modificationCount.get();
+  }
+
+  /**
+   * Adds the specified listener that is notified when the walkable state of nodes is updated via {@link #updateWalkable(Rectangle2D)}.
+   *
+   * @param listener The listener to add.
+   */
+  public void onNodesUpdated(final NodesUpdatedListener listener) {
+    this.nodesUpdatedListeners.add(listener);
+  }
+
+  /**
+   * Removes the specified nodes updated listener.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeNodesUpdatedListener(final NodesUpdatedListener listener) {
+    this.nodesUpdatedListeners.remove(listener);
+  }
+
   /**
    * Checks if diagonal movement is allowed in the grid.
    *
@@ -123,7 +223,26 @@ public class AStarGrid implements IRenderable {
    * @return A list of neighboring A* nodes.
    */
   public List<AStarNode> getNeighbors(final AStarNode node) {
-    final List<AStarNode> newNeighbors = new ArrayList<>();
+    final AStarNode[] buffer = new AStarNode[MAX_NEIGHBORS];
+    final int count = this.getNeighbors(node, buffer);
+
+    final List<AStarNode> newNeighbors = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      newNeighbors.add(buffer[i]);
+    }
+
+    return newNeighbors;
+  }
+
+  /**
+   * Writes the neighboring A* nodes for the specified node to the provided buffer instead of allocating a new list. The neighbors are provided in
+   * the same order as by {@link #getNeighbors(AStarNode)}.
+   *
+   * @param node      The node for which to get the neighbors.
+   * @param neighbors The buffer that receives the neighbors; must be able to hold at least {@link #MAX_NEIGHBORS} nodes.
+   * @return The number of neighbors that were written to the buffer.
+   */
+  public int getNeighbors(final AStarNode node, final AStarNode[] neighbors) {
     final int x = node.getGridX();
     final int y = node.getGridY();
 
@@ -132,23 +251,24 @@ public class AStarGrid implements IRenderable {
     final AStarNode left = this.getNode(x - 1, y);
     final AStarNode right = this.getNode(x + 1, y);
 
-    addNode(newNeighbors, top);
-    addNode(newNeighbors, bottom);
-    addNode(newNeighbors, right);
-    addNode(newNeighbors, left);
+    int count = 0;
+    count = addNode(neighbors, count, top);
+    count = addNode(neighbors, count, bottom);
+    count = addNode(neighbors, count, right);
+    count = addNode(neighbors, count, left);
 
     if (this.isDiagonalMovementAllowed()) {
       final AStarNode topLeft = this.getNode(x - 1, y - 1);
       final AStarNode topRight = this.getNode(x + 1, y - 1);
       final AStarNode bottomLeft = this.getNode(x - 1, y + 1);
       final AStarNode bottomRight = this.getNode(x + 1, y + 1);
-      this.addDiagonalNode(newNeighbors, topLeft, top, left);
-      this.addDiagonalNode(newNeighbors, topRight, top, right);
-      this.addDiagonalNode(newNeighbors, bottomLeft, bottom, left);
-      this.addDiagonalNode(newNeighbors, bottomRight, bottom, right);
+      count = this.addDiagonalNode(neighbors, count, topLeft, top, left);
+      count = this.addDiagonalNode(neighbors, count, topRight, top, right);
+      count = this.addDiagonalNode(neighbors, count, bottomLeft, bottom, left);
+      count = this.addDiagonalNode(neighbors, count, bottomRight, bottom, right);
     }
 
-    return newNeighbors;
+    return count;
   }
 
   /**
@@ -226,7 +346,10 @@ public class AStarGrid implements IRenderable {
    * @param allowDiagonalMovement True to allow diagonal movement; otherwise false.
    */
   public void setAllowDiagonalMovement(final boolean allowDiagonalMovement) {
-    this.allowDiagonalMovement = allowDiagonalMovement;
+    if (this.allowDiagonalMovement != allowDiagonalMovement) {
+      this.allowDiagonalMovement = allowDiagonalMovement;
+      this.modified();
+    }
   }
 
   /**
@@ -235,7 +358,10 @@ public class AStarGrid implements IRenderable {
    * @param allowCuttingCorners True to allow cutting corners; otherwise false.
    */
   public void setAllowCuttingCorners(final boolean allowCuttingCorners) {
-    this.allowCuttingCorners = allowCuttingCorners;
+    if (this.allowCuttingCorners != allowCuttingCorners) {
+      this.allowCuttingCorners = allowCuttingCorners;
+      this.modified();
+    }
   }
 
   /**
@@ -244,9 +370,30 @@ public class AStarGrid implements IRenderable {
    * @param rectangle The rectangle within which the nodes should be updated.
    */
   public void updateWalkable(final Rectangle2D rectangle) {
-    for (final AStarNode node : this.getIntersectedNodes(rectangle)) {
+    final List<AStarNode> nodes = this.getIntersectedNodes(rectangle);
+    for (final AStarNode node : nodes) {
       node.setWalkable(!Game.physics().collides(node.getBounds(), Collision.STATIC));
     }
+
+    if (nodes.isEmpty() || this.nodesUpdatedListeners.isEmpty()) {
+      return;
+    }
+
+    // the intersected nodes are ordered, so the first and the last one span the updated area
+    final AStarNode first = nodes.getFirst();
+    final AStarNode last = nodes.getLast();
+    final Rectangle updated = new Rectangle(first.getGridX(), first.getGridY(), last.getGridX() - first.getGridX() + 1,
+      last.getGridY() - first.getGridY() + 1);
+    for (final NodesUpdatedListener listener : this.nodesUpdatedListeners) {
+      listener.nodesUpdated(this, updated);
+    }
+  }
+
+  /**
+   * Increases the modification count of this grid. This is called by its nodes when their walkable state or penalty changes.
+   */
+  void modified() {
+    this.modificationCount.incrementAndGet();
   }
 
   /**
@@ -283,31 +430,41 @@ public class AStarGrid implements IRenderable {
   }
 
   /**
-   * Adds the specified node to the list of neighbors if it is walkable.
+   * Adds the specified node to the buffer of neighbors if it is walkable.
    *
-   * @param neighbors The list of neighboring A* nodes.
-   * @param node      The A* node to be added to the neighbors list.
+   * @param neighbors The buffer of neighboring A* nodes.
+   * @param count     The number of neighbors that are already in the buffer.
+   * @param node      The A* node to be added to the neighbors buffer.
+   * @return The new number of neighbors in the buffer.
    */
-  private static void addNode(final List<AStarNode> neighbors, AStarNode node) {
+  private static int addNode(final AStarNode[] neighbors, final int count, AStarNode node) {
     if (node != null && node.isWalkable()) {
-      neighbors.add(node);
+      neighbors[count] = node;
+      return count + 1;
     }
+
+    return count;
   }
 
   /**
-   * Adds the specified diagonal node to the list of neighbors if it is walkable and not on a corner.
+   * Adds the specified diagonal node to the buffer of neighbors if it is walkable and not on a corner.
    *
-   * @param neighbors         The list of neighboring A* nodes.
-   * @param node              The diagonal A* node to be added to the neighbors list.
+   * @param neighbors         The buffer of neighboring A* nodes.
+   * @param count             The number of neighbors that are already in the buffer.
+   * @param node              The diagonal A* node to be added to the neighbors buffer.
    * @param diagonalNeighbor1 The first neighboring node to check for corner condition.
    * @param diagonalNeighbor2 The second neighboring node to check for corner condition.
+   * @return The new number of neighbors in the buffer.
    */
-  private void addDiagonalNode(final List<AStarNode> neighbors, AStarNode node, AStarNode diagonalNeighbor1, AStarNode diagonalNeighbor2) {
+  private int addDiagonalNode(final AStarNode[] neighbors, final int count, AStarNode node, AStarNode diagonalNeighbor1, AStarNode diagonalNeighbor2) {
     // only add diagonal neighbors when they are not on a corner
     if (node != null && this.isDiagonalCornerMovementAllowed()
       || node != null && diagonalNeighbor1 != null && diagonalNeighbor1.isWalkable() && diagonalNeighbor2 != null && diagonalNeighbor2.isWalkable()) {
-      neighbors.add(node);
+      neighbors[count] = node;
+      return count + 1;
     }
+
+    return count;
   }
 
   /**
@@ -357,8 +514,23 @@ public class AStarGrid implements IRenderable {
         final Rectangle nodeBounds = new Rectangle(x * this.nodeSize, y * this.nodeSize, this.nodeSize, this.nodeSize);
         final AStarNode node = new AStarNode(!Game.physics().collides(nodeBounds, Collision.STATIC), nodeBounds, x, y);
         this.assignPenalty(node);
+        node.setGrid(this);
         this.getGrid()[x][y] = node;
       }
     }
   }
+
+  /**
+   * This listener interface receives events when the walkable state of nodes of an {@link AStarGrid} has been updated.
+   */
+  @FunctionalInterface
+  public interface NodesUpdatedListener extends EventListener {
+    /**
+     * Invoked after the walkable state of the nodes within the specified area has been updated.
+     *
+     * @param grid  The grid whose nodes have been updated.
+     * @param nodes The area of the updated nodes in grid coordinates.
+     */
+    void nodesUpdated(AStarGrid grid, Rectangle nodes);
+  }
 }
@@ -16,6 +16,7 @@ public class AStarNode {
   private double penalty;
   private AStarNode predecessor;
   private boolean walkable;
+  private AStarGrid grid;
 
   /**
    * Constructs a new AStarNode with the specified properties.
@@ -164,7 +165,12 @@ public class AStarNode {
    * @param penalty The penalty cost to set.
    */
   public void setPenalty(final double penalty) {
+    if (this.penalty == penalty) {
+      return;
+    }
+
     this.penalty = penalty;
+    this.modified();
   }
 
   /**
@@ -182,7 +188,27 @@ public class AStarNode {
    * @param walkable True if the node is walkable, false otherwise.
    */
   public void setWalkable(final boolean walkable) {
+    if (this.walkable == walkable) {
+      return;
+    }
+
     this.walkable = walkable;
+    this.modified();
+  }
+
+  /**
+   * Sets the grid that contains this node and is notified when the walkable state or the penalty of this node changes.
+   *
+   * @param grid The grid that contains this node.
+   */
+  void setGrid(final AStarGrid grid) {
+    this.grid = grid;
+  }
+
+  private void modified() {
+    if (this.grid != null) {
+      this.grid.modified();
+    }
   }
 
   /**
@@ -4,20 +4,37 @@ import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import java.awt.Dimension;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 
 /**
  * A pathfinder implementation based on the A* algorithm. The A* algorithm is used to find the shortest path between two points on a grid, taking into
  * account obstacles and walkable areas.
+ *
+ * <p>The pathfinder does not modify the costs or predecessors of the grid's {@link AStarNode}s, so a single instance can be used to find paths for
+ * multiple entities concurrently.</p>
  */
 public class AStarPathFinder extends PathFinder {
+  private static final int NOT_FOUND = -1;
+
+  // the number of idle search states that are kept for reuse; concurrent searches beyond this allocate their own
+  private static final int MAX_POOLED_CONTEXTS = Runtime.getRuntime().availableProcessors();
 
   private final AStarGrid grid;
+  private final int rows;
+  private final int nodeCount;
+  // shared with the fallback pathfinder of a JumpPointSearchPathFinder
+  final Deque<SearchContext> contexts;
+  private volatile int lastExpandedNodes;
 
   /**
    * Instantiates a new A* pathfinder with a predefined grid.
@@ -25,7 +42,22 @@ public class AStarPathFinder extends PathFinder {
    * @param grid the grid used for pathfinding
    */
   public AStarPathFinder(AStarGrid grid) {
+    this(grid, new ArrayDeque<>());
+  }
+
+  /**
+   * Instantiates a new A* pathfinder that borrows its search states from the specified pool, which may be shared with other pathfinders of the same
+   * grid.
+   *
+   * @param grid     the grid used for pathfinding
+   * @param contexts the pool of idle search states
+   */
+  AStarPathFinder(AStarGrid grid, Deque<SearchContext> contexts) {
     this.grid = grid;
+    final AStarNode[][] nodes = grid.getGrid();
+    this.rows = nodes == null || nodes.length == 0 ? 0 : nodes[0].length;
+    this.nodeCount = nodes == null ? 0 : nodes.length * this.rows;
+    this.contexts = contexts;
   }
 
   /**
@@ -35,7 +67,7 @@ public class AStarPathFinder extends PathFinder {
    * @param gridNodeSize the size of each grid node
    */
   public AStarPathFinder(Dimension size, int gridNodeSize) {
-    this.grid = new AStarGrid(size, gridNodeSize);
+    this(new AStarGrid(size, gridNodeSize));
   }
 
   /**
@@ -73,6 +105,27 @@ public class AStarPathFinder extends PathFinder {
       return this.findDirectPath(startLocation, target);
     }
 
+    return this.findGridPath(startLocation, target);
+  }
+
+  /**
+   * Gets the grid used by this A* pathfinder.
+   *
+   * @return the grid used for pathfinding
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Finds a path between the specified locations on the grid without checking whether a direct path is possible. This only reads the grid, so it can
+   * be called from any thread.
+   *
+   * @param startLocation the start point of the path
+   * @param target        the target point of the path
+   * @return the calculated path, or null if no path can be found
+   */
+  protected Path findGridPath(final Point2D startLocation, final Point2D target) {
     final AStarNode startNode = this.getGrid().getNode(startLocation);
     AStarNode targetNode = this.getGrid().getNode(target);
     if (startNode.equals(targetNode) || targetNode == null) {
@@ -103,146 +156,209 @@ public class AStarPathFinder extends PathFinder {
   }
 
   /**
-   * Gets the grid used by this A* pathfinder.
+   * Finds the path from the start node to the target node using the A* algorithm.
    *
-   * @return the grid used for pathfinding
+   * <p>The search state (costs, predecessors, open and closed sets) is kept in primitive arrays that are indexed by the position of a node in the grid.
+   * It is borrowed from a small pool for the duration of a search and reused by later searches. Instead of resetting this state after each search, every search uses a new generation stamp and
+   * treats all entries of older generations as unvisited. The {@link AStarNode} instances of the grid are only read, so several entities can search
+   * paths on the same grid concurrently.</p>
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   * @return the calculated path, or null if no path is found
    */
-  public AStarGrid getGrid() {
-    return this.grid;
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    final SearchContext context = this.borrowContext();
+    try {
+      final int target = this.search(context, startNode, targetNode, null);
+      return target == NOT_FOUND ? null : this.retracePath(context, this.indexOf(startNode), target);
+    } finally {
+      this.releaseContext(context);
+    }
   }
 
   /**
-   * Finds the path from the start node to the target node using the A* algorithm. Opens and closes nodes during the process to determine the shortest
-   * path.
+   * Finds the path from the start node to the target node using the A* algorithm without leaving the specified region of the grid.
    *
    * @param startNode  the starting node of the path
    * @param targetNode the target node of the path
-   * @return the calculated path, or null if no path is found
+   * @param region     the region of the grid in grid coordinates that may be traversed, or null to search the whole grid
+   * @return all nodes of the path including the start and the target node, or null if no path is found
    */
-  private Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
-    final List<AStarNode> opened = new ArrayList<>();
-    final List<AStarNode> closed = new ArrayList<>();
-    opened.add(startNode);
+  protected List<AStarNode> findNodePath(AStarNode startNode, AStarNode targetNode, Rectangle region) {
+    final SearchContext context = this.borrowContext();
+    try {
+      final int target = this.search(context, startNode, targetNode, region);
+      if (target == NOT_FOUND) {
+        return null;
+      }
+
+      final int start = this.indexOf(startNode);
+      final List<AStarNode> nodes = new ArrayList<>();
+      for (int current = target; current != start; current = context.getPredecessor(current)) {
+        nodes.add(this.getNode(current));
+      }
+
+      nodes.add(startNode);
+      Collections.reverse(nodes);
+      return nodes;
+    } finally {
+      this.releaseContext(context);
+    }
+  }
 
-    while (!opened.isEmpty()) {
-      // after the first iteration, this will also contained the newly found neighbors that were
-      // added in the last iteration
-      AStarNode currentNode = findNodeWithLowestCost(opened);
+  /**
+   * Calculates the costs of the cheapest paths from the start node to each of the specified nodes without leaving the specified region of the grid.
+   *
+   * @param startNode   the starting node of the paths
+   * @param targetNodes the nodes to which the costs are calculated
+   * @param region      the region of the grid in grid coordinates that may be traversed, or null to search the whole grid
+   * @return the costs for each target node in the same order; {@link Double#POSITIVE_INFINITY} for nodes that cannot be reached
+   */
+  protected double[] findCosts(AStarNode startNode, AStarNode[] targetNodes, Rectangle region) {
+    final SearchContext context = this.borrowContext();
+    try {
+      // without a target, the search explores the whole region
+      this.search(context, startNode, null, region);
+
+      final double[] costs = new double[targetNodes.length];
+      for (int i = 0; i < targetNodes.length; i++) {
+        final int target = this.indexOf(targetNodes[i]);
+        costs[i] = context.isClosed(target) ? context.getGCost(target) : Double.POSITIVE_INFINITY;
+      }
+
+      return costs;
+    } finally {
+      this.releaseContext(context);
+    }
+  }
+
+  /**
+   * Searches the grid from the start node until the target node is reached or all reachable nodes have been closed.
+   *
+   * @return the index of the target node, or {@link #NOT_FOUND} if it could not be reached
+   */
+  private int search(SearchContext context, AStarNode startNode, AStarNode targetNode, Rectangle region) {
+    context.begin();
+    context.open(this.indexOf(startNode), 0, 0);
 
-      // add node to closed list after checking it
-      opened.remove(currentNode);
-      closed.add(currentNode);
+    while (!context.isOpenEmpty()) {
+      // the open node with the lowest F-cost; if they are equal, the one with the lowest H-cost
+      final int current = context.poll();
+      final AStarNode currentNode = this.getNode(current);
 
       // when the currentNode reaches the targetNode, we've found the path
-      if (currentNode.equals(targetNode)) {
-        Path path = retracePath(startNode, targetNode);
-        clear(opened);
-        clear(closed);
-        return path;
+      if (currentNode == targetNode) {
+        return current;
       }
 
-      this.updateAndOpenNeighborNodes(currentNode, targetNode, opened, closed);
+      this.updateAndOpenNeighborNodes(context, current, currentNode, targetNode, region);
     }
 
-    clear(opened);
-    clear(closed);
-    return null;
+    return NOT_FOUND;
   }
 
   /**
    * Updates the costs and the predecessor of all neighbors of the specified {@code currentNode}. <br> If a neighbor was previously not part of the
-   * {@code opened} list it will be added to it.<br> If a neighbor is already closed, it will be ignored.<br> If the {@link AStarNode#isWalkable()}
-   * method of a neighbor returns {@code false} it will also not be considered.
+   * open set it will be added to it.<br> If a neighbor is already closed, it will be ignored.<br> If the {@link AStarNode#isWalkable()} method of a
+   * neighbor returns {@code false} it will also not be considered.
    *
+   * @param context     The state of the current path-finding operation.
+   * @param current     The index of the node for which the neighbors will be searched for.
    * @param currentNode The node for which the neighbors will be searched for.
-   * @param targetNode  The target node of the path-finding operation.
-   * @param opened      The list of all the opened nodes of the path-finding operation.
-   * @param closed      The list of all the closed nodes of the path-finding operation.
+   * @param targetNode  The target node of the path-finding operation, or null if the costs to all reachable nodes are calculated.
+   * @param region      The region of the grid that may be traversed, or null if the whole grid may be traversed.
    */
-  private void updateAndOpenNeighborNodes(AStarNode currentNode, AStarNode targetNode, List<AStarNode> opened, List<AStarNode> closed) {
+  private void updateAndOpenNeighborNodes(SearchContext context, int current, AStarNode currentNode, AStarNode targetNode, Rectangle region) {
+    final int predecessor = context.getPredecessor(current);
+    final AStarNode predecessorNode = predecessor == current ? null : this.getNode(predecessor);
+
     // check all neighbors for the potential next one
-    for (final AStarNode neighbor : this.grid.getNeighbors(currentNode)) {
-      if (!neighbor.equals(targetNode) && !neighbor.isWalkable() || closed.contains(neighbor)) {
+    final AStarNode[] neighbors = context.neighbors;
+    final int count = this.findSuccessors(currentNode, predecessorNode, targetNode, neighbors);
+    for (int i = 0; i < count; i++) {
+      final AStarNode neighborNode = neighbors[i];
+      final int neighbor = this.indexOf(neighborNode);
+      if (neighborNode != targetNode && !neighborNode.isWalkable() || context.isClosed(neighbor)
+        || region != null && !region.contains(neighborNode.getGridX(), neighborNode.getGridY())) {
         continue;
       }
 
-      final double newGCostOfNeighbor = currentNode.getGCost() + currentNode.getCosts(neighbor);
-      if (newGCostOfNeighbor < neighbor.getGCost() || !opened.contains(neighbor)) {
-        neighbor.setGCost(newGCostOfNeighbor);
-        neighbor.setHCost(neighbor.getCosts(targetNode));
-        neighbor.setPredecessor(currentNode);
-
-        if (!opened.contains(neighbor)) {
-          opened.add(neighbor);
-        }
+      final double newGCostOfNeighbor = context.getGCost(current) + this.getCosts(currentNode, neighborNode);
+      if (!context.isOpen(neighbor)) {
+        context.open(neighbor, newGCostOfNeighbor, targetNode == null ? 0 : this.getCosts(neighborNode, targetNode));
+        context.setPredecessor(neighbor, current);
+      } else if (newGCostOfNeighbor < context.getGCost(neighbor)) {
+        context.decreaseGCost(neighbor, newGCostOfNeighbor);
+        context.setPredecessor(neighbor, current);
       }
     }
   }
 
   /**
-   * Finds the node with the lowest cost in the open list. The cost is determined by the F-cost (G-cost + H-cost). If multiple nodes have the same
-   * F-cost, the H-cost is considered.
+   * Writes the nodes that are considered next when the specified node is expanded during a search to the provided buffer. By default, these are all
+   * neighbors of the node.
    *
-   * @param openedNodes the list of nodes to evaluate
-   * @return the node with the lowest cost
+   * @param node        the node that is expanded
+   * @param predecessor the node from which the expanded node was reached, or null if it is the start node
+   * @param targetNode  the target node of the search, or null if the costs to all reachable nodes are calculated
+   * @param successors  the buffer that receives the successors; can hold {@link AStarGrid#MAX_NEIGHBORS} nodes
+   * @return the number of successors that were written to the buffer
    */
-  private static AStarNode findNodeWithLowestCost(List<AStarNode> openedNodes) {
-    AStarNode lowestCostNode = openedNodes.getFirst();
-    // find node with lowest cost
-    // F-cost (aka. total costs) are considered first. If they are equal, the H-cost is checked
-    // subsequently
-    for (int i = 1; i < openedNodes.size(); i++) {
-      if (openedNodes.get(i).getFCost() < lowestCostNode.getFCost()
-        || openedNodes.get(i).getFCost() == lowestCostNode.getFCost() && openedNodes.get(i).getHCost() < lowestCostNode.getHCost()) {
-        lowestCostNode = openedNodes.get(i);
-      }
-    }
+  protected int findSuccessors(AStarNode node, AStarNode predecessor, AStarNode targetNode, AStarNode[] successors) {
+    return this.grid.getNeighbors(node, successors);
+  }
 
-    return lowestCostNode;
+  /**
+   * Gets the costs of moving from one node to another one. This is used for the actual costs as well as the estimated costs to the target.
+   *
+   * @param from the node to move from
+   * @param to   the node to move to
+   * @return the costs of the movement
+   * @see AStarNode#getCosts(AStarNode)
+   */
+  protected double getCosts(AStarNode from, AStarNode to) {
+    return from.getCosts(to);
   }
 
   /**
-   * Clears the list of nodes by resetting their state.
+   * Gets the number of nodes that were expanded by the last search that finished.
    *
-   * @param nodes the list of nodes to clear
+   * @return the number of expanded nodes
    */
-  private static void clear(List<AStarNode> nodes) {
-    for (AStarNode op : nodes) {
-      op.clear();
-    }
+  int getExpandedNodes() {
+    return this.lastExpandedNodes;
   }
 
   /**
-   * Retraces the found path from the targetNode back to the startNode by making use of the {@link AStarNode#getPredecessor()}.
+   * Retraces the found path from the target back to the start by following the predecessors of the search.
    *
    * <ol>
-   * <li>Adds all predecessors to a list of nodes that will be visited by the path.
-   * <li>Invert the list.
-   * <li>Create a new {@link Path2D} by iterating all nodes in the list.
+   * <li>Collects all predecessors that will be visited by the path.
+   * <li>Create a new {@link Path2D} by iterating the collected nodes in reverse order.
    * <li>Wrap the {@link Path2D} object into a {@link Path} to provide information about the start, target and points of
    * the path.
    * </ol>
    *
-   * @param startNode  The start node for the path.
-   * @param targetNode The target node for the path.
+   * @param context The state of the path-finding operation that found the target.
+   * @param start   The index of the start node for the path.
+   * @param target  The index of the target node for the path.
    * @return The found {@link Path}
    */
-  private static Path retracePath(final AStarNode startNode, final AStarNode targetNode) {
-    final List<AStarNode> path = new ArrayList<>();
-    AStarNode currentNode = targetNode.getPredecessor();
-
-    while (currentNode != startNode) {
-      path.add(currentNode);
-      currentNode = currentNode.getPredecessor();
+  private Path retracePath(final SearchContext context, final int start, final int target) {
+    int length = 0;
+    for (int current = context.getPredecessor(target); current != start; current = context.getPredecessor(current)) {
+      context.path[length++] = current;
     }
-    Collections.reverse(path);
 
+    final AStarNode startNode = this.getNode(start);
+    final AStarNode targetNode = this.getNode(target);
     final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
     path2D.moveTo(startNode.getLocation().x, startNode.getLocation().y);
 
-    final List<Point2D> pointsOfPath = new ArrayList<>();
-    for (final AStarNode current : path) {
-      final Point currentPoint = new Point(current.getLocation().x, current.getLocation().y);
+    final List<Point2D> pointsOfPath = new ArrayList<>(length);
+    for (int i = length - 1; i >= 0; i--) {
+      final Point currentPoint = this.getNode(context.path[i]).getLocation();
       pointsOfPath.add(currentPoint);
       path2D.lineTo(currentPoint.x, currentPoint.y);
     }
@@ -251,4 +367,191 @@ public class AStarPathFinder extends PathFinder {
 
     return new Path(startNode.getLocation(), targetNode.getLocation(), path2D, pointsOfPath);
   }
+
+  private SearchContext borrowContext() {
+    synchronized (this.contexts) {
+      final SearchContext context = this.contexts.poll();
+      if (context != null) {
+        return context;
+      }
+    }
+
+    return new SearchContext(this.nodeCount);
+  }
+
+  private void releaseContext(SearchContext context) {
+    this.lastExpandedNodes = context.expanded;
+    synchronized (this.contexts) {
+      if (this.contexts.size() < MAX_POOLED_CONTEXTS) {
+        this.contexts.push(context);
+      }
+    }
+  }
+
+  private int indexOf(AStarNode node) {
+    return node.getGridX() * this.rows + node.getGridY();
+  }
+
+  private AStarNode getNode(int index) {
+    return this.grid.getGrid()[index / this.rows][index % this.rows];
+  }
+
+  /**
+   * The state of a single path-finding operation. An instance is only used by one search at a time and returned to the pool of the pathfinder
+   * afterwards, so apart from the initial allocation, a search only allocates the resulting {@link Path}.
+   *
+   * <p>The open set is a binary min-heap of node indices that tracks the position of each node in the heap to support decreasing its costs. The
+   * closed set is a bit set. Costs, predecessors and heap positions are only valid for nodes whose stamp equals the current generation.</p>
+   */
+  private static final class SearchContext {
+    private static final int NOT_IN_HEAP = -1;
+
+    private final double[] gCosts;
+    private final double[] hCosts;
+    private final int[] predecessors;
+    private final int[] heapPositions;
+    private final int[] stamps;
+    private final int[] heap;
+    private final BitSet closed;
+    private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+    private final int[] path;
+
+    private int generation;
+    private int heapSize;
+    private int expanded;
+
+    private SearchContext(int nodeCount) {
+      this.gCosts = new double[nodeCount];
+      this.hCosts = new double[nodeCount];
+      this.predecessors = new int[nodeCount];
+      this.heapPositions = new int[nodeCount];
+      this.stamps = new int[nodeCount];
+      this.heap = new int[nodeCount];
+      this.closed = new BitSet(nodeCount);
+      this.path = new int[nodeCount];
+    }
+
+    private void begin() {
+      this.generation++;
+      if (this.generation == 0) {
+        // the stamps wrapped around, so older generations could be mistaken for the current one
+        Arrays.fill(this.stamps, 0);
+        this.generation = 1;
+      }
+
+      this.closed.clear();
+      this.heapSize = 0;
+      this.expanded = 0;
+    }
+
+    private boolean isOpenEmpty() {
+      return this.heapSize == 0;
+    }
+
+    private boolean isOpen(int node) {
+      return this.stamps[node] == this.generation && this.heapPositions[node] != NOT_IN_HEAP;
+    }
+
+    private boolean isClosed(int node) {
+      return this.closed.get(node);
+    }
+
+    private double getGCost(int node) {
+      return this.gCosts[node];
+    }
+
+    private int getPredecessor(int node) {
+      return this.predecessors[node];
+    }
+
+    private void setPredecessor(int node, int predecessor) {
+      this.predecessors[node] = predecessor;
+    }
+
+    private void open(int node, double gCost, double hCost) {
+      this.stamps[node] = this.generation;
+      this.gCosts[node] = gCost;
+      this.hCosts[node] = hCost;
+      this.predecessors[node] = node;
+      this.heap[this.heapSize] = node;
+      this.heapPositions[node] = this.heapSize;
+      this.siftUp(this.heapSize++);
+    }
+
+    private void decreaseGCost(int node, double gCost) {
+      this.gCosts[node] = gCost;
+      this.siftUp(this.heapPositions[node]);
+    }
+
+    /**
+     * Removes the open node with the lowest costs and adds it to the closed set.
+     */
+    private int poll() {
+      final int node = this.heap[0];
+      this.heapPositions[node] = NOT_IN_HEAP;
+      this.closed.set(node);
+      this.expanded++;
+
+      this.heapSize--;
+      if (this.heapSize > 0) {
+        this.heap[0] = this.heap[this.heapSize];
+        this.heapPositions[this.heap[0]] = 0;
+        this.siftDown(0);
+      }
+
+      return node;
+    }
+
+    private void siftUp(int position) {
+      final int node = this.heap[position];
+      while (position > 0) {
+        final int parentPosition = (position - 1) >>> 1;
+        final int parent = this.heap[parentPosition];
+        if (!this.isLess(node, parent)) {
+          break;
+        }
+
+        this.move(parent, position);
+        position = parentPosition;
+      }
+
+      this.move(node, position);
+    }
+
+    private void siftDown(int position) {
+      final int node = this.heap[position];
+      final int half = this.heapSize >>> 1;
+      while (position < half) {
+        int childPosition = 2 * position + 1;
+        final int right = childPosition + 1;
+        if (right < this.heapSize && this.isLess(this.heap[right], this.heap[childPosition])) {
+          childPosition = right;
+        }
+
+        final int child = this.heap[childPosition];
+        if (!this.isLess(child, node)) {
+          break;
+        }
+
+        this.move(child, position);
+        position = childPosition;
+      }
+
+      this.move(node, position);
+    }
+
+    private void move(int node, int position) {
+      this.heap[position] = node;
+      this.heapPositions[node] = position;
+    }
+
+    /**
+     * F-cost (aka. total costs) are considered first. If they are equal, the H-cost is checked subsequently.
+     */
+    private boolean isLess(int node, int other) {
+      final double fCost = this.gCosts[node] + this.hCosts[node];
+      final double otherFCost = this.gCosts[other] + this.hCosts[other];
+      return fCost < otherFCost || fCost == otherFCost && this.hCosts[node] < this.hCosts[other];
+    }
+  }
 }
@@ -26,9 +26,11 @@ public class EntityNavigator implements IUpdateable, IRenderable {
 
   private final IMobileEntity entity;
   private final PathFinder pathFinder;
+  private PathFindingService pathFindingService;
 
   private int currentSegment;
   private Path path;
+  private FlowField flowField;
   private float acceptableError;
 
   /**
@@ -102,6 +104,15 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return this.path;
   }
 
+  /**
+   * Gets the flow field that is currently followed.
+   *
+   * @return the current flow field, or null if no flow field is followed
+   */
+  public FlowField getFlowField() {
+    return this.flowField;
+  }
+
   /**
    * Gets the path finder used for navigation.
    *
@@ -111,6 +122,15 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return this.pathFinder;
   }
 
+  /**
+   * Gets the service that calculates the paths requested via {@link #requestNavigation(Point2D)} asynchronously.
+   *
+   * @return the path finding service, or null if paths are calculated synchronously
+   */
+  public PathFindingService getPathFindingService() {
+    return this.pathFindingService;
+  }
+
   /**
    * Gets the acceptable error for navigation.
    *
@@ -126,7 +146,7 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the entity is navigating, false otherwise
    */
   public boolean isNavigating() {
-    return getPath() != null;
+    return getPath() != null || getFlowField() != null;
   }
 
   /**
@@ -136,6 +156,8 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the path is set successfully, false otherwise
    */
   public boolean navigate(final Path2D path) {
+    this.cancelPathRequest();
+    this.flowField = null;
     this.path = new Path(path);
     return getPath() != null;
   }
@@ -147,6 +169,8 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    * @return true if the path is found and set successfully, false otherwise
    */
   public boolean navigate(final Point2D target) {
+    this.cancelPathRequest();
+    this.flowField = null;
     if (this.getPathFinder() != null) {
       this.path = getPathFinder().findPath(getEntity(), target);
     }
@@ -154,6 +178,41 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return getPath() != null;
   }
 
+  /**
+   * Follows the specified flow field towards its goal. Instead of following a path, the navigator samples the field at the location of the entity
+   * on each tick and moves towards the center of the next node. This keeps working when the goal of the field moves. The navigation stops once the
+   * entity reaches the center of the goal node or the goal cannot be reached from the location of the entity.
+   *
+   * @param flowField the flow field to follow
+   * @return true if the goal of the flow field can be reached from the location of the entity, false otherwise
+   * @see FlowFieldGenerator
+   */
+  public boolean navigate(final FlowField flowField) {
+    this.cancelPathRequest();
+    this.currentSegment = 0;
+    this.path = null;
+    this.flowField = flowField;
+    return flowField != null && flowField.isReachable(getEntity().getCollisionBoxCenter());
+  }
+
+  /**
+   * Requests a path to the specified target point from the {@link PathFindingService} of this navigator. The path is calculated in the background and
+   * the navigator keeps following its current path until the result is delivered on the game loop, which is announced to the
+   * {@link NavigationListener}s. A subsequent request supersedes this one. If no service is set, the path is calculated synchronously.
+   *
+   * @param target the target point to navigate to
+   * @return true if the path was requested or found successfully, false otherwise
+   * @see #navigate(Point2D)
+   */
+  public boolean requestNavigation(final Point2D target) {
+    if (this.getPathFindingService() == null) {
+      return this.navigate(target);
+    }
+
+    this.getPathFindingService().request(this, target);
+    return true;
+  }
+
   @Override
   public void render(Graphics2D g) {
     if (this.getPath() == null) {
@@ -189,11 +248,23 @@ public class EntityNavigator implements IUpdateable, IRenderable {
   }
 
   /**
-   * Stops the navigation and resets the current segment and path.
+   * Sets the service that calculates the paths requested via {@link #requestNavigation(Point2D)} asynchronously.
+   *
+   * @param pathFindingService the path finding service, or null to calculate paths synchronously
+   */
+  public void setPathFindingService(PathFindingService pathFindingService) {
+    this.cancelPathRequest();
+    this.pathFindingService = pathFindingService;
+  }
+
+  /**
+   * Stops the navigation and resets the current segment and path. A pending path request is canceled.
    */
   public void stop() {
+    this.cancelPathRequest();
     this.currentSegment = 0;
     this.path = null;
+    this.flowField = null;
 
     for (NavigationListener listener : this.listeners) {
       listener.stopped();
@@ -206,10 +277,6 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       return;
     }
 
-    if (getPath() == null) {
-      return;
-    }
-
     for (final Predicate<IMobileEntity> pred : this.cancelNavigationConditions) {
       if (pred.test(getEntity())) {
         stop();
@@ -217,6 +284,11 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       }
     }
 
+    if (getFlowField() != null) {
+      this.followFlowField();
+      return;
+    }
+
     final PathIterator pi = getPath().getPath().getPathIterator(null);
     if (pi.isDone()) {
       stop();
@@ -269,4 +341,53 @@ public class EntityNavigator implements IUpdateable, IRenderable {
         (float) angle,
         (float) (distance < pixelsPerTick ? distance : pixelsPerTick));
   }
+
+  /**
+   * Applies the result of a path request of the {@link PathFindingService}. Must be called on the game loop.
+   *
+   * @param target the target point of the request
+   * @param path   the found path, or null if no path could be found
+   */
+  void pathCalculated(final Point2D target, final Path path) {
+    if (path == null) {
+      for (NavigationListener listener : this.listeners) {
+        listener.pathNotFound(target);
+      }
+
+      return;
+    }
+
+    this.currentSegment = 0;
+    this.path = path;
+    this.flowField = null;
+    for (NavigationListener listener : this.listeners) {
+      listener.pathFound(path);
+    }
+  }
+
+  private void followFlowField() {
+    final Point2D location = getEntity().getCollisionBoxCenter();
+    final AStarNode next = getFlowField().getNextNode(location);
+    if (next == null) {
+      stop();
+      return;
+    }
+
+    final double distance = GeometricUtilities.distance(location.getX(), location.getY(), next.getLocation().getX(), next.getLocation().getY());
+    if (distance < getAcceptableError()) {
+      // only the goal node refers to itself
+      stop();
+      return;
+    }
+
+    final double angle = GeometricUtilities.calcRotationAngleInDegrees(location, next.getLocation());
+    final float pixelsPerTick = getEntity().getTickVelocity();
+    Game.physics().move(getEntity(), (float) angle, (float) Math.min(distance, pixelsPerTick));
+  }
+
+  private void cancelPathRequest() {
+    if (this.pathFindingService != null) {
+      this.pathFindingService.cancel(this);
+    }
+  }
 }
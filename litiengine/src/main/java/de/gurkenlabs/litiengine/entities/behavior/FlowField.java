@@ -0,0 +1,264 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Point2D;
+import java.util.Arrays;
+
+/**
+ * A flow field (also known as Dijkstra map) that provides the direction towards a single goal for every node of an {@link AStarGrid}.
+ *
+ * <p>The field integrates the costs of the cheapest path from each node to the goal once, so any number of entities that share the goal can navigate
+ * by just looking up the next node for their current location instead of searching an individual path. The costs equal the ones of the
+ * {@link AStarPathFinder}, including the penalties of the nodes.</p>
+ *
+ * <p>When the goal or the grid changes, the field is recomputed in the background of the {@link FlowFieldGenerator} over multiple ticks. Until the
+ * recomputation is completed, the field keeps providing the directions towards the previous goal.</p>
+ *
+ * @see FlowFieldGenerator
+ * @see EntityNavigator#navigate(FlowField)
+ */
+public class FlowField {
+  private static final int NONE = -1;
+
+  private final AStarGrid grid;
+  private final int rows;
+  private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+
+  private AStarNode goal;
+  private float[] costs;
+  private int[] next;
+
+  // the buffers of the recomputation that replace the current ones once it is completed
+  private AStarNode pendingGoal;
+  private float[] pendingCosts;
+  private int[] pendingNext;
+  private long[] heap = new long[64];
+  private int heapSize;
+  private boolean computing;
+
+  FlowField(final AStarGrid grid, final AStarNode goal) {
+    this.grid = grid;
+    this.rows = grid.getGrid().length == 0 ? 0 : grid.getGrid()[0].length;
+    final int nodeCount = grid.getGrid().length * this.rows;
+    this.costs = new float[nodeCount];
+    this.next = new int[nodeCount];
+    this.pendingCosts = new float[nodeCount];
+    this.pendingNext = new int[nodeCount];
+    Arrays.fill(this.costs, Float.POSITIVE_INFINITY);
+    Arrays.fill(this.next, NONE);
+
+    this.setGoal(goal);
+    this.compute(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Gets the grid of this flow field.
+   *
+   * @return the grid
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the goal node to which the current directions of this flow field lead.
+   *
+   * @return the goal node
+   */
+  public AStarNode getGoal() {
+    return this.goal;
+  }
+
+  /**
+   * Checks whether the directions of this flow field reflect its latest goal and the current state of the grid.
+   *
+   * @return true if no recomputation is pending; otherwise false
+   */
+  public boolean isUpToDate() {
+    return !this.computing;
+  }
+
+  /**
+   * Gets the costs of the cheapest path from the node at the specified location to the goal.
+   *
+   * @param location the location in map coordinates
+   * @return the costs, or {@link Float#POSITIVE_INFINITY} if the goal cannot be reached from the location
+   */
+  public float getCosts(final Point2D location) {
+    final AStarNode node = this.grid.getNode(location);
+    return node == null ? Float.POSITIVE_INFINITY : this.costs[this.indexOf(node)];
+  }
+
+  /**
+   * Checks whether the goal can be reached from the specified location.
+   *
+   * @param location the location in map coordinates
+   * @return true if the goal can be reached; otherwise false
+   */
+  public boolean isReachable(final Point2D location) {
+    return this.getCosts(location) != Float.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Gets the node that should be moved to next in order to reach the goal from the specified location.
+   *
+   * @param location the location in map coordinates
+   * @return the next node on the cheapest path, the goal if the location is within the goal node, or null if the goal cannot be reached
+   */
+  public AStarNode getNextNode(final Point2D location) {
+    final AStarNode node = this.grid.getNode(location);
+    if (node == null) {
+      return null;
+    }
+
+    if (node == this.goal) {
+      return node;
+    }
+
+    final int nextIndex = this.next[this.indexOf(node)];
+    return nextIndex == NONE ? null : this.getNode(nextIndex);
+  }
+
+  /**
+   * Starts a recomputation of this flow field towards the specified goal unless it is already computed or being computed for this goal.
+   *
+   * @param goal the new goal
+   */
+  void setGoal(final AStarNode goal) {
+    if (goal == null || (this.computing ? goal == this.pendingGoal : goal == this.goal)) {
+      return;
+    }
+
+    this.restart(goal);
+  }
+
+  /**
+   * Starts a recomputation of this flow field for its latest goal, e.g. because nodes of the grid have changed.
+   */
+  void invalidate() {
+    this.restart(this.computing ? this.pendingGoal : this.goal);
+  }
+
+  /**
+   * Continues the pending recomputation of this flow field.
+   *
+   * @param maxExpansions the maximum number of nodes to expand
+   * @return the number of nodes that were actually expanded
+   */
+  int compute(final int maxExpansions) {
+    int expansions = 0;
+    while (this.computing && expansions < maxExpansions) {
+      if (this.heapSize == 0) {
+        this.complete();
+        break;
+      }
+
+      final long entry = this.poll();
+      final float cost = Float.intBitsToFloat((int) (entry >>> 32));
+      final int index = (int) entry;
+      if (cost > this.pendingCosts[index]) {
+        // outdated entry of a node that has been queued again with lower costs
+        continue;
+      }
+
+      expansions++;
+      final AStarNode node = this.getNode(index);
+      final int count = this.grid.getNeighbors(node, this.neighbors);
+      for (int i = 0; i < count; i++) {
+        final AStarNode neighbor = this.neighbors[i];
+        if (!neighbor.isWalkable()) {
+          continue;
+        }
+
+        // the costs of moving from the neighbor to this node, which is the direction entities will move in
+        final float newCost = cost + (float) neighbor.getCosts(node);
+        final int neighborIndex = this.indexOf(neighbor);
+        if (newCost < this.pendingCosts[neighborIndex]) {
+          this.pendingCosts[neighborIndex] = newCost;
+          this.pendingNext[neighborIndex] = index;
+          this.push(newCost, neighborIndex);
+        }
+      }
+    }
+
+    return expansions;
+  }
+
+  private void restart(final AStarNode goal) {
+    this.pendingGoal = goal;
+    Arrays.fill(this.pendingCosts, Float.POSITIVE_INFINITY);
+    Arrays.fill(this.pendingNext, NONE);
+    this.heapSize = 0;
+
+    final int goalIndex = this.indexOf(goal);
+    this.pendingCosts[goalIndex] = 0;
+    this.push(0, goalIndex);
+    this.computing = true;
+  }
+
+  private void complete() {
+    final float[] completedCosts = this.pendingCosts;
+    final int[] completedNext = this.pendingNext;
+    this.pendingCosts = this.costs;
+    this.pendingNext = this.next;
+    this.costs = completedCosts;
+    this.next = completedNext;
+    this.goal = this.pendingGoal;
+    this.pendingGoal = null;
+    this.computing = false;
+  }
+
+  /**
+   * Adds an entry to the binary min-heap of the recomputation. Because the costs are never negative, the bits of the float costs in the upper half of
+   * the entry preserve their order.
+   */
+  private void push(final float cost, final int index) {
+    if (this.heapSize == this.heap.length) {
+      this.heap = Arrays.copyOf(this.heap, this.heapSize * 2);
+    }
+
+    final long entry = (long) Float.floatToIntBits(cost) << 32 | index;
+    int position = this.heapSize++;
+    while (position > 0) {
+      final int parent = (position - 1) >>> 1;
+      if (this.heap[parent] <= entry) {
+        break;
+      }
+
+      this.heap[position] = this.heap[parent];
+      position = parent;
+    }
+
+    this.heap[position] = entry;
+  }
+
+  private long poll() {
+    final long result = this.heap[0];
+    final long entry = this.heap[--this.heapSize];
+    int position = 0;
+    final int half = this.heapSize >>> 1;
+    while (position < half) {
+      int child = 2 * position + 1;
+      if (child + 1 < this.heapSize && this.heap[child + 1] < this.heap[child]) {
+        child++;
+      }
+
+      if (entry <= this.heap[child]) {
+        break;
+      }
+
+      this.heap[position] = this.heap[child];
+      position = child;
+    }
+
+    this.heap[position] = entry;
+    return result;
+  }
+
+  private int indexOf(final AStarNode node) {
+    return node.getGridX() * this.rows + node.getGridY();
+  }
+
+  private AStarNode getNode(final int index) {
+    return this.grid.getGrid()[index / this.rows][index % this.rows];
+  }
+}
@@ -0,0 +1,245 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Generates and caches the {@link FlowField}s of an {@link AStarGrid}. This is an alternative to searching individual paths when many entities
+ * share the same destination, e.g. a crowd of enemies that chases the player.
+ *
+ * <p>There are two kinds of flow fields:</p>
+ * <ul>
+ *   <li>Fields for a fixed goal are created via {@link #getFlowField(Point2D)} and cached per goal node. The least recently used fields are evicted
+ *   once more than {@link #getCacheSize()} fields are cached.</li>
+ *   <li>Fields for a moving goal are created via {@link #track(Supplier)}. On each update of the game loop, the field is recomputed when the goal
+ *   has moved to another node.</li>
+ * </ul>
+ *
+ * <p>When the goal of a field changes or the walkable state of the grid is updated via {@link AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)},
+ * the field is recomputed over the following ticks, expanding at most {@link #getMaxExpansionsPerTick()} nodes per tick for all fields in total.
+ * In the meantime, entities keep following the previous state of the field.</p>
+ *
+ * @see EntityNavigator#navigate(FlowField)
+ */
+public class FlowFieldGenerator implements IUpdateable {
+  /**
+   * The default number of flow fields for fixed goals that are cached.
+   */
+  public static final int DEFAULT_CACHE_SIZE = 8;
+
+  /**
+   * The default number of nodes that are expanded per tick to recompute flow fields.
+   */
+  public static final int DEFAULT_MAX_EXPANSIONS_PER_TICK = 16384;
+
+  private final AStarGrid grid;
+  private final Map<AStarNode, FlowField> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<FlowField, Supplier<Point2D>> tracked = new IdentityHashMap<>();
+  private final List<FlowField> recomputing = new ArrayList<>();
+  private final AStarGrid.NodesUpdatedListener nodesUpdatedListener = (grid, nodes) -> this.invalidate();
+
+  private boolean attached;
+  private int cacheSize = DEFAULT_CACHE_SIZE;
+  private int maxExpansionsPerTick = DEFAULT_MAX_EXPANSIONS_PER_TICK;
+
+  /**
+   * Instantiates a new flow field generator for the specified grid and attaches it to the game loop.
+   *
+   * @param grid the grid on which the flow fields are generated
+   */
+  public FlowFieldGenerator(final AStarGrid grid) {
+    this(grid, DEFAULT_MAX_EXPANSIONS_PER_TICK);
+    Game.loop().attach(this);
+    this.attached = true;
+  }
+
+  FlowFieldGenerator(final AStarGrid grid, final int maxExpansionsPerTick) {
+    this.grid = grid;
+    this.setMaxExpansionsPerTick(maxExpansionsPerTick);
+    grid.onNodesUpdated(this.nodesUpdatedListener);
+  }
+
+  /**
+   * Gets the grid on which the flow fields are generated.
+   *
+   * @return the grid
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the maximum number of flow fields for fixed goals that are cached.
+   *
+   * @return the cache size
+   */
+  public int getCacheSize() {
+    return this.cacheSize;
+  }
+
+  /**
+   * Sets the maximum number of flow fields for fixed goals that are cached. Each flow field requires about 16 bytes per node of the grid.
+   *
+   * @param cacheSize the cache size
+   */
+  public void setCacheSize(final int cacheSize) {
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException("The cache size must not be negative but was " + cacheSize);
+    }
+
+    this.cacheSize = cacheSize;
+    this.evict();
+  }
+
+  /**
+   * Gets the maximum number of nodes that are expanded per tick to recompute flow fields.
+   *
+   * @return the maximum number of expansions per tick
+   */
+  public int getMaxExpansionsPerTick() {
+    return this.maxExpansionsPerTick;
+  }
+
+  /**
+   * Sets the maximum number of nodes that are expanded per tick to recompute flow fields.
+   *
+   * @param maxExpansionsPerTick the maximum number of expansions per tick
+   */
+  public void setMaxExpansionsPerTick(final int maxExpansionsPerTick) {
+    if (maxExpansionsPerTick <= 0) {
+      throw new IllegalArgumentException("The maximum number of expansions per tick must be greater than 0 but was " + maxExpansionsPerTick);
+    }
+
+    this.maxExpansionsPerTick = maxExpansionsPerTick;
+  }
+
+  /**
+   * Gets the flow field towards the node at the specified goal. The field is computed on the first request and cached for subsequent ones.
+   *
+   * @param goal the goal in map coordinates
+   * @return the flow field, or null if the goal is outside the grid
+   */
+  public FlowField getFlowField(final Point2D goal) {
+    final AStarNode goalNode = this.grid.getNode(goal);
+    if (goalNode == null) {
+      return null;
+    }
+
+    FlowField field = this.cache.get(goalNode);
+    if (field == null) {
+      field = new FlowField(this.grid, goalNode);
+      this.cache.put(goalNode, field);
+      this.evict();
+    }
+
+    return field;
+  }
+
+  /**
+   * Creates a flow field towards the goal provided by the specified supplier. The field is recomputed whenever the goal moves to another node of the
+   * grid until it is passed to {@link #untrack(FlowField)}.
+   *
+   * @param goal supplies the current goal in map coordinates
+   * @return the flow field, or null if the current goal is outside the grid
+   */
+  public FlowField track(final Supplier<Point2D> goal) {
+    final AStarNode goalNode = this.grid.getNode(goal.get());
+    if (goalNode == null) {
+      return null;
+    }
+
+    final FlowField field = new FlowField(this.grid, goalNode);
+    this.tracked.put(field, goal);
+    return field;
+  }
+
+  /**
+   * Stops recomputing the specified flow field when its goal moves.
+   *
+   * @param field the flow field that was created via {@link #track(Supplier)}
+   */
+  public void untrack(final FlowField field) {
+    this.tracked.remove(field);
+    this.recomputing.remove(field);
+  }
+
+  /**
+   * Removes all cached flow fields for fixed goals.
+   */
+  public void clear() {
+    this.recomputing.removeAll(this.cache.values());
+    this.cache.clear();
+  }
+
+  /**
+   * Detaches this generator from the game loop and the grid and drops all cached and tracked flow fields. Flow fields that are still in use by
+   * entities keep their last state.
+   */
+  public void dispose() {
+    if (this.attached) {
+      Game.loop().detach(this);
+      this.attached = false;
+    }
+
+    this.grid.removeNodesUpdatedListener(this.nodesUpdatedListener);
+    this.tracked.clear();
+    this.recomputing.clear();
+    this.cache.clear();
+  }
+
+  /**
+   * Moves the tracked flow fields to the current nodes of their goals and continues the pending recomputations.
+   */
+  @Override
+  public void update() {
+    for (final Map.Entry<FlowField, Supplier<Point2D>> entry : this.tracked.entrySet()) {
+      final AStarNode goalNode = this.grid.getNode(entry.getValue().get());
+      if (goalNode == null) {
+        continue;
+      }
+
+      entry.getKey().setGoal(goalNode);
+      if (!entry.getKey().isUpToDate() && !this.recomputing.contains(entry.getKey())) {
+        this.recomputing.add(entry.getKey());
+      }
+    }
+
+    // the fields are recomputed one after another so that each completes as soon as possible
+    int budget = this.getMaxExpansionsPerTick();
+    while (budget > 0 && !this.recomputing.isEmpty()) {
+      final FlowField field = this.recomputing.getFirst();
+      budget -= field.compute(budget);
+      if (field.isUpToDate()) {
+        this.recomputing.removeFirst();
+      }
+    }
+  }
+
+  private void invalidate() {
+    this.recomputing.clear();
+    for (final FlowField field : this.cache.values()) {
+      field.invalidate();
+      this.recomputing.add(field);
+    }
+
+    for (final FlowField field : this.tracked.keySet()) {
+      field.invalidate();
+      this.recomputing.add(field);
+    }
+  }
+
+  private void evict() {
+    final var iterator = this.cache.values().iterator();
+    while (this.cache.size() > this.getCacheSize()) {
+      this.recomputing.remove(iterator.next());
+      iterator.remove();
+    }
+  }
+}
@@ -0,0 +1,470 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Rectangle;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A pathfinder implementation based on hierarchical path-finding A* (HPA*) that finds near-optimal paths on large grids by searching an abstract
+ * graph instead of the individual nodes.
+ *
+ * <p>The grid is divided into square clusters. Where two adjacent clusters can be traversed, entrances are placed on both sides of their border. The
+ * entrances of a cluster are connected by edges whose costs are the costs of the cheapest path between them within the cluster. A search only
+ * explores the entrances and refines the resulting abstract path by searching within the individual clusters, which is much cheaper for long paths
+ * than searching the whole grid.</p>
+ *
+ * <p>The abstraction is updated locally for the affected clusters whenever {@link AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)} is called.
+ * If nodes are changed directly, {@link #rebuild()} has to be called afterwards. Once the pathfinder is no longer used, {@link #dispose()} stops
+ * these updates.</p>
+ */
+public class HierarchicalPathFinder extends AStarPathFinder {
+  /**
+   * The default number of nodes along each side of a cluster.
+   */
+  public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+  // walkable border segments up to this length get a single entrance in their middle; longer ones get one at each end
+  private static final int MAX_SINGLE_ENTRANCE_LENGTH = 6;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<AStarNode, Entrance> entrances = new IdentityHashMap<>();
+  private final int clusterSize;
+  private final int columns;
+  private final int rows;
+  private final int clustersX;
+  private final int clustersY;
+  private final Cluster[] clusters;
+  private final AStarGrid.NodesUpdatedListener nodesUpdatedListener = (grid, nodes) -> this.update(nodes);
+
+  /**
+   * Instantiates a new hierarchical pathfinder on the specified grid with the default cluster size.
+   *
+   * @param grid the grid used for pathfinding
+   */
+  public HierarchicalPathFinder(AStarGrid grid) {
+    this(grid, DEFAULT_CLUSTER_SIZE);
+  }
+
+  /**
+   * Instantiates a new hierarchical pathfinder on the specified grid.
+   *
+   * @param grid        the grid used for pathfinding
+   * @param clusterSize the number of nodes along each side of a cluster
+   */
+  public HierarchicalPathFinder(AStarGrid grid, int clusterSize) {
+    super(grid);
+    if (clusterSize <= 0) {
+      throw new IllegalArgumentException("The cluster size must be greater than 0 but was " + clusterSize);
+    }
+
+    this.clusterSize = clusterSize;
+    this.columns = grid.getGrid().length;
+    this.rows = this.columns == 0 ? 0 : grid.getGrid()[0].length;
+    this.clustersX = Math.ceilDiv(this.columns, clusterSize);
+    this.clustersY = Math.ceilDiv(this.rows, clusterSize);
+    this.clusters = new Cluster[this.clustersX * this.clustersY];
+    for (int x = 0; x < this.clustersX; x++) {
+      for (int y = 0; y < this.clustersY; y++) {
+        final int minX = x * clusterSize;
+        final int minY = y * clusterSize;
+        final Rectangle region = new Rectangle(minX, minY, Math.min(clusterSize, this.columns - minX), Math.min(clusterSize, this.rows - minY));
+        this.clusters[x * this.clustersY + y] = new Cluster(x, y, region);
+      }
+    }
+
+    this.rebuild();
+    grid.onNodesUpdated(this.nodesUpdatedListener);
+  }
+
+  /**
+   * Gets the number of nodes along each side of a cluster.
+   *
+   * @return the cluster size
+   */
+  public int getClusterSize() {
+    return this.clusterSize;
+  }
+
+  /**
+   * Gets the number of entrances of all clusters, i.e. the number of nodes of the abstract graph.
+   *
+   * @return the number of entrances
+   */
+  public int getEntranceCount() {
+    this.lock.readLock().lock();
+    try {
+      return this.entrances.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Stops updating the abstraction when the walkable state of the grid is updated, so the grid no longer references this pathfinder.
+   */
+  public void dispose() {
+    this.getGrid().removeNodesUpdatedListener(this.nodesUpdatedListener);
+  }
+
+  /**
+   * Rebuilds the abstraction for the whole grid.
+   */
+  public void rebuild() {
+    this.update(0, 0, this.clustersX - 1, this.clustersY - 1);
+  }
+
+  /**
+   * Finds the path from the start node to the target node by searching the abstract graph of entrances and refining the found abstract path within
+   * the traversed clusters.
+   *
+   * @param startNode  the starting node of the path
+   * @param targetNode the target node of the path
+   * @return the calculated path, or null if no path is found
+   */
+  @Override
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    this.lock.readLock().lock();
+    try {
+      final Cluster startCluster = this.getCluster(startNode);
+      final Cluster targetCluster = this.getCluster(targetNode);
+      if (startCluster == targetCluster) {
+        final List<AStarNode> local = this.findNodePath(startNode, targetNode, startCluster.region);
+        if (local != null) {
+          return createPath(local);
+        }
+      }
+
+      final List<Entrance> abstractPath = this.findAbstractPath(startNode, startCluster, targetNode, targetCluster);
+      if (abstractPath == null) {
+        return null;
+      }
+
+      return createPath(this.refine(startNode, targetNode, abstractPath));
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private void update(Rectangle nodes) {
+    this.update(nodes.x / this.clusterSize, nodes.y / this.clusterSize, (nodes.x + nodes.width - 1) / this.clusterSize,
+      (nodes.y + nodes.height - 1) / this.clusterSize);
+  }
+
+  /**
+   * Recalculates the entrances on all borders of the specified clusters and the edges of these clusters and their neighbors.
+   */
+  private void update(int minClusterX, int minClusterY, int maxClusterX, int maxClusterY) {
+    this.lock.writeLock().lock();
+    try {
+      for (int x = Math.max(0, minClusterX - 1); x <= maxClusterX; x++) {
+        for (int y = Math.max(0, minClusterY - 1); y <= maxClusterY; y++) {
+          final Cluster cluster = this.getCluster(x, y);
+          if (y >= minClusterY) {
+            cluster.eastTransitions = this.findTransitions(cluster, true);
+          }
+
+          if (x >= minClusterX) {
+            cluster.southTransitions = this.findTransitions(cluster, false);
+          }
+        }
+      }
+
+      for (int x = Math.max(0, minClusterX - 1); x <= Math.min(this.clustersX - 1, maxClusterX + 1); x++) {
+        for (int y = Math.max(0, minClusterY - 1); y <= Math.min(this.clustersY - 1, maxClusterY + 1); y++) {
+          this.connect(this.getCluster(x, y));
+        }
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the transitions over the eastern or southern border of the specified cluster. Each transition is a pair of adjacent walkable nodes on both
+   * sides of the border.
+   */
+  private AStarNode[] findTransitions(Cluster cluster, boolean east) {
+    final Rectangle region = cluster.region;
+    final int borderX = east ? region.x + region.width - 1 : region.x;
+    final int borderY = east ? region.y : region.y + region.height - 1;
+    final int length = east ? region.height : region.width;
+    if (east ? borderX + 1 >= this.columns : borderY + 1 >= this.rows) {
+      return new AStarNode[0];
+    }
+
+    final AStarNode[][] nodes = this.getGrid().getGrid();
+    final List<AStarNode> transitions = new ArrayList<>();
+    int segmentStart = -1;
+    for (int i = 0; i <= length; i++) {
+      final boolean open = i < length && (east
+        ? nodes[borderX][borderY + i].isWalkable() && nodes[borderX + 1][borderY + i].isWalkable()
+        : nodes[borderX + i][borderY].isWalkable() && nodes[borderX + i][borderY + 1].isWalkable());
+      if (open && segmentStart == -1) {
+        segmentStart = i;
+      } else if (!open && segmentStart != -1) {
+        final int segmentEnd = i - 1;
+        if (segmentEnd - segmentStart + 1 <= MAX_SINGLE_ENTRANCE_LENGTH) {
+          addTransition(transitions, nodes, borderX, borderY, (segmentStart + segmentEnd) / 2, east);
+        } else {
+          addTransition(transitions, nodes, borderX, borderY, segmentStart, east);
+          addTransition(transitions, nodes, borderX, borderY, segmentEnd, east);
+        }
+
+        segmentStart = -1;
+      }
+    }
+
+    return transitions.toArray(AStarNode[]::new);
+  }
+
+  private static void addTransition(List<AStarNode> transitions, AStarNode[][] nodes, int borderX, int borderY, int offset, boolean east) {
+    if (east) {
+      transitions.add(nodes[borderX][borderY + offset]);
+      transitions.add(nodes[borderX + 1][borderY + offset]);
+    } else {
+      transitions.add(nodes[borderX + offset][borderY]);
+      transitions.add(nodes[borderX + offset][borderY + 1]);
+    }
+  }
+
+  /**
+   * Replaces the entrances of the specified cluster by the ones on its current borders and calculates the costs between them.
+   */
+  private void connect(Cluster cluster) {
+    for (Entrance entrance : cluster.entrances) {
+      this.entrances.remove(entrance.node);
+    }
+
+    final Map<AStarNode, Entrance> found = new IdentityHashMap<>();
+    final List<Entrance> clusterEntrances = new ArrayList<>();
+    // transitions on the own eastern and southern borders start in this cluster, the ones of the western and northern neighbors end in it
+    this.addEntrances(found, clusterEntrances, cluster, cluster.eastTransitions, 0);
+    this.addEntrances(found, clusterEntrances, cluster, cluster.southTransitions, 0);
+    if (cluster.x > 0) {
+      this.addEntrances(found, clusterEntrances, cluster, this.getCluster(cluster.x - 1, cluster.y).eastTransitions, 1);
+    }
+
+    if (cluster.y > 0) {
+      this.addEntrances(found, clusterEntrances, cluster, this.getCluster(cluster.x, cluster.y - 1).southTransitions, 1);
+    }
+
+    cluster.entrances = clusterEntrances.toArray(Entrance[]::new);
+    cluster.nodes = new AStarNode[cluster.entrances.length];
+    for (int i = 0; i < cluster.entrances.length; i++) {
+      cluster.nodes[i] = cluster.entrances[i].node;
+    }
+
+    for (Entrance entrance : cluster.entrances) {
+      entrance.costs = this.findCosts(entrance.node, cluster.nodes, cluster.region);
+      this.entrances.put(entrance.node, entrance);
+    }
+  }
+
+  private void addEntrances(Map<AStarNode, Entrance> found, List<Entrance> clusterEntrances, Cluster cluster, AStarNode[] transitions, int side) {
+    for (int i = 0; i < transitions.length; i += 2) {
+      final AStarNode node = transitions[i + side];
+      final AStarNode partner = transitions[i + 1 - side];
+      final Entrance entrance = found.computeIfAbsent(node, n -> {
+        final Entrance e = new Entrance(n, cluster);
+        clusterEntrances.add(e);
+        return e;
+      });
+
+      entrance.partners.add(partner);
+    }
+  }
+
+  /**
+   * Searches the abstract graph from the entrances that can be reached from the start node to the entrances from which the target node can be
+   * reached.
+   *
+   * @return the entrances along the cheapest abstract path, or null if the target cannot be reached
+   */
+  private List<Entrance> findAbstractPath(AStarNode startNode, Cluster startCluster, AStarNode targetNode, Cluster targetCluster) {
+    final double[] startCosts = this.findCosts(startNode, startCluster.nodes, startCluster.region);
+    final double[] targetCosts = this.findCosts(targetNode, targetCluster.nodes, targetCluster.region);
+
+    final Map<Entrance, Double> exitCosts = new IdentityHashMap<>();
+    for (int i = 0; i < targetCosts.length; i++) {
+      if (targetCosts[i] != Double.POSITIVE_INFINITY) {
+        exitCosts.put(targetCluster.entrances[i], targetCosts[i]);
+      }
+    }
+
+    final Map<Entrance, Double> gCosts = new IdentityHashMap<>();
+    final Map<Entrance, Entrance> predecessors = new IdentityHashMap<>();
+    final PriorityQueue<Candidate> opened = new PriorityQueue<>();
+    for (int i = 0; i < startCosts.length; i++) {
+      if (startCosts[i] != Double.POSITIVE_INFINITY) {
+        open(opened, gCosts, predecessors, startCluster.entrances[i], null, startCosts[i], targetNode);
+      }
+    }
+
+    double bestCost = Double.POSITIVE_INFINITY;
+    Entrance bestExit = null;
+    while (!opened.isEmpty()) {
+      final Candidate candidate = opened.poll();
+      if (candidate.fCost() >= bestCost) {
+        break;
+      }
+
+      final Entrance current = candidate.entrance();
+      final double gCost = candidate.gCost();
+      if (gCost > gCosts.get(current)) {
+        // outdated candidate that has already been opened with lower costs
+        continue;
+      }
+
+      final Double exitCost = exitCosts.get(current);
+      if (exitCost != null && gCost + exitCost < bestCost) {
+        bestCost = gCost + exitCost;
+        bestExit = current;
+      }
+
+      final Entrance[] clusterEntrances = current.cluster.entrances;
+      for (int i = 0; i < clusterEntrances.length; i++) {
+        if (clusterEntrances[i] != current && current.costs[i] != Double.POSITIVE_INFINITY) {
+          open(opened, gCosts, predecessors, clusterEntrances[i], current, gCost + current.costs[i], targetNode);
+        }
+      }
+
+      for (AStarNode partner : current.partners) {
+        final Entrance other = this.entrances.get(partner);
+        if (other != null) {
+          open(opened, gCosts, predecessors, other, current, gCost + current.node.getCosts(partner), targetNode);
+        }
+      }
+    }
+
+    if (bestExit == null) {
+      return null;
+    }
+
+    final List<Entrance> path = new ArrayList<>();
+    for (Entrance current = bestExit; current != null; current = predecessors.get(current)) {
+      path.add(current);
+    }
+
+    Collections.reverse(path);
+    return path;
+  }
+
+  private static void open(PriorityQueue<Candidate> opened, Map<Entrance, Double> gCosts, Map<Entrance, Entrance> predecessors, Entrance entrance,
+    Entrance predecessor, double gCost, AStarNode targetNode) {
+    final Double previous = gCosts.get(entrance);
+    if (previous != null && previous <= gCost) {
+      return;
+    }
+
+    gCosts.put(entrance, gCost);
+    predecessors.put(entrance, predecessor);
+
+    // the distance without the penalty never overestimates the costs
+    final double hCost = entrance.node.getCosts(targetNode) - entrance.node.getPenalty();
+    opened.add(new Candidate(entrance, gCost, gCost + hCost));
+  }
+
+  /**
+   * Replaces the abstract path by the nodes that are traversed between its entrances.
+   */
+  private List<AStarNode> refine(AStarNode startNode, AStarNode targetNode, List<Entrance> abstractPath) {
+    final Entrance first = abstractPath.getFirst();
+    final List<AStarNode> nodes = new ArrayList<>(this.findNodePath(startNode, first.node, first.cluster.region));
+    for (int i = 1; i < abstractPath.size(); i++) {
+      final Entrance previous = abstractPath.get(i - 1);
+      final Entrance current = abstractPath.get(i);
+      if (previous.cluster != current.cluster) {
+        // transitions connect adjacent nodes
+        nodes.add(current.node);
+        continue;
+      }
+
+      final List<AStarNode> segment = this.findNodePath(previous.node, current.node, current.cluster.region);
+      nodes.addAll(segment.subList(1, segment.size()));
+    }
+
+    final Entrance last = abstractPath.getLast();
+    final List<AStarNode> segment = this.findNodePath(last.node, targetNode, last.cluster.region);
+    if (segment == null) {
+      // the costs from the target to the exit were calculated in the opposite direction
+      return this.findNodePath(startNode, targetNode, null);
+    }
+
+    nodes.addAll(segment.subList(1, segment.size()));
+    return nodes;
+  }
+
+  private static Path createPath(List<AStarNode> nodes) {
+    final AStarNode startNode = nodes.getFirst();
+    final AStarNode targetNode = nodes.getLast();
+    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
+    path2D.moveTo(startNode.getLocation().x, startNode.getLocation().y);
+
+    final List<Point2D> pointsOfPath = new ArrayList<>(nodes.size());
+    for (int i = 1; i < nodes.size() - 1; i++) {
+      final Point2D currentPoint = nodes.get(i).getLocation();
+      pointsOfPath.add(currentPoint);
+      path2D.lineTo(currentPoint.getX(), currentPoint.getY());
+    }
+
+    path2D.lineTo(targetNode.getLocation().x, targetNode.getLocation().y);
+    return new Path(startNode.getLocation(), targetNode.getLocation(), path2D, pointsOfPath);
+  }
+
+  private Cluster getCluster(AStarNode node) {
+    return this.getCluster(node.getGridX() / this.clusterSize, node.getGridY() / this.clusterSize);
+  }
+
+  private Cluster getCluster(int x, int y) {
+    return this.clusters[x * this.clustersY + y];
+  }
+
+  private static final class Cluster {
+    private final int x;
+    private final int y;
+    private final Rectangle region;
+
+    // pairs of nodes: the first one in this cluster, the second one in the eastern/southern neighbor
+    private AStarNode[] eastTransitions = new AStarNode[0];
+    private AStarNode[] southTransitions = new AStarNode[0];
+
+    private Entrance[] entrances = new Entrance[0];
+    private AStarNode[] nodes = new AStarNode[0];
+
+    private Cluster(int x, int y, Rectangle region) {
+      this.x = x;
+      this.y = y;
+      this.region = region;
+    }
+  }
+
+  private static final class Entrance {
+    private final AStarNode node;
+    private final Cluster cluster;
+    private final List<AStarNode> partners = new ArrayList<>(2);
+
+    // the costs to the other entrances of the cluster in the order of Cluster.entrances
+    private double[] costs;
+
+    private Entrance(AStarNode node, Cluster cluster) {
+      this.node = node;
+      this.cluster = cluster;
+    }
+  }
+
+  private record Candidate(Entrance entrance, double gCost, double fCost) implements Comparable<Candidate> {
+    @Override
+    public int compareTo(Candidate other) {
+      return Double.compare(this.fCost, other.fCost);
+    }
+  }
+}
@@ -0,0 +1,276 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pathfinder implementation based on Jump Point Search (JPS), an optimization of the A* algorithm for grids with uniform movement costs.
+ *
+ * <p>Instead of opening every neighbor of a node, the search jumps along straight and diagonal lines and only opens nodes at which the optimal path
+ * could change its direction (jump points), e.g. next to the corners of obstacles. On open areas, this expands only a fraction of the nodes that A*
+ * expands while still finding a path with the same costs. The movement rules of the grid ({@link AStarGrid#isDiagonalMovementAllowed()} and
+ * {@link AStarGrid#isDiagonalCornerMovementAllowed()}) are respected. The resulting path only consists of the jump points.</p>
+ *
+ * <p>Jump Point Search relies on uniform costs and ignores the penalties of the nodes (e.g. {@link AStarGrid#PENALTY_STATIC_PROP}). If the found
+ * path crosses a node with a penalty, the path is searched again with the regular A* algorithm, which accounts for the penalties.</p>
+ */
+public class JumpPointSearchPathFinder extends AStarPathFinder {
+  private final AStarPathFinder fallback;
+
+  /**
+   * Instantiates a new Jump Point Search pathfinder with a predefined grid.
+   *
+   * @param grid the grid used for pathfinding
+   */
+  public JumpPointSearchPathFinder(AStarGrid grid) {
+    super(grid);
+    // the fallback search only runs after the jump point search has finished, so both can share their search states
+    this.fallback = new AStarPathFinder(grid, this.contexts);
+  }
+
+  /**
+   * Instantiates a new Jump Point Search pathfinder using the map's size and the map's tile size as the grid node size.
+   *
+   * @param map the map used for pathfinding
+   */
+  public JumpPointSearchPathFinder(final IMap map) {
+    this(new AStarGrid(map.getSizeInPixels(), map.getTileSize().width));
+  }
+
+  @Override
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    final Path path = super.findAStarPath(startNode, targetNode);
+    if (path != null && this.crossesPenalty(path)) {
+      return this.fallback.findAStarPath(startNode, targetNode);
+    }
+
+    return path;
+  }
+
+  @Override
+  protected int findSuccessors(AStarNode node, AStarNode predecessor, AStarNode targetNode, AStarNode[] successors) {
+    final int x = node.getGridX();
+    final int y = node.getGridY();
+    final boolean diagonalMovement = this.getGrid().isDiagonalMovementAllowed();
+    final boolean cuttingCorners = this.getGrid().isDiagonalCornerMovementAllowed();
+    int count = 0;
+
+    if (predecessor == null) {
+      // the start node has no direction, so all neighbors are considered
+      for (int dx = -1; dx <= 1; dx++) {
+        for (int dy = -1; dy <= 1; dy++) {
+          final boolean diagonal = dx != 0 && dy != 0;
+          if (dx == 0 && dy == 0 || diagonal && !diagonalMovement
+            || diagonal && !cuttingCorners && !(this.isWalkable(x + dx, y) && this.isWalkable(x, y + dy))) {
+            continue;
+          }
+
+          count = this.addJumpPoint(successors, count, x + dx, y + dy, x, y, targetNode);
+        }
+      }
+
+      return count;
+    }
+
+    // only the neighbors that cannot be reached at least as cheaply without passing this node are considered
+    final int dx = Integer.signum(x - predecessor.getGridX());
+    final int dy = Integer.signum(y - predecessor.getGridY());
+    if (!diagonalMovement) {
+      if (dx != 0) {
+        count = this.addJumpPoint(successors, count, x, y - 1, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x, y + 1, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x + dx, y, x, y, targetNode);
+      } else {
+        count = this.addJumpPoint(successors, count, x - 1, y, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x + 1, y, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x, y + dy, x, y, targetNode);
+      }
+    } else if (cuttingCorners) {
+      if (dx != 0 && dy != 0) {
+        count = this.addJumpPoint(successors, count, x, y + dy, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x + dx, y, x, y, targetNode);
+        count = this.addJumpPoint(successors, count, x + dx, y + dy, x, y, targetNode);
+        if (!this.isWalkable(x - dx, y)) {
+          count = this.addJumpPoint(successors, count, x - dx, y + dy, x, y, targetNode);
+        }
+
+        if (!this.isWalkable(x, y - dy)) {
+          count = this.addJumpPoint(successors, count, x + dx, y - dy, x, y, targetNode);
+        }
+      } else if (dx != 0) {
+        count = this.addJumpPoint(successors, count, x + dx, y, x, y, targetNode);
+        if (!this.isWalkable(x, y + 1)) {
+          count = this.addJumpPoint(successors, count, x + dx, y + 1, x, y, targetNode);
+        }
+
+        if (!this.isWalkable(x, y - 1)) {
+          count = this.addJumpPoint(successors, count, x + dx, y - 1, x, y, targetNode);
+        }
+      } else {
+        count = this.addJumpPoint(successors, count, x, y + dy, x, y, targetNode);
+        if (!this.isWalkable(x + 1, y)) {
+          count = this.addJumpPoint(successors, count, x + 1, y + dy, x, y, targetNode);
+        }
+
+        if (!this.isWalkable(x - 1, y)) {
+          count = this.addJumpPoint(successors, count, x - 1, y + dy, x, y, targetNode);
+        }
+      }
+    } else if (dx != 0 && dy != 0) {
+      count = this.addJumpPoint(successors, count, x, y + dy, x, y, targetNode);
+      count = this.addJumpPoint(successors, count, x + dx, y, x, y, targetNode);
+      if (this.isWalkable(x + dx, y) && this.isWalkable(x, y + dy)) {
+        count = this.addJumpPoint(successors, count, x + dx, y + dy, x, y, targetNode);
+      }
+    } else if (dx != 0) {
+      count = this.addJumpPoint(successors, count, x, y + 1, x, y, targetNode);
+      count = this.addJumpPoint(successors, count, x, y - 1, x, y, targetNode);
+      count = this.addJumpPoint(successors, count, x + dx, y, x, y, targetNode);
+      if (this.isWalkable(x + dx, y)) {
+        if (this.isWalkable(x, y + 1)) {
+          count = this.addJumpPoint(successors, count, x + dx, y + 1, x, y, targetNode);
+        }
+
+        if (this.isWalkable(x, y - 1)) {
+          count = this.addJumpPoint(successors, count, x + dx, y - 1, x, y, targetNode);
+        }
+      }
+    } else {
+      count = this.addJumpPoint(successors, count, x + 1, y, x, y, targetNode);
+      count = this.addJumpPoint(successors, count, x - 1, y, x, y, targetNode);
+      count = this.addJumpPoint(successors, count, x, y + dy, x, y, targetNode);
+      if (this.isWalkable(x, y + dy)) {
+        if (this.isWalkable(x + 1, y)) {
+          count = this.addJumpPoint(successors, count, x + 1, y + dy, x, y, targetNode);
+        }
+
+        if (this.isWalkable(x - 1, y)) {
+          count = this.addJumpPoint(successors, count, x - 1, y + dy, x, y, targetNode);
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Gets the costs between two nodes without their penalties. Because jump points are always connected by straight or diagonal lines, this equals the
+   * costs of all steps between them.
+   */
+  @Override
+  protected double getCosts(AStarNode from, AStarNode to) {
+    return from.getCosts(to) - from.getPenalty();
+  }
+
+  private int addJumpPoint(AStarNode[] successors, int count, int x, int y, int predecessorX, int predecessorY, AStarNode targetNode) {
+    final AStarNode jumpPoint = this.jump(x, y, predecessorX, predecessorY, targetNode);
+    if (jumpPoint == null) {
+      return count;
+    }
+
+    successors[count] = jumpPoint;
+    return count + 1;
+  }
+
+  /**
+   * Moves from the specified node in the direction away from its predecessor until a jump point is found.
+   *
+   * @return the jump point, or null if the search runs into an obstacle or the border of the grid
+   */
+  private AStarNode jump(int x, int y, int predecessorX, int predecessorY, AStarNode targetNode) {
+    final int dx = x - predecessorX;
+    final int dy = y - predecessorY;
+    final boolean diagonalMovement = this.getGrid().isDiagonalMovementAllowed();
+    final boolean cuttingCorners = this.getGrid().isDiagonalCornerMovementAllowed();
+
+    while (true) {
+      final AStarNode node = this.getNode(x, y);
+      if (node == null || node != targetNode && !node.isWalkable()) {
+        return null;
+      }
+
+      if (node == targetNode) {
+        return node;
+      }
+
+      if (dx != 0 && dy != 0) {
+        if (cuttingCorners && (this.isWalkable(x - dx, y + dy) && !this.isWalkable(x - dx, y)
+          || this.isWalkable(x + dx, y - dy) && !this.isWalkable(x, y - dy))) {
+          return node;
+        }
+
+        if (this.jump(x + dx, y, x, y, targetNode) != null || this.jump(x, y + dy, x, y, targetNode) != null) {
+          return node;
+        }
+
+        if (!cuttingCorners && !(this.isWalkable(x + dx, y) && this.isWalkable(x, y + dy))) {
+          return null;
+        }
+      } else if (dx != 0) {
+        if (diagonalMovement && cuttingCorners) {
+          if (this.isWalkable(x + dx, y + 1) && !this.isWalkable(x, y + 1) || this.isWalkable(x + dx, y - 1) && !this.isWalkable(x, y - 1)) {
+            return node;
+          }
+        } else if (this.isWalkable(x, y - 1) && !this.isWalkable(x - dx, y - 1) || this.isWalkable(x, y + 1) && !this.isWalkable(x - dx, y + 1)) {
+          return node;
+        }
+      } else {
+        if (diagonalMovement && cuttingCorners) {
+          if (this.isWalkable(x + 1, y + dy) && !this.isWalkable(x + 1, y) || this.isWalkable(x - 1, y + dy) && !this.isWalkable(x - 1, y)) {
+            return node;
+          }
+        } else if (this.isWalkable(x - 1, y) && !this.isWalkable(x - 1, y - dy) || this.isWalkable(x + 1, y) && !this.isWalkable(x + 1, y - dy)) {
+          return node;
+        }
+
+        // without diagonal movement, turns into horizontal directions can only happen at jump points
+        if (!diagonalMovement && (this.jump(x + 1, y, x, y, targetNode) != null || this.jump(x - 1, y, x, y, targetNode) != null)) {
+          return node;
+        }
+      }
+
+      x += dx;
+      y += dy;
+    }
+  }
+
+  /**
+   * Checks whether any of the nodes along the path, except for the target, has a penalty that was ignored by the search.
+   */
+  private boolean crossesPenalty(Path path) {
+    final List<Point2D> points = new ArrayList<>(path.getPoints().size() + 2);
+    points.add(path.getStart());
+    points.addAll(path.getPoints());
+    points.add(path.getTarget());
+
+    for (int i = 1; i < points.size(); i++) {
+      final AStarNode from = this.getGrid().getNode(points.get(i - 1));
+      final AStarNode to = this.getGrid().getNode(points.get(i));
+      final int dx = Integer.signum(to.getGridX() - from.getGridX());
+      final int dy = Integer.signum(to.getGridY() - from.getGridY());
+      for (int x = from.getGridX(), y = from.getGridY(); x != to.getGridX() || y != to.getGridY(); x += dx, y += dy) {
+        if (this.getGrid().getGrid()[x][y].getPenalty() != 0) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private boolean isWalkable(int x, int y) {
+    final AStarNode node = this.getNode(x, y);
+    return node != null && node.isWalkable();
+  }
+
+  private AStarNode getNode(int x, int y) {
+    final AStarNode[][] nodes = this.getGrid().getGrid();
+    if (x < 0 || y < 0 || x >= nodes.length || y >= nodes[x].length) {
+      return null;
+    }
+
+    return nodes[x][y];
+  }
+}
@@ -1,7 +1,23 @@
 package de.gurkenlabs.litiengine.entities.behavior;
 
+import java.awt.geom.Point2D;
 import java.util.EventListener;
 
 public interface NavigationListener extends EventListener {
   public void stopped();
+
+  /**
+   * Invoked on the game loop when a path that was requested via {@link EntityNavigator#requestNavigation(Point2D)} has been found and the navigator
+   * started to follow it.
+   *
+   * @param path the path that is now navigated
+   */
+  default void pathFound(Path path) {}
+
+  /**
+   * Invoked on the game loop when no path could be found for a request via {@link EntityNavigator#requestNavigation(Point2D)}.
+   *
+   * @param target the target point of the request
+   */
+  default void pathNotFound(Point2D target) {}
 }
@@ -0,0 +1,242 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import java.awt.geom.Point2D;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A service that calculates the paths requested by {@link EntityNavigator}s on a pool of worker threads instead of blocking the game loop.
+ *
+ * <p>Requests are queued and, on each update of the game loop, at most {@link #getMaxRequestsPerTick()} of them are dispatched to the workers. The
+ * workers search an immutable snapshot of the {@link AStarGrid} that is only recreated when the grid has changed. Found paths are handed back to the
+ * game loop and applied to the navigator in its next update, which notifies its {@link NavigationListener}s. A newer request of a navigator
+ * supersedes its older ones: a queued request is replaced and the result of a request that is already being calculated is discarded.</p>
+ *
+ * @see EntityNavigator#requestNavigation(Point2D)
+ */
+public class PathFindingService implements IUpdateable {
+  /**
+   * The default number of requests that are dispatched to the workers per tick.
+   */
+  public static final int DEFAULT_MAX_REQUESTS_PER_TICK = 8;
+
+  private static final Logger log = Logger.getLogger(PathFindingService.class.getName());
+  private static final ExecutorService WORKERS = Executors.newWorkStealingPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+  private final AStarGrid grid;
+  private final Function<AStarGrid, ? extends AStarPathFinder> pathFinderFactory;
+  private final Executor executor;
+
+  private final Map<EntityNavigator, Request> pending = new LinkedHashMap<>();
+  private final Map<EntityNavigator, Request> latest = new IdentityHashMap<>();
+  private final Queue<Result> completed = new ConcurrentLinkedQueue<>();
+
+  private boolean attached;
+  private AStarPathFinder snapshotPathFinder;
+  private long snapshotModificationCount;
+  private int maxRequestsPerTick = DEFAULT_MAX_REQUESTS_PER_TICK;
+
+  /**
+   * Instantiates a new path finding service that uses an {@link AStarPathFinder} on the specified grid and attaches it to the game loop.
+   *
+   * @param grid the grid on which paths are searched
+   */
+  public PathFindingService(final AStarGrid grid) {
+    this(grid, AStarPathFinder::new);
+  }
+
+  /**
+   * Instantiates a new path finding service that uses the path finders created by the specified factory and attaches it to the game loop.
+   *
+   * @param grid              the grid on which paths are searched
+   * @param pathFinderFactory creates the path finder for a snapshot of the grid
+   */
+  public PathFindingService(final AStarGrid grid, final Function<AStarGrid, ? extends AStarPathFinder> pathFinderFactory) {
+    this(grid, pathFinderFactory, WORKERS);
+    Game.loop().attach(this);
+    this.attached = true;
+  }
+
+  PathFindingService(final AStarGrid grid, final Function<AStarGrid, ? extends AStarPathFinder> pathFinderFactory, final Executor executor) {
+    this.grid = grid;
+    this.pathFinderFactory = pathFinderFactory;
+    this.executor = executor;
+  }
+
+  /**
+   * Gets the grid on which paths are searched.
+   *
+   * @return the grid
+   */
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the maximum number of requests that are dispatched to the workers per tick.
+   *
+   * @return the maximum number of requests per tick
+   */
+  public int getMaxRequestsPerTick() {
+    return this.maxRequestsPerTick;
+  }
+
+  /**
+   * Sets the maximum number of requests that are dispatched to the workers per tick. Additional requests remain queued for the following ticks.
+   *
+   * @param maxRequestsPerTick the maximum number of requests per tick
+   */
+  public void setMaxRequestsPerTick(final int maxRequestsPerTick) {
+    if (maxRequestsPerTick <= 0) {
+      throw new IllegalArgumentException("The maximum number of requests per tick must be greater than 0 but was " + maxRequestsPerTick);
+    }
+
+    this.maxRequestsPerTick = maxRequestsPerTick;
+  }
+
+  /**
+   * Gets the number of requests that are queued and have not yet been dispatched to the workers.
+   *
+   * @return the number of queued requests
+   */
+  public synchronized int getQueuedRequests() {
+    return this.pending.size();
+  }
+
+  /**
+   * Requests a path for the entity of the specified navigator to the target. This supersedes any previous request of the navigator.
+   *
+   * @param navigator the navigator that will follow the path
+   * @param target    the target point of the path
+   */
+  public synchronized void request(final EntityNavigator navigator, final Point2D target) {
+    final Request request = new Request(navigator, target);
+    // remove first so that the new request is queued at the end
+    this.pending.remove(navigator);
+    this.pending.put(navigator, request);
+    this.latest.put(navigator, request);
+  }
+
+  /**
+   * Cancels the pending request of the specified navigator. The result of a request that is already being calculated is discarded.
+   *
+   * @param navigator the navigator whose request should be canceled
+   */
+  public synchronized void cancel(final EntityNavigator navigator) {
+    this.pending.remove(navigator);
+    this.latest.remove(navigator);
+  }
+
+  /**
+   * Detaches this service from the game loop and drops all queued requests and undelivered results. Paths that are still being calculated are
+   * discarded when they are completed.
+   */
+  public void dispose() {
+    if (this.attached) {
+      Game.loop().detach(this);
+      this.attached = false;
+    }
+
+    synchronized (this) {
+      this.pending.clear();
+      this.latest.clear();
+    }
+
+    this.completed.clear();
+    this.snapshotPathFinder = null;
+  }
+
+  /**
+   * Delivers the paths that have been found since the last tick and dispatches the next queued requests to the workers.
+   */
+  @Override
+  public void update() {
+    this.deliver();
+    this.dispatch();
+  }
+
+  private void deliver() {
+    Result result;
+    while ((result = this.completed.poll()) != null) {
+      final EntityNavigator navigator = result.request().navigator();
+      synchronized (this) {
+        if (this.latest.get(navigator) != result.request()) {
+          // superseded or canceled
+          continue;
+        }
+
+        this.latest.remove(navigator);
+      }
+
+      navigator.pathCalculated(result.request().target(), result.path());
+    }
+  }
+
+  private void dispatch() {
+    synchronized (this) {
+      if (this.pending.isEmpty()) {
+        return;
+      }
+    }
+
+    // the count is read before the snapshot is taken, so modifications in between cause another snapshot in the next tick
+    final long modificationCount = this.grid.getModificationCount();
+    if (this.snapshotPathFinder == null || this.snapshotModificationCount != modificationCount) {
+      this.snapshotPathFinder = this.pathFinderFactory.apply(this.grid.snapshot());
+      this.snapshotModificationCount = modificationCount;
+    }
+
+    final AStarPathFinder pathFinder = this.snapshotPathFinder;
+    int dispatched = 0;
+    while (dispatched < this.getMaxRequestsPerTick()) {
+      final Request request;
+      synchronized (this) {
+        final Iterator<Request> iterator = this.pending.values().iterator();
+        if (!iterator.hasNext()) {
+          return;
+        }
+
+        request = iterator.next();
+        iterator.remove();
+      }
+
+      dispatched++;
+
+      // the entity and the physics engine are only accessed on the game loop
+      final IMobileEntity entity = request.navigator().getEntity();
+      final Point2D start = entity.getCollisionBoxCenter();
+      if (!pathFinder.intersectsWithAnyCollisionBox(entity, start, request.target())) {
+        this.completed.add(new Result(request, pathFinder.findDirectPath(start, request.target())));
+        continue;
+      }
+
+      this.executor.execute(() -> this.completed.add(new Result(request, find(pathFinder, start, request.target()))));
+    }
+  }
+
+  private static Path find(final AStarPathFinder pathFinder, final Point2D start, final Point2D target) {
+    try {
+      return pathFinder.findGridPath(start, target);
+    } catch (RuntimeException e) {
+      log.log(Level.SEVERE, e.getMessage(), e);
+      return null;
+    }
+  }
+
+  private record Request(EntityNavigator navigator, Point2D target) {}
+
+  private record Result(Request request, Path path) {}
+}
@@ -9,6 +9,7 @@ import de.gurkenlabs.litiengine.entities.CollisionBox;
 import de.gurkenlabs.litiengine.entities.Creature;
 import de.gurkenlabs.litiengine.entities.EntityInfo;
 import de.gurkenlabs.litiengine.entities.EntityListener;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -38,6 +39,7 @@ import de.gurkenlabs.litiengine.environment.tilemap.xml.MapObject;
 import de.gurkenlabs.litiengine.graphics.AmbientLight;
 import de.gurkenlabs.litiengine.graphics.ColorLayer;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
+import de.gurkenlabs.litiengine.graphics.EntityRenderList;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
 import de.gurkenlabs.litiengine.graphics.RenderType;
@@ -49,10 +51,14 @@ import de.gurkenlabs.litiengine.physics.IMovementController;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
+import de.gurkenlabs.litiengine.util.geom.SpatialIndex;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -61,6 +67,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -88,8 +95,12 @@ public final class Environment implements IRenderable {
   private final Map<RenderType, Map<Integer, IEntity>> miscEntities = Collections.synchronizedMap(
     new EnumMap<>(RenderType.class));
   private final Map<IMapObjectLayer, List<IEntity>> layerEntities = new ConcurrentHashMap<>();
+  private final Map<RenderType, EntityRenderList> renderLists = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
+  private final Map<IMapObjectLayer, EntityRenderList> layerRenderLists = new ConcurrentHashMap<>();
   private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
   private final Map<Integer, IEntity> allEntities = new ConcurrentHashMap<>();
+  private final SpatialIndex<IEntity> entityIndex = new SpatialHashGrid<>();
+  private final EntityTransformListener entityIndexUpdater = new EntityIndexUpdater();
 
   private final Map<RenderType, Collection<EnvironmentRenderedListener>> renderListeners = Collections.synchronizedMap(
     new EnumMap<>(RenderType.class));
@@ -105,6 +116,8 @@ public final class Environment implements IRenderable {
   private final Collection<StaticShadow> staticShadows = ConcurrentHashMap.newKeySet();
   private final Collection<LightSource> lightSources = ConcurrentHashMap.newKeySet();
   private final Collection<SoundSource> soundSources = ConcurrentHashMap.newKeySet();
+  private final SpatialIndex<SoundSource> soundSourceIndex = new SpatialHashGrid<>();
+  private final EntityTransformListener soundSourceIndexUpdater = new SoundSourceIndexUpdater();
   private final Collection<Spawnpoint> spawnPoints = ConcurrentHashMap.newKeySet();
   private final Collection<MapArea> mapAreas = ConcurrentHashMap.newKeySet();
   private final Collection<Trigger> triggers = ConcurrentHashMap.newKeySet();
@@ -145,6 +158,7 @@ public final class Environment implements IRenderable {
     }
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.put(renderType, new ConcurrentHashMap<>());
+      this.renderLists.put(renderType, new EntityRenderList());
       this.renderListeners.put(renderType, ConcurrentHashMap.newKeySet());
       this.renderables.put(renderType, ConcurrentHashMap.newKeySet());
     }
@@ -460,11 +474,16 @@ public final class Environment implements IRenderable {
     this.mobileEntities.clear();
     this.gravityForces.clear();
     this.layerEntities.clear();
+    this.layerRenderLists.values().forEach(EntityRenderList::clear);
+    this.layerRenderLists.clear();
     this.entitiesByTag.clear();
+    this.allEntities.values().forEach(e -> e.removeListener(this.entityIndexUpdater));
+    this.entityIndex.clear();
     this.allEntities.clear();
 
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.get(renderType).clear();
+      this.renderLists.get(renderType).clear();
       this.renderListeners.get(renderType).clear();
       this.renderables.get(renderType).clear();
     }
@@ -480,7 +499,9 @@ public final class Environment implements IRenderable {
     this.mobileEntities.clear();
     this.lightSources.clear();
     this.spawnPoints.clear();
+    this.soundSources.forEach(s -> s.removeListener(this.soundSourceIndexUpdater));
     this.soundSources.clear();
+    this.soundSourceIndex.clear();
     this.mapAreas.clear();
     this.triggers.clear();
 
@@ -521,6 +542,7 @@ public final class Environment implements IRenderable {
    *
    * @param shape The shape to check intersection for.
    * @return A collection of all combat entities that intersect the specified {@link Shape}.
+   * @see #findCombatEntities(Shape, Predicate, Consumer)
    */
   public Collection<ICombatEntity> findCombatEntities(final Shape shape) {
     return this.findCombatEntities(shape, entity -> true);
@@ -532,37 +554,37 @@ public final class Environment implements IRenderable {
    * @param shape     The shape to check intersection for.
    * @param condition An additional condition that allows to specify a condition which determines if a {@link ICombatEntity} should be considered.
    * @return A collection of all combat entities that intersect the specified {@link Shape}.
+   * @see #findCombatEntities(Shape, Predicate, Consumer)
    */
   public Collection<ICombatEntity> findCombatEntities(final Shape shape,
     final Predicate<ICombatEntity> condition) {
     final Collection<ICombatEntity> foundCombatEntities = new ArrayList<>();
-    if (shape == null) {
-      return foundCombatEntities;
-    }
-
-    // for rectangle we can just use the intersects method
-    if (shape instanceof Rectangle2D rectangle2D) {
-      for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition)
-        .toList()) {
-        if (combatEntity.getHitBox().intersects(rectangle2D)) {
-          foundCombatEntities.add(combatEntity);
-        }
-      }
-
-      return foundCombatEntities;
-    }
+    this.findCombatEntities(shape, condition, foundCombatEntities::add);
+    return foundCombatEntities;
+  }
 
-    // for other shapes, we check if the shape's bounds intersect the hitbox and
-    // if so, we then check if the actual shape intersects the hitbox
-    for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition)
-      .toList()) {
-      if (combatEntity.getHitBox().intersects(shape.getBounds())
-        && GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
-        foundCombatEntities.add(combatEntity);
+  /**
+   * Passes all combat entities whose hitBox intersects with the specified shape to the consumer, without collecting them first.
+   *
+   * <p>
+   * The entities are looked up in a spatial index that is kept up to date when entities are added, removed, moved or resized, so
+   * only the entities near the shape are tested. Rectangles, circles (or any other shape) and lines (rays) are supported. The
+   * entities are passed in no particular order.
+   * </p>
+   *
+   * @param shape     The shape to check intersection for.
+   * @param condition An additional condition that allows to specify a condition which determines if a {@link ICombatEntity} should be considered.
+   * @param consumer  The consumer that receives the combat entities that intersect the specified {@link Shape}.
+   */
+  public void findCombatEntities(final Shape shape, final Predicate<ICombatEntity> condition,
+    final Consumer<? super ICombatEntity> consumer) {
+    this.queryEntityIndex(shape, entity -> {
+      if (entity instanceof ICombatEntity combatEntity
+        && intersects(combatEntity.getHitBox(), shape)
+        && condition.test(combatEntity)) {
+        consumer.accept(combatEntity);
       }
-    }
-
-    return foundCombatEntities;
+    });
   }
 
   /**
@@ -570,30 +592,58 @@ public final class Environment implements IRenderable {
    *
    * @param shape The shape to check intersection for.
    * @return A collection of all entities that intersect the specified {@link Shape}.
+   * @see #findEntities(Shape, Consumer)
    */
   public Collection<IEntity> findEntities(final Shape shape) {
     final Collection<IEntity> foundEntities = new ArrayList<>();
-    if (shape == null) {
-      return foundEntities;
-    }
-    if (shape instanceof Rectangle2D rectangle2D) {
-      for (final IEntity entity : this.allEntities.values()) {
-        if (entity.getBoundingBox().intersects(rectangle2D)) {
-          foundEntities.add(entity);
-        }
-      }
-      return foundEntities;
-    }
-    // for other shapes, we check if the shape's bounds intersect the hitbox
-    // and then we then check if the actual shape intersects the hitbox
-    for (final IEntity entity : this.allEntities.values()) {
-      if (entity.getBoundingBox().intersects(shape.getBounds())
-        && GeometricUtilities.shapeIntersects(entity.getBoundingBox(), shape)) {
-        foundEntities.add(entity);
+    this.findEntities(shape, foundEntities::add);
+    return foundEntities;
+  }
+
+  /**
+   * Passes all entities whose bounding box intersects with the specified shape to the consumer, without collecting them first.
+   *
+   * <p>
+   * The entities are looked up in a spatial index that is kept up to date when entities are added, removed, moved or resized, so
+   * only the entities near the shape are tested. Rectangles, circles (or any other shape) and lines (rays) are supported. The
+   * entities are passed in no particular order.
+   * </p>
+   *
+   * @param shape    The shape to check intersection for.
+   * @param consumer The consumer that receives the entities that intersect the specified {@link Shape}.
+   */
+  public void findEntities(final Shape shape, final Consumer<? super IEntity> consumer) {
+    this.queryEntityIndex(shape, entity -> {
+      if (intersects(entity.getBoundingBox(), shape)) {
+        consumer.accept(entity);
       }
-    }
+    });
+  }
 
-    return foundEntities;
+  /**
+   * Finds the entities whose center is closest to the specified location.
+   *
+   * @param location The location from which the distances are measured.
+   * @param count    The maximum number of entities to find.
+   * @return A list with up to {@code count} entities, ordered by the distance of their center to the location.
+   * @see IEntity#getCenter()
+   */
+  public List<IEntity> findNearestEntities(final Point2D location, final int count) {
+    return this.findNearest(location, count, IEntity.class, entity -> true);
+  }
+
+  /**
+   * Finds the combat entities whose center is closest to the specified location, e.g. the closest enemies of a creature.
+   *
+   * @param location  The location from which the distances are measured.
+   * @param count     The maximum number of combat entities to find.
+   * @param condition An additional condition that allows to specify a condition which determines if a {@link ICombatEntity} should be considered.
+   * @return A list with up to {@code count} combat entities, ordered by the distance of their center to the location.
+   * @see IEntity#getCenter()
+   */
+  public List<ICombatEntity> findNearestCombatEntities(final Point2D location, final int count,
+    final Predicate<ICombatEntity> condition) {
+    return this.findNearest(location, count, ICombatEntity.class, condition);
   }
 
   /**
@@ -1103,6 +1153,22 @@ public final class Environment implements IRenderable {
     return Collections.unmodifiableCollection(this.miscEntities.get(renderType).values());
   }
 
+  /**
+   * Renders the entities that are bound to the specified layer. Entities of layers with the {@code RenderType.NORMAL} are rendered in
+   * the order of their y-coordinate.
+   *
+   * @param g     The graphics object to render on.
+   * @param layer The layer that the entities are bound to.
+   * @see #getEntities(IMapObjectLayer)
+   * @see RenderEngine#renderEntities(Graphics2D, EntityRenderList, boolean)
+   */
+  public void renderEntities(final Graphics2D g, final IMapObjectLayer layer) {
+    final EntityRenderList entities = layer == null ? null : this.layerRenderLists.get(layer);
+    if (entities != null) {
+      Game.graphics().renderEntities(g, entities, layer.getRenderType() == RenderType.NORMAL);
+    }
+  }
+
   /**
    * Gets the entities that are bound to the specified layer.
    * <p>
@@ -1583,6 +1649,42 @@ public final class Environment implements IRenderable {
     return this.soundSources.stream().filter(p -> p.hasTag(tag)).toList();
   }
 
+  /**
+   * Gets all {@link SoundSource} entities on this environment whose range includes the specified
+   * location, i.e. the sound sources that can be heard by a listener at this location.
+   *
+   * <p>
+   * The sound sources are looked up in a spatial index, so only the ones near the location are
+   * tested.
+   * </p>
+   *
+   * @param location The location of the listener.
+   * @return A list with all {@link SoundSource} entities in range of the location.
+   * @see #getSoundSources()
+   * @see SoundSource#getRange()
+   */
+  public List<SoundSource> findSoundSources(final Point2D location) {
+    final List<SoundSource> sources = new ArrayList<>();
+    this.soundSourceIndex.query(new Rectangle2D.Double(location.getX(), location.getY(), 0, 0), source -> {
+      if (getSoundCenter(source).distance(location) < source.getRange()) {
+        sources.add(source);
+      }
+    });
+
+    return sources;
+  }
+
+  /**
+   * Updates the area in which the specified sound source can be heard, which is used to look up
+   * sound sources by {@link #findSoundSources(Point2D)}. This is called when the range of the sound
+   * source changes.
+   *
+   * @param soundSource The sound source whose range has changed.
+   */
+  public void updateSoundSource(SoundSource soundSource) {
+    this.soundSourceIndex.update(soundSource, getAudibleArea(soundSource));
+  }
+
   /**
    * Gets the {@link SoundSource} with the specified map ID from this environment.
    *
@@ -1881,6 +1983,7 @@ public final class Environment implements IRenderable {
             this.addEntity(entity);
             this.layerEntities.computeIfAbsent(mapObject.getLayer(),
               m -> new CopyOnWriteArrayList<>()).add(entity);
+            this.layerRenderLists.computeIfAbsent(mapObject.getLayer(), m -> new EntityRenderList()).add(entity);
             this.fireEntityEvent(l -> l.entityAdded(entity));
           } else {
             this.add(entity);
@@ -1943,9 +2046,13 @@ public final class Environment implements IRenderable {
     }
 
     this.allEntities.remove(entity.getMapId());
+    this.entityIndex.remove(entity);
+    entity.removeListener(this.entityIndexUpdater);
     this.layerEntities.values().removeIf(layer -> layer.remove(entity) && layer.isEmpty());
+    this.layerRenderLists.values().removeIf(layer -> layer.remove(entity) && layer.size() == 0);
     if (this.miscEntities.get(entity.getRenderType()) != null) {
       this.miscEntities.get(entity.getRenderType()).values().remove(entity);
+      this.renderLists.get(entity.getRenderType()).remove(entity);
     }
 
     for (String tag : entity.getTags()) {
@@ -1991,8 +2098,10 @@ public final class Environment implements IRenderable {
     if (entity instanceof Spawnpoint) {
       this.spawnPoints.remove(entity);
     }
-    if (entity instanceof SoundSource) {
-      this.soundSources.remove(entity);
+    if (entity instanceof SoundSource soundSource) {
+      this.soundSources.remove(soundSource);
+      this.soundSourceIndex.remove(soundSource);
+      soundSource.removeListener(this.soundSourceIndexUpdater);
     }
 
     if (entity instanceof StaticShadow) {
@@ -2204,6 +2313,11 @@ public final class Environment implements IRenderable {
       this.unload(entity);
     }
 
+    if (this.getMap() != null) {
+      // release the pre-rendered tile layer chunks instead of keeping them until the cache budget evicts them
+      MapRenderer.invalidateCache(this.getMap());
+    }
+
     this.loaded = false;
     this.fireEvent(l -> l.unloaded(this));
   }
@@ -2275,7 +2389,7 @@ public final class Environment implements IRenderable {
     }
 
     // 3. Render entities
-    Game.graphics().renderEntities(g, this.miscEntities.get(renderType).values(), renderType == RenderType.NORMAL);
+    Game.graphics().renderEntities(g, this.renderLists.get(renderType), renderType == RenderType.NORMAL);
 
     // 4. fire event
     this.fireRenderEvent(g, renderType);
@@ -2519,6 +2633,8 @@ public final class Environment implements IRenderable {
     }
     if (entity instanceof SoundSource soundSource) {
       this.soundSources.add(soundSource);
+      this.soundSourceIndex.add(soundSource, getAudibleArea(soundSource));
+      soundSource.addTransformListener(this.soundSourceIndexUpdater);
     }
 
     if (entity instanceof StaticShadow staticShadow) {
@@ -2547,6 +2663,8 @@ public final class Environment implements IRenderable {
     }
 
     this.allEntities.put(entity.getMapId(), entity);
+    this.updateEntityIndex(entity);
+    entity.addTransformListener(this.entityIndexUpdater);
   }
 
   private void addEmitter(Emitter emitter) {
@@ -2576,8 +2694,147 @@ public final class Environment implements IRenderable {
   }
 
   public void assignRenderType(IEntity entity, RenderType renderType) {
-    miscEntities.get(entity.getRenderType()).remove(entity.getMapId());
-    miscEntities.get(renderType).put(entity.getMapId(), entity);
+    IEntity removed = miscEntities.get(entity.getRenderType()).remove(entity.getMapId());
+    if (removed != null) {
+      renderLists.get(entity.getRenderType()).remove(removed);
+    }
+
+    IEntity replaced = miscEntities.get(renderType).put(entity.getMapId(), entity);
+    if (replaced != null && replaced != entity) {
+      renderLists.get(renderType).remove(replaced);
+    }
+
+    renderLists.get(renderType).add(entity);
+  }
+
+  private void queryEntityIndex(final Shape shape, final Consumer<IEntity> consumer) {
+    if (shape == null) {
+      return;
+    }
+
+    if (shape instanceof Line2D line) {
+      this.entityIndex.query(line, consumer);
+    } else {
+      this.entityIndex.query(shape.getBounds2D(), consumer);
+    }
+  }
+
+  private <T extends IEntity> List<T> findNearest(final Point2D location, final int count, final Class<T> type,
+    final Predicate<? super T> condition) {
+    if (location == null || count <= 0) {
+      return new ArrayList<>();
+    }
+
+    // grow the queried square until it contains enough entities or all indexed entities have been visited;
+    // every entity whose center is within the radius is guaranteed to be found because its bounds contain its center
+    final NearestEntityQuery<T> query = new NearestEntityQuery<>(location, type, condition);
+    double radius = SpatialHashGrid.DEFAULT_CELL_SIZE;
+    while (true) {
+      query.reset(radius);
+      this.entityIndex.query(
+        new Rectangle2D.Double(location.getX() - radius, location.getY() - radius, radius * 2, radius * 2), query);
+      if (query.withinRadius >= count || query.visited >= this.entityIndex.size()) {
+        break;
+      }
+
+      radius *= 2;
+    }
+
+    query.candidates.sort(Comparator.comparingDouble(NearestEntity::distance));
+    final List<T> nearest = new ArrayList<>(Math.min(count, query.candidates.size()));
+    for (int i = 0; i < count && i < query.candidates.size(); i++) {
+      nearest.add(query.candidates.get(i).entity());
+    }
+
+    return nearest;
+  }
+
+  private void updateEntityIndex(final IEntity entity) {
+    Rectangle2D bounds = entity.getBoundingBox();
+    if (entity instanceof ICombatEntity combatEntity && combatEntity.getHitBox() != null) {
+      final Rectangle2D hitBoxBounds = combatEntity.getHitBox().getBounds2D();
+      bounds = bounds != null ? bounds.createUnion(hitBoxBounds) : hitBoxBounds;
+    }
+
+    if (bounds != null) {
+      // moves within the occupied cells take the lock-free path of the update; only new entities need to be added
+      if (!this.entityIndex.update(entity, bounds)) {
+        this.entityIndex.add(entity, bounds);
+      }
+    } else {
+      this.entityIndex.remove(entity);
+    }
+  }
+
+  private static boolean intersects(final Shape entityShape, final Shape shape) {
+    if (entityShape == null) {
+      return false;
+    }
+
+    // for rectangle we can just use the intersects method
+    if (shape instanceof Rectangle2D rectangle2D) {
+      return entityShape.intersects(rectangle2D);
+    }
+
+    if (shape instanceof Line2D line) {
+      if (!line.intersects(entityShape.getBounds2D())) {
+        return false;
+      }
+
+      return entityShape instanceof Rectangle2D || entityShape.contains(line.getP1()) || intersectsOutline(entityShape, line);
+    }
+
+    // for other shapes, we check if the shape's bounds intersect the entity shape and
+    // if so, we then check if the actual shape intersects the entity shape
+    return entityShape.intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(entityShape, shape);
+  }
+
+  private static boolean intersectsOutline(final Shape shape, final Line2D line) {
+    final double[] coordinates = new double[6];
+    double startX = 0;
+    double startY = 0;
+    double x = 0;
+    double y = 0;
+    for (PathIterator iterator = shape.getPathIterator(null, 1); !iterator.isDone(); iterator.next()) {
+      switch (iterator.currentSegment(coordinates)) {
+        case PathIterator.SEG_MOVETO -> {
+          startX = x = coordinates[0];
+          startY = y = coordinates[1];
+        }
+        case PathIterator.SEG_LINETO -> {
+          if (line.intersectsLine(x, y, coordinates[0], coordinates[1])) {
+            return true;
+          }
+
+          x = coordinates[0];
+          y = coordinates[1];
+        }
+        case PathIterator.SEG_CLOSE -> {
+          if (line.intersectsLine(x, y, startX, startY)) {
+            return true;
+          }
+
+          x = startX;
+          y = startY;
+        }
+        default -> {
+          // flattened paths consist of lines only
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private static Rectangle2D getAudibleArea(SoundSource soundSource) {
+    final Point2D center = getSoundCenter(soundSource);
+    final double range = Math.max(soundSource.getRange(), 0);
+    return new Rectangle2D.Double(center.getX() - range, center.getY() - range, range * 2, range * 2);
+  }
+
+  private static Point2D getSoundCenter(SoundSource soundSource) {
+    // the sound engine plays the sound of a source at its center
+    return new Point2D.Double(soundSource.getX() + soundSource.getWidth() / 2.0, soundSource.getY() + soundSource.getHeight() / 2.0);
   }
 
   private void updateLighting(IEntity entity) {
@@ -2607,4 +2864,87 @@ public final class Environment implements IRenderable {
       cons.accept(listener);
     }
   }
+
+  /**
+   * Keeps the spatial index of all entities up to date with their moved or resized entities.
+   */
+  private class EntityIndexUpdater implements EntityTransformListener {
+    @Override
+    public void locationChanged(IEntity entity) {
+      updateEntityIndex(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      updateEntityIndex(entity);
+    }
+  }
+
+  /**
+   * Collects the candidates of a k-nearest query for one radius of the queried square.
+   */
+  private static final class NearestEntityQuery<T extends IEntity> implements Consumer<IEntity> {
+    private final Point2D location;
+    private final Class<T> type;
+    private final Predicate<? super T> condition;
+    private final List<NearestEntity<T>> candidates = new ArrayList<>();
+    private double radius;
+    private int visited;
+    private int withinRadius;
+
+    private NearestEntityQuery(Point2D location, Class<T> type, Predicate<? super T> condition) {
+      this.location = location;
+      this.type = type;
+      this.condition = condition;
+    }
+
+    private void reset(double radius) {
+      this.radius = radius;
+      this.visited = 0;
+      this.withinRadius = 0;
+      this.candidates.clear();
+    }
+
+    @Override
+    public void accept(IEntity entity) {
+      this.visited++;
+      if (!this.type.isInstance(entity) || entity.getCenter() == null) {
+        return;
+      }
+
+      final T candidate = this.type.cast(entity);
+      if (!this.condition.test(candidate)) {
+        return;
+      }
+
+      final double distance = entity.getCenter().distance(this.location);
+      if (distance <= this.radius) {
+        this.withinRadius++;
+      }
+
+      this.candidates.add(new NearestEntity<>(candidate, distance));
+    }
+  }
+
+  private record NearestEntity<T>(T entity, double distance) {
+  }
+
+  /**
+   * Keeps the spatial index of the sound sources up to date with their moved or resized entities.
+   */
+  private class SoundSourceIndexUpdater implements EntityTransformListener {
+    @Override
+    public void locationChanged(IEntity entity) {
+      if (entity instanceof SoundSource soundSource) {
+        updateSoundSource(soundSource);
+      }
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      if (entity instanceof SoundSource soundSource) {
+        updateSoundSource(soundSource);
+      }
+    }
+  }
 }
@@ -6,6 +6,7 @@ import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.graphics.emitters.EmitterSystem;
 import de.gurkenlabs.litiengine.resources.Resources;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,6 +44,7 @@ public final class GameWorld implements IUpdateable {
   private final Map<String, Collection<IUpdateable>> updatables = new ConcurrentHashMap<>();
 
   private final Map<String, Environment> environments = new ConcurrentHashMap<>();
+  private final EmitterSystem emitterSystem = new EmitterSystem();
 
   private Environment environment;
   private ICamera camera;
@@ -70,6 +72,8 @@ public final class GameWorld implements IUpdateable {
       return;
     }
 
+    this.emitterSystem.update();
+
     String mapName = getMapName(this.environment());
     if (mapName != null && this.updatables.containsKey(mapName)) {
       for (IUpdateable updatable : this.updatables.get(mapName)) {
@@ -225,6 +229,16 @@ public final class GameWorld implements IUpdateable {
     return this.camera;
   }
 
+  /**
+   * Gets the system that updates the particles of the emitters in the current {@code Environment} concurrently.
+   *
+   * @return The emitter system of the game.
+   * @see EmitterSystem#setParallelism(int)
+   */
+  public EmitterSystem emitters() {
+    return this.emitterSystem;
+  }
+
   /**
    * Gets the game's current {@code Environment}.
    *
@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.environment.tilemap;
 
 import java.awt.geom.Point2D;
+import java.util.EventListener;
 import java.util.List;
 
 public interface ITileLayer extends ILayer {
@@ -66,4 +67,49 @@ public interface ITileLayer extends ILayer {
    * @return the tiles
    */
   List<ITile> getTiles();
+
+  /**
+   * Adds the specified tile changed listener to receive events when a tile of this layer has been changed.
+   *
+   * <p>
+   * The default implementation does nothing. Layers that don't override it must not change their tiles while tile layer caching is
+   * enabled, because the cached chunks of the layer would not be rendered again.
+   * </p>
+   *
+   * @param listener
+   *          The listener to add.
+   */
+  default void onTileChanged(TileChangedListener listener) {
+    // tile changes are not reported by default
+  }
+
+  /**
+   * Removes the specified tile changed listener. The default implementation does nothing.
+   *
+   * @param listener
+   *          The listener to remove.
+   */
+  default void removeTileChangedListener(TileChangedListener listener) {
+    // tile changes are not reported by default
+  }
+
+  /**
+   * This listener interface receives events when a tile of a layer has been changed.
+   *
+   * @see ITileLayer#onTileChanged(TileChangedListener)
+   */
+  @FunctionalInterface
+  interface TileChangedListener extends EventListener {
+    /**
+     * Invoked when the tile at the specified map grid location has been changed.
+     *
+     * @param layer
+     *          The layer that contains the changed tile.
+     * @param x
+     *          The x-coordinate (on the map grid) of the changed tile.
+     * @param y
+     *          The y-coordinate (on the map grid) of the changed tile.
+     */
+    void tileChanged(ITileLayer layer, int x, int y);
+  }
 }
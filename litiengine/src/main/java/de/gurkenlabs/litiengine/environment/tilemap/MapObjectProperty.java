@@ -152,6 +152,14 @@ public final class MapObjectProperty {
   @TmxPropertyInfo(name = "lightActive", description = "Whether the light source is initially active.", category = "Light", type = "boolean", defaultValue = "true")
   public static final String LIGHT_ACTIVE = "lightActive";
 
+  /** Algorithm that computes the static shadows of the light source. */
+  @TmxPropertyInfo(name = "lightShadowMode", description = "Algorithm that computes the static shadows of the light source (EXTRUSION, VISIBILITY).", category = "Light", type = "enum", defaultValue = "EXTRUSION")
+  public static final String LIGHT_SHADOW_MODE = "lightShadowMode";
+
+  /** Whether the light source is composited each frame instead of being rendered into the ambient light layer. */
+  @TmxPropertyInfo(name = "lightDynamic", description = "Whether the light source is composited each frame, e.g. because it moves, instead of being rendered into the cached ambient light.", category = "Light", type = "boolean", defaultValue = "false")
+  public static final String LIGHT_DYNAMIC = "lightDynamic";
+
   // sound source
   /** Volume modifier of the sound source. */
   @TmxPropertyInfo(name = "soundVolume", description = "Volume modifier of the sound source (0.0 to 1.0).", category = "Sound", type = "float", defaultValue = "1.0")
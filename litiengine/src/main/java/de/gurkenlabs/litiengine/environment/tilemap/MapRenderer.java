@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.environment.tilemap;
 import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.Insets;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -11,7 +12,6 @@ import java.util.EventListener;
 import java.util.concurrent.ConcurrentHashMap;
 
 import de.gurkenlabs.litiengine.Game;
-import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.graphics.ImageRenderer;
 import de.gurkenlabs.litiengine.graphics.RenderType;
@@ -25,9 +25,11 @@ public class MapRenderer {
   private static final Collection<LayerRenderCondition> layerRenderConditions = ConcurrentHashMap.newKeySet();
   private static final Collection<String> unavailableImageSources = ConcurrentHashMap.newKeySet();
   private static final Logger log = Logger.getLogger(MapRenderer.class.getName());
+  private static final TileLayerChunkCache tileLayerCache = new TileLayerChunkCache(TileLayerChunkCache.DEFAULT_CHUNK_SIZE);
 
   static {
     Resources.images().addClearedListener(unavailableImageSources::clear);
+    Resources.images().addClearedListener(tileLayerCache::clear);
   }
 
   private MapRenderer() {
@@ -70,6 +72,16 @@ public class MapRenderer {
     layerRenderConditions.remove(condition);
   }
 
+  /**
+   * Discards the cached chunks of all tile layers of the specified map, including the tile layers within group layers.
+   *
+   * @param map The map whose cached tile layers are released.
+   * @see de.gurkenlabs.litiengine.configuration.GraphicConfiguration#cacheTileLayers()
+   */
+  public static void invalidateCache(IMap map) {
+    invalidateCache((ILayerList) map);
+  }
+
   public static void render(Graphics2D g, IMap map, Rectangle2D viewport, RenderType... renderTypes) {
     renderLayers(g, map, map, viewport, null, renderTypes, 1f);
   }
@@ -95,10 +107,7 @@ public class MapRenderer {
       }
 
       if (env != null && layer instanceof IMapObjectLayer imol) {
-        Collection<IEntity> entities = env.getEntities(imol);
-        if (entities != null) {
-          Game.graphics().renderEntities(g, entities, layer.getRenderType() == RenderType.NORMAL);
-        }
+        env.renderEntities(g, imol);
       }
 
       if (layer instanceof IImageLayer iil) {
@@ -111,17 +120,27 @@ public class MapRenderer {
     }
   }
 
+  private static void invalidateCache(ILayerList layers) {
+    for (final ITileLayer layer : layers.getTileLayers()) {
+      tileLayerCache.invalidate(layer);
+    }
+
+    for (final IGroupLayer group : layers.getGroupLayers()) {
+      invalidateCache(group);
+    }
+  }
+
   private static void renderTileLayer(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport, float opacity) {
-    // TODO: possibly implement the same render order that Tiled uses for staggered maps: undo the staggering, and then render it right-down
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
-    if (map.getRenderOrder().btt) {
-      for (int y = map.getHeight() - 1; y >= 0; y--) {
-        drawRow(g, layer, y, map, viewport);
-      }
+    if (Game.config().graphics().cacheTileLayers()) {
+      tileLayerCache.setMaxBytes(Game.config().graphics().getTileLayerCacheSize() * 1024L * 1024L);
+      tileLayerCache.render(g, layer, map, viewport);
     } else {
-      for (int y = 0; y < map.getHeight(); y++) {
-        drawRow(g, layer, y, map, viewport);
+      if (tileLayerCache.size() > 0) {
+        tileLayerCache.clear();
       }
+
+      renderTiles(g, layer, map, viewport);
     }
 
     final LayerRenderEvent event = new LayerRenderEvent(g, map, layer);
@@ -130,30 +149,98 @@ public class MapRenderer {
     }
   }
 
-  private static void drawRow(Graphics2D g, ITileLayer layer, int y, IMap map, Rectangle2D viewport) {
+  /**
+   * Renders all tiles of the specified layer that intersect the viewport in the map's render order.
+   *
+   * @param g
+   *          The graphics object to render on.
+   * @param layer
+   *          The tile layer to render.
+   * @param map
+   *          The map that contains the layer.
+   * @param viewport
+   *          The area of the map that is rendered to the origin of the graphics object.
+   * @return The number of rendered tiles.
+   */
+  static int renderTiles(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport) {
+    // TODO: possibly implement the same render order that Tiled uses for staggered maps: undo the staggering, and then render it right-down
+    final VisibleTileRange range = VisibleTileRange.of(map, viewport, getDrawMargins(map));
+    int rendered = 0;
+    if (map.getRenderOrder().btt) {
+      for (int y = range.getMaxRow(); y >= range.getMinRow(); y--) {
+        rendered += drawRow(g, layer, y, range, map, viewport);
+      }
+    } else {
+      for (int y = range.getMinRow(); y <= range.getMaxRow(); y++) {
+        rendered += drawRow(g, layer, y, range, map, viewport);
+      }
+    }
+
+    return rendered;
+  }
+
+  private static int drawRow(Graphics2D g, ITileLayer layer, int y, VisibleTileRange range, IMap map, Rectangle2D viewport) {
+    int rendered = 0;
     if (map.getRenderOrder().rtl) {
-      for (int x = map.getWidth() - 1; x >= 0; x--) {
-        drawTile(g, layer, x, y, map, viewport);
+      for (int x = range.getMaxColumn(y); x >= range.getMinColumn(y); x--) {
+        rendered += drawTile(g, layer, x, y, map, viewport);
       }
     } else {
-      for (int x = 0; x < map.getWidth(); x++) {
-        drawTile(g, layer, x, y, map, viewport);
+      for (int x = range.getMinColumn(y); x <= range.getMaxColumn(y); x++) {
+        rendered += drawTile(g, layer, x, y, map, viewport);
       }
     }
+
+    return rendered;
   }
 
-  private static void drawTile(Graphics2D g, ITileLayer layer, int x, int y, IMap map, Rectangle2D viewport) {
+  /**
+   * Determines how far the anchor of a tile (its bottom-left corner) may lie outside the viewport while its image still reaches into
+   * it. This considers the largest tile size and the tile offsets of all tilesets of the map (similar to the draw margins in Tiled),
+   * which allows tall tiles, e.g. trees or buildings, to be rendered when only their top is visible.
+   *
+   * @param map
+   *          The map to determine the draw margins for.
+   * @return The draw margins of the map's tiles.
+   */
+  static Insets getDrawMargins(final IMap map) {
+    int maxTileSize = Math.max(map.getTileWidth(), map.getTileHeight());
+    int minOffsetX = 0;
+    int maxOffsetX = 0;
+    int minOffsetY = 0;
+    int maxOffsetY = 0;
+    if (map.getTilesets() != null) {
+      for (ITileset tileset : map.getTilesets()) {
+        // flipped diagonally, the width of a tile becomes its height and vice versa
+        maxTileSize = Math.max(maxTileSize, Math.max(tileset.getTileWidth(), tileset.getTileHeight()));
+        final ITileOffset offset = tileset.getTileOffset();
+        if (offset != null) {
+          minOffsetX = Math.min(minOffsetX, offset.getX());
+          maxOffsetX = Math.max(maxOffsetX, offset.getX());
+          minOffsetY = Math.min(minOffsetY, offset.getY());
+          maxOffsetY = Math.max(maxOffsetY, offset.getY());
+        }
+      }
+    }
+
+    return new Insets(maxOffsetY, maxTileSize + maxOffsetX, maxTileSize - minOffsetY, -minOffsetX);
+  }
+
+  private static int drawTile(Graphics2D g, ITileLayer layer, int x, int y, IMap map, Rectangle2D viewport) {
     ITile tile = layer.getTile(x, y);
     if (tile == null) {
-      return;
+      return 0;
     }
     BufferedImage image = tile.getImage();
     if (image != null) {
       Point2D p = MapUtilities.getTileImageLocation(map, tile, x, y, image.getHeight());
       if (viewport.intersects(p.getX(), p.getY(), image.getWidth(), image.getHeight())) {
         ImageRenderer.render(g, image, p.getX() - viewport.getX(), p.getY() - viewport.getY());
+        return 1;
       }
     }
+
+    return 0;
   }
 
   protected static boolean shouldBeRendered(final Graphics2D g, final IMap map, ILayer layer, RenderType[] renderTypes) {
@@ -0,0 +1,359 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Transparency;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.gurkenlabs.litiengine.graphics.ImageRenderer;
+
+/**
+ * A cache that pre-renders tile layers into fixed-size chunks that can be blitted as a whole instead of rendering every single tile
+ * each frame.
+ *
+ * <p>
+ * The chunks are laid out in a grid in map pixel coordinates. A chunk is only rendered again once it has been invalidated, which
+ * happens if a tile within it is changed via {@link ITileLayer#setTile(int, int, int)}, if the current frame of an
+ * {@link ITileAnimation} that is displayed in it changes or if the layout of the map changes. The memory used by the cached chunks is
+ * bounded: if the limit is exceeded, the chunks that have not been rendered for the longest time are discarded.
+ */
+final class TileLayerChunkCache {
+  static final int DEFAULT_CHUNK_SIZE = 256;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final int chunkSize;
+  private final Map<ITileLayer, LayerChunks> layers = new WeakHashMap<>();
+  private final LinkedHashMap<Chunk, Chunk> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long maxBytes = Long.MAX_VALUE;
+  private long bytes;
+  private long renderPass;
+
+  TileLayerChunkCache(int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("The chunk size must be greater than 0 but was " + chunkSize);
+    }
+
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Renders the tiles of the specified layer that intersect the viewport by blitting the cached chunks. Outdated or missing chunks
+   * are rendered beforehand.
+   *
+   * @param g
+   *          The graphics object to render on.
+   * @param layer
+   *          The tile layer to render.
+   * @param map
+   *          The map that contains the layer.
+   * @param viewport
+   *          The area of the map that is rendered to the origin of the graphics object.
+   */
+  synchronized void render(final Graphics2D g, final ITileLayer layer, final IMap map, final Rectangle2D viewport) {
+    this.renderPass++;
+    final LayerChunks layerChunks = this.getLayerChunks(layer);
+    final Layout layout = Layout.of(map);
+    if (!layout.equals(layerChunks.layout)) {
+      this.discard(layerChunks);
+      layerChunks.layout = layout;
+    }
+
+    final int minX = Math.floorDiv((int) Math.floor(viewport.getMinX()), this.chunkSize);
+    final int minY = Math.floorDiv((int) Math.floor(viewport.getMinY()), this.chunkSize);
+    final int maxX = Math.floorDiv((int) Math.ceil(viewport.getMaxX()) - 1, this.chunkSize);
+    final int maxY = Math.floorDiv((int) Math.ceil(viewport.getMaxY()) - 1, this.chunkSize);
+
+    for (int y = minY; y <= maxY; y++) {
+      for (int x = minX; x <= maxX; x++) {
+        final Chunk chunk = this.getChunk(layerChunks, x, y);
+        if (chunk.isOutdated()) {
+          this.update(g, chunk, layer, map);
+        }
+
+        if (chunk.image != null) {
+          ImageRenderer.render(g, chunk.image, chunk.x - viewport.getX(), chunk.y - viewport.getY());
+        }
+      }
+    }
+
+    this.evict();
+  }
+
+  /**
+   * Sets the maximum amount of memory in bytes that may be used by the images of the cached chunks. Chunks that are required to render
+   * the current viewport are never discarded, even if they exceed this limit.
+   *
+   * @param maxBytes
+   *          The maximum amount of bytes.
+   */
+  synchronized void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Gets the amount of memory in bytes that is currently used by the images of the cached chunks.
+   *
+   * @return The amount of used bytes.
+   */
+  synchronized long getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Gets the number of cached chunks.
+   *
+   * @return The number of cached chunks.
+   */
+  synchronized int size() {
+    return this.recentlyUsed.size();
+  }
+
+  /**
+   * Discards all cached chunks.
+   */
+  synchronized void clear() {
+    for (LayerChunks layerChunks : this.layers.values()) {
+      layerChunks.chunks.clear();
+      layerChunks.layout = null;
+    }
+
+    this.recentlyUsed.clear();
+    this.bytes = 0;
+  }
+
+  /**
+   * Discards the cached chunks of the specified layer and stops tracking its tile changes.
+   *
+   * @param layer
+   *          The tile layer whose chunks are discarded.
+   */
+  synchronized void invalidate(ITileLayer layer) {
+    final LayerChunks layerChunks = this.layers.remove(layer);
+    if (layerChunks == null) {
+      return;
+    }
+
+    this.discard(layerChunks);
+    layer.removeTileChangedListener(layerChunks);
+  }
+
+  private LayerChunks getLayerChunks(ITileLayer layer) {
+    LayerChunks layerChunks = this.layers.get(layer);
+    if (layerChunks == null) {
+      layerChunks = new LayerChunks(this.chunkSize);
+      layer.onTileChanged(layerChunks);
+      this.layers.put(layer, layerChunks);
+    }
+
+    return layerChunks;
+  }
+
+  private Chunk getChunk(LayerChunks layerChunks, int x, int y) {
+    final long key = key(x, y);
+    Chunk chunk = layerChunks.chunks.get(key);
+    if (chunk == null) {
+      chunk = new Chunk(layerChunks, key, x * this.chunkSize, y * this.chunkSize);
+      layerChunks.chunks.put(key, chunk);
+      this.recentlyUsed.put(chunk, chunk);
+    } else {
+      // move the chunk to the end of the access order
+      this.recentlyUsed.get(chunk);
+    }
+
+    chunk.renderPass = this.renderPass;
+    return chunk;
+  }
+
+  private void update(Graphics2D g, Chunk chunk, ITileLayer layer, IMap map) {
+    // reset the flag before rendering so that changes during the rendering invalidate the chunk again
+    chunk.dirty = false;
+
+    if (chunk.image == null) {
+      chunk.image = g.getDeviceConfiguration().createCompatibleImage(this.chunkSize, this.chunkSize, Transparency.TRANSLUCENT);
+      this.bytes += chunk.getBytes();
+    }
+
+    final Rectangle2D bounds = new Rectangle2D.Double(chunk.x, chunk.y, this.chunkSize, this.chunkSize);
+    chunk.trackAnimations(layer, map, bounds);
+
+    final Graphics2D cg = chunk.image.createGraphics();
+    final int rendered;
+    try {
+      cg.setRenderingHints(g.getRenderingHints());
+      cg.setComposite(AlphaComposite.Clear);
+      cg.fillRect(0, 0, this.chunkSize, this.chunkSize);
+      cg.setComposite(AlphaComposite.SrcOver);
+      rendered = MapRenderer.renderTiles(cg, layer, map, bounds);
+    } finally {
+      cg.dispose();
+    }
+
+    if (rendered == 0) {
+      // empty chunks don't need to occupy any memory
+      this.bytes -= chunk.getBytes();
+      chunk.image = null;
+    }
+  }
+
+  private void evict() {
+    final Iterator<Chunk> iterator = this.recentlyUsed.keySet().iterator();
+    while (this.bytes > this.maxBytes && iterator.hasNext()) {
+      final Chunk chunk = iterator.next();
+      if (chunk.renderPass == this.renderPass) {
+        // all remaining chunks were required to render the current viewport
+        break;
+      }
+
+      iterator.remove();
+      chunk.owner.chunks.remove(chunk.key);
+      this.bytes -= chunk.getBytes();
+      chunk.image = null;
+    }
+  }
+
+  private void discard(LayerChunks layerChunks) {
+    for (Chunk chunk : layerChunks.chunks.values()) {
+      this.recentlyUsed.remove(chunk);
+      this.bytes -= chunk.getBytes();
+      chunk.image = null;
+    }
+
+    layerChunks.chunks.clear();
+  }
+
+  private static long key(int x, int y) {
+    return ((long) x << 32) | (y & 0xffffffffL);
+  }
+
+  /**
+   * The properties of a map that affect where tiles are rendered. If any of them changes, all chunks of the map's layers are discarded.
+   */
+  private record Layout(IMapOrientation orientation, int width, int height, int tileWidth, int tileHeight, StaggerAxis staggerAxis,
+      StaggerIndex staggerIndex, int hexSideLength, RenderOrder renderOrder, Insets margins) {
+    static Layout of(IMap map) {
+      return new Layout(map.getOrientation(), map.getWidth(), map.getHeight(), map.getTileWidth(), map.getTileHeight(), map.getStaggerAxis(),
+          map.getStaggerIndex(), map.getHexSideLength(), map.getRenderOrder(), MapRenderer.getDrawMargins(map));
+    }
+  }
+
+  /**
+   * The cached chunks of a single tile layer. This must not reference the layer itself because it is the value of a weak map that uses
+   * the layer as key.
+   */
+  private static final class LayerChunks implements ITileLayer.TileChangedListener {
+    private final int chunkSize;
+    private final Map<Long, Chunk> chunks = new ConcurrentHashMap<>();
+    private volatile Layout layout;
+
+    private LayerChunks(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void tileChanged(ITileLayer layer, int x, int y) {
+      final Layout currentLayout = this.layout;
+      final IMap map = layer.getMap();
+      if (currentLayout == null || map == null || this.chunks.isEmpty()) {
+        return;
+      }
+
+      // the area that can be covered by the image of the changed tile
+      final Point anchor = map.getOrientation().getLocation(x, y, map);
+      final Insets margins = currentLayout.margins();
+      final int minX = Math.floorDiv(anchor.x - margins.right, this.chunkSize);
+      final int maxX = Math.floorDiv(anchor.x + margins.left, this.chunkSize);
+      final int minY = Math.floorDiv(anchor.y - margins.bottom, this.chunkSize);
+      final int maxY = Math.floorDiv(anchor.y + margins.top, this.chunkSize);
+      for (int chunkY = minY; chunkY <= maxY; chunkY++) {
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+          final Chunk chunk = this.chunks.get(key(chunkX, chunkY));
+          if (chunk != null) {
+            chunk.dirty = true;
+          }
+        }
+      }
+    }
+  }
+
+  private static final class Chunk {
+    private final LayerChunks owner;
+    private final long key;
+    private final int x;
+    private final int y;
+
+    private volatile boolean dirty = true;
+    private BufferedImage image;
+    private long renderPass;
+
+    private ITileAnimation[] animations = new ITileAnimation[0];
+    private ITileAnimationFrame[] frames = new ITileAnimationFrame[0];
+
+    private Chunk(LayerChunks owner, long key, int x, int y) {
+      this.owner = owner;
+      this.key = key;
+      this.x = x;
+      this.y = y;
+    }
+
+    private boolean isOutdated() {
+      if (this.dirty) {
+        return true;
+      }
+
+      for (int i = 0; i < this.animations.length; i++) {
+        if (this.animations[i].getCurrentFrame() != this.frames[i]) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private long getBytes() {
+      return this.image == null ? 0 : (long) this.image.getWidth() * this.image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Remembers the frames of all animated tiles within the chunk so that it can be rendered again once any of them changes.
+     */
+    private void trackAnimations(ITileLayer layer, IMap map, Rectangle2D bounds) {
+      final Set<ITileAnimation> tracked = Collections.newSetFromMap(new IdentityHashMap<>());
+      final List<ITileAnimation> found = new ArrayList<>();
+      final VisibleTileRange range = VisibleTileRange.of(map, bounds, MapRenderer.getDrawMargins(map));
+      for (int row = range.getMinRow(); row <= range.getMaxRow(); row++) {
+        for (int column = range.getMinColumn(row); column <= range.getMaxColumn(row); column++) {
+          final ITile tile = layer.getTile(column, row);
+          if (tile == null || tile.getTilesetEntry() == null) {
+            continue;
+          }
+
+          final ITileAnimation animation = tile.getTilesetEntry().getAnimation();
+          if (animation != null && animation.getFrames().size() > 1 && tracked.add(animation)) {
+            found.add(animation);
+          }
+        }
+      }
+
+      this.animations = found.toArray(ITileAnimation[]::new);
+      this.frames = new ITileAnimationFrame[this.animations.length];
+      for (int i = 0; i < this.animations.length; i++) {
+        this.frames[i] = this.animations[i].getCurrentFrame();
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.Insets;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * The range of tile coordinates of an {@code IMap} that might be visible within a viewport. The range is conservative: it may
+ * contain a few tiles that end up being culled, but it never excludes a tile whose image intersects the viewport (as long as the
+ * image fits within the provided draw margins).
+ *
+ * <p>
+ * For orthogonal, staggered and hexagonal maps, the range is a rectangle in tile coordinates. For isometric maps, the viewport maps
+ * to a diamond in tile coordinates which is why the column range depends on the row.
+ */
+final class VisibleTileRange {
+  // additional pixels that account for integer rounding within the orientations' getLocation implementations
+  private static final int ROUNDING_SLACK = 2;
+
+  private final int minRow;
+  private final int maxRow;
+  private final int minColumn;
+  private final int maxColumn;
+
+  private final boolean diagonal;
+  private final int minDifference;
+  private final int maxDifference;
+  private final int minSum;
+  private final int maxSum;
+
+  private VisibleTileRange(int minColumn, int maxColumn, int minRow, int maxRow) {
+    this(minColumn, maxColumn, minRow, maxRow, false, 0, 0, 0, 0);
+  }
+
+  private VisibleTileRange(int minColumn, int maxColumn, int minRow, int maxRow, boolean diagonal, int minDifference,
+      int maxDifference, int minSum, int maxSum) {
+    this.minColumn = minColumn;
+    this.maxColumn = maxColumn;
+    this.minRow = minRow;
+    this.maxRow = maxRow;
+    this.diagonal = diagonal;
+    this.minDifference = minDifference;
+    this.maxDifference = maxDifference;
+    this.minSum = minSum;
+    this.maxSum = maxSum;
+  }
+
+  /**
+   * Determines the tiles of the specified map that might be visible within the given viewport.
+   *
+   * @param map
+   *          The map to determine the visible tiles for.
+   * @param viewport
+   *          The visible area in map pixel coordinates.
+   * @param margins
+   *          The amount of pixels by which the bottom-left tile anchors (as provided by
+   *          {@link IMapOrientation#getLocation(int, int, IMap)}) may lie outside the viewport while their image still intersects
+   *          it.
+   * @return The range of possibly visible tiles.
+   */
+  static VisibleTileRange of(final IMap map, final Rectangle2D viewport, final Insets margins) {
+    final int width = map.getWidth();
+    final int height = map.getHeight();
+    final IMapOrientation orientation = map.getOrientation();
+    final double tileWidth = map.getTileWidth();
+    final double tileHeight = map.getTileHeight();
+    if (tileWidth <= 0 || tileHeight <= 0) {
+      return all(map);
+    }
+
+    // the area in which the anchor of a visible tile must lie
+    final double left = viewport.getMinX() - margins.left - ROUNDING_SLACK;
+    final double right = viewport.getMaxX() + margins.right + ROUNDING_SLACK;
+    final double top = viewport.getMinY() - margins.top - ROUNDING_SLACK;
+    final double bottom = viewport.getMaxY() + margins.bottom + ROUNDING_SLACK;
+
+    if (orientation == MapOrientations.ORTHOGONAL) {
+      return clamped(width, height,
+          first(left, 0, 0, tileWidth),
+          last(right, 0, tileWidth),
+          first(top, tileHeight, 0, tileHeight),
+          last(bottom, tileHeight, tileHeight));
+    }
+
+    if (orientation == MapOrientations.ISOMETRIC) {
+      // anchor = ((x - y + height - 1) * tileWidth / 2, (x + y + 2) * tileHeight / 2)
+      final double halfWidth = tileWidth / 2.0;
+      final double halfHeight = tileHeight / 2.0;
+      final int minDiff = first(left, (height - 1) * halfWidth, 0, halfWidth);
+      final int maxDiff = last(right, (height - 1) * halfWidth, halfWidth);
+      final int minSum = first(top, tileHeight, 0, halfHeight);
+      final int maxSum = last(bottom, tileHeight, halfHeight);
+      final int minRow = Math.max(0, Math.floorDiv(minSum - maxDiff, 2));
+      final int maxRow = Math.min(height - 1, Math.floorDiv(maxSum - minDiff, 2));
+      return new VisibleTileRange(0, width - 1, minRow, maxRow, true, minDiff, maxDiff, minSum, maxSum);
+    }
+
+    if ((orientation == MapOrientations.ISOMETRIC_STAGGERED || orientation == MapOrientations.HEXAGONAL)
+        && map.getStaggerAxis() != null) {
+      final double hexSide = orientation == MapOrientations.HEXAGONAL ? map.getHexSideLength() : 0;
+      if (map.getStaggerAxis() == StaggerAxis.X) {
+        // anchor = (x * (tileWidth + hexSide) / 2, y * tileHeight + tileHeight + [0 | tileHeight / 2])
+        final double columnStep = (tileWidth + hexSide) / 2.0;
+        if (columnStep <= 0) {
+          return all(map);
+        }
+
+        return clamped(width, height,
+            first(left, 0, 0, columnStep),
+            last(right, 0, columnStep),
+            first(top, tileHeight, tileHeight / 2.0, tileHeight),
+            last(bottom, tileHeight, tileHeight));
+      }
+
+      // anchor = (x * tileWidth + [0 | tileWidth / 2], y * (tileHeight + hexSide) / 2 + tileHeight)
+      final double rowStep = (tileHeight + hexSide) / 2.0;
+      if (rowStep <= 0) {
+        return all(map);
+      }
+
+      return clamped(width, height,
+          first(left, 0, tileWidth / 2.0, tileWidth),
+          last(right, 0, tileWidth),
+          first(top, tileHeight, 0, rowStep),
+          last(bottom, tileHeight, rowStep));
+    }
+
+    // unknown orientations are not culled in advance
+    return all(map);
+  }
+
+  /**
+   * Gets a range that contains all tiles of the specified map.
+   *
+   * @param map
+   *          The map.
+   * @return A range that covers the whole map.
+   */
+  static VisibleTileRange all(final IMap map) {
+    return new VisibleTileRange(0, map.getWidth() - 1, 0, map.getHeight() - 1);
+  }
+
+  int getMinRow() {
+    return this.minRow;
+  }
+
+  int getMaxRow() {
+    return this.maxRow;
+  }
+
+  int getMinColumn(int row) {
+    if (this.diagonal) {
+      return Math.max(this.minColumn, Math.max(this.minDifference + row, this.minSum - row));
+    }
+
+    return this.minColumn;
+  }
+
+  int getMaxColumn(int row) {
+    if (this.diagonal) {
+      return Math.min(this.maxColumn, Math.min(this.maxDifference + row, this.maxSum - row));
+    }
+
+    return this.maxColumn;
+  }
+
+  boolean contains(int column, int row) {
+    return row >= this.getMinRow() && row <= this.getMaxRow() && column >= this.getMinColumn(row) && column <= this.getMaxColumn(row);
+  }
+
+  private static VisibleTileRange clamped(int width, int height, int minColumn, int maxColumn, int minRow, int maxRow) {
+    return new VisibleTileRange(Math.max(0, minColumn), Math.min(width - 1, maxColumn), Math.max(0, minRow), Math.min(height - 1, maxRow));
+  }
+
+  /**
+   * Gets the smallest index {@code k} for which a coordinate {@code k * step + offset + shift} with {@code shift} between zero and
+   * {@code maxShift} might be greater than the specified minimum.
+   */
+  private static int first(double min, double offset, double maxShift, double step) {
+    return (int) Math.floor((min - offset - maxShift) / step);
+  }
+
+  /**
+   * Gets the largest index {@code k} for which a coordinate {@code k * step + offset} might be less than the specified maximum.
+   */
+  private static int last(double max, double offset, double step) {
+    return (int) Math.floor((max - offset) / step);
+  }
+}
@@ -23,6 +23,12 @@ public class Tile extends CustomPropertyProvider implements ITile {
   protected static final int FLIPPED_DIAGONALLY_FLAG = 0x20000000;
   private static final AffineTransform TX_DIAGONAL_FLIP = new AffineTransform(0.0, 1.0, 1.0, 0.0, 0.0, 0.0);
 
+  // the flip variants of a tile image, which are combined to index the cached images of a tileset entry
+  static final int FLIP_VARIANTS = 8;
+  private static final int FLIP_VARIANT_HORIZONTAL = 1;
+  private static final int FLIP_VARIANT_VERTICAL = 2;
+  private static final int FLIP_VARIANT_DIAGONAL = 4;
+
   @XmlAttribute
   private Integer gid;
 
@@ -118,27 +124,66 @@ public class Tile extends CustomPropertyProvider implements ITile {
     if (this.tilesetEntry == null) { // happens if the tile is empty
       return null;
     }
-    BufferedImage base = this.getTilesetEntry().getImage();
     if (!this.isFlipped()) {
+      return this.getTilesetEntry().getImage();
+    }
+
+    // the flipped images are cached by the tileset entry, so they are only created once
+    if (this.getTilesetEntry() instanceof TilesetEntry entry) {
+      return entry.getFlippedImage(this.getFlipVariant());
+    }
+
+    return flip(this.getTilesetEntry().getImage(), this.getFlipVariant());
+  }
+
+  /**
+   * Creates a flipped copy of the specified tile image.
+   *
+   * @param base The unflipped tile image.
+   * @param flipVariant The combination of flip flags, as returned by {@link #getFlipVariant()}.
+   * @return The flipped image.
+   */
+  static BufferedImage flip(BufferedImage base, int flipVariant) {
+    if (base == null || flipVariant == 0) {
       return base;
     }
+
     // save some overhead by doing all the reflection at once
     // affine transforms are confusing: this actually does represent the correct order
     AffineTransform tx = new AffineTransform();
-    if (this.isFlippedHorizontally()) {
+    if ((flipVariant & FLIP_VARIANT_HORIZONTAL) != 0) {
       tx.translate(base.getWidth(), 0.0);
       tx.scale(-1.0, 1.0);
     }
-    if (this.isFlippedVertically()) {
+    if ((flipVariant & FLIP_VARIANT_VERTICAL) != 0) {
       tx.translate(0.0, base.getHeight());
       tx.scale(1.0, -1.0);
     }
-    if (this.isFlippedDiagonally()) {
+    if ((flipVariant & FLIP_VARIANT_DIAGONAL) != 0) {
       tx.concatenate(TX_DIAGONAL_FLIP);
     }
     return (new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR)).filter(base, null);
   }
 
+  /**
+   * Gets the combination of the flip flags of this tile as an index in the range {@code [0, FLIP_VARIANTS)}.
+   *
+   * @return The flip variant of this tile; 0 if it isn't flipped.
+   */
+  int getFlipVariant() {
+    int variant = 0;
+    if (this.isFlippedHorizontally()) {
+      variant |= FLIP_VARIANT_HORIZONTAL;
+    }
+    if (this.isFlippedVertically()) {
+      variant |= FLIP_VARIANT_VERTICAL;
+    }
+    if (this.isFlippedDiagonally()) {
+      variant |= FLIP_VARIANT_DIAGONAL;
+    }
+    return variant;
+  }
+
   @Override
   public int getGridId() {
     if (this.gid == null) {
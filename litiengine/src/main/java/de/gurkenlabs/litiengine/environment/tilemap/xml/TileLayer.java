@@ -7,9 +7,11 @@ import jakarta.xml.bind.annotation.XmlElement;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -24,6 +26,8 @@ public class TileLayer extends Layer implements ITileLayer {
 
   private transient Tile[][] tiles;
 
+  private final transient Collection<TileChangedListener> tileChangedListeners = ConcurrentHashMap.newKeySet();
+
   /**
    * Instantiates a new {@code TileLayer} instance.
    */
@@ -141,6 +145,19 @@ public class TileLayer extends Layer implements ITileLayer {
       tile.setTilesetEntry(tile.getGridId() == Tile.NONE ? null : getMap().getTilesetEntry(tile.getGridId()));
     }
     getRawTileData().markDirty();
+    for (TileChangedListener listener : this.tileChangedListeners) {
+      listener.tileChanged(this, x, y);
+    }
+  }
+
+  @Override
+  public void onTileChanged(TileChangedListener listener) {
+    this.tileChangedListeners.add(listener);
+  }
+
+  @Override
+  public void removeTileChangedListener(TileChangedListener listener) {
+    this.tileChangedListeners.remove(listener);
   }
 
   @Override
@@ -42,6 +42,12 @@ public class TilesetEntry extends CustomPropertyProvider implements ITilesetEntr
   @XmlElement(name = "objectgroup")
   private MapObjectLayer collisionData;
 
+  @XmlTransient
+  private BufferedImage flippedImagesSource;
+
+  @XmlTransient
+  private BufferedImage[] flippedImages;
+
   /**
    * Instantiates a new {@code TilesetEntry}.
    */
@@ -92,6 +98,46 @@ public class TilesetEntry extends CustomPropertyProvider implements ITilesetEntr
     return this.tileset.getSpritesheet().getSprite(this.getId(), this.tileset.getMargin(), this.tileset.getSpacing());
   }
 
+  /**
+   * Gets the current image of this entry, flipped according to the specified flip variant. Animated entries return the flipped image of
+   * their current frame.
+   *
+   * @param flipVariant The combination of flip flags of the tile that displays this entry.
+   * @return The flipped image.
+   */
+  BufferedImage getFlippedImage(int flipVariant) {
+    if (this.animation != null && this.tileset.getTile(this.animation.getCurrentFrame().getTileId()) instanceof TilesetEntry frame) {
+      return frame.getFlippedBasicImage(flipVariant);
+    }
+
+    return this.getFlippedBasicImage(flipVariant);
+  }
+
+  /**
+   * Gets the flipped variant of the basic image of this entry. The variants are created lazily and cached until the basic image changes,
+   * e.g. because the image resources have been cleared, so flipped tiles don't allocate new images every frame.
+   *
+   * @param flipVariant The combination of flip flags of the tile that displays this entry.
+   * @return The flipped basic image.
+   */
+  synchronized BufferedImage getFlippedBasicImage(int flipVariant) {
+    final BufferedImage base = this.getBasicImage();
+    if (base == null || flipVariant == 0) {
+      return base;
+    }
+
+    if (base != this.flippedImagesSource) {
+      this.flippedImagesSource = base;
+      this.flippedImages = new BufferedImage[Tile.FLIP_VARIANTS];
+    }
+
+    if (this.flippedImages[flipVariant] == null) {
+      this.flippedImages[flipVariant] = Tile.flip(base, flipVariant);
+    }
+
+    return this.flippedImages[flipVariant];
+  }
+
   @Override
   public ITileset getTileset() {
     return this.tileset;
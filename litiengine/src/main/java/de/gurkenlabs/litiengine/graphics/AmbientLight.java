@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.graphics;
 import de.gurkenlabs.litiengine.entities.LightSource;
 import de.gurkenlabs.litiengine.entities.StaticShadow;
 import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.util.Imaging;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 import de.gurkenlabs.litiengine.util.geom.Vector2D;
 import java.awt.AlphaComposite;
@@ -14,10 +15,18 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class represents the ambient light in an environment. It extends the ColorLayer class and provides methods to render light sources and
  * shadows.
+ * <p>
+ * Dynamic light sources are not part of the cached layer. Instead, the visible part of the layer is copied into a screen-space light buffer
+ * each frame, into which the dynamic lights are composited from pre-rendered sprites.
+ *
+ * @see LightSource#setDynamic(boolean)
  */
 public class AmbientLight extends ColorLayer {
   /**
@@ -25,6 +34,10 @@ public class AmbientLight extends ColorLayer {
    */
   public static final Color DEFAULT_COLOR = new Color(0, 0, 0, 0);
 
+  private final LightGeometryCache geometryCache;
+  private final LightSprites lightSprites = new LightSprites();
+  private BufferedImage lightBuffer;
+
   /**
    * Constructor for the AmbientLight class.
    *
@@ -33,6 +46,52 @@ public class AmbientLight extends ColorLayer {
    */
   public AmbientLight(final Environment environment, final Color ambientColor) {
     super(environment, ambientColor);
+    this.geometryCache = new LightGeometryCache(environment);
+  }
+
+  @Override
+  public void updateSection(Rectangle2D section) {
+    // keeps the cached lit areas in sync, even if none of the tiles in the section has been allocated yet
+    geometryCache.update();
+    super.updateSection(section);
+  }
+
+  @Override
+  void render(Graphics2D g, Rectangle2D viewport) {
+    final List<LightSource> dynamicLights = new ArrayList<>();
+    for (LightSource light : getEnvironment().getLightSources()) {
+      if (light.isDynamic() && light.isActive() && light.getBoundingBox().intersects(viewport)) {
+        dynamicLights.add(light);
+      }
+    }
+
+    final BufferedImage buffer = dynamicLights.isEmpty() ? null : getLightBuffer(viewport);
+    if (buffer == null) {
+      super.render(g, viewport);
+      return;
+    }
+
+    final Graphics2D bufferGraphics = buffer.createGraphics();
+    bufferGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.CLEAR));
+    bufferGraphics.fillRect(0, 0, buffer.getWidth(), buffer.getHeight());
+    bufferGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
+    super.render(bufferGraphics, viewport);
+
+    bufferGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.DST_OUT, 1));
+    for (LightSource light : dynamicLights) {
+      renderLightSprite(bufferGraphics, light, viewport);
+    }
+
+    for (LightSource light : dynamicLights) {
+      if (light.getIntensity() > 0) {
+        final float intensity = Math.clamp(light.getIntensity() / 255f, 0f, 1f);
+        bufferGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, intensity));
+        renderLightSprite(bufferGraphics, light, viewport);
+      }
+    }
+
+    bufferGraphics.dispose();
+    ImageRenderer.render(g, buffer, 0, 0);
   }
 
   /**
@@ -43,6 +102,7 @@ public class AmbientLight extends ColorLayer {
    */
   @Override
   protected void renderSection(Graphics2D g, Rectangle2D section) {
+    geometryCache.update();
     renderAmbient(g, section);
 
     g.setComposite(AlphaComposite.getInstance(AlphaComposite.DST_OUT, 1));
@@ -75,7 +135,7 @@ public class AmbientLight extends ColorLayer {
    * @param section The section of the environment to carve from.
    */
   private void carveOutLight(Graphics2D g, LightSource light, Rectangle2D section) {
-    if (!light.getBoundingBox().intersects(section) || !light.isActive()) {
+    if (!light.getBoundingBox().intersects(section) || !light.isActive() || light.isDynamic()) {
       return;
     }
     renderLightSource(g, light, section);
@@ -91,6 +151,7 @@ public class AmbientLight extends ColorLayer {
   private void renderActualLight(Graphics2D g, LightSource light, Rectangle2D section) {
     if (!light.getBoundingBox().intersects(section)
       || !light.isActive()
+      || light.isDynamic()
       || light.getIntensity() <= 0) {
       return;
     }
@@ -163,6 +224,38 @@ public class AmbientLight extends ColorLayer {
     }
   }
 
+  /**
+   * Gets the area that is lit by the specified light source, which is its light shape without the shadows cast by the static
+   * shadows of the environment. The area is cached until the light or the shadows around it change.
+   *
+   * @param light The light source.
+   * @return The lit area of the light source.
+   */
+  Area getLitArea(LightSource light) {
+    return geometryCache.getLitArea(light, this::subtractShadow);
+  }
+
+  /**
+   * Renders the pre-rendered sprite of a dynamic light source into the light buffer, which is located at the viewport.
+   *
+   * @param g        The Graphics2D object of the light buffer.
+   * @param light    The dynamic light source to render.
+   * @param viewport The viewport that the light buffer covers.
+   */
+  private void renderLightSprite(Graphics2D g, LightSource light, Rectangle2D viewport) {
+    ImageRenderer.render(g, lightSprites.get(light), light.getX() - viewport.getX(), light.getY() - viewport.getY());
+  }
+
+  private BufferedImage getLightBuffer(Rectangle2D viewport) {
+    final int width = (int) Math.ceil(viewport.getWidth());
+    final int height = (int) Math.ceil(viewport.getHeight());
+    if (lightBuffer == null || lightBuffer.getWidth() != width || lightBuffer.getHeight() != height) {
+      lightBuffer = Imaging.getCompatibleImage(width, height);
+    }
+
+    return lightBuffer;
+  }
+
   /**
    * Renders a light source on the environment.
    *
@@ -172,15 +265,15 @@ public class AmbientLight extends ColorLayer {
    */
   private void renderLightSource(final Graphics2D g, final LightSource light, Rectangle2D section) {
 
-    Area lightArea = new Area(light.getLightShape());
     if (light.getLightShapeType() == LightSource.Type.RECTANGLE) {
+      // rectangular lights are filled evenly; they are only occluded by static shadows if they compute their visibility polygon
       g.setColor(light.getColor());
-      ShapeRenderer.render(g, light.getBoundingBox());
+      ShapeRenderer.render(g, light.getShadowMode() == LightSource.ShadowMode.VISIBILITY ? getLitArea(light) : light.getBoundingBox());
       return;
     }
 
     // cut the light area where shadow Boxes are (this simulates light falling into and out of rooms)
-    getEnvironment().getStaticShadows().forEach(shadow -> subtractShadow(lightArea, shadow));
+    final Area lightArea = getLitArea(light);
 
     final Paint oldPaint = g.getPaint();
 
@@ -9,15 +9,37 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 /**
  * Represents an abstract color layer that can be rendered and updated.
+ * <p>
+ * The layer is split up into a sparse grid of fixed-size tiles instead of holding one image of the whole map. A tile is only allocated
+ * and rendered once it intersects the camera's viewport, updates only redraw the parts of allocated tiles that have changed, and each
+ * frame only draws the tiles within the viewport. The memory used by the tiles is bounded: if the limit is exceeded, the tiles that
+ * have not been visible for the longest time are discarded and rendered again once they become visible.
+ * <p>
+ * The sections are rendered outside of the lock that guards the tile grid, so rendering a newly visible tile on the render thread
+ * doesn't block updates of other tiles and vice versa. Each tile is only drawn by one thread at a time.
  */
 public abstract class ColorLayer implements IRenderable {
+  /** The default maximum number of bytes that the tiles of a layer may occupy. */
+  public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  static final int TILE_SIZE = 256;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
   private final Environment environment;
-  private final BufferedImage layer;
+  private final Rectangle bounds;
+  private final Tile[][] tiles;
+  private final LinkedHashMap<Tile, Tile> recentlyUsed = new LinkedHashMap<>(16, 0.75f, true);
 
   private Color color;
+  private long maxBytes = DEFAULT_MAX_BYTES;
+  private long bytes;
+  private long renderPass;
 
   /**
    * Constructs a new ColorLayer with the specified environment and color.
@@ -30,16 +52,55 @@ public abstract class ColorLayer implements IRenderable {
     this.color = color;
 
     Dimension size = env.getMap().getSizeInPixels();
-    this.layer = Imaging.getCompatibleImage(size.width, size.height);
-    this.updateSection(this.environment.getMap().getBounds());
+    this.bounds = new Rectangle(0, 0, size.width, size.height);
+    this.tiles = new Tile[Math.ceilDiv(size.width, TILE_SIZE)][Math.ceilDiv(size.height, TILE_SIZE)];
   }
 
   @Override
   public void render(Graphics2D g) {
-    final Rectangle2D viewport = Game.world().camera().getViewport();
-    ImageRenderer.render(g, this.layer, -viewport.getX(), -viewport.getY());
+    this.render(g, Game.world().camera().getViewport());
   }
 
+  /**
+   * Renders the tiles of this layer that intersect the specified viewport. Tiles that are rendered for the first time are allocated and
+   * rendered completely. Afterwards, the least recently visible tiles are discarded if the tiles exceed the memory limit.
+   *
+   * @param g        The graphics context to render on.
+   * @param viewport The section of the map that is visible on the graphics context.
+   */
+  void render(Graphics2D g, Rectangle2D viewport) {
+    final Rectangle visible = viewport.getBounds().intersection(this.bounds);
+    if (visible.isEmpty()) {
+      return;
+    }
+
+    final long pass;
+    synchronized (this.tiles) {
+      pass = ++this.renderPass;
+    }
+
+    for (int column = visible.x / TILE_SIZE; column <= (visible.x + visible.width - 1) / TILE_SIZE; column++) {
+      for (int row = visible.y / TILE_SIZE; row <= (visible.y + visible.height - 1) / TILE_SIZE; row++) {
+        final Tile tile = this.getOrCreateTile(column, row, pass);
+        if (tile == null) {
+          continue;
+        }
+
+        synchronized (tile) {
+          if (!tile.rendered) {
+            this.renderTile(tile, this.getTileBounds(column, row));
+            tile.rendered = true;
+          }
+        }
+
+        ImageRenderer.render(g, tile.image, column * TILE_SIZE - viewport.getX(), row * TILE_SIZE - viewport.getY());
+      }
+    }
+
+    synchronized (this.tiles) {
+      this.evict();
+    }
+  }
   /**
    * Gets the current color of the layer.
    *
@@ -88,17 +149,79 @@ public abstract class ColorLayer implements IRenderable {
       return;
     }
 
-    Rectangle dirtyRegion = section.getBounds().intersection(
-      new Rectangle(0, 0, layer.getWidth(), layer.getHeight()));
+    Rectangle dirtyRegion = section.getBounds().intersection(this.bounds);
     if (dirtyRegion.isEmpty()) {
       return;
     }
 
-    final Graphics2D g = layer.createGraphics();
-    clearSection(g, dirtyRegion);
-    g.setClip(dirtyRegion);
-    renderSection(g, dirtyRegion);
-    g.dispose();
+    // tiles that have not been allocated or rendered yet are rendered completely once they become visible
+    for (int column = dirtyRegion.x / TILE_SIZE; column <= (dirtyRegion.x + dirtyRegion.width - 1) / TILE_SIZE; column++) {
+      for (int row = dirtyRegion.y / TILE_SIZE; row <= (dirtyRegion.y + dirtyRegion.height - 1) / TILE_SIZE; row++) {
+        final Tile tile;
+        synchronized (this.tiles) {
+          tile = this.tiles[column][row];
+        }
+
+        if (tile == null) {
+          continue;
+        }
+
+        synchronized (tile) {
+          if (tile.rendered) {
+            this.renderTile(tile, dirtyRegion.intersection(this.getTileBounds(column, row)));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the maximum number of bytes that the tiles of this layer may occupy.
+   *
+   * @return The maximum number of bytes.
+   */
+  public long getMaxBytes() {
+    synchronized (this.tiles) {
+      return this.maxBytes;
+    }
+  }
+
+  /**
+   * Sets the maximum number of bytes that the tiles of this layer may occupy. Tiles that are required to render the current viewport
+   * are never discarded, even if they exceed this limit.
+   *
+   * @param maxBytes The maximum number of bytes.
+   */
+  public void setMaxBytes(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("The maximum number of bytes must not be negative but was " + maxBytes);
+    }
+
+    synchronized (this.tiles) {
+      this.maxBytes = maxBytes;
+    }
+  }
+
+  /**
+   * Gets the number of bytes that are currently occupied by the tiles of this layer.
+   *
+   * @return The number of occupied bytes.
+   */
+  long getBytes() {
+    synchronized (this.tiles) {
+      return this.bytes;
+    }
+  }
+
+  /**
+   * Gets the number of tiles that are currently allocated because they have been visible recently.
+   *
+   * @return The number of allocated tiles.
+   */
+  int getAllocatedTileCount() {
+    synchronized (this.tiles) {
+      return this.recentlyUsed.size();
+    }
   }
 
   /**
@@ -125,4 +248,83 @@ public abstract class ColorLayer implements IRenderable {
   protected Environment getEnvironment() {
     return this.environment;
   }
+
+  private Tile getOrCreateTile(int column, int row, long pass) {
+    synchronized (this.tiles) {
+      Tile tile = this.tiles[column][row];
+      if (tile == null) {
+        final Rectangle tileBounds = this.getTileBounds(column, row);
+        final BufferedImage image = Imaging.getCompatibleImage(tileBounds.width, tileBounds.height);
+        if (image == null) {
+          return null;
+        }
+
+        // the tile is rendered by the caller, outside of this lock
+        tile = new Tile(column, row, image);
+        this.tiles[column][row] = tile;
+        this.recentlyUsed.put(tile, tile);
+        this.bytes += tile.getBytes();
+      } else {
+        // refresh the access order
+        this.recentlyUsed.get(tile);
+      }
+
+      tile.renderPass = pass;
+      return tile;
+    }
+  }
+
+  private void evict() {
+    final Iterator<Tile> iterator = this.recentlyUsed.keySet().iterator();
+    while (this.bytes > this.maxBytes && iterator.hasNext()) {
+      final Tile tile = iterator.next();
+      if (tile.renderPass == this.renderPass) {
+        // all remaining tiles were required to render the current viewport
+        break;
+      }
+
+      iterator.remove();
+      this.tiles[tile.column][tile.row] = null;
+      this.bytes -= tile.getBytes();
+    }
+  }
+
+  private void renderTile(Tile tile, Rectangle section) {
+    if (this.getColor() == null || section.isEmpty()) {
+      return;
+    }
+
+    // the sections are rendered in map coordinates
+    final Graphics2D g = tile.image.createGraphics();
+    g.translate(-tile.column * TILE_SIZE, -tile.row * TILE_SIZE);
+    clearSection(g, section);
+    g.setClip(section);
+    renderSection(g, section);
+    g.dispose();
+  }
+
+  private Rectangle getTileBounds(int column, int row) {
+    return new Rectangle(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE).intersection(this.bounds);
+  }
+
+  /**
+   * A tile of the layer. Its image is only drawn while holding the tile's monitor.
+   */
+  private static final class Tile {
+    private final int column;
+    private final int row;
+    private final BufferedImage image;
+    private boolean rendered;
+    private long renderPass;
+
+    private Tile(int column, int row, BufferedImage image) {
+      this.column = column;
+      this.row = row;
+      this.image = image;
+    }
+
+    private long getBytes() {
+      return (long) this.image.getWidth() * this.image.getHeight() * BYTES_PER_PIXEL;
+    }
+  }
 }
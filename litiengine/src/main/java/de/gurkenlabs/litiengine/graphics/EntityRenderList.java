@@ -0,0 +1,269 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
+import de.gurkenlabs.litiengine.entities.EntityYComparator;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A persistent list of entities that keeps them in the render order defined by the {@link EntityYComparator}.
+ *
+ * <p>
+ * Instead of sorting all entities from scratch every frame, this list remembers the order of the previous frame and only restores it
+ * with an insertion sort once any of its entities has been moved or resized (which it observes as an {@link EntityTransformListener}).
+ * Since entities usually only move a few pixels between two frames, the list is almost sorted in this case and the insertion sort
+ * runs in nearly linear time. The sort is stable, so entities with the same y-coordinate keep their relative order.
+ *
+ * <p>
+ * Because the sorted entities are ordered by their y-coordinate, the entities that may intersect the viewport are found by a binary
+ * search for its vertical range, extended by the largest distance between the sort coordinate of an entity and the edges of its
+ * bounding box. Emitters determine for each particle whether it is visible, so they are always rendered.
+ *
+ * <p>
+ * Changes to the collision box of an entity that don't change its location or size (e.g. {@code setCollisionBoxHeight}) don't fire
+ * transform events and are therefore only considered once the entity or any other entity in this list moves.
+ *
+ * @see RenderEngine#renderEntities(java.awt.Graphics2D, EntityRenderList, boolean)
+ */
+public class EntityRenderList implements EntityTransformListener {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Set<IEntity> members = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Object renderLock = new Object();
+
+  private IEntity[] entities = new IEntity[INITIAL_CAPACITY];
+  private double[] keys = new double[INITIAL_CAPACITY];
+  private int size;
+
+  // the largest distances from the sort coordinate of an entity to the top and bottom of its bounding box
+  private double maxExtentAbove;
+  private double maxExtentBelow;
+  // the indices of the emitters in the sorted list
+  private int[] unbounded = new int[INITIAL_CAPACITY];
+  private int unboundedCount;
+
+  private IEntity[] renderBuffer = new IEntity[INITIAL_CAPACITY];
+
+  private volatile boolean outOfOrder;
+
+  /**
+   * Adds the specified entity to this list.
+   *
+   * @param entity The entity to add.
+   * @return True if the entity was added; false if it was already part of this list.
+   */
+  public synchronized boolean add(IEntity entity) {
+    if (entity == null || !this.members.add(entity)) {
+      return false;
+    }
+
+    if (this.size == this.entities.length) {
+      this.entities = Arrays.copyOf(this.entities, this.size * 2);
+      this.keys = Arrays.copyOf(this.keys, this.size * 2);
+    }
+
+    this.entities[this.size++] = entity;
+    entity.addTransformListener(this);
+    this.outOfOrder = true;
+    return true;
+  }
+
+  /**
+   * Removes the specified entity from this list.
+   *
+   * @param entity The entity to remove.
+   * @return True if the entity was removed; false if it wasn't part of this list.
+   */
+  public synchronized boolean remove(IEntity entity) {
+    if (entity == null || !this.members.remove(entity)) {
+      return false;
+    }
+
+    for (int i = 0; i < this.size; i++) {
+      if (this.entities[i] == entity) {
+        System.arraycopy(this.entities, i + 1, this.entities, i, this.size - i - 1);
+        System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+        this.entities[--this.size] = null;
+        // the indices of the emitters are restored by the next sort
+        this.outOfOrder = true;
+        break;
+      }
+    }
+
+    entity.removeListener(this);
+    return true;
+  }
+
+  /**
+   * Determines whether the specified entity is part of this list.
+   *
+   * @param entity The entity to check.
+   * @return True if the entity is part of this list; otherwise false.
+   */
+  public synchronized boolean contains(IEntity entity) {
+    return this.members.contains(entity);
+  }
+
+  /**
+   * Removes all entities from this list.
+   */
+  public synchronized void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.entities[i].removeListener(this);
+      this.entities[i] = null;
+    }
+
+    this.members.clear();
+    this.size = 0;
+    this.unboundedCount = 0;
+  }
+
+  /**
+   * Gets the number of entities in this list.
+   *
+   * @return The number of entities.
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  @Override
+  public void locationChanged(IEntity entity) {
+    this.outOfOrder = true;
+  }
+
+  @Override
+  public void sizeChanged(IEntity entity) {
+    this.outOfOrder = true;
+  }
+
+  /**
+   * Copies the entities of this list into the render buffer, optionally restoring their render order beforehand. Must be called while
+   * holding the render lock.
+   *
+   * @param sort Defines whether the entities should be brought into the order of the {@link EntityYComparator}.
+   * @return The number of entities in the render buffer.
+   */
+  synchronized int prepareRendering(boolean sort) {
+    return this.prepareRendering(sort, null);
+  }
+
+  /**
+   * Copies the entities of this list that may intersect the specified viewport into the render buffer, optionally restoring their
+   * render order beforehand. Must be called while holding the render lock.
+   *
+   * <p>
+   * Only sorted entities can be limited to the viewport; otherwise, all entities are copied.
+   *
+   * @param sort     Defines whether the entities should be brought into the order of the {@link EntityYComparator}.
+   * @param viewport The visible area or null to copy all entities.
+   * @return The number of entities in the render buffer.
+   */
+  synchronized int prepareRendering(boolean sort, Rectangle2D viewport) {
+    if (sort && this.outOfOrder) {
+      this.outOfOrder = false;
+      this.sort();
+    }
+
+    if (this.renderBuffer.length < this.size) {
+      this.renderBuffer = new IEntity[this.entities.length];
+    }
+
+    if (!sort || viewport == null) {
+      System.arraycopy(this.entities, 0, this.renderBuffer, 0, this.size);
+      return this.size;
+    }
+
+    final int from = this.indexOf(viewport.getMinY() - this.maxExtentBelow, false);
+    final int to = this.indexOf(viewport.getMaxY() + this.maxExtentAbove, true);
+    int count = 0;
+    int emitter = 0;
+    while (emitter < this.unboundedCount && this.unbounded[emitter] < from) {
+      this.renderBuffer[count++] = this.entities[this.unbounded[emitter++]];
+    }
+
+    System.arraycopy(this.entities, from, this.renderBuffer, count, to - from);
+    count += to - from;
+    while (emitter < this.unboundedCount) {
+      if (this.unbounded[emitter] >= to) {
+        this.renderBuffer[count++] = this.entities[this.unbounded[emitter]];
+      }
+
+      emitter++;
+    }
+
+    return count;
+  }
+
+  IEntity[] getRenderBuffer() {
+    return this.renderBuffer;
+  }
+
+  Object getRenderLock() {
+    return this.renderLock;
+  }
+
+  private void sort() {
+    this.maxExtentAbove = 0;
+    this.maxExtentBelow = 0;
+    for (int i = 0; i < this.size; i++) {
+      final double key = EntityYComparator.getSortY(this.entities[i]);
+      this.keys[i] = key;
+      if (!(this.entities[i] instanceof Emitter)) {
+        final Rectangle2D bounds = this.entities[i].getBoundingBox();
+        this.maxExtentAbove = Math.max(this.maxExtentAbove, key - bounds.getMinY());
+        this.maxExtentBelow = Math.max(this.maxExtentBelow, bounds.getMaxY() - key);
+      }
+    }
+
+    // insertion sort: linear for lists that are already (almost) in order
+    for (int i = 1; i < this.size; i++) {
+      final IEntity entity = this.entities[i];
+      final double key = this.keys[i];
+      int j = i - 1;
+      while (j >= 0 && Double.compare(this.keys[j], key) > 0) {
+        this.entities[j + 1] = this.entities[j];
+        this.keys[j + 1] = this.keys[j];
+        j--;
+      }
+
+      this.entities[j + 1] = entity;
+      this.keys[j + 1] = key;
+    }
+
+    this.unboundedCount = 0;
+    for (int i = 0; i < this.size; i++) {
+      if (this.entities[i] instanceof Emitter) {
+        if (this.unboundedCount == this.unbounded.length) {
+          this.unbounded = Arrays.copyOf(this.unbounded, this.unboundedCount * 2);
+        }
+
+        this.unbounded[this.unboundedCount++] = i;
+      }
+    }
+  }
+
+  /**
+   * Finds the first sorted entity whose sort coordinate is greater than the specified value or equal to it, unless exclusive.
+   */
+  private int indexOf(double y, boolean exclusive) {
+    int low = 0;
+    int high = this.size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      final int compare = Double.compare(this.keys[mid], y);
+      if (compare < 0 || exclusive && compare == 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    return low;
+  }
+}
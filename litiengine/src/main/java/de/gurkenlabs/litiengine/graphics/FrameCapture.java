@@ -0,0 +1,313 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.resources.ImageFormat;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+
+/**
+ * Captures the frames that are rendered by the {@link RenderComponent}, either as single screenshots or continuously at a target frame
+ * rate, e.g. as an image sequence for visual regression tests.
+ *
+ * <p>
+ * A captured frame is rendered into a pooled image, which is then displayed and handed to a background thread that encodes and writes
+ * it, so the render loop never waits for the file system. The pool limits the number of frames that are pending at once; if all
+ * pooled images are still being processed, the frame is dropped and counted by {@link #getDroppedFrameCount()}.
+ */
+public final class FrameCapture {
+  /** The default maximum number of captured frames that may be processed in the background at once. */
+  public static final int DEFAULT_MAX_PENDING_FRAMES = 4;
+
+  private static final Logger log = Logger.getLogger(FrameCapture.class.getName());
+  private static final String SCREENSHOT_FOLDER = "screenshots";
+
+  private final Deque<BufferedImage> pool = new ArrayDeque<>();
+  private final AtomicLong capturedFrames = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  private ExecutorService executor;
+  private int maxPendingFrames = DEFAULT_MAX_PENDING_FRAMES;
+  private int pendingFrames;
+
+  private volatile boolean screenshotRequested;
+  private volatile FrameWriter sequence;
+  private long frameInterval;
+  private long nextFrameTime;
+  private long sequenceIndex;
+
+  FrameCapture() {
+  }
+
+  /**
+   * Captures the next rendered frame and saves it as PNG file with the current time stamp in the "screenshots" folder.
+   */
+  public void takeScreenshot() {
+    this.screenshotRequested = true;
+  }
+
+  /**
+   * Starts capturing the rendered frames at the specified frame rate and saves them as numbered PNG files in the specified directory.
+   *
+   * @param directory The directory to which the frames are written; it is created if it doesn't exist.
+   * @param fps       The number of frames per second to capture.
+   * @see #stopCapture()
+   */
+  public void startCapture(final Path directory, final int fps) {
+    this.startCapture(fps, (frame, index) -> {
+      Files.createDirectories(directory);
+      write(frame, directory.resolve(String.format("frame-%06d%s", index, ImageFormat.PNG.toFileExtension())));
+    });
+  }
+
+  /**
+   * Starts capturing the rendered frames at the specified frame rate and passes them to the specified consumer on a background
+   * thread. The frame images are reused once the consumer returns, so it must not keep a reference to them.
+   *
+   * @param fps      The number of frames per second to capture.
+   * @param consumer The consumer that receives the raw frames.
+   * @see #stopCapture()
+   */
+  public void startCapture(final int fps, final Consumer<BufferedImage> consumer) {
+    this.startCapture(fps, (frame, index) -> consumer.accept(frame));
+  }
+
+  /**
+   * Stops the continuous capture of the rendered frames. Frames that have already been captured are still processed.
+   *
+   * @see #awaitPendingFrames(long, TimeUnit)
+   */
+  public void stopCapture() {
+    this.sequence = null;
+  }
+
+  /**
+   * Determines whether the rendered frames are currently captured continuously.
+   *
+   * @return True if a continuous capture is running; otherwise false.
+   */
+  public boolean isCapturing() {
+    return this.sequence != null;
+  }
+
+  /**
+   * Waits until all captured frames have been processed by the background thread.
+   *
+   * @param timeout The maximum time to wait.
+   * @param unit    The time unit of the timeout.
+   * @return True if all frames have been processed; false if the timeout elapsed before.
+   * @throws InterruptedException If the current thread is interrupted while waiting.
+   */
+  public synchronized boolean awaitPendingFrames(final long timeout, final TimeUnit unit) throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (this.pendingFrames > 0) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+
+    return true;
+  }
+
+  /**
+   * Gets the maximum number of captured frames that may be processed in the background at once.
+   *
+   * @return The maximum number of pending frames.
+   */
+  public synchronized int getMaxPendingFrames() {
+    return this.maxPendingFrames;
+  }
+
+  /**
+   * Sets the maximum number of captured frames that may be processed in the background at once. Each pending frame occupies a
+   * pooled image of the size of the render component.
+   *
+   * @param maxPendingFrames The maximum number of pending frames.
+   */
+  public synchronized void setMaxPendingFrames(final int maxPendingFrames) {
+    if (maxPendingFrames < 1) {
+      throw new IllegalArgumentException("At least one frame must be allowed to be pending but was " + maxPendingFrames);
+    }
+
+    this.maxPendingFrames = maxPendingFrames;
+    while (this.pool.size() + this.pendingFrames > maxPendingFrames && !this.pool.isEmpty()) {
+      this.pool.pop();
+    }
+  }
+
+  /**
+   * Gets the number of captured frames that are currently processed in the background.
+   *
+   * @return The number of pending frames.
+   */
+  public synchronized int getPendingFrameCount() {
+    return this.pendingFrames;
+  }
+
+  /**
+   * Gets the number of frames that have been captured and processed.
+   *
+   * @return The number of captured frames.
+   */
+  public long getCapturedFrameCount() {
+    return this.capturedFrames.get();
+  }
+
+  /**
+   * Gets the number of frames that should have been captured but were dropped because too many frames were still pending.
+   *
+   * @return The number of dropped frames.
+   */
+  public long getDroppedFrameCount() {
+    return this.droppedFrames.get();
+  }
+
+  /**
+   * Provides the image to render the next frame into if it needs to be captured.
+   *
+   * @param width  The width of the frame.
+   * @param height The height of the frame.
+   * @return The frame to render into or null if the frame is not captured.
+   */
+  Frame nextFrame(final int width, final int height) {
+    final FrameWriter currentSequence = this.sequence;
+    final long now = System.nanoTime();
+    final boolean sequenceDue = currentSequence != null && now - this.nextFrameTime >= 0;
+    if (!this.screenshotRequested && !sequenceDue || width <= 0 || height <= 0) {
+      return null;
+    }
+
+    if (sequenceDue) {
+      // don't try to catch up with frames that have been missed, e.g. because the game rendered slower than the target frame rate
+      this.nextFrameTime = Math.max(this.nextFrameTime + this.frameInterval, now);
+    }
+
+    final BufferedImage image = this.acquire(width, height);
+    if (image == null) {
+      this.droppedFrames.incrementAndGet();
+      return null;
+    }
+
+    final boolean screenshot = this.screenshotRequested;
+    this.screenshotRequested = false;
+    return new Frame(image, screenshot, sequenceDue ? currentSequence : null, sequenceDue ? this.sequenceIndex++ : -1);
+  }
+
+  /**
+   * Hands the rendered frame to the background thread, which writes it and returns its image to the pool afterwards.
+   *
+   * @param frame The rendered frame.
+   */
+  void submit(final Frame frame) {
+    this.getExecutor().execute(() -> {
+      try {
+        if (frame.screenshot()) {
+          final String timeStamp = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date());
+          Files.createDirectories(Path.of(SCREENSHOT_FOLDER));
+          write(frame.image(), Path.of(SCREENSHOT_FOLDER, timeStamp + ImageFormat.PNG.toFileExtension()));
+        }
+
+        if (frame.sequence() != null) {
+          frame.sequence().write(frame.image(), frame.index());
+        }
+
+        this.capturedFrames.incrementAndGet();
+      } catch (final IOException | RuntimeException e) {
+        log.log(Level.SEVERE, e.getMessage(), e);
+      } finally {
+        this.release(frame.image());
+      }
+    });
+  }
+
+  /**
+   * Returns the image of a frame that could not be rendered to the pool without writing it.
+   *
+   * @param frame The frame to discard.
+   */
+  void discard(final Frame frame) {
+    this.release(frame.image());
+  }
+
+  private void startCapture(final int fps, final FrameWriter writer) {
+    if (fps <= 0) {
+      throw new IllegalArgumentException("The frame rate must be positive but was " + fps);
+    }
+
+    this.frameInterval = TimeUnit.SECONDS.toNanos(1) / fps;
+    this.nextFrameTime = System.nanoTime();
+    this.sequenceIndex = 0;
+    this.sequence = writer;
+  }
+
+  private synchronized BufferedImage acquire(final int width, final int height) {
+    while (!this.pool.isEmpty()) {
+      final BufferedImage image = this.pool.pop();
+      // images of a previous size of the render component are discarded
+      if (image.getWidth() == width && image.getHeight() == height) {
+        this.pendingFrames++;
+        return image;
+      }
+    }
+
+    if (this.pendingFrames >= this.maxPendingFrames) {
+      return null;
+    }
+
+    this.pendingFrames++;
+    return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+  }
+
+  private synchronized void release(final BufferedImage image) {
+    this.pendingFrames--;
+    if (this.pool.size() + this.pendingFrames < this.maxPendingFrames) {
+      this.pool.push(image);
+    }
+
+    this.notifyAll();
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (this.executor == null) {
+      this.executor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Frame Capture Thread");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    return this.executor;
+  }
+
+  private static void write(final BufferedImage image, final Path path) throws IOException {
+    if (!ImageIO.write(image, ImageFormat.PNG.toString(), path.toFile())) {
+      throw new IOException("No writer found for the image format " + ImageFormat.PNG);
+    }
+  }
+
+  /**
+   * A frame that is captured for a screenshot and/or the continuous capture.
+   */
+  record Frame(BufferedImage image, boolean screenshot, FrameWriter sequence, long index) {
+  }
+
+  @FunctionalInterface
+  private interface FrameWriter {
+    void write(BufferedImage frame, long index) throws IOException;
+  }
+}
@@ -0,0 +1,136 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.LightSource;
+import de.gurkenlabs.litiengine.entities.StaticShadow;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
+import de.gurkenlabs.litiengine.util.geom.SpatialIndex;
+import de.gurkenlabs.litiengine.util.geom.VisibilityPolygon;
+import java.awt.Shape;
+import java.awt.geom.Area;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Caches the lit area of each {@link LightSource}, i.e. its light shape without the parts that are shadowed by {@link StaticShadow}s.
+ * <p>
+ * Computing the lit area requires expensive {@code Area} operations, so it is only done if the light has been moved, resized or
+ * changed its shape type, or if a shadow that intersects the light has been added, moved, removed or changed its type or offset. The shadows are kept in a
+ * spatial index, so only the shadows near a light are subtracted from its area.
+ * <p>
+ * Lights with the {@link LightSource.ShadowMode#VISIBILITY} shadow mode are limited to their visibility polygon instead, which is
+ * computed by an angular sweep over the edges of the shadows near the light. Only elliptic lights need a single {@code Area}
+ * intersection of their shape with that polygon.
+ */
+final class LightGeometryCache {
+  private final Environment environment;
+  private final Map<LightSource, LitArea> litAreas = new HashMap<>();
+  private final Map<StaticShadow, ShadowState> shadowStates = new HashMap<>();
+  private final SpatialIndex<StaticShadow> shadows = new SpatialHashGrid<>();
+
+  /**
+   * Creates a new cache for the lights and shadows of the specified environment.
+   *
+   * @param environment The environment that provides the lights and shadows.
+   */
+  LightGeometryCache(Environment environment) {
+    this.environment = environment;
+  }
+
+  /**
+   * Synchronizes the cache with the lights and shadows of the environment. Lit areas that intersect changed shadows and those of
+   * removed lights are discarded.
+   */
+  synchronized void update() {
+    final Collection<StaticShadow> currentShadows = this.environment.getStaticShadows();
+    for (StaticShadow shadow : currentShadows) {
+      final Rectangle2D bounds = shadow.getBoundingBox();
+      final ShadowState previous = this.shadowStates.get(shadow);
+      if (previous != null && previous.matches(bounds, shadow)) {
+        continue;
+      }
+
+      if (previous != null) {
+        this.invalidate(previous.bounds());
+      }
+
+      this.invalidate(bounds);
+      this.shadowStates.put(shadow, new ShadowState((Rectangle2D) bounds.clone(), shadow.getShadowType(), shadow.getOffset()));
+      this.shadows.add(shadow, bounds);
+    }
+
+    this.shadowStates.entrySet().removeIf(entry -> {
+      if (currentShadows.contains(entry.getKey())) {
+        return false;
+      }
+
+      this.invalidate(entry.getValue().bounds());
+      this.shadows.remove(entry.getKey());
+      return true;
+    });
+
+    final Collection<LightSource> lights = this.environment.getLightSources();
+    this.litAreas.keySet().removeIf(light -> !lights.contains(light));
+  }
+
+  /**
+   * Gets the lit area of the specified light, which is only recomputed if the light or the shadows around it have changed.
+   *
+   * @param light        The light source.
+   * @param shadowCaster The function that subtracts the shadow of a {@code StaticShadow} from the light area; only used by lights with the
+   *                     {@link LightSource.ShadowMode#EXTRUSION} shadow mode.
+   * @return The area that is lit by the light source.
+   */
+  synchronized Area getLitArea(LightSource light, BiConsumer<Area, StaticShadow> shadowCaster) {
+    final Shape shape = light.getLightShape();
+    final Rectangle2D bounds = shape.getBounds2D();
+    final LitArea cached = this.litAreas.get(light);
+    if (cached != null && cached.isValid(bounds, light.getLightShapeType(), light.getShadowMode())) {
+      return cached.area;
+    }
+
+    final Area area;
+    if (light.getShadowMode() == LightSource.ShadowMode.VISIBILITY) {
+      final List<Rectangle2D> occluders = new ArrayList<>();
+      this.shadows.query(bounds, shadow -> occluders.add(this.shadowStates.get(shadow).bounds()));
+      final Point2D center = new Point2D.Double(bounds.getCenterX(), bounds.getCenterY());
+      area = new Area(VisibilityPolygon.compute(center, bounds, occluders));
+      // the polygon is limited to the bounds of the light, so only elliptic lights need to be clipped to their shape
+      if (light.getLightShapeType() != LightSource.Type.RECTANGLE) {
+        area.intersect(new Area(shape));
+      }
+    } else {
+      area = new Area(shape);
+      this.shadows.query(bounds, shadow -> shadowCaster.accept(area, shadow));
+    }
+
+    this.litAreas.put(light, new LitArea(area, bounds, light.getLightShapeType(), light.getShadowMode()));
+    return area;
+  }
+
+  private void invalidate(Rectangle2D shadowBounds) {
+    this.litAreas.values().removeIf(lit -> lit.bounds.intersects(shadowBounds));
+  }
+
+  /**
+   * The properties of a shadow that affect the lit areas around it; a lit area is discarded if any of them changes.
+   */
+  private record ShadowState(Rectangle2D bounds, StaticShadowType type, int offset) {
+    private boolean matches(Rectangle2D shadowBounds, StaticShadow shadow) {
+      return this.bounds.equals(shadowBounds) && this.type == shadow.getShadowType() && this.offset == shadow.getOffset();
+    }
+  }
+
+  private record LitArea(Area area, Rectangle2D bounds, LightSource.Type shapeType, LightSource.ShadowMode shadowMode) {
+    private boolean isValid(Rectangle2D lightBounds, LightSource.Type lightShapeType, LightSource.ShadowMode lightShadowMode) {
+      return this.bounds.equals(lightBounds) && Objects.equals(this.shapeType, lightShapeType) && this.shadowMode == lightShadowMode;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import de.gurkenlabs.litiengine.entities.LightSource;
+import de.gurkenlabs.litiengine.util.Imaging;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches pre-rendered sprites of light sources, i.e. their light shape filled with their radial gradient, by shape type, size and
+ * color. Dynamic lights are composited from these sprites every frame instead of re-rendering their gradient.
+ * <p>
+ * The least recently used sprites are discarded once the cache exceeds its capacity.
+ */
+final class LightSprites {
+  private static final int MAX_SPRITES = 64;
+
+  private final Map<SpriteKey, BufferedImage> sprites = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<SpriteKey, BufferedImage> eldest) {
+      return this.size() > MAX_SPRITES;
+    }
+  };
+
+  /**
+   * Gets the sprite of the specified light source, which is rendered once for each distinct shape type, size and color.
+   *
+   * @param light The light source.
+   * @return The sprite of the light source, located at the light's position, or null if the light has no size.
+   */
+  BufferedImage get(LightSource light) {
+    final int width = (int) Math.ceil(light.getWidth());
+    final int height = (int) Math.ceil(light.getHeight());
+    if (width <= 0 || height <= 0 || light.getColor() == null || light.getLightShape() == null) {
+      return null;
+    }
+
+    return this.sprites.computeIfAbsent(
+      new SpriteKey(light.getLightShapeType(), width, height, light.getColor()),
+      key -> render(light, key));
+  }
+
+  /**
+   * Gets the number of cached sprites.
+   *
+   * @return The number of cached sprites.
+   */
+  int size() {
+    return this.sprites.size();
+  }
+
+  private static BufferedImage render(LightSource light, SpriteKey key) {
+    final BufferedImage sprite = Imaging.getCompatibleImage(key.width(), key.height());
+    if (sprite == null) {
+      return null;
+    }
+
+    final Graphics2D g = sprite.createGraphics();
+    g.translate(-light.getX(), -light.getY());
+    if (key.type() == LightSource.Type.RECTANGLE) {
+      g.setColor(key.color());
+      ShapeRenderer.render(g, light.getBoundingBox());
+    } else {
+      g.setPaint(light.getGradientPaint());
+      ShapeRenderer.render(g, light.getLightShape());
+    }
+
+    g.dispose();
+    return sprite;
+  }
+
+  private record SpriteKey(LightSource.Type type, int width, int height, Color color) {
+  }
+}
@@ -2,7 +2,6 @@ package de.gurkenlabs.litiengine.graphics;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.gui.screens.Screen;
-import de.gurkenlabs.litiengine.resources.ImageFormat;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 import java.awt.Canvas;
 import java.awt.Color;
@@ -13,26 +12,16 @@ import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.Toolkit;
 import java.awt.image.BufferStrategy;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import javax.imageio.ImageIO;
 
 /**
  * The {@code RenderComponent} class extends {@link Canvas} and handles the rendering of the game screen, including managing fade effects, capturing
  * screenshots, and rendering the game cursor.
  */
 public class RenderComponent extends Canvas {
-  private static final Logger log = Logger.getLogger(RenderComponent.class.getName());
   /**
    * The default background color for the rendering component.
    */
@@ -57,7 +46,7 @@ public class RenderComponent extends Canvas {
   private int frameCount = 0;
   private long lastFpsTime = System.currentTimeMillis();
 
-  private boolean takeScreenShot;
+  private final transient FrameCapture frameCapture = new FrameCapture();
 
   /**
    * Constructs a new {@code RenderComponent} with the specified size.
@@ -171,15 +160,44 @@ public class RenderComponent extends Canvas {
     }
 
     handleFade();
-    do {
-      Graphics2D g = (Graphics2D) currentBufferStrategy.getDrawGraphics();
-      try {
-        renderGraphics(g);
-      } finally {
-        g.dispose();
+
+    // a captured frame is rendered into an image that is displayed and then encoded in the background
+    final FrameCapture.Frame capturedFrame = frameCapture.nextFrame(getWidth(), getHeight());
+    boolean rendered = false;
+    try {
+      if (capturedFrame != null) {
+        Graphics2D frameGraphics = capturedFrame.image().createGraphics();
+        try {
+          renderGraphics(frameGraphics);
+        } finally {
+          frameGraphics.dispose();
+        }
+      }
+
+      do {
+        Graphics2D g = (Graphics2D) currentBufferStrategy.getDrawGraphics();
+        try {
+          if (capturedFrame != null) {
+            g.drawImage(capturedFrame.image(), 0, 0, null);
+          } else {
+            renderGraphics(g);
+          }
+        } finally {
+          g.dispose();
+        }
+        currentBufferStrategy.show();
+      } while (currentBufferStrategy.contentsLost());
+      rendered = true;
+    } finally {
+      // the pooled image of the captured frame must be returned even if rendering failed
+      if (capturedFrame != null) {
+        if (rendered) {
+          frameCapture.submit(capturedFrame);
+        } else {
+          frameCapture.discard(capturedFrame);
+        }
       }
-      currentBufferStrategy.show();
-    } while (currentBufferStrategy.contentsLost());
+    }
 
     Toolkit.getDefaultToolkit().sync();
     frameCount++;
@@ -202,10 +220,6 @@ public class RenderComponent extends Canvas {
     Game.window().cursor().render(g);
     renderedConsumer.forEach(consumer -> consumer.accept(g));
     applyFadeOverlay(g);
-
-    if (takeScreenShot && currentScreen != null) {
-      takeAndSaveScreenshot(currentScreen);
-    }
   }
 
   /**
@@ -265,23 +279,22 @@ public class RenderComponent extends Canvas {
   }
 
   /**
-   * Captures and saves a screenshot of the current screen.
+   * Signals the {@code RenderComponent} to take a screenshot on the next render cycle.
    *
-   * @param screen The current {@link Screen} to capture.
+   * @see FrameCapture#takeScreenshot()
    */
-  private void takeAndSaveScreenshot(Screen screen) {
-    BufferedImage img = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
-    Graphics2D imgGraphics = img.createGraphics();
-    screen.render(imgGraphics);
-    imgGraphics.dispose();
-    saveScreenshot(img);
+  public void takeScreenshot() {
+    this.frameCapture.takeScreenshot();
   }
 
   /**
-   * Signals the {@code RenderComponent} to take a screenshot on the next render cycle.
+   * Gets the {@link FrameCapture} that captures the rendered frames as screenshots or continuously, e.g. for visual regression
+   * tests.
+   *
+   * @return The frame capture of this component.
    */
-  public void takeScreenshot() {
-    this.takeScreenShot = true;
+  public FrameCapture getFrameCapture() {
+    return this.frameCapture;
   }
 
   /**
@@ -312,24 +325,4 @@ public class RenderComponent extends Canvas {
     long timePassed = Game.time().since(startTime);
     currentAlpha = Math.clamp((fadeIn ? timePassed : duration - timePassed) / (float) duration, 0, 1);
   }
-
-  /**
-   * Saves the provided image as a screenshot to the file system.
-   *
-   * @param img The {@link BufferedImage} to save as a screenshot.
-   */
-  private void saveScreenshot(BufferedImage img) {
-    try {
-      String timeStamp = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date());
-      Path folder = Path.of("./screenshots/");
-      if (!Files.exists(folder)) {
-        Files.createDirectories(folder);
-      }
-      ImageIO.write(img, ImageFormat.PNG.toFileExtension(), Path.of("screenshots", timeStamp + ImageFormat.PNG.toFileExtension()).toFile());
-    } catch (final IOException e) {
-      log.log(Level.SEVERE, e.getMessage(), e);
-    } finally {
-      takeScreenShot = false;
-    }
-  }
 }
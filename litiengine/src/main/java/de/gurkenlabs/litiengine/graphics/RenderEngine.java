@@ -415,6 +415,37 @@ public final class RenderEngine {
     }
   }
 
+  /**
+   * Renders the entities of the specified render list at their current location in the environment.
+   *
+   * <p>
+   * Other than {@link #renderEntities(Graphics2D, Collection, boolean)}, this doesn't sort the entities from scratch. Instead, the
+   * persistent order of the render list is only restored incrementally once any of its entities has moved. If the entities are sorted,
+   * only those whose y-coordinate lies within the vertical range of the viewport are visited.
+   *
+   * @param g        The graphics object to render on.
+   * @param entities The render list that contains the entities to be rendered.
+   * @param sort     Defines whether the entities should be rendered in the order of the {@code EntityYComparator} to simulate 2.5D
+   *                 graphics.
+   * @see EntityRenderList
+   */
+  public void renderEntities(final Graphics2D g, final EntityRenderList entities, final boolean sort) {
+    final Rectangle2D viewport = Game.world().camera().getViewport();
+    synchronized (entities.getRenderLock()) {
+      final int count = entities.prepareRendering(sort, viewport);
+      final IEntity[] buffer = entities.getRenderBuffer();
+      for (int i = 0; i < count; i++) {
+        final IEntity entity = buffer[i];
+        buffer[i] = null;
+
+        // always include emitters which have an internal mechanism do determine on a per-particle basis whether it should be rendered
+        if (viewport.intersects(entity.getBoundingBox()) || entity instanceof Emitter) {
+          this.renderEntity(g, entity);
+        }
+      }
+    }
+  }
+
   /**
    * Renders the specified entity at its current location in the environment.
    *
@@ -8,12 +8,10 @@ import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -23,6 +21,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class AnimationController implements IAnimationController {
   private static final int MAX_IMAGE_EFFECTS = 20;
+  private static final AnimationImageCache imageCache = new AnimationImageCache(AnimationImageCache.DEFAULT_MAX_BYTES, MAX_IMAGE_EFFECTS);
   private AffineTransform affineTransform;
   private final Map<String, Animation> animations;
   private Animation currentAnimation;
@@ -186,33 +185,65 @@ public class AnimationController implements IAnimationController {
       return null;
     }
 
-    final String cacheKey = this.buildCurrentCacheKey();
-    final Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-    if (opt.isPresent()) {
-      return opt.get();
+    final Spritesheet spritesheet = current.getSpritesheet();
+    final int spriteIndex = current.getCurrentKeyFrame().getSpriteIndex();
+    final List<ImageEffect> effects = this.getImageEffects();
+    final BufferedImage cached = imageCache.get(spritesheet, spriteIndex, 0, effects, 0, 0);
+    if (cached != null) {
+      return cached;
     }
 
-    BufferedImage sprite = current.getSpritesheet().getSprite(current.getCurrentKeyFrame().getSpriteIndex());
+    BufferedImage sprite = spritesheet.getSprite(spriteIndex);
     if (sprite == null) {
       return null;
     }
-    for (final ImageEffect effect : this.getImageEffects()) {
+    for (final ImageEffect effect : effects) {
       sprite = effect.apply(sprite);
     }
 
-    Resources.images().add(cacheKey, sprite);
+    imageCache.put(spritesheet, spriteIndex, 0, effects, 0, 0, sprite);
 
     return sprite;
   }
 
   @Override public BufferedImage getCurrentImage(final int width, final int height) {
-    if (this.getCurrentImage() == null) {
+    final BufferedImage image = this.getCurrentImage();
+    if (image == null) {
       return null;
     }
 
-    final String cacheKey = this.buildCurrentCacheKey() + "_" + width + "_" + height;
-    final Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-    return opt.orElseGet(() -> Imaging.scale(this.getCurrentImage(), width, height));
+    final Animation current = this.getCurrent();
+    final int spriteIndex = current.getCurrentKeyFrame().getSpriteIndex();
+    final List<ImageEffect> effects = this.getImageEffects();
+    final BufferedImage cached = imageCache.get(current.getSpritesheet(), spriteIndex, this.getImageVariant(), effects, width, height);
+    if (cached != null) {
+      return cached;
+    }
+
+    final BufferedImage scaled = Imaging.scale(image, width, height);
+    imageCache.put(current.getSpritesheet(), spriteIndex, this.getImageVariant(), effects, width, height, scaled);
+    return scaled;
+  }
+
+  /**
+   * Gets the variant under which the images of this controller are cached. Controllers that transform the current sprite, e.g. by
+   * rotating or flipping it, must return a distinct variant for each transformation so that their images don't collide in the shared
+   * {@link AnimationImageCache}.
+   *
+   * @return The image variant or 0 if the current sprite isn't transformed.
+   */
+  protected int getImageVariant() {
+    return 0;
+  }
+
+  /**
+   * Gets the cache that holds the images rendered by all animation controllers, i.e. the current sprites with their image effects
+   * applied.
+   *
+   * @return The shared animation image cache.
+   */
+  public static AnimationImageCache getImageCache() {
+    return imageCache;
   }
 
   @Override public Animation getDefault() {
@@ -351,7 +382,9 @@ public class AnimationController implements IAnimationController {
    * {@code ImageEffect}s' names, are considered when determining the current cache key.
    *
    * @return the unique cache key for the current key frame
+   * @deprecated The rendered images are cached by the {@link AnimationImageCache}, which doesn't use string keys.
    */
+  @Deprecated
   protected String buildCurrentCacheKey() {
     if (this.getCurrent() == null || this.getCurrent().getCurrentKeyFrame() == null || this.getCurrent().getSpritesheet() == null) {
       return null;
@@ -367,18 +400,7 @@ public class AnimationController implements IAnimationController {
   }
 
   private void removeFinishedImageEffects() {
-    final List<ImageEffect> effectsToRemove = new ArrayList<>();
-    for (final ImageEffect effect : this.imageEffects) {
-      if (effect == null) {
-        continue;
-      }
-
-      if (effect.timeToLiveReached()) {
-        effectsToRemove.add(effect);
-      }
-    }
-
-    this.imageEffects.removeAll(effectsToRemove);
-    this.imageEffects.removeAll(Collections.singleton(null));
+    // only copies the effects if any of them are removed, so the per-frame lookup doesn't allocate
+    this.imageEffects.removeIf(effect -> effect == null || effect.timeToLiveReached());
   }
 }
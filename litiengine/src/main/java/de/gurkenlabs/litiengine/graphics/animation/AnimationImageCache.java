@@ -0,0 +1,295 @@
+package de.gurkenlabs.litiengine.graphics.animation;
+
+import de.gurkenlabs.litiengine.graphics.ImageEffect;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import de.gurkenlabs.litiengine.resources.Resources;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A cache for the images that are rendered by {@link AnimationController}s, i.e. the sprites of the current key frames with all
+ * {@link ImageEffect}s applied and optionally scaled.
+ *
+ * <p>
+ * The images are identified by their spritesheet, sprite index, variant, size and the names of the applied effects. The variant
+ * distinguishes images of the same sprite that a controller transforms differently, e.g. rotated or flipped props. Looking up a cached image
+ * does not allocate a key, so it can be done for every animated entity in every frame. The memory used by the cached images is
+ * bounded: if the limit is exceeded, the images that have not been used for the longest time are discarded. The cache is cleared along
+ * with the image resources.
+ */
+public final class AnimationImageCache {
+  /** The default maximum number of bytes that the cached images may occupy. */
+  public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+  private final Key probe;
+
+  private long maxBytes;
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Initializes a new instance of the {@code AnimationImageCache} class.
+   *
+   * @param maxBytes
+   *          The maximum number of bytes that the cached images may occupy.
+   * @param maxImageEffects
+   *          The maximum number of image effects that are applied to an image.
+   */
+  AnimationImageCache(long maxBytes, int maxImageEffects) {
+    this.maxBytes = maxBytes;
+    this.probe = new Key(new String[maxImageEffects]);
+    Resources.images().addClearedListener(this::clear);
+  }
+
+  /**
+   * Gets the cached image of the specified sprite.
+   *
+   * @param spritesheet
+   *          The spritesheet that contains the sprite.
+   * @param spriteIndex
+   *          The index of the sprite.
+   * @param variant
+   *          The controller specific variant of the image or 0 if the sprite isn't transformed.
+   * @param effects
+   *          The image effects that have been applied to the sprite.
+   * @param width
+   *          The width to which the sprite has been scaled or 0 if it is not scaled.
+   * @param height
+   *          The height to which the sprite has been scaled or 0 if it is not scaled.
+   * @return The cached image or null if no such image is cached.
+   */
+  synchronized BufferedImage get(Spritesheet spritesheet, int spriteIndex, int variant, List<ImageEffect> effects, int width, int height) {
+    if (!this.probe.set(spritesheet, spriteIndex, variant, effects, width, height)) {
+      this.misses++;
+      return null;
+    }
+
+    final BufferedImage image = this.images.get(this.probe);
+    if (image == null) {
+      this.misses++;
+    } else {
+      this.hits++;
+    }
+
+    return image;
+  }
+
+  /**
+   * Adds the image of the specified sprite to the cache and evicts the least recently used images if the cache exceeds its limit.
+   *
+   * @param spritesheet
+   *          The spritesheet that contains the sprite.
+   * @param spriteIndex
+   *          The index of the sprite.
+   * @param variant
+   *          The controller specific variant of the image or 0 if the sprite isn't transformed.
+   * @param effects
+   *          The image effects that have been applied to the sprite.
+   * @param width
+   *          The width to which the sprite has been scaled or 0 if it is not scaled.
+   * @param height
+   *          The height to which the sprite has been scaled or 0 if it is not scaled.
+   * @param image
+   *          The rendered image.
+   */
+  synchronized void put(Spritesheet spritesheet, int spriteIndex, int variant, List<ImageEffect> effects, int width, int height,
+      BufferedImage image) {
+    if (image == null || !this.probe.set(spritesheet, spriteIndex, variant, effects, width, height)) {
+      return;
+    }
+
+    final BufferedImage previous = this.images.put(this.probe.copy(), image);
+    if (previous != null) {
+      this.bytes -= getSize(previous);
+    }
+
+    this.bytes += getSize(image);
+    this.evict();
+  }
+
+  /**
+   * Removes all images from this cache.
+   */
+  public synchronized void clear() {
+    this.images.clear();
+    this.bytes = 0;
+  }
+
+  /**
+   * Gets the maximum number of bytes that the cached images may occupy.
+   *
+   * @return The maximum number of bytes.
+   */
+  public synchronized long getMaxBytes() {
+    return this.maxBytes;
+  }
+
+  /**
+   * Sets the maximum number of bytes that the cached images may occupy and evicts the least recently used images if the cache exceeds
+   * the new limit.
+   *
+   * @param maxBytes
+   *          The maximum number of bytes.
+   */
+  public synchronized void setMaxBytes(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("The maximum number of bytes must not be negative but was " + maxBytes);
+    }
+
+    this.maxBytes = maxBytes;
+    this.evict();
+  }
+
+  /**
+   * Gets the number of bytes that are currently occupied by the cached images.
+   *
+   * @return The number of occupied bytes.
+   */
+  public synchronized long getBytes() {
+    return this.bytes;
+  }
+
+  /**
+   * Gets the number of cached images.
+   *
+   * @return The number of cached images.
+   */
+  public synchronized int size() {
+    return this.images.size();
+  }
+
+  /**
+   * Gets the number of lookups that found a cached image.
+   *
+   * @return The number of cache hits.
+   */
+  public synchronized long getHitCount() {
+    return this.hits;
+  }
+
+  /**
+   * Gets the number of lookups that didn't find a cached image.
+   *
+   * @return The number of cache misses.
+   */
+  public synchronized long getMissCount() {
+    return this.misses;
+  }
+
+  /**
+   * Gets the number of images that have been discarded because the cache exceeded its limit.
+   *
+   * @return The number of evicted images.
+   */
+  public synchronized long getEvictionCount() {
+    return this.evictions;
+  }
+
+  private void evict() {
+    final Iterator<Map.Entry<Key, BufferedImage>> iterator = this.images.entrySet().iterator();
+    while (this.bytes > this.maxBytes && iterator.hasNext()) {
+      this.bytes -= getSize(iterator.next().getValue());
+      iterator.remove();
+      this.evictions++;
+    }
+  }
+
+  private static long getSize(BufferedImage image) {
+    return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+  }
+
+  /**
+   * The key of a cached image. The cache keeps a single mutable instance to look up images without allocations and only stores copies
+   * of it. The effects are collected by passing the key itself to {@link List#forEach(Consumer)}, which neither allocates an iterator
+   * nor fails if the effects of a controller are changed by another thread meanwhile.
+   */
+  private static final class Key implements Consumer<ImageEffect> {
+    private final String[] effects;
+    private Spritesheet spritesheet;
+    private int spriteIndex;
+    private int variant;
+    private int effectCount;
+    private int width;
+    private int height;
+    private int hash;
+    private boolean overflow;
+
+    private Key(String[] effects) {
+      this.effects = effects;
+    }
+
+    private boolean set(Spritesheet spritesheet, int spriteIndex, int variant, List<ImageEffect> effects, int width, int height) {
+      this.spritesheet = spritesheet;
+      this.spriteIndex = spriteIndex;
+      this.variant = variant;
+      this.width = width;
+      this.height = height;
+      this.effectCount = 0;
+      this.overflow = false;
+      this.hash = 31 * (31 * (31 * (31 * System.identityHashCode(spritesheet) + spriteIndex) + variant) + width) + height;
+      effects.forEach(this);
+      return !this.overflow;
+    }
+
+    @Override
+    public void accept(ImageEffect effect) {
+      if (effect == null || this.overflow) {
+        return;
+      }
+
+      if (this.effectCount == this.effects.length) {
+        this.overflow = true;
+        return;
+      }
+
+      this.effects[this.effectCount++] = effect.getName();
+      this.hash = 31 * this.hash + (effect.getName() != null ? effect.getName().hashCode() : 0);
+    }
+
+    private Key copy() {
+      final Key copy = new Key(Arrays.copyOf(this.effects, this.effectCount));
+      copy.spritesheet = this.spritesheet;
+      copy.spriteIndex = this.spriteIndex;
+      copy.variant = this.variant;
+      copy.effectCount = this.effectCount;
+      copy.width = this.width;
+      copy.height = this.height;
+      copy.hash = this.hash;
+      return copy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+
+      if (!(obj instanceof Key other)) {
+        return false;
+      }
+
+      return this.hash == other.hash
+        && this.spritesheet == other.spritesheet
+        && this.spriteIndex == other.spriteIndex
+        && this.variant == other.variant
+        && this.width == other.width
+        && this.height == other.height
+        && Arrays.equals(this.effects, 0, this.effectCount, other.effects, 0, other.effectCount);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+}
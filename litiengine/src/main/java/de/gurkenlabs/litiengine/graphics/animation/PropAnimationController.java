@@ -3,11 +3,12 @@ package de.gurkenlabs.litiengine.graphics.animation;
 import de.gurkenlabs.litiengine.entities.Prop;
 import de.gurkenlabs.litiengine.entities.PropState;
 import de.gurkenlabs.litiengine.entities.Rotation;
+import de.gurkenlabs.litiengine.graphics.ImageEffect;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.Imaging;
 import java.awt.image.BufferedImage;
-import java.util.Optional;
+import java.util.List;
 
 public class PropAnimationController<T extends Prop> extends EntityAnimationController<T> {
   public static final String PROP_IDENTIFIER = "prop-";
@@ -68,19 +69,21 @@ public class PropAnimationController<T extends Prop> extends EntityAnimationCont
   @Override
   public BufferedImage getCurrentImage() {
     final Animation animation = this.getCurrent();
-    if (animation == null || animation.getSpritesheet() == null) {
+    if (!this.isEnabled() || animation == null || animation.getSpritesheet() == null || animation.getCurrentKeyFrame() == null) {
       return null;
     }
 
-    String cacheKey = this.buildCurrentCacheKey();
-    cacheKey += "_" + this.getEntity().isAddShadow();
-    cacheKey += "_" + this.getEntity().getState();
-    cacheKey += "_" + this.getEntity().getSpriteRotation();
-    cacheKey += "_" + this.getEntity().flipHorizontally();
-    cacheKey += "_" + this.getEntity().flipVertically();
-    Optional<BufferedImage> opt = Resources.images().tryGet(cacheKey);
-    if (opt.isPresent()) {
-      return opt.get();
+    final int variant = this.getImageVariant();
+    if (variant == 0) {
+      return super.getCurrentImage();
+    }
+
+    final Spritesheet spritesheet = animation.getSpritesheet();
+    final int spriteIndex = animation.getCurrentKeyFrame().getSpriteIndex();
+    final List<ImageEffect> effects = this.getImageEffects();
+    final BufferedImage cached = getImageCache().get(spritesheet, spriteIndex, variant, effects, 0, 0);
+    if (cached != null) {
+      return cached;
     }
 
     BufferedImage currentImage = super.getCurrentImage();
@@ -88,8 +91,9 @@ public class PropAnimationController<T extends Prop> extends EntityAnimationCont
       return null;
     }
 
-    if (this.getEntity().getSpriteRotation() != Rotation.NONE) {
-      currentImage = Imaging.rotate(currentImage, this.getEntity().getSpriteRotation());
+    final Rotation rotation = this.getEntity().getSpriteRotation();
+    if (rotation != null && rotation != Rotation.NONE) {
+      currentImage = Imaging.rotate(currentImage, rotation);
     }
 
     if (this.getEntity().flipHorizontally()) {
@@ -100,16 +104,39 @@ public class PropAnimationController<T extends Prop> extends EntityAnimationCont
       currentImage = Imaging.verticalFlip(currentImage);
     }
 
-    if (!this.getEntity().isAddShadow()) {
-      return currentImage;
+    if (this.getEntity().isAddShadow()) {
+      // add a shadow at the lower end of the current sprite.
+      final int shadowYOffset = currentImage.getHeight();
+      currentImage = Imaging.addShadow(currentImage, 0, shadowYOffset);
     }
 
-    // add a shadow at the lower end of the current sprite.
-    final int ShadowYOffset = currentImage.getHeight();
-    final BufferedImage shadow = Imaging.addShadow(currentImage, 0, ShadowYOffset);
-    Resources.images().add(cacheKey, shadow);
+    getImageCache().put(spritesheet, spriteIndex, variant, effects, 0, 0, currentImage);
+    return currentImage;
+  }
+
+  /**
+   * Gets the image variant of the prop's current transformation, which encodes its sprite rotation, whether it is flipped and whether a
+   * shadow is added.
+   *
+   * @return The image variant or 0 if the sprite of the prop isn't transformed.
+   */
+  @Override
+  protected int getImageVariant() {
+    final Rotation rotation = this.getEntity().getSpriteRotation();
+    int variant = rotation != null ? rotation.ordinal() << 3 : 0;
+    if (this.getEntity().flipHorizontally()) {
+      variant |= 4;
+    }
+
+    if (this.getEntity().flipVertically()) {
+      variant |= 2;
+    }
+
+    if (this.getEntity().isAddShadow()) {
+      variant |= 1;
+    }
 
-    return shadow;
+    return variant;
   }
 
   @Override
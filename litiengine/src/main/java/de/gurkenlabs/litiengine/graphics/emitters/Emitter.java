@@ -14,6 +14,7 @@ import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.EllipseParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.LineParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.Particle;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleStore;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.PolygonParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.RectangleParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.particles.SpriteParticle;
@@ -21,17 +22,19 @@ import de.gurkenlabs.litiengine.graphics.emitters.particles.TextParticle;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterAttributes;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterLoader;
 import de.gurkenlabs.litiengine.attributes.RangeAttribute;
+import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.physics.CollisionBatch;
 import de.gurkenlabs.litiengine.resources.Resources;
 import java.awt.Graphics2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EventListener;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents an emitter that provides particle effects in the game.
@@ -39,12 +42,20 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * <p>The {@code Emitter} class extends {@link Entity} and implements the
  * {@link IUpdateable}, {@link ITimeToLive}, and {@link IRenderable} interfaces. It manages the lifecycle, rendering, and behavior of particles,
  * allowing for dynamic visual effects.
+ *
+ * <p>Optionally, the particles can be kept in a {@link ParticleStore} instead of individual {@link Particle} instances, which avoids allocations
+ * for emitters with many particles (see {@link #setPackedParticleStorage(boolean)}).
  */
 @CollisionInfo(collision = false) @EmitterInfo @TmxType(MapObjectType.EMITTER) public class Emitter extends Entity
   implements IUpdateable, ITimeToLive, IRenderable {
 
+  private static final AtomicLong NEXT_SEQUENCE = new AtomicLong();
+
+  private final long sequence = NEXT_SEQUENCE.getAndIncrement();
   private final Collection<EmitterFinishedListener> finishedListeners;
   private final CopyOnWriteArrayList<Particle> particles;
+  private volatile ParticleStore packedParticles;
+  private final CollisionBatch collisions = new CollisionBatch();
   private final Map<RenderType, IRenderable> renderables;
   private EmitterAttributes emitterData;
   private boolean activateOnInit;
@@ -236,6 +247,11 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
     this.activated = false;
     this.getParticles().clear();
+    final ParticleStore packed = this.packedParticles;
+    if (packed != null) {
+      packed.clear();
+    }
+
     this.aliveTime = 0;
     this.activationTick = 0;
     this.lastSpawn = 0;
@@ -338,6 +354,42 @@ import java.util.concurrent.CopyOnWriteArrayList;
     return this.particles;
   }
 
+  /**
+   * Gets the total number of particles of this emitter, including the ones that are kept in the packed particle storage.
+   *
+   * @return the number of particles
+   */
+  public int getParticleCount() {
+    final ParticleStore packed = this.packedParticles;
+    return this.particles.size() + (packed != null ? packed.size() : 0);
+  }
+
+  /**
+   * Checks whether this emitter keeps the particles it spawns in a packed {@link ParticleStore} instead of individual {@link Particle} instances.
+   *
+   * @return {@code true} if the packed particle storage is used, {@code false} otherwise
+   */
+  public boolean usesPackedParticleStorage() {
+    return this.packedParticles != null;
+  }
+
+  /**
+   * Sets whether this emitter keeps the particles it spawns in a packed {@link ParticleStore} instead of individual {@link Particle} instances.
+   *
+   * <p>The packed storage only applies to the shape based particle types (see {@link ParticleStore#isSupported}) and bypasses
+   * {@link #createNewParticle()}. Particles of other types, as well as particles added via {@link #addParticle(Particle)}, are still kept in
+   * {@link #getParticles()}. Disabling the packed storage removes the particles that are kept in it.
+   *
+   * @param packed {@code true} to use the packed particle storage, {@code false} to use individual particle instances
+   */
+  public void setPackedParticleStorage(final boolean packed) {
+    if (packed == this.usesPackedParticleStorage()) {
+      return;
+    }
+
+    this.packedParticles = packed ? new ParticleStore() : null;
+  }
+
   /**
    * Checks if the emitter is set to activate on initialization.
    *
@@ -508,11 +560,35 @@ import java.util.concurrent.CopyOnWriteArrayList;
     return this.data().getEmitterDuration();
   }
 
+  /**
+   * Updates the emitter and its particles.
+   *
+   * <p>If the emitter is part of the current environment and the {@link EmitterSystem} is enabled, this method does nothing because the system
+   * updates the particles of all emitters concurrently.
+   *
+   * @see EmitterSystem#setParallelism(int)
+   */
   @Override public void update() {
-    if (this.isPaused()) {
+    if (Game.world().emitters().manages(this)) {
       return;
     }
 
+    if (this.beginUpdate()) {
+      this.updateParticles();
+      this.endUpdate();
+    }
+  }
+
+  /**
+   * Notifies the finished listeners and updates the origin of the emitter. This is always called on the loop thread.
+   *
+   * @return {@code true} if the particles of the emitter need to be updated; {@code false} if the emitter is paused or finished.
+   */
+  boolean beginUpdate() {
+    if (this.isPaused()) {
+      return false;
+    }
+
     // clear particles if the effect time to life is reached
     if (this.isFinished()) {
       for (EmitterFinishedListener listener : this.finishedListeners) {
@@ -520,22 +596,38 @@ import java.util.concurrent.CopyOnWriteArrayList;
       }
 
       this.delete();
-      return;
+      return false;
     }
 
     this.updateOrigin();
+    return true;
+  }
 
+  /**
+   * Removes the dead particles and updates all others. This only affects the state of this emitter and may be called concurrently for different
+   * emitters.
+   */
+  void updateParticles() {
     final float updateRatio = (float) this.data().getUpdateRate() / Game.loop().getTickRate();
-    for (final Particle p : new ArrayList<>(this.getParticles())) {
-      if (this.particleCanBeRemoved(p)) {
-        // remove dead particles
-        this.particles.remove(p);
-        continue;
-      }
 
-      p.update(this.getOrigin(), updateRatio);
+    // remove dead particles at once instead of copying the backing array for each of them
+    this.particles.removeIf(this::particleCanBeRemoved);
+    final CollisionBatch particleCollisions = this.gatherCollisions(updateRatio);
+    for (final Particle p : this.particles) {
+      p.update(this.getOrigin(), updateRatio, particleCollisions);
     }
 
+    final ParticleStore packed = this.packedParticles;
+    if (packed != null) {
+      packed.update(this.getOrigin(), updateRatio, particleCollisions);
+    }
+  }
+
+  /**
+   * Spawns new particles if the spawn rate is reached. This is always called on the loop thread because the particles are initialized with the
+   * shared {@code GameRandom} instance.
+   */
+  void endUpdate() {
     this.aliveTime = Game.time().since(this.activationTick);
     if ((this.data().getSpawnRate() == 0 || Game.time().since(this.lastSpawn) >= this.data().getSpawnRate())) {
       this.lastSpawn = Game.time().now();
@@ -543,6 +635,14 @@ import java.util.concurrent.CopyOnWriteArrayList;
     }
   }
 
+  /**
+   * Gets the creation sequence number of this emitter, which orders emitters with the same map ID in the {@link EmitterSystem}.
+   *
+   * @return the number of emitters that have been created before this one
+   */
+  long getSequence() {
+    return this.sequence;
+  }
 
   /**
    * Checks if the emitter can accept new particles.
@@ -553,7 +653,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
    * @return {@code true} if the emitter can accept new particles, {@code false} otherwise
    */
   protected boolean canTakeNewParticles() {
-    return this.particles.size() < this.data().getMaxParticles();
+    return this.getParticleCount() < this.data().getMaxParticles();
   }
 
   /**
@@ -606,6 +706,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
    * <p>This method checks whether the specified particle has reached its time-to-live (TTL).
    * If the particle's TTL is reached, it is considered eligible for removal.
    *
+   * <p>If the {@link EmitterSystem} is enabled, this method is called on a worker thread, concurrently to other emitters.
+   *
    * @param particle the particle to check
    * @return {@code true} if the particle's TTL is reached, {@code false} otherwise
    */
@@ -613,19 +715,64 @@ import java.util.concurrent.CopyOnWriteArrayList;
     return particle.timeToLiveReached();
   }
 
+  /**
+   * Gathers the collision boxes around all moving particles with a single query, so that the particles don't need to query the
+   * {@code PhysicsEngine} individually.
+   *
+   * @param updateRatio The update ratio of the particles.
+   * @return The gathered collision boxes or {@code null} if no physics engine is available.
+   */
+  private CollisionBatch gatherCollisions(final float updateRatio) {
+    if (Game.physics() == null) {
+      return null;
+    }
+
+    this.collisions.clear();
+    final Point2D emitterOrigin = this.getOrigin();
+    for (final Particle p : this.particles) {
+      // particles that already collided don't move anymore, just like the ones in the packed particle storage
+      if (p.getCollisionType() == Collision.NONE || p.isColliding()) {
+        continue;
+      }
+
+      // the extent covers the bounding box and the ray of all particle types, regardless of their rotation
+      final float extent = Math.abs(p.getWidth()) + Math.abs(p.getHeight())
+        + (Math.abs(p.getDeltaWidth()) + Math.abs(p.getDeltaHeight())) * updateRatio;
+      this.collisions.include(emitterOrigin.getX() + p.getX(), emitterOrigin.getY() + p.getY(), extent, p.getVelocityX() * updateRatio,
+        p.getVelocityY() * updateRatio);
+    }
+
+    final ParticleStore packed = this.packedParticles;
+    if (packed != null) {
+      packed.includeCollisionArea(emitterOrigin, updateRatio, this.collisions);
+    }
+
+    this.collisions.gather(Game.physics());
+    return this.collisions;
+  }
+
   /**
    * Spawns new particles for the emitter.
    *
    * <p>This method generates a number of particles based on the emitter's spawn amount
    * configuration. It ensures that the emitter does not exceed its maximum allowed particles. If a new particle is successfully created, it is added
-   * to the emitter's particle list.
+   * to the emitter's particle list, or to the packed particle storage if it is used and supports the particle type.
    */
   protected void spawnParticle() {
+    final ParticleStore packed = this.packedParticles;
     for (short i = 0; i < this.data().getSpawnAmount(); i++) {
       if (!this.canTakeNewParticles()) {
         return;
       }
 
+      if (packed != null && ParticleStore.isSupported(this.data().getParticleType())) {
+        if (!this.isStopped()) {
+          packed.spawn(this.data());
+        }
+
+        continue;
+      }
+
       Particle part = this.createNewParticle();
       if (part != null) {
         this.addParticle(part);
@@ -652,6 +799,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
         particle.render(g, getOrigin());
       }
     }
+
+    // packed particles never use a custom render type
+    final ParticleStore packed = this.packedParticles;
+    if (packed != null && renderType == RenderType.NONE && viewport != null) {
+      packed.render(g, getOrigin(), viewport);
+    }
   }
 
   /**
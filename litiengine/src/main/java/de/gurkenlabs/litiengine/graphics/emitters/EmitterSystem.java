@@ -0,0 +1,211 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.environment.Environment;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code EmitterSystem} updates the particles of all active emitters of the current environment concurrently.
+ *
+ * <p>
+ * Once enabled by a parallelism greater than zero, the emitters of the current environment no longer update themselves. Instead, each update of
+ * the system is split into three stages:
+ * </p>
+ * <ol>
+ * <li>The finished emitters notify their {@code EmitterFinishedListener}s and all other emitters update their origin, sequentially on the loop
+ * thread.</li>
+ * <li>The particles of all emitters are simulated in chunks on a fork-join pool. The loop waits until all chunks are finished before it
+ * continues.</li>
+ * <li>New particles are spawned, sequentially on the loop thread.</li>
+ * </ol>
+ *
+ * <p>
+ * Waiting for the workers only orders the stages among each other; the render thread still draws the emitters while they are updated, just like
+ * it does when the emitters update themselves on the loop thread. The handoff to the render thread is done per emitter: a
+ * {@link de.gurkenlabs.litiengine.graphics.emitters.particles.ParticleStore} is locked while it is updated or rendered, so a frame shows the
+ * packed particles of an emitter either before or after their update. Individual particle instances are rendered from a snapshot of the
+ * emitter's particle list, but their state may change while they are drawn.
+ * </p>
+ *
+ * <p>
+ * The sequential stages process the emitters in the order of their map IDs. Emitters with the same map ID, e.g. the ones that are created at
+ * runtime, are processed in the order in which they were created. This way, the listeners are called and the random values of new particles are
+ * drawn from the shared {@code GameRandom} in the same order as long as the environment contains the same emitters.
+ * </p>
+ *
+ * @see de.gurkenlabs.litiengine.environment.GameWorld#emitters()
+ * @see de.gurkenlabs.litiengine.configuration.ClientConfiguration#setEmitterThreads(int)
+ */
+public final class EmitterSystem implements IUpdateable {
+  /**
+   * The number of particles from which a chunk of emitters is split into smaller chunks.
+   */
+  public static final int PARTICLES_PER_CHUNK = 512;
+
+  private static final Comparator<Emitter> ORDER = Comparator.comparingInt(Emitter::getMapId).thenComparingLong(Emitter::getSequence);
+
+  private final List<Emitter> emitters = new ArrayList<>();
+  private final List<Emitter> updating = new ArrayList<>();
+  private int[] particleCounts = new int[0];
+
+  private int parallelism;
+  private ForkJoinPool pool;
+
+  /**
+   * Gets the number of worker threads that simulate the particles.
+   *
+   * @return The parallelism of the pool or 0 if the system is disabled.
+   */
+  public int getParallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Sets the number of worker threads that simulate the particles. A parallelism of 0 disables this system, which means that all emitters update
+   * themselves on the loop thread.
+   *
+   * @param parallelism The number of worker threads.
+   * @throws IllegalArgumentException if the parallelism is negative.
+   */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 0) {
+      throw new IllegalArgumentException("The parallelism must not be negative: " + parallelism);
+    }
+
+    if (parallelism == this.parallelism) {
+      return;
+    }
+
+    this.parallelism = parallelism;
+    if (this.pool != null) {
+      this.pool.shutdown();
+      this.pool = null;
+    }
+  }
+
+  /**
+   * Checks whether the particles of the emitters are updated by this system.
+   *
+   * @return {@code true} if the parallelism is greater than zero; otherwise {@code false}.
+   */
+  public boolean isEnabled() {
+    return this.parallelism > 0;
+  }
+
+  /**
+   * Checks whether the specified emitter is updated by this system instead of updating itself.
+   *
+   * @param emitter The emitter to check.
+   * @return {@code true} if this system is enabled and the emitter is part of the current environment; otherwise {@code false}.
+   */
+  public boolean manages(Emitter emitter) {
+    if (!this.isEnabled()) {
+      return false;
+    }
+
+    final Environment environment = Game.world().environment();
+    return environment != null && environment.getEmitters().contains(emitter);
+  }
+
+  /**
+   * Don't call this manually!
+   */
+  @Override
+  public void update() {
+    final Environment environment = Game.world().environment();
+    if (!this.isEnabled() || environment == null) {
+      return;
+    }
+
+    this.emitters.clear();
+    for (Emitter emitter : environment.getEmitters()) {
+      if (emitter.isActivated()) {
+        this.emitters.add(emitter);
+      }
+    }
+
+    this.emitters.sort(ORDER);
+    this.update(this.emitters);
+  }
+
+  void update(List<Emitter> orderedEmitters) {
+    this.updating.clear();
+    for (Emitter emitter : orderedEmitters) {
+      if (emitter.beginUpdate()) {
+        this.updating.add(emitter);
+      }
+    }
+
+    this.updateParticles();
+
+    for (Emitter emitter : this.updating) {
+      emitter.endUpdate();
+    }
+  }
+
+  private void updateParticles() {
+    if (this.particleCounts.length < this.updating.size() + 1) {
+      this.particleCounts = new int[this.updating.size() + 1];
+    }
+
+    // prefix sums of the particle counts to split the emitters into chunks of similar effort
+    for (int i = 0; i < this.updating.size(); i++) {
+      this.particleCounts[i + 1] = this.particleCounts[i] + this.updating.get(i).getParticleCount();
+    }
+
+    final ChunkUpdate update = new ChunkUpdate(this.updating, this.particleCounts, 0, this.updating.size());
+    if (this.parallelism == 1 || !update.isSplit()) {
+      for (Emitter emitter : this.updating) {
+        emitter.updateParticles();
+      }
+
+      return;
+    }
+
+    if (this.pool == null) {
+      this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    this.pool.invoke(update);
+  }
+
+  /**
+   * Splits the emitters recursively so that idle workers can steal the remaining chunks.
+   */
+  private static class ChunkUpdate extends RecursiveAction {
+    private final transient List<Emitter> emitters;
+    private final int[] particleCounts;
+    private final int from;
+    private final int to;
+
+    private ChunkUpdate(List<Emitter> emitters, int[] particleCounts, int from, int to) {
+      this.emitters = emitters;
+      this.particleCounts = particleCounts;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.isSplit()) {
+        final int middle = (this.from + this.to) >>> 1;
+        invokeAll(new ChunkUpdate(this.emitters, this.particleCounts, this.from, middle),
+            new ChunkUpdate(this.emitters, this.particleCounts, middle, this.to));
+        return;
+      }
+
+      for (int i = this.from; i < this.to; i++) {
+        this.emitters.get(i).updateParticles();
+      }
+    }
+
+    private boolean isSplit() {
+      return this.to - this.from > 1 && this.particleCounts[this.to] - this.particleCounts[this.from] > PARTICLES_PER_CHUNK;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 /**
  * Represents a particle in the shape of an ellipse. This class extends the {@code ShapeParticle} to provide specific behavior for elliptical
@@ -40,4 +41,22 @@ public class EllipseParticle extends ShapeParticle {
         getWidth(),
         getHeight()));
   }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D emitterOrigin, final Rectangle2D bounds) {
+    final double radians = Math.toRadians(getAngle());
+    final double sin = Math.sin(radians);
+    final double cos = Math.cos(radians);
+    final double radiusX = getWidth() * 0.5;
+    final double radiusY = getHeight() * 0.5;
+    // extents of the rotated ellipse along the axes
+    final double extentX = Math.sqrt(radiusX * radiusX * cos * cos + radiusY * radiusY * sin * sin);
+    final double extentY = Math.sqrt(radiusX * radiusX * sin * sin + radiusY * radiusY * cos * cos);
+    bounds.setRect(
+      getAbsoluteX(emitterOrigin) + radiusX - extentX,
+      getAbsoluteY(emitterOrigin) + radiusY - extentY,
+      extentX * 2,
+      extentY * 2);
+    return bounds;
+  }
 }
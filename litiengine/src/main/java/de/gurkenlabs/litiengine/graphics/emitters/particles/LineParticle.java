@@ -4,6 +4,7 @@ import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 public class LineParticle extends ShapeParticle {
 
@@ -23,4 +24,15 @@ public class LineParticle extends ShapeParticle {
     return rotate.createTransformedShape(
         new Line2D.Double(x, y, x + this.getWidth(), y + this.getHeight()));
   }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    final double x = this.getAbsoluteX(origin);
+    final double y = this.getAbsoluteY(origin);
+    final double centerX = x + this.getWidth() * 0.5;
+    final double centerY = y + this.getHeight() * 0.5;
+    this.addRotatedPoint(bounds, true, x, y, centerX, centerY);
+    this.addRotatedPoint(bounds, false, x + this.getWidth(), y + this.getHeight(), centerX, centerY);
+    return bounds;
+  }
 }
@@ -6,6 +6,7 @@ import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
 import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterAttributes;
 import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.physics.CollisionBatch;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Line2D;
@@ -78,6 +79,9 @@ public abstract class Particle implements ITimeToLive {
 
   private boolean stopOnCollision;
 
+  // reused by the collision checks, which run for every particle on every update
+  private final Rectangle2D collisionBounds = new Rectangle2D.Double();
+
   /**
    * Constructs a new particle.
    *
@@ -109,6 +113,20 @@ public abstract class Particle implements ITimeToLive {
       this.getWidth(), this.getHeight());
   }
 
+  /**
+   * Writes the current bounding box of the particle to the specified rectangle. The particle types of the engine compute it without any
+   * allocations, so it can be used for every particle in every frame.
+   *
+   * @param origin the spawn location of this particle
+   * @param bounds the rectangle that receives the bounding box
+   * @return The specified rectangle.
+   * @see #getBoundingBox(Point2D)
+   */
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    bounds.setRect(this.getBoundingBox(origin));
+    return bounds;
+  }
+
   /**
    * Gets the collision behavior of this particle.
    *
@@ -342,6 +360,15 @@ public abstract class Particle implements ITimeToLive {
     return stopOnCollision;
   }
 
+  /**
+   * Returns whether the particle has collided. A colliding particle is no longer moved by {@link #update(Point2D, float)}.
+   *
+   * @return {@code true} if the particle has collided
+   */
+  public boolean isColliding() {
+    return this.colliding;
+  }
+
   /**
    * Renders this particle to the given graphics context.
    *
@@ -654,6 +681,18 @@ public abstract class Particle implements ITimeToLive {
    * @param updateRatio   The update ratio for this particle.
    */
   public void update(final Point2D emitterOrigin, final float updateRatio) {
+    this.update(emitterOrigin, updateRatio, null);
+  }
+
+  /**
+   * Updates the effect's position, change in xCurrent, change in yCurrent, remaining lifetime, and color. Collisions are checked against the
+   * collision boxes gathered by the specified batch instead of querying the {@code PhysicsEngine} for this particle.
+   *
+   * @param emitterOrigin The current {@link Emitter} origin
+   * @param updateRatio   The update ratio for this particle.
+   * @param collisions    The collision boxes around the emitter or {@code null} to query {@code Game.physics()}.
+   */
+  public void update(final Point2D emitterOrigin, final float updateRatio, final CollisionBatch collisions) {
     if (this.aliveTick == 0) {
       this.aliveTick = Game.time().now();
     }
@@ -679,7 +718,7 @@ public abstract class Particle implements ITimeToLive {
       this.angle += this.getDeltaAngle() * updateRatio;
     }
 
-    if (hasRayCastCollision(emitterOrigin, updateRatio)) {
+    if (hasRayCastCollision(emitterOrigin, updateRatio, collisions)) {
       return;
     }
 
@@ -701,6 +740,18 @@ public abstract class Particle implements ITimeToLive {
    * @return True if ray cast collision occurs
    */
   protected boolean hasRayCastCollision(final Point2D emitterOrigin, final float updateRatio) {
+    return this.hasRayCastCollision(emitterOrigin, updateRatio, null);
+  }
+
+  /**
+   * Test for ray cast collisions against the collision boxes gathered by the specified batch.
+   *
+   * @param emitterOrigin The current {@link Emitter} origin
+   * @param updateRatio   The update ratio for this particle.
+   * @param collisions    The collision boxes around the emitter or {@code null} to query {@code Game.physics()}.
+   * @return True if ray cast collision occurs
+   */
+  protected boolean hasRayCastCollision(final Point2D emitterOrigin, final float updateRatio, final CollisionBatch collisions) {
     final float targetX = this.x + this.getVelocityX() * updateRatio;
     final float targetY = this.y + this.getVelocityY() * updateRatio;
 
@@ -708,7 +759,7 @@ public abstract class Particle implements ITimeToLive {
       return true;
     }
 
-    if (this.checkForCollision(emitterOrigin, targetX, targetY)) {
+    if (this.checkForCollision(emitterOrigin, targetX, targetY, collisions)) {
       return true;
     }
 
@@ -723,12 +774,17 @@ public abstract class Particle implements ITimeToLive {
     return false;
   }
 
-  private boolean checkForCollision(final Point2D emitterOrigin, float targetX, float targetY) {
+  private boolean checkForCollision(final Point2D emitterOrigin, float targetX, float targetY, final CollisionBatch collisions) {
     if (this.isStoppingOnCollision() && this.colliding) {
       return true;
     }
 
-    if (this.isContinuousCollisionEnabled()) {
+    if (collisions != null) {
+      if (this.getCollisionType() != Collision.NONE && this.collides(emitterOrigin, targetX, targetY, collisions)) {
+        collide();
+        return true;
+      }
+    } else if (this.isContinuousCollisionEnabled()) {
       Point2D start = this.getAbsoluteLocation(emitterOrigin);
       double endX = emitterOrigin.getX() + targetX;
       double endY = emitterOrigin.getY() + targetY;
@@ -739,7 +795,7 @@ public abstract class Particle implements ITimeToLive {
         return true;
       }
     } else if (this.getCollisionType() != Collision.NONE && Game.physics() != null && Game.physics()
-      .collides(this.getBoundingBox(emitterOrigin).getBounds2D(), this.getCollisionType())) {
+      .collides(this.getBoundingBox(emitterOrigin, this.collisionBounds), this.getCollisionType())) {
       collide();
       return true;
     }
@@ -747,6 +803,15 @@ public abstract class Particle implements ITimeToLive {
     return false;
   }
 
+  private boolean collides(final Point2D emitterOrigin, float targetX, float targetY, final CollisionBatch collisions) {
+    if (this.isContinuousCollisionEnabled()) {
+      return collisions.collides(this.getAbsoluteX(emitterOrigin), this.getAbsoluteY(emitterOrigin), emitterOrigin.getX() + targetX,
+        emitterOrigin.getY() + targetY, this.getCollisionType());
+    }
+
+    return collisions.collides(this.getBoundingBox(emitterOrigin, this.collisionBounds), this.getCollisionType());
+  }
+
   private void collide() {
     if (!this.colliding) {
       this.colliding = true;
@@ -756,6 +821,15 @@ public abstract class Particle implements ITimeToLive {
     }
   }
 
+  /**
+   * Restores the lifetime and collision state of this particle, e.g. when it is loaded from a {@link ParticleStore}.
+   */
+  void setState(final long aliveTick, final long aliveTime, final boolean colliding) {
+    this.aliveTick = aliveTick;
+    this.aliveTime = aliveTime;
+    this.colliding = colliding;
+  }
+
   /**
    * Computes the absolute world location of this particle given an emitter origin.
    *
@@ -0,0 +1,394 @@
+package de.gurkenlabs.litiengine.graphics.emitters.particles;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterAttributes;
+import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.physics.CollisionBatch;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * A packed storage for the particles of an {@link Emitter} that keeps the state of all particles in primitive arrays instead of individual
+ * {@link Particle} instances.
+ *
+ * <p>Dead particles are removed by moving the last particle into their slot, so the particles always occupy the first {@link #size()} slots. The
+ * arrays are never shrunk, which means that the slots of dead particles are reused by newly spawned particles without any allocation. To render the
+ * particles, the state of each slot is loaded into a single {@link Particle} instance per {@link ParticleType} that is reused for all slots.</p>
+ *
+ * <p>The particles are rendered on the render thread while they are updated on the loop thread or by the {@link
+ * de.gurkenlabs.litiengine.graphics.emitters.EmitterSystem}. Therefore, all methods that access the particles synchronize on the store, so that a
+ * frame never shows a partially updated store and the swap removal of dead particles can't shrink the store while it is rendered. Rendering and the
+ * collision checks of the update load the slots into separate particle instances.</p>
+ *
+ * <p>Only the shape based particle types are supported (see {@link #isSupported(ParticleType)}). The particles behave like the ones created by
+ * {@link Emitter#createNewParticle()}: they stop on collision, check collisions with their bounding box and never use a custom render type.</p>
+ */
+public final class ParticleStore {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final ParticleType[] TYPES = ParticleType.values();
+
+  private static final byte FADE = 1;
+  private static final byte FADE_ON_COLLISION = 1 << 1;
+  private static final byte COLLIDING = 1 << 2;
+  private static final byte OUTLINE_ONLY = 1 << 3;
+  private static final byte ANTI_ALIASING = 1 << 4;
+
+  private final Particle[] renderers = new Particle[TYPES.length];
+  private final Particle[] loaded = new Particle[TYPES.length];
+  // reused bounds, separated because rendering and updating use different instances
+  private final Rectangle2D renderBounds = new Rectangle2D.Double();
+  private final Rectangle2D collisionBounds = new Rectangle2D.Double();
+
+  private int size;
+  private float[] x;
+  private float[] y;
+  private float[] velocityX;
+  private float[] velocityY;
+  private float[] accelerationX;
+  private float[] accelerationY;
+  private float[] width;
+  private float[] height;
+  private float[] deltaWidth;
+  private float[] deltaHeight;
+  private float[] angle;
+  private float[] deltaAngle;
+  private float[] outlineThickness;
+  private int[] timeToLive;
+  private long[] aliveTick;
+  private long[] aliveTime;
+  private Color[] color;
+  private Collision[] collision;
+  private byte[] type;
+  private byte[] flags;
+
+  /**
+   * Instantiates a new, empty particle store.
+   */
+  public ParticleStore() {
+    this.allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Checks whether particles of the specified type can be kept in a particle store.
+   *
+   * @param type the particle type
+   * @return true for the shape based particle types; false for {@link ParticleType#TEXT} and {@link ParticleType#SPRITE}
+   */
+  public static boolean isSupported(final ParticleType type) {
+    return type != null && type != ParticleType.TEXT && type != ParticleType.SPRITE;
+  }
+
+  /**
+   * Gets the number of particles in this store.
+   *
+   * @return the number of particles
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the number of particles this store can hold before its arrays need to grow.
+   *
+   * @return the capacity
+   */
+  public synchronized int capacity() {
+    return this.x.length;
+  }
+
+  /**
+   * Removes all particles while keeping the allocated slots for subsequent particles.
+   */
+  public synchronized void clear() {
+    // release the references so that they don't outlive the particles
+    Arrays.fill(this.color, 0, this.size, null);
+    Arrays.fill(this.collision, 0, this.size, null);
+    this.size = 0;
+  }
+
+  /**
+   * Spawns a new particle with the randomized initial state defined by the specified emitter data, equivalent to
+   * {@link Particle#init(EmitterAttributes)}.
+   *
+   * @param data the emitter data
+   * @return the slot of the new particle
+   * @throws IllegalArgumentException if the particle type of the data is not supported
+   */
+  public synchronized int spawn(final EmitterAttributes data) {
+    if (!isSupported(data.getParticleType())) {
+      throw new IllegalArgumentException("Particles of type " + data.getParticleType() + " cannot be packed");
+    }
+
+    if (this.size == this.capacity()) {
+      this.allocate(this.capacity() * 2);
+    }
+
+    final int i = this.size++;
+    this.type[i] = (byte) data.getParticleType().ordinal();
+    this.width[i] = data.getParticleWidth().getRandomNumber().floatValue();
+    this.height[i] = data.getParticleHeight().getRandomNumber().floatValue();
+    this.x[i] = data.getParticleOffsetX().getRandomNumber().floatValue();
+    this.y[i] = data.getParticleOffsetY().getRandomNumber().floatValue();
+    this.accelerationX[i] = data.getAccelerationX().getRandomNumber().floatValue();
+    this.accelerationY[i] = data.getAccelerationY().getRandomNumber().floatValue();
+    this.velocityX[i] = data.getVelocityX().getRandomNumber().floatValue();
+    this.velocityY[i] = data.getVelocityY().getRandomNumber().floatValue();
+    this.deltaWidth[i] = data.getDeltaWidth().getRandomNumber().floatValue();
+    this.deltaHeight[i] = data.getDeltaHeight().getRandomNumber().floatValue();
+    this.angle[i] = data.getAngle().getRandomNumber().floatValue();
+    this.deltaAngle[i] = data.getDeltaAngle().getRandomNumber().floatValue();
+    this.timeToLive[i] = data.getParticleTTL().getRandomNumber().intValue();
+    final Color chosen = Game.random().choose(data.getDecodedColors());
+    this.color[i] = chosen != null ? chosen : Color.BLACK;
+    this.outlineThickness[i] = data.getOutlineThickness().getRandomNumber().floatValue();
+    this.collision[i] = data.getCollision();
+    this.aliveTick[i] = 0;
+    this.aliveTime[i] = 0;
+
+    byte particleFlags = 0;
+    if (data.isOutlineOnly()) {
+      particleFlags |= OUTLINE_ONLY;
+    }
+
+    if (data.isAntiAliased()) {
+      particleFlags |= ANTI_ALIASING;
+    }
+
+    if (data.isFading()) {
+      particleFlags |= FADE;
+    }
+
+    if (data.isFadingOnCollision()) {
+      particleFlags |= FADE_ON_COLLISION;
+    }
+
+    this.flags[i] = particleFlags;
+    return i;
+  }
+
+  /**
+   * Removes the particles whose time to live is reached and updates all other particles, equivalent to
+   * {@link Particle#update(Point2D, float)}.
+   *
+   * @param emitterOrigin the current origin of the emitter
+   * @param updateRatio   the update ratio of the particles
+   */
+  public void update(final Point2D emitterOrigin, final float updateRatio) {
+    this.update(emitterOrigin, updateRatio, null);
+  }
+
+  /**
+   * Removes the particles whose time to live is reached and updates all other particles, equivalent to
+   * {@link Particle#update(Point2D, float, CollisionBatch)}.
+   *
+   * @param emitterOrigin the current origin of the emitter
+   * @param updateRatio   the update ratio of the particles
+   * @param collisions    the collision boxes around the emitter or {@code null} to query {@code Game.physics()}
+   */
+  public synchronized void update(final Point2D emitterOrigin, final float updateRatio, final CollisionBatch collisions) {
+    final long now = Game.time().now();
+    int i = 0;
+    while (i < this.size) {
+      if (this.timeToLiveReached(i)) {
+        this.remove(i);
+        // the last particle has been moved into this slot and is updated next
+        continue;
+      }
+
+      this.update(i, emitterOrigin, updateRatio, now, collisions);
+      i++;
+    }
+  }
+
+  /**
+   * Includes the area that the moving particles might cover during the next update in the specified batch. Particles that already collided don't
+   * move anymore and are therefore skipped.
+   *
+   * @param emitterOrigin the current origin of the emitter
+   * @param updateRatio   the update ratio of the particles
+   * @param collisions    the batch to include the area in
+   */
+  public synchronized void includeCollisionArea(final Point2D emitterOrigin, final float updateRatio, final CollisionBatch collisions) {
+    for (int i = 0; i < this.size; i++) {
+      if (this.collision[i] == Collision.NONE || this.is(i, COLLIDING)) {
+        continue;
+      }
+
+      // the extent covers the bounding box of all shapes, regardless of their rotation
+      final float extent = Math.abs(this.width[i]) + Math.abs(this.height[i])
+        + (Math.abs(this.deltaWidth[i]) + Math.abs(this.deltaHeight[i])) * updateRatio;
+      collisions.include(emitterOrigin.getX() + this.x[i], emitterOrigin.getY() + this.y[i], extent, this.velocityX[i] * updateRatio,
+        this.velocityY[i] * updateRatio);
+    }
+  }
+
+  /**
+   * Renders all particles with the reused particle instance of their type.
+   *
+   * @param g             the graphics object to draw on
+   * @param emitterOrigin the current origin of the emitter
+   * @param viewport      the visible area; particles outside of it are skipped
+   */
+  public synchronized void render(final Graphics2D g, final Point2D emitterOrigin, final Rectangle2D viewport) {
+    for (int i = 0; i < this.size; i++) {
+      final Particle particle = this.load(i, this.renderers);
+      if (viewport.intersects(particle.getBoundingBox(emitterOrigin, this.renderBounds))) {
+        particle.render(g, emitterOrigin);
+      }
+    }
+  }
+
+  /**
+   * Loads the state of the specified slot into the reused particle instance of its type. The instance is only valid until the next slot is loaded
+   * or the store is updated. It is never the instance that the store renders.
+   *
+   * @param index the slot of the particle
+   * @return the particle instance that reflects the state of the slot
+   */
+  public synchronized Particle load(final int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    return this.load(index, this.loaded);
+  }
+
+  private Particle load(final int index, final Particle[] instances) {
+    final Particle particle = getInstance(instances, TYPES[this.type[index]]);
+    particle.setX(this.x[index]).setY(this.y[index]).setWidth(this.width[index]).setHeight(this.height[index]).setAngle(this.angle[index])
+      .setVelocityX(this.velocityX[index]).setVelocityY(this.velocityY[index]).setAccelerationX(this.accelerationX[index])
+      .setAccelerationY(this.accelerationY[index]).setDeltaWidth(this.deltaWidth[index]).setDeltaHeight(this.deltaHeight[index])
+      .setDeltaAngle(this.deltaAngle[index]).setTimeToLive(this.timeToLive[index]).setColor(this.color[index])
+      .setOutlineThickness(this.outlineThickness[index]).setCollisionType(this.collision[index]).setOutlineOnly(this.is(index, OUTLINE_ONLY))
+      .setAntiAliasing(this.is(index, ANTI_ALIASING)).setFade(this.is(index, FADE)).setFadeOnCollision(this.is(index, FADE_ON_COLLISION));
+    particle.setState(this.aliveTick[index], this.aliveTime[index], this.is(index, COLLIDING));
+    return particle;
+  }
+
+  private void update(final int i, final Point2D emitterOrigin, final float updateRatio, final long now, final CollisionBatch collisions) {
+    if (this.aliveTick[i] == 0) {
+      this.aliveTick[i] = now;
+    }
+
+    this.aliveTime[i] = Game.time().since(this.aliveTick[i]);
+    if (this.timeToLiveReached(i) || this.is(i, COLLIDING)) {
+      return;
+    }
+
+    this.width[i] += this.deltaWidth[i] * updateRatio;
+    this.height[i] += this.deltaHeight[i] * updateRatio;
+    this.angle[i] += this.deltaAngle[i] * updateRatio;
+
+    final float targetX = this.x[i] + this.velocityX[i] * updateRatio;
+    final float targetY = this.y[i] + this.velocityY[i] * updateRatio;
+    if (targetX == this.x[i] && targetY == this.y[i] || this.collides(i, emitterOrigin, collisions)) {
+      return;
+    }
+
+    this.x[i] = targetX;
+    this.y[i] = targetY;
+    this.velocityX[i] += this.accelerationX[i] * updateRatio;
+    this.velocityY[i] += this.accelerationY[i] * updateRatio;
+  }
+
+  private boolean collides(final int i, final Point2D emitterOrigin, final CollisionBatch collisions) {
+    if (this.collision[i] == Collision.NONE || collisions == null && Game.physics() == null) {
+      return false;
+    }
+
+    // the bounding box depends on the shape of the particle type
+    final Rectangle2D boundingBox = this.load(i, this.loaded).getBoundingBox(emitterOrigin, this.collisionBounds);
+    if (collisions != null ? !collisions.collides(boundingBox, this.collision[i]) : !Game.physics().collides(boundingBox, this.collision[i])) {
+      return false;
+    }
+
+    byte particleFlags = (byte) (this.flags[i] | COLLIDING);
+    if (this.is(i, FADE_ON_COLLISION)) {
+      particleFlags |= FADE;
+    }
+
+    this.flags[i] = particleFlags;
+    return true;
+  }
+
+  private boolean timeToLiveReached(final int i) {
+    return this.timeToLive[i] > 0 && this.aliveTime[i] >= this.timeToLive[i];
+  }
+
+  private boolean is(final int i, final byte flag) {
+    return (this.flags[i] & flag) != 0;
+  }
+
+  private void remove(final int i) {
+    final int last = --this.size;
+    if (i != last) {
+      this.x[i] = this.x[last];
+      this.y[i] = this.y[last];
+      this.velocityX[i] = this.velocityX[last];
+      this.velocityY[i] = this.velocityY[last];
+      this.accelerationX[i] = this.accelerationX[last];
+      this.accelerationY[i] = this.accelerationY[last];
+      this.width[i] = this.width[last];
+      this.height[i] = this.height[last];
+      this.deltaWidth[i] = this.deltaWidth[last];
+      this.deltaHeight[i] = this.deltaHeight[last];
+      this.angle[i] = this.angle[last];
+      this.deltaAngle[i] = this.deltaAngle[last];
+      this.outlineThickness[i] = this.outlineThickness[last];
+      this.timeToLive[i] = this.timeToLive[last];
+      this.aliveTick[i] = this.aliveTick[last];
+      this.aliveTime[i] = this.aliveTime[last];
+      this.color[i] = this.color[last];
+      this.collision[i] = this.collision[last];
+      this.type[i] = this.type[last];
+      this.flags[i] = this.flags[last];
+    }
+
+    this.color[last] = null;
+    this.collision[last] = null;
+  }
+
+  private static Particle getInstance(final Particle[] instances, final ParticleType particleType) {
+    Particle instance = instances[particleType.ordinal()];
+    if (instance == null) {
+      instance = switch (particleType) {
+        case ELLIPSE -> new EllipseParticle(0, 0);
+        case TRIANGLE -> new PolygonParticle(0, 0, 3);
+        case DIAMOND -> new PolygonParticle(0, 0, 4);
+        case LINE -> new LineParticle(0, 0);
+        default -> new RectangleParticle(0, 0);
+      };
+
+      instances[particleType.ordinal()] = instance;
+    }
+
+    return instance;
+  }
+
+  private void allocate(final int capacity) {
+    this.x = this.x == null ? new float[capacity] : Arrays.copyOf(this.x, capacity);
+    this.y = this.y == null ? new float[capacity] : Arrays.copyOf(this.y, capacity);
+    this.velocityX = this.velocityX == null ? new float[capacity] : Arrays.copyOf(this.velocityX, capacity);
+    this.velocityY = this.velocityY == null ? new float[capacity] : Arrays.copyOf(this.velocityY, capacity);
+    this.accelerationX = this.accelerationX == null ? new float[capacity] : Arrays.copyOf(this.accelerationX, capacity);
+    this.accelerationY = this.accelerationY == null ? new float[capacity] : Arrays.copyOf(this.accelerationY, capacity);
+    this.width = this.width == null ? new float[capacity] : Arrays.copyOf(this.width, capacity);
+    this.height = this.height == null ? new float[capacity] : Arrays.copyOf(this.height, capacity);
+    this.deltaWidth = this.deltaWidth == null ? new float[capacity] : Arrays.copyOf(this.deltaWidth, capacity);
+    this.deltaHeight = this.deltaHeight == null ? new float[capacity] : Arrays.copyOf(this.deltaHeight, capacity);
+    this.angle = this.angle == null ? new float[capacity] : Arrays.copyOf(this.angle, capacity);
+    this.deltaAngle = this.deltaAngle == null ? new float[capacity] : Arrays.copyOf(this.deltaAngle, capacity);
+    this.outlineThickness = this.outlineThickness == null ? new float[capacity] : Arrays.copyOf(this.outlineThickness, capacity);
+    this.timeToLive = this.timeToLive == null ? new int[capacity] : Arrays.copyOf(this.timeToLive, capacity);
+    this.aliveTick = this.aliveTick == null ? new long[capacity] : Arrays.copyOf(this.aliveTick, capacity);
+    this.aliveTime = this.aliveTime == null ? new long[capacity] : Arrays.copyOf(this.aliveTime, capacity);
+    this.color = this.color == null ? new Color[capacity] : Arrays.copyOf(this.color, capacity);
+    this.collision = this.collision == null ? new Collision[capacity] : Arrays.copyOf(this.collision, capacity);
+    this.type = this.type == null ? new byte[capacity] : Arrays.copyOf(this.type, capacity);
+    this.flags = this.flags == null ? new byte[capacity] : Arrays.copyOf(this.flags, capacity);
+  }
+}
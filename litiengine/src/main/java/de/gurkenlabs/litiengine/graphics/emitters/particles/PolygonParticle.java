@@ -4,6 +4,7 @@ import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 public class PolygonParticle extends ShapeParticle {
   private int sides;
@@ -33,4 +34,18 @@ public class PolygonParticle extends ShapeParticle {
             this.getAbsoluteY(emitterOrigin) + this.getHeight() * 0.5);
     return rotate.createTransformedShape(path);
   }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    final double x = this.getAbsoluteX(origin) + this.getWidth() / 2;
+    final double y = this.getAbsoluteY(origin) + this.getHeight() / 2;
+    final double theta = 2 * Math.PI / this.sides;
+    // the first vertex equals the start point of the path
+    this.addRotatedPoint(bounds, true, x + this.getWidth(), y, x, y);
+    for (int i = 0; i < this.sides; i++) {
+      this.addRotatedPoint(bounds, false, x + this.getWidth() * Math.cos(theta * i), y + this.getHeight() * Math.sin(theta * i), x, y);
+    }
+
+    return bounds;
+  }
 }
@@ -25,4 +25,17 @@ public class RectangleParticle extends ShapeParticle {
             this.getWidth(),
             this.getHeight()));
   }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    final double x = this.getAbsoluteX(origin);
+    final double y = this.getAbsoluteY(origin);
+    final double centerX = x + this.getWidth() * 0.5;
+    final double centerY = y + this.getHeight() * 0.5;
+    this.addRotatedPoint(bounds, true, x, y, centerX, centerY);
+    this.addRotatedPoint(bounds, false, x + this.getWidth(), y, centerX, centerY);
+    this.addRotatedPoint(bounds, false, x + this.getWidth(), y + this.getHeight(), centerX, centerY);
+    this.addRotatedPoint(bounds, false, x, y + this.getHeight(), centerX, centerY);
+    return bounds;
+  }
 }
@@ -52,6 +52,31 @@ public abstract class ShapeParticle extends Particle {
     return getShape(origin).getBounds2D();
   }
 
+  /**
+   * Adds the specified point, rotated by the angle of this particle around its center, to the bounds. This is equivalent to the rotation
+   * applied by {@link #getShape(Point2D)}, but doesn't require to create the shape.
+   *
+   * @param bounds  the bounds to extend
+   * @param first   true if this is the first point, which replaces the previous bounds
+   * @param x       the x-coordinate of the point
+   * @param y       the y-coordinate of the point
+   * @param centerX the x-coordinate of the center of this particle
+   * @param centerY the y-coordinate of the center of this particle
+   */
+  protected void addRotatedPoint(final Rectangle2D bounds, final boolean first, final double x, final double y, final double centerX,
+    final double centerY) {
+    final double radians = Math.toRadians(this.getAngle());
+    final double sin = Math.sin(radians);
+    final double cos = Math.cos(radians);
+    final double rotatedX = centerX + (x - centerX) * cos - (y - centerY) * sin;
+    final double rotatedY = centerY + (x - centerX) * sin + (y - centerY) * cos;
+    if (first) {
+      bounds.setRect(rotatedX, rotatedY, 0, 0);
+    } else {
+      bounds.add(rotatedX, rotatedY);
+    }
+  }
+
   /**
    * Renders the particle on the specified graphics context.
    *
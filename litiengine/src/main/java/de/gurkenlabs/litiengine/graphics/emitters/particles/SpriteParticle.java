@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.graphics.emitters.particles;
 import de.gurkenlabs.litiengine.graphics.ImageRenderer;
 import de.gurkenlabs.litiengine.graphics.Spritesheet;
 import de.gurkenlabs.litiengine.graphics.animation.AnimationController;
+import de.gurkenlabs.litiengine.physics.CollisionBatch;
 import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
@@ -50,18 +51,24 @@ public class SpriteParticle extends Particle {
   }
 
   @Override
-  public void update(Point2D emitterOrigin, float updateRatio) {
-    super.update(emitterOrigin, updateRatio);
+  public void update(Point2D emitterOrigin, float updateRatio, CollisionBatch collisions) {
+    super.update(emitterOrigin, updateRatio, collisions);
     this.animation.update();
   }
 
   @Override
   public Rectangle2D getBoundingBox(final Point2D origin) {
-    return new Rectangle2D.Double(
+    return this.getBoundingBox(origin, new Rectangle2D.Double());
+  }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    bounds.setRect(
         origin.getX() + getX() - getWidth() / 2,
         origin.getY() + getY() - getHeight() / 2,
         getWidth(),
         getHeight());
+    return bounds;
   }
 
   public boolean isAnimatingSprite() {
@@ -98,7 +98,12 @@ public class TextParticle extends Particle {
    */
   @Override
   public Rectangle2D getBoundingBox(final Point2D origin) {
-    return new Rectangle2D.Double(origin.getX() + getX() - getWidth() / 2, origin.getY() + getY() - getHeight() * 1.5,
-      getWidth(), getHeight());
+    return this.getBoundingBox(origin, new Rectangle2D.Double());
+  }
+
+  @Override
+  public Rectangle2D getBoundingBox(final Point2D origin, final Rectangle2D bounds) {
+    bounds.setRect(origin.getX() + getX() - getWidth() / 2, origin.getY() + getY() - getHeight() * 1.5, getWidth(), getHeight());
+    return bounds;
   }
 }
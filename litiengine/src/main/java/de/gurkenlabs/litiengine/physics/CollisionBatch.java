@@ -0,0 +1,204 @@
+package de.gurkenlabs.litiengine.physics;
+
+import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code CollisionBatch} answers many collision checks within a small area with a single query against the {@link PhysicsEngine}.
+ *
+ * <p>
+ * The area of all upcoming checks is accumulated with {@link #include(double, double, double, double, double)}. Afterwards,
+ * {@link #gather(PhysicsEngine)} collects the collision boxes of all static and dynamic entities in this area at once and all checks are
+ * tested against this local set only. This is e.g. used by emitters to check all of their particles for collisions with only one broad-phase
+ * query per update.
+ * </p>
+ *
+ * <p>
+ * The results are equal to the corresponding {@code collides} methods of the {@code PhysicsEngine}, as long as no entity moves between gathering
+ * and checking. Checks that exceed the gathered area are delegated to the {@code PhysicsEngine}.
+ * </p>
+ *
+ * <p>
+ * An instance is supposed to be reused and is not thread-safe.
+ * </p>
+ */
+public final class CollisionBatch {
+  private final List<Rectangle2D> boxes = new ArrayList<>();
+  private final List<Collision> types = new ArrayList<>();
+  private final Rectangle2D.Double area = new Rectangle2D.Double();
+
+  private PhysicsEngine physics;
+  private Rectangle2D environmentBounds;
+  private double minX;
+  private double minY;
+  private double maxX;
+  private double maxY;
+
+  /**
+   * Creates a new, empty {@code CollisionBatch}.
+   */
+  public CollisionBatch() {
+    this.clear();
+  }
+
+  /**
+   * Removes all gathered collision boxes and resets the area to be gathered.
+   */
+  public void clear() {
+    this.boxes.clear();
+    this.types.clear();
+    this.physics = null;
+    this.environmentBounds = null;
+    this.area.setRect(0, 0, 0, 0);
+    this.minX = Double.POSITIVE_INFINITY;
+    this.minY = Double.POSITIVE_INFINITY;
+    this.maxX = Double.NEGATIVE_INFINITY;
+    this.maxY = Double.NEGATIVE_INFINITY;
+  }
+
+  /**
+   * Includes the square with the specified center and extent in the area to be gathered, as well as the same square moved by the specified delta.
+   *
+   * @param x      The x-coordinate of the center.
+   * @param y      The y-coordinate of the center.
+   * @param extent The distance from the center to the edges of the square.
+   * @param deltaX The horizontal movement of the square.
+   * @param deltaY The vertical movement of the square.
+   */
+  public void include(final double x, final double y, final double extent, final double deltaX, final double deltaY) {
+    this.minX = Math.min(this.minX, Math.min(x, x + deltaX) - extent);
+    this.minY = Math.min(this.minY, Math.min(y, y + deltaY) - extent);
+    this.maxX = Math.max(this.maxX, Math.max(x, x + deltaX) + extent);
+    this.maxY = Math.max(this.maxY, Math.max(y, y + deltaY) + extent);
+  }
+
+  /**
+   * Collects the collision boxes of all entities within the included area with a single query. Upcoming checks are delegated to the specified
+   * {@code PhysicsEngine} if they are not within this area.
+   *
+   * @param physics The physics engine to gather the collision boxes from.
+   */
+  public void gather(final PhysicsEngine physics) {
+    this.boxes.clear();
+    this.types.clear();
+    this.physics = physics;
+    this.environmentBounds = physics.getBounds();
+    if (this.minX > this.maxX || this.minY > this.maxY) {
+      this.area.setRect(0, 0, 0, 0);
+      return;
+    }
+
+    this.area.setRect(this.minX, this.minY, this.maxX - this.minX, this.maxY - this.minY);
+    physics.gather(this.area, this);
+  }
+
+  /**
+   * Gets the area of which the collision boxes have been gathered.
+   *
+   * @return The gathered area.
+   */
+  public Rectangle2D getArea() {
+    return this.area;
+  }
+
+  /**
+   * Gets the number of gathered collision boxes.
+   *
+   * @return The number of collision boxes within the gathered area.
+   */
+  public int size() {
+    return this.boxes.size();
+  }
+
+  /**
+   * Checks if a rectangle collides with anything of the given {@code Collision} type. This is equal to
+   * {@link PhysicsEngine#collides(Rectangle2D, Collision)}.
+   *
+   * @param rect      The {@code Rectangle2D} to check for collision.
+   * @param collision The {@code Collision} type to check for collisions.
+   * @return {@code true} if the rectangle collides with anything of the given {@code Collision} type. {@code false} otherwise.
+   */
+  public boolean collides(final Rectangle2D rect, final Collision collision) {
+    if (this.physics == null) {
+      return false;
+    }
+
+    if (!this.isGathered(rect.getMinX(), rect.getMinY(), rect.getMaxX(), rect.getMaxY())) {
+      return this.physics.collides(rect, collision);
+    }
+
+    if (this.environmentBounds != null && !this.environmentBounds.intersects(rect)) {
+      return true;
+    }
+
+    for (int i = 0; i < this.boxes.size(); i++) {
+      if (matches(this.types.get(i), collision) && GeometricUtilities.intersects(this.boxes.get(i), rect)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Checks if a line collides with anything of the given {@code Collision} type. This is equal to
+   * {@link PhysicsEngine#collides(Line2D, Collision)} but no line is allocated unless one of the gathered boxes is hit.
+   *
+   * @param x1        The x-coordinate of the start point.
+   * @param y1        The y-coordinate of the start point.
+   * @param x2        The x-coordinate of the end point.
+   * @param y2        The y-coordinate of the end point.
+   * @param collision The {@code Collision} type to check for collisions.
+   * @return {@code true} if the line collides with anything of the given {@code Collision} type. {@code false} otherwise.
+   */
+  public boolean collides(final double x1, final double y1, final double x2, final double y2, final Collision collision) {
+    if (this.physics == null) {
+      return false;
+    }
+
+    final double lineMinX = Math.min(x1, x2);
+    final double lineMinY = Math.min(y1, y2);
+    final double lineMaxX = Math.max(x1, x2);
+    final double lineMaxY = Math.max(y1, y2);
+    if (!this.isGathered(lineMinX, lineMinY, lineMaxX, lineMaxY)) {
+      return this.physics.collides(new Line2D.Double(x1, y1, x2, y2), collision);
+    }
+
+    Line2D line = null;
+    for (int i = 0; i < this.boxes.size(); i++) {
+      final Rectangle2D box = this.boxes.get(i);
+      // an intersection point is always within the bounds of the line and the box
+      if (!matches(this.types.get(i), collision) || box.getMinX() > lineMaxX || box.getMaxX() < lineMinX || box.getMinY() > lineMaxY
+        || box.getMaxY() < lineMinY) {
+        continue;
+      }
+
+      if (line == null) {
+        line = new Line2D.Double(x1, y1, x2, y2);
+      }
+
+      if (GeometricUtilities.getIntersectionPoint(line, box) != null) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  void add(final Rectangle2D box, final Collision type) {
+    this.boxes.add(box);
+    this.types.add(type);
+  }
+
+  private boolean isGathered(final double minX, final double minY, final double maxX, final double maxY) {
+    // boxes that touch the gathered area might not have been passed by the broad-phase
+    return minX > this.area.getMinX() && minY > this.area.getMinY() && maxX < this.area.getMaxX() && maxY < this.area.getMaxY();
+  }
+
+  private static boolean matches(final Collision type, final Collision collision) {
+    return collision == Collision.ANY || collision == type;
+  }
+}
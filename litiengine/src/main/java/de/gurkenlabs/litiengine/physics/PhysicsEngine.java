@@ -3,22 +3,31 @@ package de.gurkenlabs.litiengine.physics;
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.SpatialHashGrid;
+import de.gurkenlabs.litiengine.util.geom.SpatialIndex;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -29,13 +38,26 @@ import java.util.stream.Stream;
  * The <b>{@code collides}</b> method group can detect a collision at a certain location, for
  * rectangles, or collision aware entities. Also, there's an overload that takes a {@code Line2D} to
  * perform a basic raycast check.
+ * <br>
+ * All queries are narrowed down by a broad-phase {@code SpatialIndex} per {@code Collision} type, which is kept up to date
+ * incrementally when entities are added, removed or moved. Only the candidates provided by the index are tested against the exact
+ * collision boxes.
+ *
+ * @see #setBroadPhase(Supplier)
  */
 public final class PhysicsEngine implements IUpdateable {
+  private static final long STATIC_ORDER_OFFSET = Long.MAX_VALUE / 2;
 
   private Rectangle2D environmentBounds;
 
   private final Map<Collision, List<ICollisionEntity>> collisionEntities = new ConcurrentHashMap<>();
   private final Map<Collision, List<Rectangle2D>> collisionBoxes = new ConcurrentHashMap<>();
+  private final Map<Collision, SpatialIndex<ICollisionEntity>> broadPhase = new ConcurrentHashMap<>();
+
+  // the order in which entities were registered; used to resolve queries deterministically in the order of the entity lists
+  private final Map<ICollisionEntity, Long> registrationOrder = new ConcurrentHashMap<>();
+  private final AtomicLong registrations = new AtomicLong();
+  private final EntityTransformListener transformListener = new BroadPhaseUpdater();
 
   /**
    * <b>You should never call this manually! Instead use the {@code Game.physics()} instance.</b>
@@ -53,6 +75,9 @@ public final class PhysicsEngine implements IUpdateable {
 
     collisionBoxes.put(Collision.DYNAMIC, new CopyOnWriteArrayList<>());
     collisionBoxes.put(Collision.STATIC, new CopyOnWriteArrayList<>());
+
+    broadPhase.put(Collision.DYNAMIC, new SpatialHashGrid<>());
+    broadPhase.put(Collision.STATIC, new SpatialHashGrid<>());
   }
 
   /**
@@ -72,6 +97,9 @@ public final class PhysicsEngine implements IUpdateable {
       return;
     }
     collisionEntities.get(entity.getCollisionType()).add(entity);
+    registrationOrder.put(entity, registrations.getAndIncrement());
+    addToBroadPhase(entity.getCollisionType(), entity);
+    entity.addTransformListener(transformListener);
   }
 
   /**
@@ -86,6 +114,9 @@ public final class PhysicsEngine implements IUpdateable {
     }
 
     collisionEntities.get(entity.getCollisionType()).remove(entity);
+    broadPhase.get(entity.getCollisionType()).remove(entity);
+    registrationOrder.remove(entity);
+    entity.removeListener(transformListener);
   }
 
   /**
@@ -97,12 +128,37 @@ public final class PhysicsEngine implements IUpdateable {
       if (type == Collision.NONE || type == Collision.ANY) {
         continue;
       }
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        entity.removeListener(transformListener);
+      }
+
       collisionEntities.get(type).clear();
       collisionBoxes.get(type).clear();
+      broadPhase.get(type).clear();
     }
+    registrationOrder.clear();
     setBounds(null);
   }
 
+  /**
+   * Sets the factory for the broad-phase structure that narrows down the candidates of all collision queries. One instance is
+   * created per {@code Collision} type and all currently registered entities are re-indexed.
+   * <p>
+   * By default, a {@link SpatialHashGrid} with the default cell size is used. Games with very large or very small entities might
+   * benefit from a differently sized grid or another {@code SpatialIndex} implementation.
+   *
+   * @param broadPhaseFactory The factory that creates a new, empty {@code SpatialIndex}.
+   */
+  public void setBroadPhase(Supplier<SpatialIndex<ICollisionEntity>> broadPhaseFactory) {
+    Objects.requireNonNull(broadPhaseFactory);
+    for (Collision type : new Collision[] {Collision.DYNAMIC, Collision.STATIC}) {
+      broadPhase.put(type, broadPhaseFactory.get());
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        addToBroadPhase(type, entity);
+      }
+    }
+  }
+
   /**
    * Gets all {@code CollisionBoxes}, regardless of their {@code Collision} type.
    *
@@ -171,6 +227,30 @@ public final class PhysicsEngine implements IUpdateable {
     }
   }
 
+  /**
+   * Gets all {@code ICollisionEntities} whose collision box intersects the given area, regardless of their {@code Collision} type.
+   * Only the entities near the area are tested, so this is considerably cheaper than filtering {@link #getCollisionEntities()}.
+   *
+   * @param area The {@code Rectangle2D} that is checked for intersecting collision boxes.
+   * @return A {@code List} of the intersecting {@code ICollisionEntities}, in the same order as they appear in
+   * {@link #getCollisionEntities()}.
+   */
+  public List<ICollisionEntity> getCollisionEntities(Rectangle2D area) {
+    final List<ICollisionEntity> intersecting = new ArrayList<>();
+    if (area == null) {
+      return intersecting;
+    }
+
+    query(area, Collision.ANY, entity -> {
+      if (entity.getCollisionBox() != null && entity.getCollisionBox().intersects(area)) {
+        intersecting.add(entity);
+      }
+    });
+
+    intersecting.sort(Comparator.comparingLong(this::getRegistrationOrder));
+    return intersecting;
+  }
+
   /**
    * Gets the environment bounds that confine the operation area of the {@code PhysicsEngine}.
    *
@@ -244,6 +324,7 @@ public final class PhysicsEngine implements IUpdateable {
     return this.collides(
       entity,
       collision,
+      line,
       e -> GeometricUtilities.getIntersectionPoint(line, e.getCollisionBox()) != null);
   }
 
@@ -304,6 +385,7 @@ public final class PhysicsEngine implements IUpdateable {
     return collides(
       entity,
       collision,
+      rect,
       otherEntity -> GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect));
   }
 
@@ -362,7 +444,10 @@ public final class PhysicsEngine implements IUpdateable {
     }
 
     return collides(
-      entity, collision, otherEntity -> otherEntity.getCollisionBox().contains(location));
+      entity,
+      collision,
+      new Rectangle2D.Double(location.getX(), location.getY(), 0, 0),
+      otherEntity -> otherEntity.getCollisionBox().contains(location));
   }
 
   /**
@@ -525,28 +610,37 @@ public final class PhysicsEngine implements IUpdateable {
   public RaycastHit raycast(Line2D line, Collision collision, ICollisionEntity entity) {
     final Point2D rayCastSource = new Point2D.Double(line.getX1(), line.getY1());
 
-    for (final ICollisionEntity collisionEntity : getCollisionEntities(collision)) {
+    // the first hit in registration order is reported, just like a linear scan of the entity lists would do
+    final ICollisionEntity[] hit = new ICollisionEntity[1];
+    final long[] hitOrder = {Long.MAX_VALUE};
+    query(line, collision, collisionEntity -> {
       if (!canCollide(entity, collisionEntity) || collisionEntity == entity) {
-        continue;
+        return;
       }
 
-      if (collisionEntity.getCollisionBox().intersectsLine(line)) {
-        double closestDist = -1;
-        Point2D closestPoint = null;
-        for (final Point2D intersection : GeometricUtilities.getIntersectionPoints(line,
-          collisionEntity.getCollisionBox())) {
-          final double dist = intersection.distance(rayCastSource);
-          if (closestPoint == null || dist < closestDist) {
-            closestPoint = intersection;
-            closestDist = dist;
-          }
-        }
+      final long order = getRegistrationOrder(collisionEntity);
+      if (order < hitOrder[0] && collisionEntity.getCollisionBox().intersectsLine(line)) {
+        hit[0] = collisionEntity;
+        hitOrder[0] = order;
+      }
+    });
 
-        return new RaycastHit(closestPoint, collisionEntity, closestDist);
+    if (hit[0] == null) {
+      return null;
+    }
+
+    double closestDist = -1;
+    Point2D closestPoint = null;
+    for (final Point2D intersection : GeometricUtilities.getIntersectionPoints(line,
+      hit[0].getCollisionBox())) {
+      final double dist = intersection.distance(rayCastSource);
+      if (closestPoint == null || dist < closestDist) {
+        closestPoint = intersection;
+        closestDist = dist;
       }
     }
 
-    return null;
+    return new RaycastHit(closestPoint, hit[0], closestDist);
   }
 
   /**
@@ -694,6 +788,11 @@ public final class PhysicsEngine implements IUpdateable {
       collisionBoxes.get(type).clear();
       collisionBoxes.get(type).addAll(
         collisionEntities.get(type).stream().map(ICollisionEntity::getCollisionBox).toList());
+
+      // catch up on collision box changes that are not propagated by transform events (e.g. changed collision box dimensions)
+      for (ICollisionEntity entity : collisionEntities.get(type)) {
+        addToBroadPhase(type, entity);
+      }
     }
   }
 
@@ -733,41 +832,102 @@ public final class PhysicsEngine implements IUpdateable {
    * @return The {@code Intersection} area.
    */
   private Intersection getIntersection(final ICollisionEntity entity, final Rectangle2D rect) {
-    Intersection result = null;
-    for (final ICollisionEntity otherEntity : getCollisionEntities()) {
-      if (!canCollide(entity, otherEntity)) {
-        continue;
+    final List<ICollisionEntity> intersecting = new ArrayList<>();
+    query(rect, Collision.ANY, otherEntity -> {
+      if (canCollide(entity, otherEntity) && GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect)) {
+        intersecting.add(otherEntity);
       }
+    });
 
-      if (GeometricUtilities.intersects(otherEntity.getCollisionBox(), rect)) {
-        Rectangle2D intersection = otherEntity.getCollisionBox().createIntersection(rect);
-        if (result != null) {
-          result =
-            new Intersection(
-              intersection.createUnion(result),
-              ArrayUtilities.append(result.involvedEntities, otherEntity));
-        } else {
-          result = new Intersection(intersection, otherEntity);
-        }
+    // preserve the order of the entity lists for the involved entities of the collision events
+    intersecting.sort(Comparator.comparingLong(this::getRegistrationOrder));
+
+    Intersection result = null;
+    for (final ICollisionEntity otherEntity : intersecting) {
+      Rectangle2D intersection = otherEntity.getCollisionBox().createIntersection(rect);
+      if (result != null) {
+        result =
+          new Intersection(
+            intersection.createUnion(result),
+            ArrayUtilities.append(result.involvedEntities, otherEntity));
+      } else {
+        result = new Intersection(intersection, otherEntity);
       }
     }
 
     return result;
   }
 
-  private boolean collides(final ICollisionEntity entity, Collision type,
+  private boolean collides(final ICollisionEntity entity, Collision type, Rectangle2D area,
     Predicate<ICollisionEntity> check) {
-    for (final ICollisionEntity otherEntity : getCollisionEntities(type)) {
-      if (!canCollide(entity, otherEntity) || entity == otherEntity) {
-        continue;
-      }
+    final CollisionCheck collisionCheck = new CollisionCheck(entity, check);
+    query(area, type, collisionCheck);
+    return collisionCheck.collides;
+  }
 
-      if (check.test(otherEntity)) {
-        return true;
-      }
+  private boolean collides(final ICollisionEntity entity, Collision type, Line2D line,
+    Predicate<ICollisionEntity> check) {
+    final CollisionCheck collisionCheck = new CollisionCheck(entity, check);
+    query(line, type, collisionCheck);
+    return collisionCheck.collides;
+  }
+
+  /**
+   * Passes the collision boxes of all entities that might intersect the specified area to the batch.
+   *
+   * @param area  The area to query.
+   * @param batch The batch that receives the collision boxes.
+   * @see CollisionBatch#gather(PhysicsEngine)
+   */
+  void gather(final Rectangle2D area, final CollisionBatch batch) {
+    for (Collision type : new Collision[] {Collision.DYNAMIC, Collision.STATIC}) {
+      broadPhase.get(type).query(area, entity -> {
+        if (canCollide(null, entity)) {
+          batch.add(entity.getCollisionBox(), type);
+        }
+      });
     }
+  }
 
-    return false;
+  private void query(Rectangle2D area, Collision type, Consumer<ICollisionEntity> consumer) {
+    for (SpatialIndex<ICollisionEntity> index : getBroadPhase(type)) {
+      index.query(area, consumer);
+    }
+  }
+
+  private void query(Line2D line, Collision type, Consumer<ICollisionEntity> consumer) {
+    for (SpatialIndex<ICollisionEntity> index : getBroadPhase(type)) {
+      index.query(line, consumer);
+    }
+  }
+
+  private List<SpatialIndex<ICollisionEntity>> getBroadPhase(Collision type) {
+    return switch (type) {
+      case NONE -> Collections.emptyList();
+      case DYNAMIC, STATIC -> List.of(broadPhase.get(type));
+      case ANY -> List.of(broadPhase.get(Collision.DYNAMIC), broadPhase.get(Collision.STATIC));
+    };
+  }
+
+  private long getRegistrationOrder(ICollisionEntity entity) {
+    final Long order = registrationOrder.get(entity);
+    if (order == null) {
+      return Long.MAX_VALUE;
+    }
+
+    // dynamic entities precede static ones, see getCollisionEntities(Collision.ANY)
+    return broadPhase.get(Collision.STATIC).contains(entity) ? STATIC_ORDER_OFFSET + order : order;
+  }
+
+  private void addToBroadPhase(Collision type, ICollisionEntity entity) {
+    final SpatialIndex<ICollisionEntity> index = broadPhase.get(type);
+    if (index == null || entity.getCollisionBox() == null) {
+      return;
+    }
+
+    if (!index.update(entity, entity.getCollisionBox())) {
+      index.add(entity, entity.getCollisionBox());
+    }
   }
 
   /**
@@ -923,4 +1083,52 @@ public final class PhysicsEngine implements IUpdateable {
       this.involvedEntities = entities;
     }
   }
+
+  /**
+   * Tests the candidates provided by the broad-phase until the first collision was found.
+   */
+  private static class CollisionCheck implements Consumer<ICollisionEntity> {
+    private final ICollisionEntity entity;
+    private final Predicate<ICollisionEntity> check;
+    private boolean collides;
+
+    private CollisionCheck(ICollisionEntity entity, Predicate<ICollisionEntity> check) {
+      this.entity = entity;
+      this.check = check;
+    }
+
+    @Override
+    public void accept(ICollisionEntity otherEntity) {
+      if (!this.collides && canCollide(this.entity, otherEntity) && this.entity != otherEntity && this.check.test(otherEntity)) {
+        this.collides = true;
+      }
+    }
+  }
+
+  /**
+   * Keeps the broad-phase up to date with the collision boxes of moved or resized entities.
+   */
+  private class BroadPhaseUpdater implements EntityTransformListener {
+    @Override
+    public void locationChanged(IEntity entity) {
+      this.update(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      this.update(entity);
+    }
+
+    private void update(IEntity entity) {
+      if (!(entity instanceof ICollisionEntity collisionEntity)) {
+        return;
+      }
+
+      // the transform event might be fired before the entity refreshed its collision box, so it's determined explicitly
+      final Rectangle2D collisionBox = collisionEntity.getCollisionBox(collisionEntity.getLocation());
+      if (!broadPhase.get(Collision.DYNAMIC).update(collisionEntity, collisionBox)) {
+        broadPhase.get(Collision.STATIC).update(collisionEntity, collisionBox);
+      }
+    }
+  }
 }
@@ -42,8 +42,13 @@ public class SoundResource extends NamedResource {
    *
    * @param sound  The Sound object to be used for this resource.
    * @param format The format of the sound.
+   * @throws IllegalArgumentException if the sound has no raw data because it has been loaded from a {@code SoundBank}.
    */
   public SoundResource(Sound sound, SoundFormat format) {
+    if (sound.getRawData() == null) {
+      throw new IllegalArgumentException("The sound " + sound.getName() + " has been loaded from a sound bank and cannot be serialized.");
+    }
+
     this.setName(sound.getName());
     this.data = Codec.encode(sound.getRawData());
     this.format = format;
@@ -63,7 +68,8 @@ public class SoundResource extends NamedResource {
    * @throws UnsupportedAudioFileException If the audio file format is not supported.
    */
   public SoundResource(InputStream data, String name, SoundFormat format) throws IOException, UnsupportedAudioFileException {
-    this(new Sound(data, name), format);
+    // only the encoded data is serialized, so there's no need to decode the sound
+    this(new Sound(data, name, true), format);
   }
 
   /**
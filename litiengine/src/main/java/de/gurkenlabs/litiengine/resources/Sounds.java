@@ -1,12 +1,14 @@
 package de.gurkenlabs.litiengine.resources;
 
 import de.gurkenlabs.litiengine.sound.Sound;
+import de.gurkenlabs.litiengine.sound.SoundBank;
 import de.gurkenlabs.litiengine.util.io.Codec;
 import de.gurkenlabs.litiengine.util.io.FileUtilities;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.sound.sampled.UnsupportedAudioFileException;
@@ -16,10 +18,22 @@ import javax.sound.sampled.UnsupportedAudioFileException;
  * <p>
  * This class extends the {@code ResourcesContainer} class to provide specific functionality for handling {@code Sound} objects.
  * </p>
+ * <p>
+ * Sounds whose encoded data exceeds the {@link #getStreamingThreshold() streaming threshold}, e.g. long music tracks, are decoded while they are
+ * played instead of being buffered entirely. Many short sound effects are best packed into a {@link SoundBank} that is loaded with
+ * {@link #loadBank(Path)}.
+ * </p>
  */
 public final class Sounds extends ResourcesContainer<Sound> {
+  /**
+   * The default size of encoded sound data in bytes from which a sound is streamed: 1 MiB, which is about a minute of music in OGG format.
+   */
+  public static final int DEFAULT_STREAMING_THRESHOLD = 1 << 20;
+
   private static final Logger log = Logger.getLogger(Sounds.class.getName());
 
+  private int streamingThreshold = DEFAULT_STREAMING_THRESHOLD;
+
   Sounds() {
   }
 
@@ -35,7 +49,7 @@ public final class Sounds extends ResourcesContainer<Sound> {
     ByteArrayInputStream input = new ByteArrayInputStream(data);
     Sound sound;
     try {
-      sound = new Sound(input, resource.getName());
+      sound = new Sound(input, resource.getName(), data.length > this.streamingThreshold);
       this.add(resource.getName(), sound);
       return sound;
     } catch (IOException | UnsupportedAudioFileException e) {
@@ -58,7 +72,48 @@ public final class Sounds extends ResourcesContainer<Sound> {
         log.log(Level.SEVERE, "The audio file {0} could not be loaded.", new Object[] {resourceName});
         return null;
       }
-      return new Sound(is, FileUtilities.getFileName(resourceName));
+      byte[] data = is.readAllBytes();
+      return new Sound(new ByteArrayInputStream(data), FileUtilities.getFileName(resourceName), data.length > this.streamingThreshold);
     }
   }
+
+  /**
+   * Gets the size of encoded sound data from which sounds are streamed instead of being decoded when they are loaded.
+   *
+   * @return The streaming threshold in bytes.
+   */
+  public int getStreamingThreshold() {
+    return this.streamingThreshold;
+  }
+
+  /**
+   * Sets the size of encoded sound data from which sounds are streamed instead of being decoded when they are loaded. This only affects sounds that
+   * are loaded afterwards.
+   *
+   * @param streamingThreshold The streaming threshold in bytes; {@code Integer.MAX_VALUE} to decode all sounds when they are loaded.
+   * @throws IllegalArgumentException if the threshold is negative.
+   */
+  public void setStreamingThreshold(int streamingThreshold) {
+    if (streamingThreshold < 0) {
+      throw new IllegalArgumentException("The streaming threshold must not be negative: " + streamingThreshold);
+    }
+
+    this.streamingThreshold = streamingThreshold;
+  }
+
+  /**
+   * Maps the specified sound bank into memory and adds all of its sounds to this container. The sounds are added by their paths relative to the
+   * resource folder of the bank, so e.g. {@code Resources.sounds().get("sfx/explosion.ogg")} retrieves the sound from the bank without decoding the
+   * file.
+   *
+   * @param file The sound bank file.
+   * @return The loaded sound bank.
+   * @throws IOException If the file cannot be read or is not a valid sound bank.
+   * @see SoundBank#write(Path, Path)
+   */
+  public SoundBank loadBank(final Path file) throws IOException {
+    SoundBank bank = SoundBank.open(file);
+    bank.getSounds().forEach(this::add);
+    return bank;
+  }
 }
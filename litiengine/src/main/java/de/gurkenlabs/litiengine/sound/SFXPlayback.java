@@ -15,6 +15,8 @@ public class SFXPlayback extends SoundPlayback {
   private final float volumeModifier;
   private final VolumeControl volume;
   private final boolean loop;
+  private volatile float pan;
+  private volatile int priority;
 
   SFXPlayback(Sound sound, Supplier<Point2D> source, boolean loop, int range, float volumeModifier)
       throws LineUnavailableException {
@@ -31,6 +33,37 @@ public class SFXPlayback extends SoundPlayback {
     this.volume = this.createVolumeControl();
   }
 
+  SFXPlayback(Sound sound, Supplier<Point2D> source, boolean loop, int range, float volumeModifier, SoundMixer mixer) {
+    super(mixer);
+    this.loop = loop;
+    this.sound = sound;
+    this.panControl = null;
+    this.source = source;
+    this.range = range;
+    this.volumeModifier = volumeModifier;
+    this.volume = this.createVolumeControl();
+  }
+
+  /**
+   * Gets the priority of this playback. If the {@link SoundMixer} runs out of voices, playbacks with
+   * a lower priority are stopped in favor of playbacks with a higher priority.
+   *
+   * @return The priority of this playback.
+   */
+  public int getPriority() {
+    return this.priority;
+  }
+
+  /**
+   * Sets the priority of this playback. This only has an effect if the sound effects are played by
+   * a {@link SoundMixer}.
+   *
+   * @param priority The priority of this playback; 0 by default.
+   */
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
   @Override
   public void run() {
     try {
@@ -52,22 +85,49 @@ public class SFXPlayback extends SoundPlayback {
       double dx = location.getX() - listenerLocation.getX();
       double dy = location.getY() - listenerLocation.getY();
       double dist = Math.sqrt(dx * dx + dy * dy);
-      if (this.panControl != null) {
-        this.panControl.setValue(dist > 0 ? (float) (dx / dist) : 0f);
+      float newPan = dist > 0 ? (float) (dx / dist) : 0f;
+      if (this.panControl != null && newPan != this.pan) {
+        this.panControl.setValue(newPan);
       }
-      this.volume.set(
+      this.pan = newPan;
+      this.setDistanceVolume(
           Game.config().sound().getSoundVolume()
               * this.volumeModifier
               * (float) Math.max(1.0 - dist / this.range, 0.0));
     } else {
-      this.volume.set(Game.config().sound().getSoundVolume() * this.volumeModifier);
+      this.setDistanceVolume(Game.config().sound().getSoundVolume() * this.volumeModifier);
+    }
+  }
+
+  private void setDistanceVolume(float value) {
+    // skip the volume update of inaudible or static sources that didn't change
+    if (value != this.volume.get()) {
+      this.volume.set(value);
     }
   }
 
   @Override
   protected void play() {
     this.updateLocation(Game.audio().getListenerLocation());
-    super.play();
+    if (this.mixer == null) {
+      super.play();
+    } else if (!this.mixer.play(this)) {
+      this.abort();
+      return;
+    }
+
     Game.audio().addSound(this);
   }
+
+  Sound getSound() {
+    return this.sound;
+  }
+
+  boolean isLooping() {
+    return this.loop;
+  }
+
+  float getPan() {
+    return this.pan;
+  }
 }
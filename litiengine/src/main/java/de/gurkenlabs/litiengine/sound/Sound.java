@@ -1,8 +1,12 @@
 package de.gurkenlabs.litiengine.sound;
 
 import de.gurkenlabs.litiengine.util.io.StreamUtilities;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -11,6 +15,11 @@ import javax.sound.sampled.UnsupportedAudioFileException;
 /**
  * This class implements all required functionality to load sounds from the file system and provide a stream that can
  * later on be used for the sound playback.
+ *
+ * <p>
+ * A sound either holds its decoded PCM data or, if it is streamed, only its encoded data, which is then decoded while it
+ * is played. The PCM data of sounds that are loaded from a {@link SoundBank} is not held on the heap but mapped from the
+ * sound bank file.
  */
 public final class Sound {
 
@@ -18,12 +27,12 @@ public final class Sound {
 
   private final String name;
 
-  private AudioInputStream stream;
-
-  private byte[] streamData;
+  private ByteBuffer pcm;
 
   private byte[] data;
 
+  private ShortBuffer samples;
+
   /**
    * Creates a new Sound instance by the specified file path. Loads the sound data into a byte array and also retrieves
    * information about the format of the sound file.
@@ -42,22 +51,55 @@ public final class Sound {
    *           If the audio format is not supported
    */
   public Sound(InputStream is, String name) throws IOException, UnsupportedAudioFileException {
+    this(is, name, false);
+  }
+
+  /**
+   * Creates a new Sound instance by the specified file path. Loads the sound data into a byte array and also retrieves
+   * information about the format of the sound file.
+   *
+   * @param is
+   *          The input stream to load the sound from.
+   * @param name
+   *          The name of this sound file.
+   * @param streamed
+   *          If set to true, the sound is not decoded until it is played, which e.g. prevents long music tracks from
+   *          being fully buffered.
+   * @throws IOException
+   *           If something went wrong loading the file
+   * @throws UnsupportedAudioFileException
+   *           If the audio format is not supported
+   */
+  public Sound(InputStream is, String name, boolean streamed) throws IOException, UnsupportedAudioFileException {
     this.name = name;
 
     this.data = StreamUtilities.getBytes(is);
 
-    AudioInputStream in = AudioSystem.getAudioInputStream(is);
-    if (in != null) {
-      final AudioFormat baseFormat = in.getFormat();
-      final AudioFormat decodedFormat = getOutFormat(baseFormat);
-      // Get AudioInputStream that will be decoded by underlying VorbisSPI
-      in = AudioSystem.getAudioInputStream(decodedFormat, in);
-      this.stream = in;
-      this.streamData = StreamUtilities.getBytes(this.stream);
-      this.format = this.stream.getFormat();
+    // Get AudioInputStream that will be decoded by underlying VorbisSPI
+    try (AudioInputStream in = decode(this.data)) {
+      this.format = in.getFormat();
+      if (!streamed) {
+        this.pcm = ByteBuffer.wrap(StreamUtilities.getBytes(in));
+      }
     }
   }
 
+  /**
+   * Creates a new Sound instance for already decoded PCM data, e.g. a slice of a memory-mapped {@code SoundBank}.
+   *
+   * @param name
+   *          The name of this sound.
+   * @param format
+   *          The format of the PCM data.
+   * @param pcm
+   *          The decoded PCM data.
+   */
+  Sound(String name, AudioFormat format, ByteBuffer pcm) {
+    this.name = name;
+    this.format = format;
+    this.pcm = pcm;
+  }
+
   /**
    * Gets the audio format of this sound instance.
    *
@@ -82,28 +124,117 @@ public final class Sound {
    * <p>
    * This is used during resource serialization.
    *
-   * @return The raw data of this sound as byte array.
+   * @return The raw data of this sound as byte array or {@code null} if this sound has been loaded from a
+   *         {@code SoundBank}.
    */
   public byte[] getRawData() {
     return this.data;
   }
 
-  byte[] getStreamData() {
-    if (this.streamData == null) {
-      return new byte[0];
+  /**
+   * Determines whether this sound is decoded while it is played instead of holding its decoded data.
+   *
+   * @return True if this sound is streamed; otherwise false.
+   */
+  public boolean isStreamed() {
+    return this.pcm == null;
+  }
+
+  /**
+   * Opens a stream of the decoded PCM data of this sound. Streamed sounds are decoded on the fly.
+   *
+   * @return A new stream of the decoded data.
+   * @throws IOException
+   *           If the encoded data cannot be decoded.
+   */
+  InputStream openStream() throws IOException {
+    if (this.pcm != null) {
+      return new ByteBufferInputStream(this.pcm.duplicate());
+    }
+
+    if (this.data == null) {
+      return InputStream.nullInputStream();
     }
 
-    return this.streamData.clone();
+    try {
+      return decode(this.data);
+    } catch (UnsupportedAudioFileException e) {
+      throw new IOException(e);
+    }
   }
 
-  private static AudioFormat getOutFormat(final AudioFormat inFormat) {
+  /**
+   * Gets the decoded 16 bit samples of this sound, interleaved by channel. The samples are shared by all mixer voices
+   * and must be accessed by absolute indices only. Streamed sounds don't hold their samples; they are decoded block by
+   * block from {@link #openStream()} instead.
+   *
+   * @return The decoded samples of this sound.
+   * @throws IllegalStateException
+   *           If this sound is streamed.
+   */
+  synchronized ShortBuffer getSamples() {
+    if (this.pcm == null) {
+      throw new IllegalStateException("The sound " + this.name + " is streamed and doesn't hold its samples.");
+    }
+
+    if (this.samples == null) {
+      this.samples = this.pcm.duplicate()
+        .order(this.format.isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN)
+        .asShortBuffer();
+    }
+
+    return this.samples;
+  }
+
+  static AudioFormat getOutFormat(final AudioFormat inFormat) {
     final int ch = inFormat.getChannels();
     final float rate = inFormat.getSampleRate();
     return new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, rate, 16, ch, ch * 2, rate, false);
   }
 
+  private static AudioInputStream decode(byte[] data) throws IOException, UnsupportedAudioFileException {
+    AudioInputStream in = AudioSystem.getAudioInputStream(new ByteArrayInputStream(data));
+    return AudioSystem.getAudioInputStream(getOutFormat(in.getFormat()), in);
+  }
+
   @Override
   public String toString() {
     return this.getName();
   }
+
+  /**
+   * Reads the remaining bytes of a buffer without copying them upfront.
+   */
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return this.buffer.hasRemaining() ? this.buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+
+      if (!this.buffer.hasRemaining()) {
+        return -1;
+      }
+
+      final int count = Math.min(len, this.buffer.remaining());
+      this.buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return this.buffer.remaining();
+    }
+  }
 }
@@ -0,0 +1,222 @@
+package de.gurkenlabs.litiengine.sound;
+
+import de.gurkenlabs.litiengine.resources.SoundFormat;
+import de.gurkenlabs.litiengine.util.io.FileUtilities;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * A {@code SoundBank} packs the decoded PCM data of many sounds into a single file.
+ *
+ * <p>
+ * Instead of decoding every OGG or MP3 file when the game starts, the sound bank is built once from a resource folder by
+ * {@link #write(Path, Path)} and memory-mapped when it is opened. The sounds of the bank are zero-copy slices of the
+ * mapping, so their data is paged in by the operating system on demand and doesn't occupy the heap.
+ *
+ * <p>
+ * The sounds are named by their paths relative to the resource folder, e.g. {@code "sfx/explosion.ogg"}. Load a sound
+ * bank with {@code Resources.sounds().loadBank(Path)} to retrieve its sounds by these names.
+ *
+ * <p>
+ * The file starts with a header of the magic number, the version and the offset of the index, followed by the 16 bit
+ * little-endian PCM data of all sounds. The index at the end lists the name, sample rate, channels, offset and length
+ * of each sound.
+ */
+public final class SoundBank {
+  /** The file extension of sound banks. */
+  public static final String FILE_EXTENSION = ".soundbank";
+
+  private static final int MAGIC = 0x4c53424b; // "LSBK"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+
+  private final Map<String, Sound> sounds;
+
+  private SoundBank(Map<String, Sound> sounds) {
+    this.sounds = Collections.unmodifiableMap(sounds);
+  }
+
+  /**
+   * Opens the specified sound bank by mapping it into memory.
+   *
+   * @param file
+   *          The sound bank file.
+   * @return The sound bank with all sounds of the file.
+   * @throws IOException
+   *           If the file cannot be read or is not a valid sound bank.
+   */
+  public static SoundBank open(Path file) throws IOException {
+    final MappedByteBuffer mapping;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("The sound bank " + file + " exceeds 2 GB.");
+      }
+
+      // the mapping stays valid after the channel is closed
+      mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    mapping.order(ByteOrder.LITTLE_ENDIAN);
+    if (mapping.limit() < HEADER_SIZE || mapping.getInt(0) != MAGIC) {
+      throw new IOException(file + " is not a sound bank.");
+    }
+
+    if (mapping.getInt(4) != VERSION) {
+      throw new IOException("The version " + mapping.getInt(4) + " of the sound bank " + file + " is not supported.");
+    }
+
+    try {
+      final ByteBuffer index = mapping.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(Math.toIntExact(mapping.getLong(8)));
+      final int count = index.getInt();
+      final Map<String, Sound> sounds = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        final byte[] name = new byte[index.getInt()];
+        index.get(name);
+        final float sampleRate = index.getFloat();
+        final int channels = index.getInt();
+        final int offset = Math.toIntExact(index.getLong());
+        final int length = Math.toIntExact(index.getLong());
+
+        final String resourceName = new String(name, StandardCharsets.UTF_8);
+        final AudioFormat format = Sound.getOutFormat(new AudioFormat(sampleRate, 16, channels, true, false));
+        sounds.put(resourceName, new Sound(FileUtilities.getFileName(resourceName), format, mapping.slice(offset, length)));
+      }
+
+      return new SoundBank(sounds);
+    } catch (RuntimeException e) {
+      throw new IOException("The sound bank " + file + " is corrupt.", e);
+    }
+  }
+
+  /**
+   * Decodes all supported sound files of the specified folder and its sub folders and packs them into a sound bank.
+   *
+   * @param folder
+   *          The resource folder that contains the sound files.
+   * @param file
+   *          The sound bank file to be written.
+   * @throws IOException
+   *           If a sound file cannot be read or the sound bank cannot be written.
+   * @throws UnsupportedAudioFileException
+   *           If the audio format of a sound file is not supported.
+   */
+  public static void write(Path folder, Path file) throws IOException, UnsupportedAudioFileException {
+    final List<Path> files;
+    try (Stream<Path> walk = Files.walk(folder)) {
+      files = walk.filter(p -> Files.isRegularFile(p) && SoundFormat.isSupported(p)).sorted().toList();
+    }
+
+    final List<String> names = new ArrayList<>();
+    final List<AudioFormat> formats = new ArrayList<>();
+    final List<long[]> ranges = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.position(HEADER_SIZE);
+      final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+      for (Path soundFile : files) {
+        final long offset = channel.position();
+        // decode block by block so that long tracks are never buffered entirely
+        try (AudioInputStream encoded = AudioSystem.getAudioInputStream(soundFile.toFile());
+            AudioInputStream decoded = AudioSystem.getAudioInputStream(Sound.getOutFormat(encoded.getFormat()), encoded)) {
+          write(decoded, channel, buffer);
+          formats.add(decoded.getFormat());
+        }
+
+        names.add(folder.relativize(soundFile).toString().replace('\\', '/'));
+        ranges.add(new long[] {offset, channel.position() - offset});
+      }
+
+      final long indexOffset = channel.position();
+      int indexSize = Integer.BYTES;
+      for (String name : names) {
+        indexSize += Integer.BYTES * 2 + Float.BYTES + Long.BYTES * 2 + name.getBytes(StandardCharsets.UTF_8).length;
+      }
+
+      final ByteBuffer index = ByteBuffer.allocate(indexSize).order(ByteOrder.LITTLE_ENDIAN);
+      index.putInt(names.size());
+      for (int i = 0; i < names.size(); i++) {
+        final byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+        index.putInt(name.length).put(name);
+        index.putFloat(formats.get(i).getSampleRate()).putInt(formats.get(i).getChannels());
+        index.putLong(ranges.get(i)[0]).putLong(ranges.get(i)[1]);
+      }
+
+      writeFully(channel, index.flip());
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(VERSION).putLong(indexOffset);
+      channel.position(0);
+      writeFully(channel, header.flip());
+    }
+  }
+
+  /**
+   * Builds a sound bank from a resource folder.
+   *
+   * <p>
+   * Usage: {@code SoundBank <folder> <file>}
+   *
+   * @param args
+   *          The resource folder and the sound bank file.
+   * @throws IOException
+   *           If a sound file cannot be read or the sound bank cannot be written.
+   * @throws UnsupportedAudioFileException
+   *           If the audio format of a sound file is not supported.
+   */
+  public static void main(String[] args) throws IOException, UnsupportedAudioFileException {
+    if (args.length != 2) {
+      throw new IllegalArgumentException("Usage: SoundBank <folder> <file>");
+    }
+
+    write(Path.of(args[0]), Path.of(args[1]));
+  }
+
+  /**
+   * Gets the sound with the specified name.
+   *
+   * @param name
+   *          The path of the sound relative to the resource folder of this bank.
+   * @return The sound with the specified name or {@code null} if this bank doesn't contain it.
+   */
+  public Sound get(String name) {
+    return this.sounds.get(name);
+  }
+
+  /**
+   * Gets all sounds of this bank by their names.
+   *
+   * @return An unmodifiable map of all sounds of this bank.
+   */
+  public Map<String, Sound> getSounds() {
+    return this.sounds;
+  }
+
+  private static void write(InputStream in, FileChannel channel, ByteBuffer buffer) throws IOException {
+    for (int read = in.read(buffer.array()); read >= 0; read = in.read(buffer.array())) {
+      buffer.clear().limit(read);
+      writeFully(channel, buffer);
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
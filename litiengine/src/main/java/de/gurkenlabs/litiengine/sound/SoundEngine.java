@@ -4,6 +4,8 @@ import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.ILaunchable;
 import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.SoundSource;
+import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.tweening.TweenFunction;
 import java.awt.geom.Point2D;
@@ -29,6 +31,13 @@ import javax.sound.sampled.LineUnavailableException;
  * <p>
  * The sound engine supports .wav, .mp3 and .ogg by default. If you need other file extensions, you
  * have to write an own SPI implementation and inject it in your project.
+ *
+ * <p>
+ * By default, each sound effect is played on its own line and thread. Alternatively, all sound
+ * effects can be mixed in software and played on a single line, see {@link SoundMixer}. The mixer
+ * also manages the voices: sounds that are out of range of the listener become virtual voices that
+ * don't cost any mixing, and only the highest scored voices are mixed if too many sounds are
+ * audible at once.
  */
 public final class SoundEngine implements IUpdateable, ILaunchable {
 
@@ -52,6 +61,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
   private MusicPlayback music;
   private final Collection<MusicPlayback> allMusic = ConcurrentHashMap.newKeySet();
   private final Collection<SFXPlayback> sounds = ConcurrentHashMap.newKeySet();
+  private volatile SoundMixer mixer;
 
   /**
    * <b>You should never call this manually! Instead use the {@code Game.audio()} instance.</b>
@@ -74,6 +84,22 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     return maxDist;
   }
 
+  /**
+   * Gets all {@code SoundSource} entities of the current environment whose range includes the
+   * listener location, i.e. the sound sources that can currently be heard.
+   *
+   * @return The sound sources in range of the listener.
+   * @see Environment#findSoundSources(Point2D)
+   */
+  public Collection<SoundSource> getAudibleSoundSources() {
+    final Environment environment = Game.world().environment();
+    if (environment == null) {
+      return Collections.emptyList();
+    }
+
+    return environment.findSoundSources(this.getListenerLocation());
+  }
+
   /**
    * Sets the currently playing track to a {@code LoopedTrack} with the sound defined by the
    * specified music name. This has no effect if the specified track is already playing.
@@ -356,7 +382,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
    * sound.
    */
   public SFXPlayback playSound(final Sound sound, final Point2D location, boolean loop) {
-    return playSound(sound, () -> location, loop, getMaxDistance(), 1f);
+    return playSound(sound, location, loop, getMaxDistance(), 1f);
   }
 
   /**
@@ -371,13 +397,18 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
    * sound.
    */
   public SFXPlayback playSound(final Sound sound, final Point2D location, boolean loop, int range) {
-    return playSound(sound, () -> location, loop, range, 1f);
+    return playSound(sound, location, loop, range, 1f);
   }
 
   /**
    * Plays the specified sound at the specified location and updates the volume and pan in relation
    * to the listener location.
    *
+   * <p>
+   * A sound that is out of range of the listener is still played, so it can be heard once the
+   * listener moves closer. If a {@link SoundMixer} is used, it is a virtual voice until then, which
+   * is not mixed and doesn't count towards the voice limit.
+   *
    * @param location The location at which to play the sound.
    * @param sound    The sound to play.
    * @param loop     Determines whether this playback should be looped or not.
@@ -552,6 +583,11 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
    */
   public SFXPlayback createSound(Sound sound, Supplier<Point2D> supplier, boolean loop, int range,
     float volume) {
+    final SoundMixer soundMixer = this.mixer;
+    if (soundMixer != null) {
+      return new SFXPlayback(sound, supplier, loop, range, volume, soundMixer);
+    }
+
     try {
       return new SFXPlayback(sound, supplier, loop, range, volume);
     } catch (LineUnavailableException | IllegalArgumentException e) {
@@ -574,9 +610,46 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     listenerLocationCallback = callback;
   }
 
+  /**
+   * Gets the mixer that plays all sound effects on a single line.
+   *
+   * @return The software mixer or {@code null} if each sound effect is played on its own line.
+   */
+  public SoundMixer getMixer() {
+    return this.mixer;
+  }
+
+  /**
+   * Sets the mixer that plays all sound effects which are created afterwards. The previous mixer is
+   * terminated, which cancels all of its sound effects.
+   *
+   * <p>
+   * The mixer is not started by this method, which allows to render the sound effects offline by
+   * {@link SoundMixer#render(byte[], int, int)}.
+   *
+   * @param mixer The software mixer or {@code null} to play each sound effect on its own line.
+   * @see de.gurkenlabs.litiengine.configuration.SoundConfiguration#setSoftwareMixer(boolean)
+   */
+  public synchronized void setMixer(SoundMixer mixer) {
+    final SoundMixer previous = this.mixer;
+    this.mixer = mixer;
+    if (previous != null && previous != mixer) {
+      previous.terminate();
+    }
+  }
+
   @Override
   public void start() {
     listenerLocation = Game.world().camera().getFocus();
+    if (Game.config().sound().softwareMixer() && this.mixer == null) {
+      try {
+        SoundMixer softwareMixer = new SoundMixer(SoundMixer.DEFAULT_FORMAT, Game.config().sound().getMaxVoices());
+        softwareMixer.start();
+        this.setMixer(softwareMixer);
+      } catch (LineUnavailableException | IllegalArgumentException e) {
+        resourceFailure(e);
+      }
+    }
   }
 
   @Override
@@ -587,6 +660,7 @@ public final class SoundEngine implements IUpdateable, ILaunchable {
     }
 
     EXECUTOR.shutdown();
+    this.setMixer(null);
     synchronized (sounds) {
       for (SFXPlayback playback : sounds) {
         playback.cancel();
@@ -0,0 +1,677 @@
+package de.gurkenlabs.litiengine.sound;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * The {@code SoundMixer} plays all sound effects on a single {@code SourceDataLine}. Instead of
+ * opening a line and running a thread for each {@link SFXPlayback}, the playbacks are added as
+ * voices to this mixer and a single mixing thread sums them into a shared buffer.
+ *
+ * <p>
+ * The volume of a voice is determined by the {@code VolumeControl}s of its playback and the pan by
+ * the location of its source. If more than {@link #getMaxVoices()} audible playbacks are played at
+ * the same time, the voice with the lowest priority is stopped, see {@link SFXPlayback#setPriority(int)}.
+ *
+ * <p>
+ * Voices that can't be heard, e.g. because their source is out of range, are virtual: they keep
+ * their playback position but are not mixed and don't count towards the voice limit. The same
+ * applies to the lowest scored voices if more voices become audible than the limit allows, e.g.
+ * because the listener moved. A virtual voice is mixed again as soon as it is audible and scored
+ * high enough.
+ *
+ * <p>
+ * The mixer can also be used without an audio device: as long as it has not been started, the
+ * mixed audio can be rendered into a buffer by {@link #render(byte[], int, int)}.
+ *
+ * @see de.gurkenlabs.litiengine.configuration.SoundConfiguration#setSoftwareMixer(boolean)
+ */
+public final class SoundMixer {
+  /** The default output format: 44.1 kHz, 16 bit, stereo. */
+  public static final AudioFormat DEFAULT_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+  /** The default maximum number of playbacks that are mixed at the same time. */
+  public static final int DEFAULT_MAX_VOICES = 32;
+
+  /** The number of frames mixed at once; about 12 milliseconds at 44.1 kHz. */
+  public static final int BUFFER_FRAMES = 512;
+
+  private static final Logger log = Logger.getLogger(SoundMixer.class.getName());
+
+  // the pause of the mixing thread in milliseconds after a block failed to be mixed; it doubles with each consecutive failure
+  private static final long MIN_FAILURE_BACKOFF = 10;
+  private static final long MAX_FAILURE_BACKOFF = 1000;
+
+  /** Orders voices by their priority, then by their volume, which includes the distance to the listener, and then by their age. */
+  private static final Comparator<Voice> SCORE = Comparator.<Voice>comparingInt(v -> v.priority)
+    .thenComparingDouble(v -> v.volume)
+    .thenComparingLong(v -> v.order);
+
+  private final AudioFormat format;
+  private final List<Voice> voices = new ArrayList<>();
+  private final List<SFXPlayback> finished = new ArrayList<>();
+  private final List<Voice> audible = new ArrayList<>();
+  private float[] mixBuffer = new float[0];
+  private int maxVoices;
+  private long voiceOrder;
+  private volatile int virtualVoices;
+
+  private SourceDataLine line;
+  private Thread thread;
+  private volatile boolean running;
+
+  /**
+   * Creates a new mixer with the default format and voice limit.
+   */
+  public SoundMixer() {
+    this(DEFAULT_FORMAT, DEFAULT_MAX_VOICES);
+  }
+
+  /**
+   * Creates a new mixer with the specified output format.
+   *
+   * @param format    The format of the mixed audio; must be signed 16 bit PCM with one or two
+   *                  channels.
+   * @param maxVoices The maximum number of playbacks that are mixed at the same time.
+   * @throws IllegalArgumentException if the format is not supported or the voice limit is less than
+   *                                  one.
+   */
+  public SoundMixer(AudioFormat format, int maxVoices) {
+    if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding()) || format.getSampleSizeInBits() != 16 || format.getChannels() < 1
+      || format.getChannels() > 2) {
+      throw new IllegalArgumentException("unsupported mixer format: " + format);
+    }
+
+    this.format = format;
+    this.setMaxVoices(maxVoices);
+  }
+
+  /**
+   * Gets the format of the mixed audio.
+   *
+   * @return The output format of this mixer.
+   */
+  public AudioFormat getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Gets the maximum number of playbacks that are mixed at the same time.
+   *
+   * @return The voice limit of this mixer.
+   */
+  public int getMaxVoices() {
+    return this.maxVoices;
+  }
+
+  /**
+   * Sets the maximum number of playbacks that are mixed at the same time. If more audible playbacks
+   * are currently mixed, the ones with the lowest priority are cancelled.
+   *
+   * @param maxVoices The new voice limit.
+   * @throws IllegalArgumentException if the voice limit is less than one.
+   */
+  public void setMaxVoices(int maxVoices) {
+    if (maxVoices < 1) {
+      throw new IllegalArgumentException("the mixer needs at least one voice: " + maxVoices);
+    }
+
+    final List<SFXPlayback> stolen = new ArrayList<>();
+    synchronized (this.voices) {
+      this.maxVoices = maxVoices;
+      while (this.getAudibleVoiceCount() > maxVoices) {
+        final Voice voice = this.voices.remove(this.getLowestPriorityVoice());
+        voice.close();
+        stolen.add(voice.playback);
+      }
+    }
+
+    stolen.forEach(SFXPlayback::abort);
+  }
+
+  /**
+   * Gets the number of playbacks that are currently played by this mixer, including virtual voices.
+   *
+   * @return The number of voices.
+   */
+  public int getVoiceCount() {
+    synchronized (this.voices) {
+      return this.voices.size();
+    }
+  }
+
+  /**
+   * Gets the number of voices that were not mixed by the last call of {@link #render(byte[], int, int)}
+   * because they were inaudible or exceeded the voice limit.
+   *
+   * @return The number of virtual voices.
+   */
+  public int getVirtualVoiceCount() {
+    return this.virtualVoices;
+  }
+
+  /**
+   * Opens the output line and starts the mixing thread.
+   *
+   * @throws LineUnavailableException if no line with the format of this mixer is available.
+   * @throws IllegalStateException    if the mixer is already running.
+   */
+  public synchronized void start() throws LineUnavailableException {
+    if (this.running) {
+      throw new IllegalStateException("already started");
+    }
+
+    this.line = AudioSystem.getSourceDataLine(this.format);
+    this.line.open(this.format, BUFFER_FRAMES * this.format.getFrameSize() * 4);
+    this.line.start();
+    this.running = true;
+    this.thread = new Thread(this::mix, "Sound Mixer Thread");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Stops the mixing thread, closes the output line and cancels all voices.
+   */
+  public synchronized void terminate() {
+    this.running = false;
+    if (this.thread != null) {
+      try {
+        this.thread.join(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      this.thread = null;
+    }
+
+    if (this.line != null) {
+      this.line.close();
+      this.line = null;
+    }
+
+    final List<SFXPlayback> cancelled = new ArrayList<>();
+    synchronized (this.voices) {
+      for (Voice voice : this.voices) {
+        voice.close();
+        cancelled.add(voice.playback);
+      }
+
+      this.voices.clear();
+    }
+
+    cancelled.forEach(SFXPlayback::abort);
+  }
+
+  /**
+   * Mixes the next frames of all voices into the specified buffer in the format of this mixer. The
+   * buffer is filled with silence if no voice is playing. Finished playbacks notify their listeners
+   * on the calling thread.
+   *
+   * <p>
+   * This is called by the mixing thread once the mixer has been started. Before that, it can be used
+   * to render the audio offline, e.g. to a file or for tests.
+   *
+   * @param buffer The buffer to write the mixed frames to.
+   * @param offset The offset in the buffer.
+   * @param length The number of bytes to write; only complete frames are written.
+   * @return The number of bytes written.
+   */
+  public int render(byte[] buffer, int offset, int length) {
+    final int channels = this.format.getChannels();
+    final int frames = length / this.format.getFrameSize();
+    if (this.mixBuffer.length < frames * channels) {
+      this.mixBuffer = new float[frames * channels];
+    }
+
+    Arrays.fill(this.mixBuffer, 0, frames * channels, 0f);
+    synchronized (this.voices) {
+      this.selectAudibleVoices();
+      for (int i = this.voices.size() - 1; i >= 0; i--) {
+        final Voice voice = this.voices.get(i);
+        if (voice.playback.isPaused()) {
+          continue;
+        }
+
+        // virtual voices only advance their position
+        final boolean playing = voice.mixed ? voice.mix(this.mixBuffer, frames, channels) : voice.advance(frames);
+        if (!playing) {
+          this.voices.remove(i);
+          voice.close();
+          this.finished.add(voice.playback);
+        }
+      }
+    }
+
+    final boolean bigEndian = this.format.isBigEndian();
+    for (int i = 0; i < frames * channels; i++) {
+      final int sample = Math.clamp(Math.round(this.mixBuffer[i]), Short.MIN_VALUE, Short.MAX_VALUE);
+      final int index = offset + i * 2;
+      buffer[index + (bigEndian ? 1 : 0)] = (byte) sample;
+      buffer[index + (bigEndian ? 0 : 1)] = (byte) (sample >> 8);
+    }
+
+    for (SFXPlayback playback : this.finished) {
+      playback.finish();
+    }
+
+    this.finished.clear();
+    return frames * this.format.getFrameSize();
+  }
+
+  /**
+   * Adds a voice for the specified playback. An inaudible playback is added as a virtual voice. If
+   * the voice limit is reached, the audible voice with the lowest priority is stolen, as long as its
+   * priority isn't higher than the priority of the new playback.
+   *
+   * @param playback The playback to add.
+   * @return {@code true} if the playback is mixed; {@code false} if it has been rejected.
+   */
+  boolean play(SFXPlayback playback) {
+    // open the sound's samples before the voices are locked
+    final Voice voice = new Voice(playback, this.format.getSampleRate());
+    final SFXPlayback stolen;
+    synchronized (this.voices) {
+      voice.order = this.voiceOrder++;
+      if (!voice.updateScore() || this.getAudibleVoiceCount() < this.maxVoices) {
+        this.voices.add(voice);
+        return true;
+      }
+
+      final int lowest = this.getLowestPriorityVoice();
+      if (this.voices.get(lowest).playback.getPriority() > playback.getPriority()) {
+        voice.close();
+        return false;
+      }
+
+      final Voice stolenVoice = this.voices.set(lowest, voice);
+      stolenVoice.close();
+      stolen = stolenVoice.playback;
+    }
+
+    stolen.abort();
+    return true;
+  }
+
+  void remove(SoundPlayback playback) {
+    synchronized (this.voices) {
+      this.voices.removeIf(v -> {
+        if (v.playback != playback) {
+          return false;
+        }
+
+        v.close();
+        return true;
+      });
+    }
+  }
+
+  /**
+   * Gets the audible voice that is stolen first: the one with the lowest priority and, among those,
+   * the quietest and then the oldest one.
+   */
+  private int getLowestPriorityVoice() {
+    int lowest = -1;
+    for (int i = 0; i < this.voices.size(); i++) {
+      final Voice voice = this.voices.get(i);
+      if (voice.updateScore() && (lowest < 0 || SCORE.compare(voice, this.voices.get(lowest)) < 0)) {
+        lowest = i;
+      }
+    }
+
+    return lowest;
+  }
+
+  private int getAudibleVoiceCount() {
+    int count = 0;
+    for (Voice voice : this.voices) {
+      if (voice.updateScore()) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Marks the audible voices with the highest scores within the voice limit to be mixed; all others
+   * are virtual.
+   */
+  private void selectAudibleVoices() {
+    this.audible.clear();
+    for (Voice voice : this.voices) {
+      voice.mixed = voice.updateScore();
+      if (voice.mixed) {
+        this.audible.add(voice);
+      }
+    }
+
+    if (this.audible.size() > this.maxVoices) {
+      this.audible.sort(SCORE);
+      for (int i = 0; i < this.audible.size() - this.maxVoices; i++) {
+        this.audible.get(i).mixed = false;
+      }
+    }
+
+    this.virtualVoices = this.voices.size() - Math.min(this.audible.size(), this.maxVoices);
+    this.audible.clear();
+  }
+
+  private void mix() {
+    final byte[] buffer = new byte[BUFFER_FRAMES * this.format.getFrameSize()];
+    long backoff = 0;
+    while (this.running) {
+      try {
+        final int length = this.render(buffer, 0, buffer.length);
+        // blocks until the line has room for the next block, which paces the mixing thread
+        this.line.write(buffer, 0, length);
+        backoff = 0;
+      } catch (RuntimeException e) {
+        // only the first failure in a row is reported; a persistent failure must neither flood the log nor keep a core busy
+        if (backoff == 0) {
+          log.log(Level.SEVERE, e.getMessage(), e);
+        } else {
+          log.log(Level.FINE, e.getMessage(), e);
+        }
+
+        backoff = backoff == 0 ? MIN_FAILURE_BACKOFF : Math.min(backoff * 2, MAX_FAILURE_BACKOFF);
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * The playback position of an {@code SFXPlayback} within the decoded samples of its sound.
+   */
+  private static final class Voice {
+    private final SFXPlayback playback;
+    private final Samples samples;
+    private final double step;
+    private long order;
+    private double position;
+    private boolean mixed;
+    // a snapshot of the playback's score, which must not change while the voices are sorted
+    private int priority;
+    private float volume;
+
+    private Voice(SFXPlayback playback, float outputRate) {
+      final Sound sound = playback.getSound();
+      final int channels = sound.getFormat() == null ? 1 : sound.getFormat().getChannels();
+      this.playback = playback;
+      this.samples = sound.isStreamed() ? new StreamedSamples(sound, channels) : new BufferedSamples(sound.getSamples(), channels);
+      this.step = sound.getFormat() == null ? 1 : sound.getFormat().getSampleRate() / outputRate;
+    }
+
+    /**
+     * Takes a snapshot of the priority and volume of the playback.
+     *
+     * @return {@code true} if the voice is audible.
+     */
+    private boolean updateScore() {
+      this.priority = this.playback.getPriority();
+      this.volume = this.playback.getMasterVolume();
+      return this.volume > 0f;
+    }
+
+    /**
+     * Advances the position of this voice by the specified number of output frames without mixing
+     * it.
+     *
+     * @return {@code false} if the end of the sound is reached and it isn't looped.
+     */
+    private boolean advance(int bufferFrames) {
+      this.position += this.step * bufferFrames;
+      return this.seek();
+    }
+
+    /**
+     * Adds the next frames of this voice to the buffer, resampled to the output rate.
+     *
+     * @return {@code false} if the end of the sound is reached and it isn't looped.
+     */
+    private boolean mix(float[] buffer, int bufferFrames, int outputChannels) {
+      final float volume = this.playback.getMasterVolume();
+      final float pan = this.playback.getPan();
+      final float left = volume * Math.min(1f, 1f - pan);
+      final float right = volume * Math.min(1f, 1f + pan);
+      final boolean stereo = this.samples.channels() > 1;
+      for (int frame = 0; frame < bufferFrames; frame++) {
+        if (!this.seek()) {
+          return false;
+        }
+
+        final int index = (int) this.position;
+        final float fraction = (float) (this.position - index);
+        final int next = this.samples.contains(index + 1) ? index + 1 : index;
+        final float first = this.sample(index, next, fraction, 0);
+        final float second = stereo ? this.sample(index, next, fraction, 1) : first;
+        if (outputChannels == 1) {
+          buffer[frame] += (first * left + second * right) / 2f;
+        } else {
+          buffer[frame * 2] += first * left;
+          buffer[frame * 2 + 1] += second * right;
+        }
+
+        this.position += this.step;
+      }
+
+      return true;
+    }
+
+    /**
+     * Makes sure that the frame at the current position is available and wraps the position around if the end of a
+     * looped sound is reached.
+     *
+     * @return {@code false} if the end of the sound is reached and it isn't looped.
+     */
+    private boolean seek() {
+      if (this.samples.contains((int) this.position)) {
+        return true;
+      }
+
+      final int frames = this.samples.length();
+      if (!this.playback.isLooping() || frames == 0) {
+        return false;
+      }
+
+      this.position %= frames;
+      this.samples.rewind();
+      return this.samples.contains((int) this.position);
+    }
+
+    private float sample(int index, int next, float fraction, int channel) {
+      final float current = this.samples.get(index, channel);
+      return current + (this.samples.get(next, channel) - current) * fraction;
+    }
+
+    private void close() {
+      this.samples.close();
+    }
+  }
+
+  /**
+   * Provides the decoded frames of the sound of a voice, which are read in ascending order until the sound is rewound.
+   */
+  private interface Samples {
+    int channels();
+
+    /**
+     * Determines whether the specified frame exists and makes it accessible.
+     *
+     * @return {@code false} if the frame is beyond the end of the sound.
+     */
+    boolean contains(int frame);
+
+    short get(int frame, int channel);
+
+    /**
+     * Gets the number of frames of the sound; only known once the end of the sound has been reached.
+     */
+    int length();
+
+    void rewind();
+
+    void close();
+  }
+
+  /**
+   * The samples of a sound that holds its decoded data, which are shared by all voices of the sound.
+   */
+  private record BufferedSamples(ShortBuffer samples, int channels) implements Samples {
+    @Override
+    public boolean contains(int frame) {
+      return frame < this.length();
+    }
+
+    @Override
+    public short get(int frame, int channel) {
+      return this.samples.get(frame * this.channels + channel);
+    }
+
+    @Override
+    public int length() {
+      return this.samples.limit() / this.channels;
+    }
+
+    @Override
+    public void rewind() {
+      // the samples are accessed by absolute indices
+    }
+
+    @Override
+    public void close() {
+      // the samples are owned by the sound
+    }
+  }
+
+  /**
+   * The samples of a streamed sound, which are decoded block by block while the voice is mixed so that the sound is never held
+   * as a whole.
+   */
+  private static final class StreamedSamples implements Samples {
+    private static final int BLOCK_FRAMES = 4096;
+
+    private final Sound sound;
+    private final int channels;
+    private final boolean bigEndian;
+    private final byte[] bytes;
+    // the last frame of the previous block is kept in front of the current block to interpolate between them
+    private final short[] block;
+    private InputStream stream;
+    private int start;
+    private int count;
+    private boolean ended;
+
+    private StreamedSamples(Sound sound, int channels) {
+      this.sound = sound;
+      this.channels = channels;
+      this.bigEndian = sound.getFormat().isBigEndian();
+      this.bytes = new byte[BLOCK_FRAMES * channels * 2];
+      this.block = new short[(BLOCK_FRAMES + 1) * channels];
+      this.rewind();
+    }
+
+    @Override
+    public int channels() {
+      return this.channels;
+    }
+
+    @Override
+    public boolean contains(int frame) {
+      while (frame >= this.start + this.count) {
+        if (this.ended || !this.decode()) {
+          return false;
+        }
+      }
+
+      return frame >= this.start;
+    }
+
+    @Override
+    public short get(int frame, int channel) {
+      return this.block[(frame - this.start) * this.channels + channel];
+    }
+
+    @Override
+    public int length() {
+      return this.start + this.count;
+    }
+
+    @Override
+    public void rewind() {
+      this.close();
+      try {
+        this.stream = this.sound.openStream();
+      } catch (IOException e) {
+        log.log(Level.SEVERE, "The sound " + this.sound.getName() + " could not be decoded.", e);
+        this.stream = InputStream.nullInputStream();
+      }
+
+      this.start = 0;
+      this.count = 0;
+      this.ended = false;
+    }
+
+    @Override
+    public void close() {
+      if (this.stream == null) {
+        return;
+      }
+
+      try {
+        this.stream.close();
+      } catch (IOException e) {
+        log.log(Level.WARNING, e.getMessage(), e);
+      }
+
+      this.stream = null;
+    }
+
+    private boolean decode() {
+      final int kept = Math.min(this.count, 1);
+      System.arraycopy(this.block, (this.count - kept) * this.channels, this.block, 0, kept * this.channels);
+      this.start += this.count - kept;
+      this.count = kept;
+
+      int frames;
+      try {
+        frames = this.stream.readNBytes(this.bytes, 0, this.bytes.length) / (this.channels * 2);
+      } catch (IOException e) {
+        log.log(Level.SEVERE, "The sound " + this.sound.getName() + " could not be decoded.", e);
+        frames = 0;
+      }
+
+      if (frames == 0) {
+        this.ended = true;
+        this.close();
+        return false;
+      }
+
+      final int offset = kept * this.channels;
+      for (int i = 0; i < frames * this.channels; i++) {
+        final int low = this.bytes[i * 2 + (this.bigEndian ? 1 : 0)] & 0xff;
+        final int high = this.bytes[i * 2 + (this.bigEndian ? 0 : 1)];
+        this.block[offset + i] = (short) (high << 8 | low);
+      }
+
+      this.count += frames;
+      return true;
+    }
+  }
+}
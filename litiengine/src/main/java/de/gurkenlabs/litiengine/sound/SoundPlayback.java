@@ -4,12 +4,16 @@ import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.tweening.TweenFunction;
 import de.gurkenlabs.litiengine.tweening.TweenType;
 import de.gurkenlabs.litiengine.tweening.Tweenable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.BooleanControl;
@@ -21,17 +25,28 @@ import javax.sound.sampled.SourceDataLine;
  * The {@code SoundPlayback} class is a wrapper {@code SourceDataLine} on which a {@code Sound}
  * playback can be carried out.
  *
+ * <p>
+ * Playbacks that are created for a {@link SoundMixer} don't have a line of their own. Instead, they
+ * are mixed into the single output line of the mixer.
+ *
  * @see #play(Sound)
  */
 public abstract class SoundPlayback implements Runnable {
+  private static final Logger log = Logger.getLogger(SoundPlayback.class.getName());
 
   protected final SourceDataLine line;
   private final FloatControl gainControl;
   private final BooleanControl muteControl;
+  final SoundMixer mixer;
 
   private boolean started = false;
   private volatile boolean cancelled = false;
 
+  // the state of a mixer voice, which replaces the state of the line
+  private volatile boolean open = true;
+  private volatile boolean paused = false;
+  private volatile float gain = 1f;
+
   private final Collection<SoundPlaybackListener> listeners = ConcurrentHashMap.newKeySet();
 
   private final Collection<VolumeControl> volumeControls =
@@ -46,6 +61,15 @@ public abstract class SoundPlayback implements Runnable {
     this.line.start();
     this.gainControl = (FloatControl) this.line.getControl(FloatControl.Type.MASTER_GAIN);
     this.muteControl = (BooleanControl) this.line.getControl(BooleanControl.Type.MUTE);
+    this.mixer = null;
+    this.masterVolume = this.createVolumeControl();
+  }
+
+  SoundPlayback(SoundMixer mixer) {
+    this.line = null;
+    this.gainControl = null;
+    this.muteControl = null;
+    this.mixer = mixer;
     this.masterVolume = this.createVolumeControl();
   }
 
@@ -97,7 +121,9 @@ public abstract class SoundPlayback implements Runnable {
    * Pauses this playback. If this playback is already paused, this call has no effect.
    */
   public void pausePlayback() {
-    if (this.line.isOpen()) {
+    if (this.line == null) {
+      this.paused = true;
+    } else if (this.line.isOpen()) {
       this.line.stop();
     }
   }
@@ -106,7 +132,9 @@ public abstract class SoundPlayback implements Runnable {
    * Resumes this playback. If this playback is already playing, this call has no effect.
    */
   public void resumePlayback() {
-    if (this.line.isOpen()) {
+    if (this.line == null) {
+      this.paused = false;
+    } else if (this.line.isOpen()) {
       this.line.start();
     }
   }
@@ -140,7 +168,7 @@ public abstract class SoundPlayback implements Runnable {
    * @return Whether this playback is paused
    */
   public boolean isPaused() {
-    return !this.line.isActive();
+    return this.line == null ? this.paused : !this.line.isActive();
   }
 
   /**
@@ -151,7 +179,7 @@ public abstract class SoundPlayback implements Runnable {
    * @return Whether this playback has sound to play
    */
   public boolean isPlaying() {
-    return this.line.isOpen();
+    return this.line == null ? this.open : this.line.isOpen();
   }
 
   /**
@@ -162,10 +190,28 @@ public abstract class SoundPlayback implements Runnable {
     if (!this.started) {
       throw new IllegalStateException("not started");
     }
-    if (!this.cancelled && this.line.isOpen()) {
-      this.line.stop();
+    this.stop();
+  }
+
+  /**
+   * Cancels this playback regardless of whether it has been started, e.g. because the mixer has no
+   * voice left for it.
+   */
+  synchronized void abort() {
+    this.stop();
+  }
+
+  private void stop() {
+    if (!this.cancelled && this.isPlaying()) {
+      if (this.line == null) {
+        this.mixer.remove(this);
+        this.open = false;
+      } else {
+        this.line.stop();
+        this.line.flush();
+      }
+
       this.cancelled = true;
-      this.line.flush();
       SoundEvent event = new SoundEvent(this, null);
       for (SoundPlaybackListener listener : this.listeners) {
         listener.cancelled(event);
@@ -180,6 +226,10 @@ public abstract class SoundPlayback implements Runnable {
    * @return The current volume.
    */
   public float getMasterVolume() {
+    if (this.line == null) {
+      return this.gain;
+    }
+
     if (this.muteControl.getValue()) {
       return 0f;
     }
@@ -228,16 +278,23 @@ public abstract class SoundPlayback implements Runnable {
   boolean play(Sound sound) throws LineUnavailableException {
     this.line.open();
     this.line.start();
-    byte[] data = sound.getStreamData();
     int len = this.line.getFormat().getFrameSize();
     // math hacks here: we're getting just over half the buffer size, but it needs to be an integral
     // number of sample frames
     len = (this.line.getBufferSize() / len / 2 + 1) * len;
-    for (int i = 0; i < data.length;
-      i += this.line.write(data, i, Math.min(len, data.length - i))) {
-      if (this.cancelled || !line.isOpen()) {
-        return true;
+    byte[] buffer = new byte[len];
+    // streamed sounds are decoded block by block instead of being buffered entirely
+    try (InputStream data = sound.openStream()) {
+      for (int read = data.readNBytes(buffer, 0, len); read > 0;
+        read = data.readNBytes(buffer, 0, len)) {
+        for (int i = 0; i < read; i += this.line.write(buffer, i, read - i)) {
+          if (this.cancelled || !line.isOpen()) {
+            return true;
+          }
+        }
       }
+    } catch (IOException e) {
+      log.log(Level.SEVERE, "The sound " + sound.getName() + " could not be decoded.", e);
     }
     return this.cancelled;
   }
@@ -247,6 +304,21 @@ public abstract class SoundPlayback implements Runnable {
    * listeners.
    */
   void finish() {
+    if (this.line == null) {
+      // the mixer has already removed the voice
+      synchronized (this) {
+        if (!this.cancelled && this.open) {
+          this.open = false;
+          SoundEvent event = new SoundEvent(this, null);
+          for (SoundPlaybackListener listener : this.listeners) {
+            listener.finished(event);
+          }
+        }
+      }
+
+      return;
+    }
+
     this.line.drain();
     synchronized (this) {
       cancel();
@@ -265,6 +337,12 @@ public abstract class SoundPlayback implements Runnable {
       for (VolumeControl control : this.volumeControls) {
         volume *= control.get();
       }
+
+      if (this.line == null) {
+        this.gain = volume;
+        return;
+      }
+
       float dbGain = (float) (20.0 * Math.log10(volume));
       if (dbGain < this.gainControl.getMinimum()) {
         this.muteControl.setValue(true);
@@ -0,0 +1,401 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A {@code SpatialIndex} implementation that partitions the (unbounded) world into uniform square cells. The cells are hashed into
+ * a fixed number of buckets, which means that no world bounds need to be known upfront and that the memory footprint doesn't
+ * depend on the size of the world.
+ * <p>
+ * Items are only re-bucketed if their bounds moved into other cells, so updating the bounds of an item that moves a few pixels per
+ * tick is cheap. Queries don't allocate and can be executed concurrently to each other and to modifications of the grid.
+ *
+ * @param <T> The type of the indexed items.
+ */
+public class SpatialHashGrid<T> implements SpatialIndex<T> {
+  public static final double DEFAULT_CELL_SIZE = 64;
+  public static final int DEFAULT_BUCKET_COUNT = 4096;
+
+  // pads the bounds of items and queries to compensate floating point inaccuracies at cell borders
+  private static final double PADDING = 1e-6;
+
+  // generic arrays can't be created, so all grids share this array; it is never written to
+  private static final Entry<?>[] EMPTY_ENTRIES = new Entry<?>[0];
+
+  private final double cellSize;
+  private final int bucketMask;
+  private final AtomicReferenceArray<Entry<T>[]> buckets;
+  private final Map<T, Entry<T>> entries = new ConcurrentHashMap<>();
+  private final Entry<T>[] empty;
+
+  // items that span more cells than there are buckets are not hashed but tested on every query
+  private volatile Entry<T>[] oversized;
+
+  // the (grow-only) extent of all cells that have ever been occupied since the last clear
+  private volatile int minCellX;
+  private volatile int minCellY;
+  private volatile int maxCellX;
+  private volatile int maxCellY;
+
+  /**
+   * Initializes a new instance of the {@code SpatialHashGrid} class with the {@link #DEFAULT_CELL_SIZE} and
+   * {@link #DEFAULT_BUCKET_COUNT}.
+   */
+  public SpatialHashGrid() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Initializes a new instance of the {@code SpatialHashGrid} class with the specified cell size.
+   *
+   * @param cellSize The edge length of a cell in world units. Ideally, this is slightly larger than most of the indexed items.
+   */
+  public SpatialHashGrid(double cellSize) {
+    this(cellSize, DEFAULT_BUCKET_COUNT);
+  }
+
+  /**
+   * Initializes a new instance of the {@code SpatialHashGrid} class with the specified cell size and bucket count.
+   *
+   * @param cellSize    The edge length of a cell in world units.
+   * @param bucketCount The number of hash buckets; will be rounded up to the next power of two.
+   */
+  public SpatialHashGrid(double cellSize, int bucketCount) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("The cell size must be greater than 0 but was " + cellSize);
+    }
+
+    if (bucketCount <= 0) {
+      throw new IllegalArgumentException("The bucket count must be greater than 0 but was " + bucketCount);
+    }
+
+    this.cellSize = cellSize;
+    int capacity = 1;
+    while (capacity < bucketCount) {
+      capacity <<= 1;
+    }
+
+    this.bucketMask = capacity - 1;
+    this.empty = emptyEntries();
+    this.buckets = new AtomicReferenceArray<>(capacity);
+    this.reset();
+  }
+
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  @Override
+  public synchronized void add(T item, Rectangle2D bounds) {
+    final Entry<T> previous = this.entries.get(item);
+    if (previous != null) {
+      this.move(previous, bounds);
+      return;
+    }
+
+    final Entry<T> entry = this.createEntry(item, bounds);
+    this.entries.put(item, entry);
+    this.insert(entry);
+  }
+
+  @Override
+  public boolean update(T item, Rectangle2D bounds) {
+    final Entry<T> current = this.entries.get(item);
+    if (current == null) {
+      return false;
+    }
+
+    // most updates don't leave the occupied cells, so there's nothing to do
+    if (current.occupies(this.cell(bounds.getMinX() - PADDING), this.cell(bounds.getMinY() - PADDING),
+      this.cell(bounds.getMaxX() + PADDING), this.cell(bounds.getMaxY() + PADDING))) {
+      return true;
+    }
+
+    synchronized (this) {
+      final Entry<T> previous = this.entries.get(item);
+      if (previous == null) {
+        return false;
+      }
+
+      this.move(previous, bounds);
+      return true;
+    }
+  }
+
+  @Override
+  public synchronized boolean remove(T item) {
+    final Entry<T> previous = this.entries.remove(item);
+    if (previous == null) {
+      return false;
+    }
+
+    this.erase(previous);
+    return true;
+  }
+
+  @Override
+  public boolean contains(T item) {
+    return this.entries.containsKey(item);
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.reset();
+  }
+
+  private void reset() {
+    this.entries.clear();
+    for (int i = 0; i < this.buckets.length(); i++) {
+      this.buckets.set(i, this.empty);
+    }
+
+    this.oversized = this.empty;
+    this.minCellX = Integer.MAX_VALUE;
+    this.minCellY = Integer.MAX_VALUE;
+    this.maxCellX = Integer.MIN_VALUE;
+    this.maxCellY = Integer.MIN_VALUE;
+  }
+
+  @Override
+  public int size() {
+    return this.entries.size();
+  }
+
+  @Override
+  public void query(Rectangle2D area, Consumer<? super T> consumer) {
+    final int minX = Math.max(this.cell(area.getMinX() - PADDING), this.minCellX);
+    final int minY = Math.max(this.cell(area.getMinY() - PADDING), this.minCellY);
+    final int maxX = Math.min(this.cell(area.getMaxX() + PADDING), this.maxCellX);
+    final int maxY = Math.min(this.cell(area.getMaxY() + PADDING), this.maxCellY);
+    if (minX > maxX || minY > maxY) {
+      return;
+    }
+
+    // for huge query areas it is cheaper to test all items than to visit all cells
+    if ((long) (maxX - minX + 1) * (maxY - minY + 1) > this.entries.size()) {
+      for (final Entry<T> entry : this.entries.values()) {
+        if (entry.intersects(minX, minY, maxX, maxY)) {
+          consumer.accept(entry.item());
+        }
+      }
+
+      return;
+    }
+
+    this.queryOversized(minX, minY, maxX, maxY, consumer);
+    for (int y = minY; y <= maxY; y++) {
+      for (int x = minX; x <= maxX; x++) {
+        for (final Entry<T> entry : this.buckets.get(this.bucket(x, y))) {
+          // only report an item in the first cell of the overlap between its cells and the queried cells
+          if (entry.occupies(x, y) && Math.max(entry.minX(), minX) == x && Math.max(entry.minY(), minY) == y) {
+            consumer.accept(entry.item());
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void query(Line2D line, Consumer<? super T> consumer) {
+    final double x1 = line.getX1();
+    final double y1 = line.getY1();
+    final double dx = line.getX2() - x1;
+    final double dy = line.getY2() - y1;
+    if (dx == 0 || dy == 0 || this.minCellX > this.maxCellX) {
+      // axis aligned lines are fully covered by their bounds
+      this.query(line.getBounds2D(), consumer);
+      return;
+    }
+
+    // clip the line to the occupied extent of the grid so that arbitrarily long rays stay cheap
+    final double extentX1 = (this.minCellX * this.cellSize - x1) / dx;
+    final double extentX2 = ((this.maxCellX + 1) * this.cellSize - x1) / dx;
+    final double extentY1 = (this.minCellY * this.cellSize - y1) / dy;
+    final double extentY2 = ((this.maxCellY + 1) * this.cellSize - y1) / dy;
+    final double enter = Math.max(0, Math.max(Math.min(extentX1, extentX2), Math.min(extentY1, extentY2)));
+    final double exit = Math.min(1, Math.min(Math.max(extentX1, extentX2), Math.max(extentY1, extentY2)));
+    if (enter > exit) {
+      return;
+    }
+
+    final double startX = x1 + enter * dx;
+    final double startY = y1 + enter * dy;
+    int x = this.cell(startX);
+    int y = this.cell(startY);
+    final int endX = this.cell(x1 + exit * dx);
+    final int endY = this.cell(y1 + exit * dy);
+
+    final int stepX = dx > 0 ? 1 : -1;
+    final int stepY = dy > 0 ? 1 : -1;
+    final double deltaX = this.cellSize / Math.abs(dx);
+    final double deltaY = this.cellSize / Math.abs(dy);
+    double nextX = ((dx > 0 ? x + 1 : x) * this.cellSize - startX) / dx;
+    double nextY = ((dy > 0 ? y + 1 : y) * this.cellSize - startY) / dy;
+
+    this.queryOversized(Math.min(x, endX), Math.min(y, endY), Math.max(x, endX), Math.max(y, endY), consumer);
+
+    // walk the cells along the line (Amanatides-Woo); the number of steps is fixed to guarantee termination
+    int previousX = Integer.MIN_VALUE;
+    int previousY = Integer.MIN_VALUE;
+    int steps = Math.abs(endX - x) + Math.abs(endY - y);
+    while (true) {
+      for (final Entry<T> entry : this.buckets.get(this.bucket(x, y))) {
+        // the visited cells form a monotonic path, so an item is reported in the first of its cells along the line
+        if (entry.occupies(x, y) && !entry.occupies(previousX, previousY)) {
+          consumer.accept(entry.item());
+        }
+      }
+
+      if (steps-- <= 0) {
+        return;
+      }
+
+      previousX = x;
+      previousY = y;
+      if (y == endY || (x != endX && nextX < nextY)) {
+        nextX += deltaX;
+        x += stepX;
+      } else {
+        nextY += deltaY;
+        y += stepY;
+      }
+    }
+  }
+
+  private void queryOversized(int minX, int minY, int maxX, int maxY, Consumer<? super T> consumer) {
+    for (final Entry<T> entry : this.oversized) {
+      if (entry.intersects(minX, minY, maxX, maxY)) {
+        consumer.accept(entry.item());
+      }
+    }
+  }
+
+  private void move(Entry<T> previous, Rectangle2D bounds) {
+    final Entry<T> entry = this.createEntry(previous.item(), bounds);
+    if (previous.occupies(entry.minX(), entry.minY(), entry.maxX(), entry.maxY())) {
+      return;
+    }
+
+    this.erase(previous);
+    this.entries.put(entry.item(), entry);
+    this.insert(entry);
+  }
+
+  private Entry<T> createEntry(T item, Rectangle2D bounds) {
+    return new Entry<>(
+      item,
+      this.cell(bounds.getMinX() - PADDING),
+      this.cell(bounds.getMinY() - PADDING),
+      this.cell(bounds.getMaxX() + PADDING),
+      this.cell(bounds.getMaxY() + PADDING));
+  }
+
+  private void insert(Entry<T> entry) {
+    this.minCellX = Math.min(this.minCellX, entry.minX());
+    this.minCellY = Math.min(this.minCellY, entry.minY());
+    this.maxCellX = Math.max(this.maxCellX, entry.maxX());
+    this.maxCellY = Math.max(this.maxCellY, entry.maxY());
+
+    if (entry.cells() > this.buckets.length()) {
+      this.oversized = append(this.oversized, entry);
+      return;
+    }
+
+    for (int y = entry.minY(); y <= entry.maxY(); y++) {
+      for (int x = entry.minX(); x <= entry.maxX(); x++) {
+        final int index = this.bucket(x, y);
+        final Entry<T>[] bucket = this.buckets.get(index);
+        // multiple cells of an item can be hashed to the same bucket
+        if (!containsEntry(bucket, entry)) {
+          this.buckets.set(index, append(bucket, entry));
+        }
+      }
+    }
+  }
+
+  private void erase(Entry<T> entry) {
+    if (entry.cells() > this.buckets.length()) {
+      this.oversized = without(this.oversized, entry);
+      return;
+    }
+
+    for (int y = entry.minY(); y <= entry.maxY(); y++) {
+      for (int x = entry.minX(); x <= entry.maxX(); x++) {
+        final int index = this.bucket(x, y);
+        final Entry<T>[] bucket = this.buckets.get(index);
+        if (containsEntry(bucket, entry)) {
+          this.buckets.set(index, without(bucket, entry));
+        }
+      }
+    }
+  }
+
+  private int cell(double coordinate) {
+    return (int) Math.floor(coordinate / this.cellSize);
+  }
+
+  private int bucket(int x, int y) {
+    return (x * 73856093 ^ y * 19349663) & this.bucketMask;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Entry<T>[] emptyEntries() {
+    return (Entry<T>[]) EMPTY_ENTRIES;
+  }
+
+  private static <T> boolean containsEntry(Entry<T>[] bucket, Entry<T> entry) {
+    for (final Entry<T> e : bucket) {
+      if (e == entry) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static <T> Entry<T>[] append(Entry<T>[] bucket, Entry<T> entry) {
+    final Entry<T>[] result = Arrays.copyOf(bucket, bucket.length + 1);
+    result[bucket.length] = entry;
+    return result;
+  }
+
+  private Entry<T>[] without(Entry<T>[] bucket, Entry<T> entry) {
+    if (bucket.length == 1) {
+      return this.empty;
+    }
+
+    final Entry<T>[] result = Arrays.copyOf(bucket, bucket.length - 1);
+    int index = 0;
+    for (final Entry<T> e : bucket) {
+      if (e != entry && index < result.length) {
+        result[index++] = e;
+      }
+    }
+
+    return result;
+  }
+
+  private record Entry<T>(T item, int minX, int minY, int maxX, int maxY) {
+    boolean occupies(int x, int y) {
+      return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY;
+    }
+
+    boolean occupies(int x1, int y1, int x2, int y2) {
+      return x1 >= this.minX && x2 <= this.maxX && y1 >= this.minY && y2 <= this.maxY;
+    }
+
+    boolean intersects(int x1, int y1, int x2, int y2) {
+      return x1 <= this.maxX && x2 >= this.minX && y1 <= this.maxY && y2 >= this.minY;
+    }
+
+    long cells() {
+      return (long) (this.maxX - this.minX + 1) * (this.maxY - this.minY + 1);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.function.Consumer;
+
+/**
+ * A spatial index is a broad-phase structure that keeps track of the bounds of arbitrary items and can narrow down the items that
+ * are located in a certain area of the world. Instead of testing every item against a query, only the candidates provided by the
+ * index need to be tested with the exact (narrow-phase) check.
+ * <p>
+ * Implementations may report candidates whose bounds don't actually intersect the query (false positives), but they must never
+ * omit an item whose last provided bounds intersect it. Each item is reported at most once per query.
+ *
+ * @param <T> The type of the indexed items.
+ * @see SpatialHashGrid
+ */
+public interface SpatialIndex<T> {
+
+  /**
+   * Adds the specified item with the given bounds to this index. If the item is already indexed, its bounds are updated.
+   *
+   * @param item   The item to add.
+   * @param bounds The current bounds of the item.
+   */
+  void add(T item, Rectangle2D bounds);
+
+  /**
+   * Updates the bounds of an item that has previously been added to this index.
+   *
+   * @param item   The item to update.
+   * @param bounds The new bounds of the item.
+   * @return {@code true} if the item is part of this index; otherwise {@code false}.
+   */
+  boolean update(T item, Rectangle2D bounds);
+
+  /**
+   * Removes the specified item from this index.
+   *
+   * @param item The item to remove.
+   * @return {@code true} if the item was part of this index; otherwise {@code false}.
+   */
+  boolean remove(T item);
+
+  /**
+   * Checks whether the specified item is part of this index.
+   *
+   * @param item The item to check.
+   * @return {@code true} if the item is part of this index; otherwise {@code false}.
+   */
+  boolean contains(T item);
+
+  /**
+   * Removes all items from this index.
+   */
+  void clear();
+
+  /**
+   * Gets the number of items in this index.
+   *
+   * @return The number of indexed items.
+   */
+  int size();
+
+  /**
+   * Passes all items that might intersect the specified rectangle to the consumer.
+   *
+   * @param area     The rectangle to query.
+   * @param consumer The consumer that receives the candidates.
+   */
+  void query(Rectangle2D area, Consumer<? super T> consumer);
+
+  /**
+   * Passes all items that might intersect the specified line to the consumer.
+   *
+   * @param line     The line to query.
+   * @param consumer The consumer that receives the candidates.
+   */
+  default void query(Line2D line, Consumer<? super T> consumer) {
+    this.query(line.getBounds2D(), consumer);
+  }
+}
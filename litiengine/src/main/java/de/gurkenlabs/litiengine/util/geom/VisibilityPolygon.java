@@ -0,0 +1,359 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Computes the visibility polygon of a point, i.e. the area that can be seen from it (or lit by a light at it) without looking through
+ * any of the given occluders.
+ * <p>
+ * The polygon is computed by an angular sweep over the edges of the bounds and the occluders: the end points of all edges are sorted
+ * by their angle around the center, and while sweeping over them, the closest open edge in each direction determines the outline of the
+ * polygon. The open edges are kept in a tree that is ordered by their distance from the center, so each step of the sweep takes
+ * {@code O(log n)}. The order of two edges must not change while both are open, so edges that cross each other are split at their
+ * intersection beforehand; only edges whose horizontal extents overlap are tested for an intersection.
+ * <p>
+ * Occluders that contain or touch the center are ignored, so a light inside of a wall still illuminates its surroundings.
+ */
+public final class VisibilityPolygon {
+  private static final double CENTER_TOLERANCE = 0.5;
+  private static final double EPSILON = 1e-9;
+
+  private VisibilityPolygon() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Computes the visibility polygon of the specified center within the bounds.
+   *
+   * @param center    The point from which the visibility is determined, e.g. the center of a light.
+   * @param bounds    The bounds to which the polygon is limited, e.g. the bounds of a light; must contain the center.
+   * @param occluders The shapes that block the view.
+   * @return The visibility polygon, whose vertices are ordered by their angle around the center.
+   */
+  public static Path2D compute(final Point2D center, final Rectangle2D bounds, final Iterable<? extends Shape> occluders) {
+    // the bounds are convex and contain the center, so anything outside of them is hidden behind their edges
+    final List<Edge> edges = new ArrayList<>();
+    addEdges(edges, bounds, bounds);
+    for (Shape occluder : occluders) {
+      if (!occluder.intersects(center.getX() - CENTER_TOLERANCE, center.getY() - CENTER_TOLERANCE, CENTER_TOLERANCE * 2, CENTER_TOLERANCE * 2)
+        && occluder.intersects(bounds)) {
+        addEdges(edges, occluder, bounds);
+      }
+    }
+
+    final List<Segment> segments = split(edges, center);
+    final List<EndPoint> endPoints = new ArrayList<>(segments.size() * 2);
+    for (Segment segment : segments) {
+      endPoints.add(segment.begin);
+      endPoints.add(segment.end);
+    }
+
+    endPoints.sort(VisibilityPolygon::compareEndPoints);
+
+    final NavigableSet<Segment> open = new TreeSet<>((a, b) -> compareDistance(center, a, b));
+    final Path2D polygon = new Path2D.Double();
+    double beginAngle = 0;
+    // the first pass only determines the segments that are open at the start angle
+    for (int pass = 0; pass < 2; pass++) {
+      int index = 0;
+      while (index < endPoints.size()) {
+        final double angle = endPoints.get(index).angle;
+        final Segment nearest = open.isEmpty() ? null : open.first();
+        // all end points at the same angle are processed at once, so no gap is traced where segments share an end point
+        for (; index < endPoints.size() && endPoints.get(index).angle == angle; index++) {
+          final EndPoint endPoint = endPoints.get(index);
+          if (endPoint.begin) {
+            open(open, endPoint.segment);
+          } else {
+            close(open, endPoint.segment);
+          }
+        }
+
+        final Segment newNearest = open.isEmpty() ? null : open.first();
+        if (nearest != newNearest) {
+          if (pass == 1 && nearest != null) {
+            traceEdge(polygon, center, beginAngle, angle, nearest);
+          }
+
+          beginAngle = angle;
+        }
+      }
+    }
+
+    polygon.closePath();
+    return polygon;
+  }
+
+  private static void addEdges(final List<Edge> edges, final Shape shape, final Rectangle2D bounds) {
+    final double[] coordinates = new double[6];
+    double startX = 0;
+    double startY = 0;
+    double previousX = 0;
+    double previousY = 0;
+    for (PathIterator iterator = shape.getPathIterator(null, 1); !iterator.isDone(); iterator.next()) {
+      switch (iterator.currentSegment(coordinates)) {
+        case PathIterator.SEG_MOVETO -> {
+          startX = previousX = coordinates[0];
+          startY = previousY = coordinates[1];
+        }
+        case PathIterator.SEG_LINETO -> {
+          addEdge(edges, bounds, previousX, previousY, coordinates[0], coordinates[1]);
+          previousX = coordinates[0];
+          previousY = coordinates[1];
+        }
+        case PathIterator.SEG_CLOSE -> {
+          addEdge(edges, bounds, previousX, previousY, startX, startY);
+          previousX = startX;
+          previousY = startY;
+        }
+        default -> {
+          // flattened paths consist of lines only
+        }
+      }
+    }
+  }
+
+  private static void addEdge(final List<Edge> edges, final Rectangle2D bounds, final double x1, final double y1, final double x2,
+    final double y2) {
+    if ((x1 != x2 || y1 != y2) && bounds.intersectsLine(x1, y1, x2, y2)) {
+      edges.add(new Edge(x1, y1, x2, y2));
+    }
+  }
+
+  /**
+   * Splits the edges at the points where they cross each other. The edges are sorted by their minimum x-coordinate, so each edge only
+   * needs to be tested against the following edges that start before it ends.
+   */
+  private static List<Segment> split(final List<Edge> edges, final Point2D center) {
+    edges.sort(Comparator.comparingDouble(Edge::minX));
+    for (int i = 0; i < edges.size(); i++) {
+      final Edge a = edges.get(i);
+      for (int j = i + 1; j < edges.size() && edges.get(j).minX() <= a.maxX(); j++) {
+        final Edge b = edges.get(j);
+        if (b.minY() <= a.maxY() && b.maxY() >= a.minY()) {
+          splitCrossing(a, b);
+        }
+      }
+    }
+
+    final List<Segment> segments = new ArrayList<>(edges.size());
+    for (Edge edge : edges) {
+      final double[] splits = Arrays.copyOf(edge.splits, edge.splitCount);
+      Arrays.sort(splits);
+      double previousX = edge.x1;
+      double previousY = edge.y1;
+      for (double t : splits) {
+        final double x = edge.x1 + t * (edge.x2 - edge.x1);
+        final double y = edge.y1 + t * (edge.y2 - edge.y1);
+        addSegment(segments, center, previousX, previousY, x, y);
+        previousX = x;
+        previousY = y;
+      }
+
+      addSegment(segments, center, previousX, previousY, edge.x2, edge.y2);
+    }
+
+    return segments;
+  }
+
+  /**
+   * Records the intersection of the edges if they cross each other. Edges that only touch, e.g. at a shared corner, keep their order
+   * and don't need to be split.
+   */
+  private static void splitCrossing(final Edge a, final Edge b) {
+    final double ax = a.x2 - a.x1;
+    final double ay = a.y2 - a.y1;
+    final double bx = b.x2 - b.x1;
+    final double by = b.y2 - b.y1;
+    final double denominator = ax * by - ay * bx;
+    if (denominator == 0) {
+      return;
+    }
+
+    final double t = ((b.x1 - a.x1) * by - (b.y1 - a.y1) * bx) / denominator;
+    final double u = ((b.x1 - a.x1) * ay - (b.y1 - a.y1) * ax) / denominator;
+    if (t > EPSILON && t < 1 - EPSILON && u > EPSILON && u < 1 - EPSILON) {
+      a.addSplit(t);
+      b.addSplit(u);
+    }
+  }
+
+  private static void addSegment(final List<Segment> segments, final Point2D center, final double x1, final double y1, final double x2,
+    final double y2) {
+    final double angle1 = Math.atan2(y1 - center.getY(), x1 - center.getX());
+    final double angle2 = Math.atan2(y2 - center.getY(), x2 - center.getX());
+    // edges that point directly at the center can't occlude anything
+    if (angle1 != angle2) {
+      segments.add(new Segment(segments.size(), x1, y1, angle1, x2, y2, angle2));
+    }
+  }
+
+  private static void open(final NavigableSet<Segment> open, final Segment segment) {
+    if (!segment.open) {
+      segment.open = open.add(segment);
+    }
+  }
+
+  private static void close(final NavigableSet<Segment> open, final Segment segment) {
+    if (segment.open && !open.remove(segment)) {
+      // only reached if rounding errors broke the order of the tree
+      open.removeIf(s -> s == segment);
+    }
+
+    segment.open = false;
+  }
+
+  private static void traceEdge(final Path2D polygon, final Point2D center, final double angle1, final double angle2, final Segment segment) {
+    final double distance1 = distance(center, angle1, segment);
+    final double distance2 = distance(center, angle2, segment);
+    final double x1 = center.getX() + Math.cos(angle1) * distance1;
+    final double y1 = center.getY() + Math.sin(angle1) * distance1;
+    if (polygon.getCurrentPoint() == null) {
+      polygon.moveTo(x1, y1);
+    } else {
+      polygon.lineTo(x1, y1);
+    }
+
+    polygon.lineTo(center.getX() + Math.cos(angle2) * distance2, center.getY() + Math.sin(angle2) * distance2);
+  }
+
+  /**
+   * Gets the distance from the center to the line through the segment in the direction of the angle.
+   */
+  private static double distance(final Point2D center, final double angle, final Segment segment) {
+    final double dx = Math.cos(angle);
+    final double dy = Math.sin(angle);
+    final double sx = segment.end.x - segment.begin.x;
+    final double sy = segment.end.y - segment.begin.y;
+    final double denominator = dx * sy - dy * sx;
+    if (denominator == 0) {
+      return Point2D.distance(center.getX(), center.getY(), segment.begin.x, segment.begin.y);
+    }
+
+    return ((segment.begin.x - center.getX()) * sy - (segment.begin.y - center.getY()) * sx) / denominator;
+  }
+
+  /**
+   * Orders open segments from front to back as seen from the center. Open segments don't cross each other, so their order is the same
+   * in all directions in which both are visible; it is determined in the middle of that range, so segments that share an end point, e.g.
+   * the edges of a rectangle, are ordered correctly.
+   */
+  private static int compareDistance(final Point2D center, final Segment a, final Segment b) {
+    if (a == b) {
+      return 0;
+    }
+
+    final double angle = commonAngle(a, b);
+    final double distanceA = distance(center, angle, a);
+    final double distanceB = distance(center, angle, b);
+    if (Math.abs(distanceA - distanceB) > EPSILON * Math.max(Math.abs(distanceA), Math.abs(distanceB))) {
+      return Double.compare(distanceA, distanceB);
+    }
+
+    // collinear segments hide the same things, so any consistent order will do
+    return Integer.compare(a.id, b.id);
+  }
+
+  private static double commonAngle(final Segment a, final Segment b) {
+    final double offsetB = normalize(b.begin.angle - a.begin.angle);
+    if (offsetB <= a.extent + EPSILON) {
+      return b.begin.angle + Math.min(a.extent - offsetB, b.extent) / 2;
+    }
+
+    final double offsetA = normalize(a.begin.angle - b.begin.angle);
+    return a.begin.angle + Math.min(b.extent - offsetA, a.extent) / 2;
+  }
+
+  private static double normalize(final double angle) {
+    return angle < 0 ? angle + 2 * Math.PI : angle;
+  }
+
+  private static int compareEndPoints(final EndPoint a, final EndPoint b) {
+    final int angle = Double.compare(a.angle, b.angle);
+    if (angle != 0) {
+      return angle;
+    }
+
+    // at the same angle, segments are closed before others are opened, so all open segments overlap in a range of directions
+    return Boolean.compare(a.begin, b.begin);
+  }
+
+  private static final class Edge {
+    private final double x1;
+    private final double y1;
+    private final double x2;
+    private final double y2;
+    private double[] splits = new double[0];
+    private int splitCount;
+
+    private Edge(final double x1, final double y1, final double x2, final double y2) {
+      this.x1 = x1;
+      this.y1 = y1;
+      this.x2 = x2;
+      this.y2 = y2;
+    }
+
+    private double minX() {
+      return Math.min(this.x1, this.x2);
+    }
+
+    private double maxX() {
+      return Math.max(this.x1, this.x2);
+    }
+
+    private double minY() {
+      return Math.min(this.y1, this.y2);
+    }
+
+    private double maxY() {
+      return Math.max(this.y1, this.y2);
+    }
+
+    private void addSplit(final double t) {
+      if (this.splitCount == this.splits.length) {
+        this.splits = Arrays.copyOf(this.splits, Math.max(2, this.splitCount * 2));
+      }
+
+      this.splits[this.splitCount++] = t;
+    }
+  }
+
+  private static final class Segment {
+    private final int id;
+    private final EndPoint begin;
+    private final EndPoint end;
+    // the angle between the end points, which is less than PI because the segment doesn't pass through the center
+    private final double extent;
+    private boolean open;
+
+    private Segment(final int id, final double x1, final double y1, final double angle1, final double x2, final double y2,
+      final double angle2) {
+      this.id = id;
+
+      // the end point with the smaller angle opens the segment, unless the segment crosses the negative x-axis
+      final double delta = normalize(angle2 - angle1);
+      if (delta < Math.PI) {
+        this.begin = new EndPoint(this, x1, y1, angle1, true);
+        this.end = new EndPoint(this, x2, y2, angle2, false);
+        this.extent = delta;
+      } else {
+        this.begin = new EndPoint(this, x2, y2, angle2, true);
+        this.end = new EndPoint(this, x1, y1, angle1, false);
+        this.extent = 2 * Math.PI - delta;
+      }
+    }
+  }
+
+  private record EndPoint(Segment segment, double x, double y, double angle, boolean begin) {
+  }
+}
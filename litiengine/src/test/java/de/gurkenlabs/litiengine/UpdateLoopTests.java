@@ -0,0 +1,176 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpdateLoopTests {
+  private UpdateLoop loop;
+
+  @BeforeEach
+  void setup() {
+    this.loop = new UpdateLoop("Test Loop", 60);
+  }
+
+  @AfterEach
+  void teardown() {
+    this.loop.terminate();
+    Game.config().client().setExitOnError(false);
+  }
+
+  @Test
+  void testParallelUpdateIsDisabledByDefault() {
+    // arrange
+    ThreadRecorder updatable = new ThreadRecorder(null);
+    this.loop.attach(updatable);
+
+    // act
+    this.loop.update();
+
+    // assert
+    assertFalse(this.loop.isParallelUpdate());
+    assertEquals(List.of(Thread.currentThread()), updatable.threads);
+  }
+
+  @Test
+  void testParallelUpdateablesAreUpdatedOncePerTick() {
+    // arrange
+    this.loop.setParallelUpdate(true);
+    List<ThreadRecorder> parallel = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      parallel.add(new ThreadRecorder(null));
+      this.loop.attach(parallel.getLast());
+    }
+
+    List<Thread> sequential = new ArrayList<>();
+    this.loop.attach(() -> sequential.add(Thread.currentThread()));
+
+    // act
+    this.loop.update();
+    this.loop.update();
+
+    // assert
+    assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), sequential);
+    for (ThreadRecorder updatable : parallel) {
+      assertEquals(2, updatable.threads.size());
+    }
+  }
+
+  @Test
+  void testPartitionIsUpdatedSequentially() {
+    // arrange
+    this.loop.setParallelUpdate(true);
+    Object partition = new Object();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    List<ThreadRecorder> updatables = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      updatables.add(new ThreadRecorder(partition) {
+        @Override
+        public void update() {
+          if (running.incrementAndGet() > 1) {
+            overlaps.incrementAndGet();
+          }
+
+          super.update();
+          running.decrementAndGet();
+        }
+      });
+      this.loop.attach(updatables.getLast());
+    }
+
+    // act
+    this.loop.update();
+
+    // assert
+    assertEquals(0, overlaps.get());
+    for (ThreadRecorder updatable : updatables) {
+      assertSame(updatables.getFirst().threads.getFirst(), updatable.threads.getFirst());
+    }
+  }
+
+  @Test
+  void testDetachedParallelUpdateableIsNotUpdated() {
+    // arrange
+    this.loop.setParallelUpdate(true);
+    ThreadRecorder updatable = new ThreadRecorder(null);
+    this.loop.attach(updatable);
+    this.loop.update();
+
+    // act
+    this.loop.detach(updatable);
+    this.loop.update();
+
+    // assert
+    assertEquals(1, updatable.threads.size());
+    assertEquals(0, this.loop.getUpdatableCount());
+  }
+
+  @Test
+  void testParallelExceptionIsLogged() {
+    // arrange
+    this.loop.setParallelUpdate(true);
+    ThreadRecorder updatable = new ThreadRecorder(null);
+    this.loop.attach(new Failing());
+    this.loop.attach(updatable);
+
+    // act
+    this.loop.update();
+
+    // assert
+    assertEquals(1, updatable.threads.size());
+  }
+
+  @Test
+  void testParallelExceptionIsRethrownOnExitOnError() {
+    // arrange
+    Game.config().client().setExitOnError(true);
+    this.loop.setParallelUpdate(true);
+    ThreadRecorder updatable = new ThreadRecorder(null);
+    this.loop.attach(new Failing());
+    this.loop.attach(updatable);
+
+    // act
+    IllegalStateException exception = assertThrows(IllegalStateException.class, this.loop::update);
+
+    // assert
+    assertEquals("update failed", exception.getMessage());
+    assertEquals(1, updatable.threads.size());
+    assertTrue(this.loop.isParallelUpdate());
+  }
+
+  private static class ThreadRecorder implements IParallelUpdateable {
+    private final Object partition;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private ThreadRecorder(Object partition) {
+      this.partition = partition;
+    }
+
+    @Override
+    public void update() {
+      this.threads.add(Thread.currentThread());
+    }
+
+    @Override
+    public Object getUpdatePartition() {
+      return this.partition != null ? this.partition : this;
+    }
+  }
+
+  private static class Failing implements IParallelUpdateable {
+    @Override
+    public void update() {
+      throw new IllegalStateException("update failed");
+    }
+  }
+}
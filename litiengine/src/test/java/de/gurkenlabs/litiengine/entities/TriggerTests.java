@@ -195,6 +195,35 @@ class TriggerTests {
     trigger.update();
   }
 
+  @Test
+  void testCollisionTriggerDeactivatesWhenEntityLeaves() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    TriggerActivatedListener activated = mock(TriggerActivatedListener.class);
+    TriggerDeactivatedListener deactivated = mock(TriggerDeactivatedListener.class);
+    trigger.addActivatedListener(activated);
+    trigger.addDeactivatedListener(deactivated);
+    this.testEnvironment.add(trigger);
+
+    CollisionBox box = new CollisionBox(50, 50, 8, 8);
+    this.testEnvironment.add(box);
+    Game.world().loadEnvironment(this.testEnvironment);
+
+    trigger.update();
+    verify(activated, times(0)).activated(any());
+
+    box.setLocation(4, 4);
+    trigger.update();
+    trigger.update();
+    verify(activated, times(1)).activated(any());
+    verify(deactivated, times(0)).deactivated(any());
+
+    box.setLocation(50, 50);
+    trigger.update();
+    verify(deactivated, times(1)).deactivated(any());
+  }
+
   private IEntity mockEntity(int id) {
     IEntity entity = mock(IEntity.class);
     when(entity.getMapId()).thenReturn(id);
@@ -1,5 +1,9 @@
 package de.gurkenlabs.litiengine.entities.behavior;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -24,4 +28,39 @@ class AStarGridTest {
   void testUpdateWalkable() {
     verify(rectangle, times(0)).intersects(rectangle);
   }
+
+  @Test
+  void testSnapshot() {
+    // arrange
+    AStarGrid snapshot = aStarGrid.snapshot();
+
+    // act
+    aStarGrid.getGrid()[1][2].setWalkable(false);
+
+    // assert
+    assertNotSame(aStarGrid.getGrid()[1][2], snapshot.getGrid()[1][2]);
+    assertTrue(snapshot.getGrid()[1][2].isWalkable());
+    assertFalse(aStarGrid.hasSameState(snapshot));
+    assertTrue(aStarGrid.hasSameState(aStarGrid.snapshot()));
+  }
+
+  @Test
+  void testModificationCount() {
+    // arrange
+    long count = aStarGrid.getModificationCount();
+
+    // act, assert
+    aStarGrid.getGrid()[1][2].setWalkable(aStarGrid.getGrid()[1][2].isWalkable());
+    assertEquals(count, aStarGrid.getModificationCount());
+
+    aStarGrid.getGrid()[1][2].setPenalty(aStarGrid.getGrid()[1][2].getPenalty() + 1);
+    assertEquals(count + 1, aStarGrid.getModificationCount());
+
+    aStarGrid.setAllowDiagonalMovement(!aStarGrid.isDiagonalMovementAllowed());
+    assertEquals(count + 2, aStarGrid.getModificationCount());
+
+    // snapshots are modified independently
+    aStarGrid.snapshot().getGrid()[1][2].setWalkable(false);
+    assertEquals(count + 2, aStarGrid.getModificationCount());
+  }
 }
@@ -3,11 +3,18 @@ package de.gurkenlabs.litiengine.entities.behavior;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import java.awt.Dimension;
 import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
@@ -85,4 +92,120 @@ class AStarPathFinderTests {
     assertEquals(new Point2D.Double(10, 10), path.getStart());
     assertEquals(new Point2D.Double(90, 90), path.getTarget());
   }
+
+  @Test
+  void testFindAStarPathAroundWall() {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    AStarPathFinder finder = new AStarPathFinder(grid);
+
+    // act
+    Path path = finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]);
+
+    // assert
+    assertNotNull(path);
+    assertTrue(path.getPoints().contains(grid.getGrid()[5][9].getLocation()));
+    for (Point2D point : path.getPoints()) {
+      assertTrue(grid.getNode(point).isWalkable());
+    }
+  }
+
+  @Test
+  void testFindAStarPathWithoutReachableTarget() {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    grid.getGrid()[5][9].setWalkable(false);
+    AStarPathFinder finder = new AStarPathFinder(grid);
+
+    // act
+    Path path = finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]);
+
+    // assert
+    assertNull(path);
+  }
+
+  @Test
+  void testFindAStarPathDoesNotModifyNodes() {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    AStarPathFinder finder = new AStarPathFinder(grid);
+
+    // act
+    finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]);
+
+    // assert
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        assertEquals(0, node.getGCost());
+        assertEquals(0, node.getHCost());
+        assertNull(node.getPredecessor());
+      }
+    }
+  }
+
+  @Test
+  void testFindAStarPathRepeatedly() {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    AStarPathFinder finder = new AStarPathFinder(grid);
+    List<Point2D> expected = finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]).getPoints();
+    finder.findAStarPath(grid.getGrid()[8][8], grid.getGrid()[0][0]);
+
+    // act
+    Path path = finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]);
+
+    // assert
+    assertEquals(expected, path.getPoints());
+  }
+
+  @Test
+  void testFindAStarPathConcurrently() throws Exception {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    AStarPathFinder finder = new AStarPathFinder(grid);
+    List<Point2D> expected = finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]).getPoints();
+
+    // act
+    List<Future<List<Point2D>>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      for (int i = 0; i < 100; i++) {
+        results.add(executor.submit(() -> finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]).getPoints()));
+      }
+    }
+
+    // assert
+    for (Future<List<Point2D>> result : results) {
+      assertEquals(expected, result.get());
+    }
+  }
+
+  @Test
+  void testSearchStatesAreReturnedToTheBoundedPool() throws Exception {
+    // arrange
+    AStarGrid grid = createGridWithWall();
+    AStarPathFinder finder = new AStarPathFinder(grid);
+
+    // act
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      for (int i = 0; i < 100; i++) {
+        executor.submit(() -> finder.findAStarPath(grid.getGrid()[1][1], grid.getGrid()[8][1]));
+      }
+    }
+
+    // assert
+    assertFalse(finder.contexts.isEmpty());
+    assertTrue(finder.contexts.size() <= Math.min(4, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Creates a 10x10 grid with a vertical wall at x = 5 that can only be passed at the bottom row.
+   */
+  private static AStarGrid createGridWithWall() {
+    AStarGrid grid = new AStarGrid(new Dimension(100, 100), 10);
+    for (int y = 0; y < 9; y++) {
+      grid.getGrid()[5][y].setWalkable(false);
+    }
+
+    return grid;
+  }
 }
@@ -0,0 +1,198 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FlowFieldGeneratorTests {
+  private AStarGrid grid;
+  private FlowFieldGenerator generator;
+
+  @BeforeEach
+  void setup() {
+    this.grid = new AStarGrid(new Dimension(100, 100), 10);
+    for (int y = 0; y < 9; y++) {
+      this.grid.getGrid()[5][y].setWalkable(false);
+    }
+
+    this.generator = new FlowFieldGenerator(this.grid, FlowFieldGenerator.DEFAULT_MAX_EXPANSIONS_PER_TICK);
+  }
+
+  @Test
+  void testCostsEqualPathFinderCosts() {
+    // arrange
+    Random random = new Random(3);
+    AStarGrid randomGrid = new AStarGrid(new Dimension(300, 300), 10);
+    for (AStarNode[] column : randomGrid.getGrid()) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.3);
+        node.setPenalty(random.nextInt(4));
+      }
+    }
+
+    AStarNode goal = randomGrid.getGrid()[15][15];
+    goal.setWalkable(true);
+    AStarPathFinder pathFinder = new AStarPathFinder(randomGrid);
+
+    // act
+    FlowField field = new FlowFieldGenerator(randomGrid, 1).getFlowField(goal.getLocation());
+
+    // assert
+    for (AStarNode[] column : randomGrid.getGrid()) {
+      for (AStarNode node : column) {
+        if (!node.isWalkable()) {
+          continue;
+        }
+
+        double expected = pathFinder.findCosts(node, new AStarNode[] {goal}, null)[0];
+        assertEquals(expected, field.getCosts(node.getLocation()), 1e-3);
+      }
+    }
+  }
+
+  @Test
+  void testNextNodesLeadToGoal() {
+    // arrange
+    FlowField field = this.generator.getFlowField(new Point2D.Double(85, 15));
+    AStarNode node = this.grid.getNode(15, 15);
+
+    // act
+    double costs = 0;
+    int steps = 0;
+    while (node != field.getGoal() && steps++ < 100) {
+      AStarNode next = field.getNextNode(node.getLocation());
+      costs += node.getCosts(next);
+      node = next;
+    }
+
+    // assert
+    assertSame(this.grid.getNode(85, 15), node);
+    assertEquals(field.getCosts(new Point2D.Double(15, 15)), costs, 1e-3);
+    assertSame(node, field.getNextNode(new Point2D.Double(85, 15)));
+  }
+
+  @Test
+  void testUnreachableGoal() {
+    // arrange
+    this.grid.getGrid()[5][9].setWalkable(false);
+
+    // act
+    FlowField field = this.generator.getFlowField(new Point2D.Double(85, 15));
+
+    // assert
+    assertFalse(field.isReachable(new Point2D.Double(15, 15)));
+    assertNull(field.getNextNode(new Point2D.Double(15, 15)));
+    assertTrue(field.isReachable(new Point2D.Double(95, 95)));
+    assertNull(this.generator.getFlowField(new Point2D.Double(150, 15)));
+  }
+
+  @Test
+  void testFlowFieldsAreCachedPerGoalNode() {
+    // arrange
+    this.generator.setCacheSize(1);
+
+    // act
+    FlowField field = this.generator.getFlowField(new Point2D.Double(85, 15));
+    FlowField sameNode = this.generator.getFlowField(new Point2D.Double(89, 11));
+    FlowField otherNode = this.generator.getFlowField(new Point2D.Double(85, 25));
+
+    // assert
+    assertSame(field, sameNode);
+    assertNotSame(field, otherNode);
+    assertNotSame(field, this.generator.getFlowField(new Point2D.Double(85, 15)));
+    assertThrows(IllegalArgumentException.class, () -> this.generator.setCacheSize(-1));
+  }
+
+  @Test
+  void testTrackedGoalIsRecomputedIncrementally() {
+    // arrange
+    this.generator.setMaxExpansionsPerTick(10);
+    AtomicReference<Point2D> goal = new AtomicReference<>(new Point2D.Double(85, 15));
+    FlowField field = this.generator.track(goal::get);
+    AStarNode previousGoal = field.getGoal();
+
+    // act
+    goal.set(new Point2D.Double(85, 85));
+    this.generator.update();
+
+    // assert
+    assertFalse(field.isUpToDate());
+    assertSame(previousGoal, field.getGoal());
+
+    for (int i = 0; i < 100 && !field.isUpToDate(); i++) {
+      this.generator.update();
+    }
+
+    assertTrue(field.isUpToDate());
+    assertSame(this.grid.getNode(85, 85), field.getGoal());
+    assertEquals(new FlowFieldGenerator(this.grid, 1).getFlowField(goal.get()).getCosts(new Point2D.Double(15, 15)),
+      field.getCosts(new Point2D.Double(15, 15)));
+  }
+
+  @Test
+  void testUntrackedGoalIsNotRecomputed() {
+    // arrange
+    AtomicReference<Point2D> goal = new AtomicReference<>(new Point2D.Double(85, 15));
+    FlowField field = this.generator.track(goal::get);
+
+    // act
+    this.generator.untrack(field);
+    goal.set(new Point2D.Double(85, 85));
+    this.generator.update();
+
+    // assert
+    assertTrue(field.isUpToDate());
+    assertSame(this.grid.getNode(85, 15), field.getGoal());
+  }
+
+  @Test
+  void testUpdatedNodesInvalidateFlowFields() {
+    // arrange
+    FlowField field = this.generator.getFlowField(new Point2D.Double(85, 15));
+    assertTrue(field.isReachable(new Point2D.Double(15, 15)));
+
+    // act
+    this.grid.getGrid()[5][9].setWalkable(false);
+    this.grid.updateWalkable(new Rectangle2D.Double(90, 90, 5, 5));
+
+    // assert
+    assertFalse(field.isUpToDate());
+    assertTrue(field.isReachable(new Point2D.Double(15, 15)));
+    this.generator.update();
+    assertTrue(field.isUpToDate());
+    assertFalse(field.isReachable(new Point2D.Double(15, 15)));
+    assertNotNull(field.getNextNode(new Point2D.Double(95, 95)));
+  }
+
+  @Test
+  void testDisposedGeneratorIgnoresUpdatedNodes() {
+    // arrange
+    FlowField field = this.generator.getFlowField(new Point2D.Double(85, 15));
+    AtomicReference<Point2D> goal = new AtomicReference<>(new Point2D.Double(85, 15));
+    FlowField tracked = this.generator.track(goal::get);
+
+    // act
+    this.generator.dispose();
+    this.grid.updateWalkable(new Rectangle2D.Double(90, 90, 5, 5));
+    goal.set(new Point2D.Double(85, 85));
+    this.generator.update();
+
+    // assert
+    assertTrue(field.isUpToDate());
+    assertSame(this.grid.getNode(85, 15), tracked.getGoal());
+    assertNotSame(field, this.generator.getFlowField(new Point2D.Double(85, 15)));
+  }
+}
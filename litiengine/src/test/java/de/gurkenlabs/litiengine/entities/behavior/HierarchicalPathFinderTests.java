@@ -0,0 +1,180 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalPathFinderTests {
+  private static final int NODE_SIZE = 10;
+
+  @Test
+  void testInvalidClusterSize() {
+    AStarGrid grid = new AStarGrid(new Dimension(100, 100), NODE_SIZE);
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalPathFinder(grid, 0));
+  }
+
+  @Test
+  void testFindPathAcrossClusters() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(640, 640), NODE_SIZE);
+    for (int y = 0; y < 60; y++) {
+      grid.getGrid()[30][y].setWalkable(false);
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+
+    // act
+    Path path = finder.findAStarPath(grid.getGrid()[2][2], grid.getGrid()[60][2]);
+
+    // assert
+    assertNotNull(path);
+    assertValid(grid, path);
+    double optimal = length(new AStarPathFinder(grid).findAStarPath(grid.getGrid()[2][2], grid.getGrid()[60][2]));
+    assertTrue(length(path) <= optimal * 1.2, length(path) + " is not close to " + optimal);
+  }
+
+  @Test
+  void testFindPathWithoutReachableTarget() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(320, 320), NODE_SIZE);
+    for (int y = 0; y < 32; y++) {
+      grid.getGrid()[20][y].setWalkable(false);
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+
+    // act
+    Path path = finder.findAStarPath(grid.getGrid()[2][2], grid.getGrid()[30][2]);
+
+    // assert
+    assertNull(path);
+  }
+
+  @Test
+  void testUpdateWalkableUpdatesAbstraction() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(320, 320), NODE_SIZE);
+    for (int y = 0; y < 32; y++) {
+      grid.getGrid()[20][y].setWalkable(false);
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+    assertNull(finder.findAStarPath(grid.getGrid()[2][2], grid.getGrid()[30][2]));
+
+    // act
+    // the physics engine has no static collision boxes, so the nodes become walkable
+    grid.updateWalkable(new Rectangle2D.Double(200, 100, 5, 5));
+    Path path = finder.findAStarPath(grid.getGrid()[2][2], grid.getGrid()[30][2]);
+
+    // assert
+    assertNotNull(path);
+    assertValid(grid, path);
+  }
+
+  @Test
+  void testDisposedFinderIgnoresUpdates() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(320, 320), NODE_SIZE);
+    for (int y = 0; y < 32; y++) {
+      grid.getGrid()[20][y].setWalkable(false);
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+
+    // act
+    finder.dispose();
+    grid.updateWalkable(new Rectangle2D.Double(200, 100, 5, 5));
+
+    // assert
+    assertNull(finder.findAStarPath(grid.getGrid()[2][2], grid.getGrid()[30][2]));
+  }
+
+  @Test
+  void testLocalUpdateEqualsRebuild() {
+    // arrange
+    Random random = new Random(7);
+    AStarGrid grid = new AStarGrid(new Dimension(400, 400), NODE_SIZE);
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.4);
+      }
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+
+    // act
+    for (int i = 0; i < 10; i++) {
+      grid.updateWalkable(new Rectangle2D.Double(random.nextInt(380), random.nextInt(380), random.nextInt(40), random.nextInt(40)));
+    }
+
+    // assert
+    assertEquals(new HierarchicalPathFinder(grid, 8).getEntranceCount(), finder.getEntranceCount());
+  }
+
+  @Test
+  void testFindsPathWheneverFlatSearchDoes() {
+    // arrange
+    Random random = new Random(42);
+    AStarGrid grid = new AStarGrid(new Dimension(400, 400), NODE_SIZE);
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() > 0.3);
+      }
+    }
+
+    HierarchicalPathFinder finder = new HierarchicalPathFinder(grid, 8);
+    AStarPathFinder flat = new AStarPathFinder(grid);
+
+    for (int i = 0; i < 100; i++) {
+      AStarNode start = grid.getGrid()[random.nextInt(40)][random.nextInt(40)];
+      AStarNode target = grid.getGrid()[random.nextInt(40)][random.nextInt(40)];
+      if (start == target || !start.isWalkable() || !target.isWalkable()) {
+        continue;
+      }
+
+      // act
+      Path expected = flat.findAStarPath(start, target);
+      Path actual = finder.findAStarPath(start, target);
+
+      // assert
+      assertEquals(expected == null, actual == null, start + " -> " + target);
+      if (actual != null) {
+        assertValid(grid, actual);
+      }
+    }
+  }
+
+  private static void assertValid(AStarGrid grid, Path path) {
+    List<Point2D> points = new ArrayList<>();
+    points.add(path.getStart());
+    points.addAll(path.getPoints());
+    points.add(path.getTarget());
+    for (int i = 0; i < points.size(); i++) {
+      assertTrue(grid.getNode(points.get(i)).isWalkable());
+      if (i > 0) {
+        assertTrue(points.get(i - 1).distance(points.get(i)) < NODE_SIZE * 1.5, "gap between " + points.get(i - 1) + " and " + points.get(i));
+      }
+    }
+  }
+
+  private static double length(Path path) {
+    double length = 0;
+    Point2D previous = path.getStart();
+    for (Point2D point : path.getPoints()) {
+      length += previous.distance(point);
+      previous = point;
+    }
+
+    return length + previous.distance(path.getTarget());
+  }
+}
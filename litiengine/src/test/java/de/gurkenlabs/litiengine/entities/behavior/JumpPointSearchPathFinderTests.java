@@ -0,0 +1,128 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class JumpPointSearchPathFinderTests {
+  private static final int NODE_SIZE = 10;
+
+  @ParameterizedTest(name = "diagonal={0}, cuttingCorners={1}")
+  @CsvSource({"true, false", "true, true", "false, false"})
+  void testPathCostsEqualAStar(boolean diagonal, boolean cuttingCorners) {
+    // arrange
+    Random random = new Random(42);
+    AStarGrid grid = createRandomGrid(random, 50, 0.3);
+    grid.setAllowDiagonalMovement(diagonal);
+    grid.setAllowCuttingCorners(cuttingCorners);
+    AStarPathFinder aStar = new AStarPathFinder(grid);
+    JumpPointSearchPathFinder jps = new JumpPointSearchPathFinder(grid);
+
+    for (int i = 0; i < 200; i++) {
+      AStarNode start = grid.getGrid()[random.nextInt(50)][random.nextInt(50)];
+      AStarNode target = grid.getGrid()[random.nextInt(50)][random.nextInt(50)];
+      if (start == target || !start.isWalkable() || !target.isWalkable()) {
+        continue;
+      }
+
+      // act
+      Path expected = aStar.findAStarPath(start, target);
+      Path actual = jps.findAStarPath(start, target);
+
+      // assert
+      assertEquals(expected == null, actual == null, start + " -> " + target);
+      if (actual != null) {
+        assertEquals(costs(grid, expected), costs(grid, actual), 1e-9, start + " -> " + target);
+      }
+    }
+  }
+
+  @Test
+  void testExpandsFewerNodesOnOpenGrid() {
+    // arrange
+    Random random = new Random(1);
+    AStarGrid grid = createRandomGrid(random, 100, 0.05);
+    AStarPathFinder aStar = new AStarPathFinder(grid);
+    JumpPointSearchPathFinder jps = new JumpPointSearchPathFinder(grid);
+    AStarNode start = grid.getGrid()[0][0];
+    AStarNode target = grid.getGrid()[99][99];
+    start.setWalkable(true);
+    target.setWalkable(true);
+
+    // act
+    assertNotNull(aStar.findAStarPath(start, target));
+    int aStarExpanded = aStar.getExpandedNodes();
+    assertNotNull(jps.findAStarPath(start, target));
+    int jpsExpanded = jps.getExpandedNodes();
+
+    // assert
+    assertTrue(jpsExpanded < aStarExpanded, jpsExpanded + " >= " + aStarExpanded);
+  }
+
+  @Test
+  void testFallsBackToAStarForPenalties() {
+    // arrange
+    AStarGrid grid = new AStarGrid(new Dimension(200, 200), NODE_SIZE);
+    for (int x = 0; x < 20; x++) {
+      grid.getGrid()[x][10].setPenalty(AStarGrid.PENALTY_STATIC_PROP);
+    }
+
+    grid.getGrid()[19][10].setPenalty(0);
+    AStarNode start = grid.getGrid()[10][2];
+    AStarNode target = grid.getGrid()[10][18];
+
+    // act
+    Path expected = new AStarPathFinder(grid).findAStarPath(start, target);
+    Path actual = new JumpPointSearchPathFinder(grid).findAStarPath(start, target);
+
+    // assert
+    assertEquals(expected.getPoints(), actual.getPoints());
+  }
+
+  private static AStarGrid createRandomGrid(Random random, int size, double obstacles) {
+    AStarGrid grid = new AStarGrid(new Dimension(size * NODE_SIZE, size * NODE_SIZE), NODE_SIZE);
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        node.setWalkable(random.nextDouble() >= obstacles);
+      }
+    }
+
+    return grid;
+  }
+
+  /**
+   * Sums up the costs of all steps along the path and verifies that each step complies with the movement rules of the grid.
+   */
+  private static double costs(AStarGrid grid, Path path) {
+    List<Point2D> points = new ArrayList<>();
+    points.add(path.getStart());
+    points.addAll(path.getPoints());
+    points.add(path.getTarget());
+
+    double costs = 0;
+    for (int i = 1; i < points.size(); i++) {
+      AStarNode from = grid.getNode(points.get(i - 1));
+      AStarNode to = grid.getNode(points.get(i));
+      int dx = Integer.signum(to.getGridX() - from.getGridX());
+      int dy = Integer.signum(to.getGridY() - from.getGridY());
+      AStarNode current = from;
+      while (current != to) {
+        AStarNode next = grid.getGrid()[current.getGridX() + dx][current.getGridY() + dy];
+        assertTrue(grid.getNeighbors(current).contains(next), current + " -> " + next);
+        costs += current.getCosts(next);
+        current = next;
+      }
+    }
+
+    return costs;
+  }
+}
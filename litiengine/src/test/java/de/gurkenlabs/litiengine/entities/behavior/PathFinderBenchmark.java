@@ -0,0 +1,135 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Dimension;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Compares the expanded nodes and the wall time of the {@link AStarPathFinder} and the {@link JumpPointSearchPathFinder} on generated mazes.
+ *
+ * <p>This is not part of the regular test run. Enable it with {@code -Dlitiengine.benchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "litiengine.benchmark", matches = "true")
+class PathFinderBenchmark {
+  private static final int NODE_SIZE = 16;
+  private static final int QUERIES = 200;
+  private static final int WARMUP_QUERIES = 50;
+
+  @ParameterizedTest(name = "size={0}, removedWalls={1}")
+  @CsvSource({"127, 0.0", "127, 0.2", "255, 0.0", "255, 0.2", "511, 0.0", "511, 0.2"})
+  void compareOnMaze(int size, double removedWalls, TestReporter reporter) {
+    Random random = new Random(size);
+    AStarGrid grid = createMaze(random, size, removedWalls);
+    List<AStarNode[]> queries = createQueries(random, grid, QUERIES + WARMUP_QUERIES);
+
+    AStarPathFinder aStar = new AStarPathFinder(grid);
+    JumpPointSearchPathFinder jps = new JumpPointSearchPathFinder(grid);
+    Result aStarResult = run(aStar, queries);
+    Result jpsResult = run(jps, queries);
+
+    assertEquals(aStarResult.found(), jpsResult.found());
+    reporter.publishEntry(String.format("%dx%d maze, %.0f%% walls removed: A* %d expanded nodes in %.2f ms, JPS %d expanded nodes in %.2f ms",
+        size, size, removedWalls * 100, aStarResult.expanded(), aStarResult.nanos() / 1e6, jpsResult.expanded(), jpsResult.nanos() / 1e6));
+  }
+
+  private static Result run(AStarPathFinder finder, List<AStarNode[]> queries) {
+    for (int i = 0; i < WARMUP_QUERIES; i++) {
+      finder.findAStarPath(queries.get(i)[0], queries.get(i)[1]);
+    }
+
+    long expanded = 0;
+    int found = 0;
+    long start = System.nanoTime();
+    for (int i = WARMUP_QUERIES; i < queries.size(); i++) {
+      if (finder.findAStarPath(queries.get(i)[0], queries.get(i)[1]) != null) {
+        found++;
+      }
+
+      expanded += finder.getExpandedNodes();
+    }
+
+    return new Result(found, expanded, System.nanoTime() - start);
+  }
+
+  private static List<AStarNode[]> createQueries(Random random, AStarGrid grid, int count) {
+    List<AStarNode> walkable = new ArrayList<>();
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        if (node.isWalkable()) {
+          walkable.add(node);
+        }
+      }
+    }
+
+    List<AStarNode[]> queries = new ArrayList<>();
+    while (queries.size() < count) {
+      AStarNode start = walkable.get(random.nextInt(walkable.size()));
+      AStarNode target = walkable.get(random.nextInt(walkable.size()));
+      if (start != target) {
+        queries.add(new AStarNode[] {start, target});
+      }
+    }
+
+    return queries;
+  }
+
+  /**
+   * Creates a perfect maze with a recursive backtracker and removes the specified share of its inner walls to create loops and open areas.
+   */
+  private static AStarGrid createMaze(Random random, int size, double removedWalls) {
+    AStarGrid grid = new AStarGrid(new Dimension(size * NODE_SIZE, size * NODE_SIZE), NODE_SIZE);
+    AStarNode[][] nodes = grid.getGrid();
+    for (AStarNode[] column : nodes) {
+      for (AStarNode node : column) {
+        node.setWalkable(false);
+      }
+    }
+
+    int[][] directions = {{2, 0}, {-2, 0}, {0, 2}, {0, -2}};
+    Deque<int[]> stack = new ArrayDeque<>();
+    stack.push(new int[] {1, 1});
+    nodes[1][1].setWalkable(true);
+    while (!stack.isEmpty()) {
+      int[] cell = stack.peek();
+      List<int[]> unvisited = new ArrayList<>();
+      for (int[] direction : directions) {
+        int x = cell[0] + direction[0];
+        int y = cell[1] + direction[1];
+        if (x > 0 && y > 0 && x < size - 1 && y < size - 1 && !nodes[x][y].isWalkable()) {
+          unvisited.add(new int[] {x, y});
+        }
+      }
+
+      if (unvisited.isEmpty()) {
+        stack.pop();
+        continue;
+      }
+
+      int[] next = unvisited.get(random.nextInt(unvisited.size()));
+      nodes[(cell[0] + next[0]) / 2][(cell[1] + next[1]) / 2].setWalkable(true);
+      nodes[next[0]][next[1]].setWalkable(true);
+      stack.push(next);
+    }
+
+    for (int x = 1; x < size - 1; x++) {
+      for (int y = 1; y < size - 1; y++) {
+        if (random.nextDouble() < removedWalls) {
+          nodes[x][y].setWalkable(true);
+        }
+      }
+    }
+
+    return grid;
+  }
+
+  private record Result(int found, long expanded, long nanos) {}
+}
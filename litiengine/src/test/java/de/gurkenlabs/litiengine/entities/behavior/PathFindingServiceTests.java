@@ -0,0 +1,217 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import java.awt.Dimension;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PathFindingServiceTests {
+  private AStarGrid grid;
+  private List<Runnable> tasks;
+  private int createdPathFinders;
+  private PathFindingService service;
+
+  @BeforeEach
+  void setup() {
+    this.grid = new AStarGrid(new Dimension(100, 100), 10);
+    for (int y = 0; y < 9; y++) {
+      this.grid.getGrid()[5][y].setWalkable(false);
+    }
+
+    this.tasks = new ArrayList<>();
+    this.createdPathFinders = 0;
+    this.service = new PathFindingService(this.grid, snapshot -> {
+      this.createdPathFinders++;
+      return new ObstructedPathFinder(snapshot);
+    }, this.tasks::add);
+  }
+
+  @Test
+  void testPathIsDeliveredOnUpdate() {
+    // arrange
+    EntityNavigator navigator = createNavigator();
+    Point2D target = new Point2D.Double(85, 15);
+    this.service.request(navigator, target);
+
+    // act
+    this.service.update();
+    runTasks();
+
+    // assert
+    verify(navigator, never()).pathCalculated(any(), any());
+    this.service.update();
+    verify(navigator, times(1)).pathCalculated(eq(target), notNull());
+  }
+
+  @Test
+  void testNewerRequestSupersedesQueuedRequest() {
+    // arrange
+    EntityNavigator navigator = createNavigator();
+    Point2D first = new Point2D.Double(85, 15);
+    Point2D second = new Point2D.Double(85, 25);
+
+    // act
+    this.service.request(navigator, first);
+    this.service.request(navigator, second);
+    this.service.update();
+    runTasks();
+    this.service.update();
+
+    // assert
+    assertEquals(0, this.service.getQueuedRequests());
+    verify(navigator, never()).pathCalculated(eq(first), any());
+    verify(navigator, times(1)).pathCalculated(eq(second), notNull());
+  }
+
+  @Test
+  void testNewerRequestSupersedesRunningRequest() {
+    // arrange
+    EntityNavigator navigator = createNavigator();
+    Point2D first = new Point2D.Double(85, 15);
+    Point2D second = new Point2D.Double(85, 25);
+    this.service.request(navigator, first);
+    this.service.update();
+
+    // act
+    this.service.request(navigator, second);
+    this.service.update();
+    runTasks();
+    this.service.update();
+
+    // assert
+    verify(navigator, never()).pathCalculated(eq(first), any());
+    verify(navigator, times(1)).pathCalculated(eq(second), notNull());
+  }
+
+  @Test
+  void testCanceledRequestIsDiscarded() {
+    // arrange
+    EntityNavigator navigator = createNavigator();
+    this.service.request(navigator, new Point2D.Double(85, 15));
+    this.service.update();
+
+    // act
+    this.service.cancel(navigator);
+    runTasks();
+    this.service.update();
+
+    // assert
+    verify(navigator, never()).pathCalculated(any(), any());
+  }
+
+  @Test
+  void testRequestsPerTickAreLimited() {
+    // arrange
+    this.service.setMaxRequestsPerTick(2);
+    for (int i = 0; i < 5; i++) {
+      this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    }
+
+    // act
+    this.service.update();
+
+    // assert
+    assertEquals(2, this.tasks.size());
+    assertEquals(3, this.service.getQueuedRequests());
+    assertThrows(IllegalArgumentException.class, () -> this.service.setMaxRequestsPerTick(0));
+  }
+
+  @Test
+  void testSnapshotIsOnlyRecreatedIfGridChanged() {
+    // arrange
+    this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    this.service.update();
+    this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    this.service.update();
+
+    // act
+    this.grid.getGrid()[5][9].setWalkable(false);
+    this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    this.service.update();
+
+    // assert
+    assertEquals(2, this.createdPathFinders);
+  }
+
+  @Test
+  void testSnapshotIsRecreatedIfMovementOptionsChanged() {
+    // arrange
+    this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    this.service.update();
+
+    // act
+    this.grid.getGrid()[5][0].setWalkable(false);
+    this.grid.setAllowCuttingCorners(true);
+    this.service.request(createNavigator(), new Point2D.Double(85, 15));
+    this.service.update();
+
+    // assert
+    assertEquals(2, this.createdPathFinders);
+  }
+
+  @Test
+  void testDisposeDropsRequestsAndResults() {
+    // arrange
+    EntityNavigator running = createNavigator();
+    EntityNavigator queued = createNavigator();
+    this.service.setMaxRequestsPerTick(1);
+    this.service.request(running, new Point2D.Double(85, 15));
+    this.service.request(queued, new Point2D.Double(85, 25));
+    this.service.update();
+
+    // act
+    this.service.dispose();
+    runTasks();
+    this.service.update();
+
+    // assert
+    assertEquals(0, this.service.getQueuedRequests());
+    verify(running, never()).pathCalculated(any(), any());
+    verify(queued, never()).pathCalculated(any(), any());
+  }
+
+  private void runTasks() {
+    for (Runnable task : this.tasks) {
+      task.run();
+    }
+
+    this.tasks.clear();
+  }
+
+  private static EntityNavigator createNavigator() {
+    IMobileEntity entity = mock(IMobileEntity.class);
+    when(entity.getCollisionBoxCenter()).thenReturn(new Point2D.Double(15, 15));
+    EntityNavigator navigator = mock(EntityNavigator.class);
+    when(navigator.getEntity()).thenReturn(entity);
+    return navigator;
+  }
+
+  /**
+   * Always searches the grid instead of returning a direct path.
+   */
+  private static class ObstructedPathFinder extends AStarPathFinder {
+    ObstructedPathFinder(AStarGrid grid) {
+      super(grid);
+    }
+
+    @Override
+    protected boolean intersectsWithAnyCollisionBox(ICollisionEntity entity, Point2D start, Point2D target) {
+      return true;
+    }
+  }
+}
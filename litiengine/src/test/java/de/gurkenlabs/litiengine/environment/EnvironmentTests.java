@@ -13,6 +13,7 @@ import static org.mockito.Mockito.when;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.GameTest;
 import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.CombatEntity;
 import de.gurkenlabs.litiengine.entities.Creature;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -37,6 +38,8 @@ import de.gurkenlabs.litiengine.test.GameTestSuite;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -162,6 +165,26 @@ class EnvironmentTests {
     assertEquals(0, this.testEnvironment.getEntities().size());
   }
 
+  @Test
+  void testFindSoundSources() {
+    SoundSource near = new SoundSource(90, 90, 20, 20);
+    near.setRange(50);
+    SoundSource far = new SoundSource(500, 500, 20, 20);
+    far.setRange(50);
+
+    this.testEnvironment.add(near);
+    this.testEnvironment.add(far);
+
+    assertEquals(List.of(near), this.testEnvironment.findSoundSources(new Point2D.Double(120, 100)));
+    assertTrue(this.testEnvironment.findSoundSources(new Point2D.Double(300, 300)).isEmpty());
+
+    far.setLocation(280, 280);
+    assertEquals(List.of(far), this.testEnvironment.findSoundSources(new Point2D.Double(300, 300)));
+
+    this.testEnvironment.remove(far);
+    assertTrue(this.testEnvironment.findSoundSources(new Point2D.Double(300, 300)).isEmpty());
+  }
+
   @Test
   void testRemoveEntityByName() {
     ICombatEntity testEntity = mock(ICombatEntity.class);
@@ -695,6 +718,75 @@ class EnvironmentTests {
     assertFalse(found2.contains(combatEntity2));
   }
 
+  @Test
+  void testFindEntitiesAfterMove() {
+    MapArea entity = new MapArea(0, 0, 10, 10);
+    this.testEnvironment.add(entity);
+
+    entity.setLocation(300, 300);
+
+    assertFalse(this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 10, 10)).contains(entity));
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(295, 295, 10, 10)).contains(entity));
+
+    this.testEnvironment.remove(entity);
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(295, 295, 10, 10)).isEmpty());
+  }
+
+  @Test
+  void testFindEntitiesOnRay() {
+    MapArea hit = new MapArea(50, 0, 10, 10);
+    MapArea missed = new MapArea(50, 20, 10, 10);
+    this.testEnvironment.add(hit);
+    this.testEnvironment.add(missed);
+
+    List<IEntity> found = new ArrayList<>();
+    this.testEnvironment.findEntities(new Line2D.Double(0, 5, 200, 5), found::add);
+
+    assertEquals(List.of(hit), found);
+  }
+
+  @Test
+  void testFindCombatEntitiesOnRay() {
+    CombatEntity combatEntity = new CombatEntity();
+    combatEntity.setSize(10, 10);
+    combatEntity.setLocation(50, 0);
+    this.testEnvironment.add(combatEntity);
+
+    // the ray passes the corner of the hit box's bounds but misses the elliptic hit box itself
+    assertTrue(this.testEnvironment.findCombatEntities(new Line2D.Double(0, 5, 100, 5)).contains(combatEntity));
+    assertTrue(this.testEnvironment.findCombatEntities(new Line2D.Double(49, 1, 51, -1)).isEmpty());
+  }
+
+  @Test
+  void testFindNearestEntities() {
+    MapArea near = new MapArea(10, 10, 10, 10);
+    MapArea middle = new MapArea(200, 10, 10, 10);
+    MapArea far = new MapArea(1000, 1000, 10, 10);
+    this.testEnvironment.add(far);
+    this.testEnvironment.add(middle);
+    this.testEnvironment.add(near);
+
+    assertEquals(List.of(near, middle), this.testEnvironment.findNearestEntities(new Point2D.Double(0, 0), 2));
+    assertEquals(List.of(near, middle, far), this.testEnvironment.findNearestEntities(new Point2D.Double(0, 0), 5));
+    assertTrue(this.testEnvironment.findNearestEntities(new Point2D.Double(0, 0), 0).isEmpty());
+  }
+
+  @Test
+  void testFindNearestCombatEntities() {
+    CombatEntity near = new CombatEntity();
+    near.setSize(10, 10);
+    near.setLocation(20, 20);
+    CombatEntity far = new CombatEntity();
+    far.setSize(10, 10);
+    far.setLocation(500, 500);
+    this.testEnvironment.add(new MapArea(0, 0, 10, 10));
+    this.testEnvironment.add(near);
+    this.testEnvironment.add(far);
+
+    assertEquals(List.of(near), this.testEnvironment.findNearestCombatEntities(new Point2D.Double(0, 0), 1, e -> true));
+    assertEquals(List.of(far), this.testEnvironment.findNearestCombatEntities(new Point2D.Double(0, 0), 1, e -> e != near));
+  }
+
   @Test
   void testLoading() {
     CollisionBox testCollider = new CollisionBox(true);
@@ -0,0 +1,179 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class TileLayerChunkCacheTests {
+  private IMap map;
+  private ITileLayer layer;
+  private ITile tile;
+
+  @BeforeEach
+  void setup() {
+    this.map = mock(IMap.class);
+    when(this.map.getOrientation()).thenReturn(MapOrientations.ORTHOGONAL);
+    when(this.map.getRenderOrder()).thenReturn(RenderOrder.RIGHT_DOWN);
+    when(this.map.getTileWidth()).thenReturn(16);
+    when(this.map.getTileHeight()).thenReturn(16);
+    when(this.map.getTileSize()).thenReturn(new Dimension(16, 16));
+    when(this.map.getWidth()).thenReturn(64);
+    when(this.map.getHeight()).thenReturn(64);
+
+    this.tile = mock(ITile.class, RETURNS_DEEP_STUBS);
+    when(this.tile.getTilesetEntry().getTileset().getTileOffset()).thenReturn(null);
+    when(this.tile.getTilesetEntry().getAnimation()).thenReturn(null);
+    when(this.tile.getImage()).thenReturn(image(Color.RED));
+
+    this.layer = mock(ITileLayer.class);
+    when(this.layer.getTile(anyInt(), anyInt())).thenReturn(this.tile);
+    when(this.layer.getMap()).thenReturn(this.map);
+  }
+
+  @Test
+  void testInvalidChunkSize() {
+    assertThrows(IllegalArgumentException.class, () -> new TileLayerChunkCache(0));
+  }
+
+  @Test
+  void testChunksAreReused() {
+    // arrange
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    render(cache, viewport);
+
+    // act
+    when(this.tile.getImage()).thenReturn(image(Color.BLUE));
+    BufferedImage result = render(cache, viewport);
+
+    // assert
+    assertEquals(4, cache.size());
+    assertEquals(Color.RED.getRGB(), result.getRGB(50, 50));
+  }
+
+  @Test
+  void testSetTileInvalidatesChunk() {
+    // arrange
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 100, 100);
+    render(cache, viewport);
+
+    ArgumentCaptor<ITileLayer.TileChangedListener> listener = ArgumentCaptor.forClass(ITileLayer.TileChangedListener.class);
+    verify(this.layer).onTileChanged(listener.capture());
+
+    // act
+    when(this.tile.getImage()).thenReturn(image(Color.BLUE));
+    listener.getValue().tileChanged(this.layer, 5, 5);
+    BufferedImage result = render(cache, viewport);
+
+    // assert
+    assertEquals(Color.BLUE.getRGB(), result.getRGB(85, 85));
+    assertEquals(Color.RED.getRGB(), result.getRGB(10, 10));
+  }
+
+  @Test
+  void testAnimationFrameChangeInvalidatesChunk() {
+    // arrange
+    ITileAnimation animation = mock(ITileAnimation.class);
+    ITileAnimationFrame first = mock(ITileAnimationFrame.class);
+    ITileAnimationFrame second = mock(ITileAnimationFrame.class);
+    when(animation.getFrames()).thenReturn(List.of(first, second));
+    when(animation.getCurrentFrame()).thenReturn(first);
+    when(this.tile.getTilesetEntry().getAnimation()).thenReturn(animation);
+
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 32, 32);
+    render(cache, viewport);
+
+    // act
+    when(animation.getCurrentFrame()).thenReturn(second);
+    when(this.tile.getImage()).thenReturn(image(Color.BLUE));
+    BufferedImage result = render(cache, viewport);
+
+    // assert
+    assertEquals(Color.BLUE.getRGB(), result.getRGB(10, 10));
+  }
+
+  @Test
+  void testEvictsLeastRecentlyUsedChunks() {
+    // arrange
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    cache.setMaxBytes(64 * 64 * 4 * 2L);
+
+    // act
+    for (int i = 0; i < 10; i++) {
+      render(cache, new Rectangle2D.Double(i * 64.0, 0, 64, 64));
+    }
+
+    // assert
+    assertEquals(2, cache.size());
+    assertTrue(cache.getBytes() <= 64 * 64 * 4 * 2L);
+  }
+
+  @Test
+  void testLayoutChangeDiscardsChunks() {
+    // arrange
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    Rectangle2D viewport = new Rectangle2D.Double(0, 0, 64, 64);
+    render(cache, viewport);
+
+    // act
+    when(this.map.getTileWidth()).thenReturn(32);
+    when(this.tile.getImage()).thenReturn(image(Color.BLUE));
+    BufferedImage result = render(cache, viewport);
+
+    // assert
+    assertEquals(1, cache.size());
+    assertEquals(Color.BLUE.getRGB(), result.getRGB(10, 10));
+  }
+
+  @Test
+  void testInvalidateReleasesChunksOfLayer() {
+    // arrange
+    TileLayerChunkCache cache = new TileLayerChunkCache(64);
+    render(cache, new Rectangle2D.Double(0, 0, 100, 100));
+
+    ArgumentCaptor<ITileLayer.TileChangedListener> listener = ArgumentCaptor.forClass(ITileLayer.TileChangedListener.class);
+    verify(this.layer).onTileChanged(listener.capture());
+
+    // act
+    cache.invalidate(this.layer);
+
+    // assert
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getBytes());
+    verify(this.layer).removeTileChangedListener(listener.getValue());
+  }
+
+  private BufferedImage render(TileLayerChunkCache cache, Rectangle2D viewport) {
+    BufferedImage target = new BufferedImage((int) viewport.getWidth(), (int) viewport.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = target.createGraphics();
+    cache.render(g, this.layer, this.map, viewport);
+    g.dispose();
+    return target;
+  }
+
+  private static BufferedImage image(Color color) {
+    BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(color);
+    g.fillRect(0, 0, 16, 16);
+    g.dispose();
+    return image;
+  }
+}
@@ -0,0 +1,117 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class VisibleTileRangeTests {
+
+  @ParameterizedTest
+  @MethodSource("getMaps")
+  void testRangeContainsAllVisibleTiles(IMap map) {
+    // arrange
+    Random rand = new Random(42);
+    int tallTileHeight = map.getTileHeight() * 4;
+    Insets margins = new Insets(0, tallTileHeight, tallTileHeight, 0);
+    Dimension size = map.getOrientation().getSize(map);
+    Point[][] anchors = new Point[map.getHeight()][map.getWidth()];
+    for (int y = 0; y < map.getHeight(); y++) {
+      for (int x = 0; x < map.getWidth(); x++) {
+        anchors[y][x] = map.getOrientation().getLocation(x, y, map);
+      }
+    }
+
+    for (int i = 0; i < 200; i++) {
+      Rectangle2D viewport = new Rectangle2D.Double(
+          rand.nextInt(size.width + 200) - 100,
+          rand.nextInt(size.height + 200) - 100,
+          1 + rand.nextInt(160),
+          1 + rand.nextInt(120));
+
+      // act
+      VisibleTileRange range = VisibleTileRange.of(map, viewport, margins);
+
+      // assert
+      for (int y = 0; y < anchors.length; y++) {
+        for (int x = 0; x < anchors[y].length; x++) {
+          Point anchor = anchors[y][x];
+          if (viewport.intersects(anchor.x, anchor.y - tallTileHeight, tallTileHeight, tallTileHeight)) {
+            assertTrue(range.contains(x, y), "tile " + x + "," + y + " is visible in " + viewport);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void testRangeIsClippedToViewport() {
+    // arrange
+    IMap map = mockMap(MapOrientations.ORTHOGONAL, 16, 16, null, null, 0);
+
+    // act
+    VisibleTileRange range = VisibleTileRange.of(map, new Rectangle2D.Double(160, 320, 64, 32), new Insets(0, 0, 0, 0));
+
+    // assert
+    assertTrue(range.getMinRow() >= 18 && range.getMaxRow() <= 23);
+    assertTrue(range.getMinColumn(20) >= 8 && range.getMaxColumn(20) <= 14);
+  }
+
+  @Test
+  void testDrawMarginsConsiderTilesets() {
+    // arrange
+    IMap map = mockMap(MapOrientations.ORTHOGONAL, 16, 16, null, null, 0);
+    ITileset tileset = mock(ITileset.class);
+    ITileOffset offset = mock(ITileOffset.class);
+    when(offset.getX()).thenReturn(-4);
+    when(offset.getY()).thenReturn(8);
+    when(tileset.getTileWidth()).thenReturn(32);
+    when(tileset.getTileHeight()).thenReturn(64);
+    when(tileset.getTileOffset()).thenReturn(offset);
+    when(map.getTilesets()).thenReturn(List.of(tileset));
+
+    // act
+    Insets margins = MapRenderer.getDrawMargins(map);
+
+    // assert
+    assertEquals(new Insets(8, 64, 64, 4), margins);
+  }
+
+  private static Stream<Arguments> getMaps() {
+    return Stream.of(
+        Arguments.of(mockMap(MapOrientations.ORTHOGONAL, 9, 13, null, null, 0)),
+        Arguments.of(mockMap(MapOrientations.ISOMETRIC, 10, 14, null, null, 0)),
+        Arguments.of(mockMap(MapOrientations.ISOMETRIC_STAGGERED, 10, 14, StaggerAxis.X, StaggerIndex.ODD, 0)),
+        Arguments.of(mockMap(MapOrientations.ISOMETRIC_STAGGERED, 10, 14, StaggerAxis.Y, StaggerIndex.EVEN, 0)),
+        Arguments.of(mockMap(MapOrientations.HEXAGONAL, 14, 12, StaggerAxis.X, StaggerIndex.EVEN, 6)),
+        Arguments.of(mockMap(MapOrientations.HEXAGONAL, 14, 12, StaggerAxis.Y, StaggerIndex.ODD, 4)));
+  }
+
+  private static IMap mockMap(IMapOrientation orientation, int tileWidth, int tileHeight, StaggerAxis axis, StaggerIndex index,
+      int hexSide) {
+    IMap map = mock(IMap.class);
+    when(map.getOrientation()).thenReturn(orientation);
+    when(map.getStaggerAxis()).thenReturn(axis);
+    when(map.getStaggerIndex()).thenReturn(index);
+    when(map.getHexSideLength()).thenReturn(hexSide);
+    when(map.getTileWidth()).thenReturn(tileWidth);
+    when(map.getTileHeight()).thenReturn(tileHeight);
+    when(map.getTileSize()).thenReturn(new Dimension(tileWidth, tileHeight));
+    when(map.getWidth()).thenReturn(40);
+    when(map.getHeight()).thenReturn(50);
+    when(map.getSizeInTiles()).thenReturn(new Dimension(40, 50));
+    return map;
+  }
+}
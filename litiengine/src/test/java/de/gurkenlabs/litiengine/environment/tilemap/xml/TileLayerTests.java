@@ -7,8 +7,11 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import de.gurkenlabs.litiengine.environment.tilemap.MapOrientations;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.io.XmlUtilities;
+import java.awt.Point;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class TileLayerTests {
@@ -24,6 +27,18 @@ class TileLayerTests {
     assertEquals(17, layer.getTile(2, 1).getGridId());
   }
 
+  @Test
+  void setTileNotifiesTileChangedListeners() {
+    TileLayer layer = new TileLayer(3, 2);
+    List<Point> changed = new ArrayList<>();
+    layer.onTileChanged((l, x, y) -> changed.add(new Point(x, y)));
+
+    layer.setTile(2, 1, 17);
+    layer.setTile(5, 5, 17);
+
+    assertEquals(List.of(new Point(2, 1)), changed);
+  }
+
   @Test
   void copiedLayerUsesOneDeeplyIsolatedTileGraph() {
     TileLayer original = new TileLayer(2, 1);
@@ -0,0 +1,90 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+
+class TileTests {
+
+  @Test
+  void unflippedTileReturnsTheEntryImage() {
+    BufferedImage image = createImage();
+    Tile tile = createTile(image, 0);
+
+    assertSame(image, tile.getImage());
+  }
+
+  @Test
+  void flippedImagesAreCachedPerFlipVariant() {
+    BufferedImage image = createImage();
+    TestTilesetEntry entry = new TestTilesetEntry(image);
+    Tile horizontal = createTile(entry, Tile.FLIPPED_HORIZONTALLY_FLAG);
+    Tile vertical = createTile(entry, Tile.FLIPPED_VERTICALLY_FLAG);
+
+    BufferedImage flipped = horizontal.getImage();
+
+    assertSame(flipped, horizontal.getImage());
+    assertSame(flipped, createTile(entry, Tile.FLIPPED_HORIZONTALLY_FLAG).getImage());
+    assertNotSame(flipped, vertical.getImage());
+  }
+
+  @Test
+  void flippedImagesAreRecreatedWhenTheBaseImageChanges() {
+    TestTilesetEntry entry = new TestTilesetEntry(createImage());
+    Tile tile = createTile(entry, Tile.FLIPPED_DIAGONALLY_FLAG);
+    BufferedImage flipped = tile.getImage();
+
+    entry.image = createImage();
+
+    assertNotSame(flipped, tile.getImage());
+  }
+
+  @Test
+  void flipMirrorsThePixels() {
+    BufferedImage image = createImage();
+
+    BufferedImage horizontal = createTile(image, Tile.FLIPPED_HORIZONTALLY_FLAG).getImage();
+    BufferedImage vertical = createTile(image, Tile.FLIPPED_VERTICALLY_FLAG).getImage();
+    BufferedImage diagonal = createTile(image, Tile.FLIPPED_DIAGONALLY_FLAG).getImage();
+
+    assertEquals(image.getRGB(0, 0), horizontal.getRGB(1, 0));
+    assertEquals(image.getRGB(0, 0), vertical.getRGB(0, 1));
+    assertEquals(image.getRGB(1, 0), diagonal.getRGB(0, 1));
+  }
+
+  private static Tile createTile(BufferedImage image, int flags) {
+    return createTile(new TestTilesetEntry(image), flags);
+  }
+
+  private static Tile createTile(TilesetEntry entry, int flags) {
+    Tile tile = new Tile();
+    tile.setGridId(1 | flags);
+    tile.setTilesetEntry(entry);
+    return tile;
+  }
+
+  private static BufferedImage createImage() {
+    BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+    image.setRGB(0, 0, 0xffff0000);
+    image.setRGB(1, 0, 0xff00ff00);
+    image.setRGB(0, 1, 0xff0000ff);
+    image.setRGB(1, 1, 0xffffffff);
+    return image;
+  }
+
+  private static class TestTilesetEntry extends TilesetEntry {
+    private BufferedImage image;
+
+    private TestTilesetEntry(BufferedImage image) {
+      this.image = image;
+    }
+
+    @Override
+    public BufferedImage getBasicImage() {
+      return this.image;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.entities.LightSource;
+import de.gurkenlabs.litiengine.entities.StaticShadow;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.geom.Area;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AmbientLightTests {
+  private final List<LightSource> lights = new ArrayList<>();
+  private final List<StaticShadow> shadows = new ArrayList<>();
+  private AmbientLight ambientLight;
+  private LightSource light;
+
+  @BeforeEach
+  void setup() {
+    IMap map = mock(IMap.class);
+    when(map.getSizeInPixels()).thenReturn(new Dimension(400, 400));
+    when(map.getBounds()).thenReturn(new Rectangle2D.Double(0, 0, 400, 400));
+    Environment environment = mock(Environment.class);
+    when(environment.getMap()).thenReturn(map);
+    when(environment.getLightSources()).thenReturn(this.lights);
+    when(environment.getStaticShadows()).thenReturn(this.shadows);
+
+    this.light = new LightSource(100, Color.WHITE, LightSource.Type.ELLIPSE, true);
+    this.light.setSize(100, 100);
+    this.light.setLocation(new Point2D.Double(50, 50));
+    this.lights.add(this.light);
+    this.shadows.add(new StaticShadow(90, 130, 20, 20, StaticShadowType.DOWN));
+
+    this.ambientLight = new AmbientLight(environment, Color.BLACK);
+  }
+
+  @Test
+  void testLitAreaIsCached() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    this.ambientLight.updateSection(new Rectangle2D.Double(0, 0, 400, 400));
+
+    assertSame(litArea, this.ambientLight.getLitArea(this.light));
+  }
+
+  @Test
+  void testShadowIsSubtracted() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    assertTrue(litArea.contains(100, 120));
+    // the shadow is cast away from the light's center
+    assertFalse(litArea.contains(100, 145));
+  }
+
+  @Test
+  void testMovedLightIsRecomputed() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    this.light.setLocation(new Point2D.Double(60, 50));
+
+    assertNotSame(litArea, this.ambientLight.getLitArea(this.light));
+  }
+
+  @Test
+  void testVisibilityShadowMode() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    this.light.setShadowMode(LightSource.ShadowMode.VISIBILITY);
+    Area visibleArea = this.ambientLight.getLitArea(this.light);
+
+    assertNotSame(litArea, visibleArea);
+    assertTrue(visibleArea.contains(100, 120));
+    assertTrue(visibleArea.contains(80, 140));
+    assertFalse(visibleArea.contains(100, 140));
+    assertFalse(visibleArea.contains(108, 148));
+  }
+
+  @Test
+  void testDynamicLightIsCompositedIntoTheFrame() {
+    LightSource torch = new LightSource(100, Color.WHITE, LightSource.Type.ELLIPSE, false);
+    torch.setSize(100, 100);
+    torch.setLocation(new Point2D.Double(250, 250));
+    torch.setDynamic(true);
+    this.lights.add(torch);
+    BufferedImage unlit = render(this.ambientLight);
+
+    torch.activate();
+    BufferedImage lit = render(this.ambientLight);
+
+    assertNotEquals(unlit.getRGB(300, 300), lit.getRGB(300, 300));
+    assertEquals(unlit.getRGB(380, 20), lit.getRGB(380, 20));
+  }
+
+  @Test
+  void testOnlyLightsNearChangedShadowsAreRecomputed() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    this.shadows.add(new StaticShadow(300, 300, 20, 20, StaticShadowType.DOWN));
+    this.ambientLight.updateSection(new Rectangle2D.Double(300, 300, 20, 20));
+    assertSame(litArea, this.ambientLight.getLitArea(this.light));
+
+    this.shadows.get(0).setLocation(new Point2D.Double(80, 130));
+    this.ambientLight.updateSection(new Rectangle2D.Double(80, 130, 30, 20));
+    assertNotSame(litArea, this.ambientLight.getLitArea(this.light));
+  }
+
+  @Test
+  void testRectangularLightIsOccludedInVisibilityShadowMode() {
+    this.lights.clear();
+    LightSource lamp = new LightSource(100, Color.WHITE, LightSource.Type.RECTANGLE, true);
+    lamp.setSize(100, 100);
+    lamp.setLocation(new Point2D.Double(50, 50));
+    this.lights.add(lamp);
+    BufferedImage unoccluded = render(this.ambientLight);
+
+    lamp.setShadowMode(LightSource.ShadowMode.VISIBILITY);
+    this.ambientLight.updateSection(lamp.getBoundingBox());
+    BufferedImage occluded = render(this.ambientLight);
+
+    assertEquals(unoccluded.getRGB(100, 120), occluded.getRGB(100, 120));
+    assertEquals(unoccluded.getRGB(100, 140), unoccluded.getRGB(100, 120));
+    // the shadow box blocks the light that would reach behind its edge
+    assertNotEquals(occluded.getRGB(100, 120), occluded.getRGB(100, 140));
+    assertEquals(occluded.getRGB(300, 300), occluded.getRGB(100, 140));
+  }
+
+  @Test
+  void testChangedShadowTypeOrOffsetIsRecomputed() {
+    Area litArea = this.ambientLight.getLitArea(this.light);
+
+    this.shadows.get(0).setShadowType(StaticShadowType.NONE);
+    this.ambientLight.updateSection(new Rectangle2D.Double(90, 130, 20, 20));
+    Area noShadowArea = this.ambientLight.getLitArea(this.light);
+    assertNotSame(litArea, noShadowArea);
+
+    this.shadows.get(0).setOffset(10);
+    this.ambientLight.updateSection(new Rectangle2D.Double(90, 130, 20, 20));
+    assertNotSame(noShadowArea, this.ambientLight.getLitArea(this.light));
+  }
+
+  private static BufferedImage render(AmbientLight ambientLight) {
+    BufferedImage frame = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = frame.createGraphics();
+    ambientLight.render(g, new Rectangle2D.Double(0, 0, 400, 400));
+    g.dispose();
+    return frame;
+  }
+}
@@ -1,6 +1,8 @@
 package de.gurkenlabs.litiengine.graphics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -11,29 +13,119 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class ColorLayerTests {
 
   @Test
   void updateSectionExpandsFractionalBoundsToWholePixels() {
-    IMap map = mock(IMap.class);
-    when(map.getSizeInPixels()).thenReturn(new Dimension(100, 100));
-    when(map.getBounds()).thenReturn(new Rectangle2D.Double(0, 0, 100, 100));
-    Environment environment = mock(Environment.class);
-    when(environment.getMap()).thenReturn(map);
-    TestColorLayer layer = new TestColorLayer(environment);
+    TestColorLayer layer = createLayer(100, 100);
+    render(layer, new Rectangle2D.Double(0, 0, 100, 100));
+    layer.renderedSections.clear();
 
     layer.updateSection(new Rectangle2D.Double(10.25, 20.75, 5.1, 7.1));
 
     Rectangle expected = new Rectangle(10, 20, 6, 8);
     assertEquals(expected, layer.clearedSection);
-    assertEquals(expected, layer.renderedSection);
+    assertEquals(List.of(expected), layer.renderedSections);
+  }
+
+  @Test
+  void tilesAreAllocatedWhenTheyBecomeVisible() {
+    TestColorLayer layer = createLayer(1000, 600);
+    assertEquals(0, layer.getAllocatedTileCount());
+
+    render(layer, new Rectangle2D.Double(200, 100, 100, 100));
+
+    assertEquals(2, layer.getAllocatedTileCount());
+    assertEquals(
+        List.of(new Rectangle(0, 0, 256, 256), new Rectangle(256, 0, 256, 256)),
+        layer.renderedSections);
+  }
+
+  @Test
+  void updateSectionOnlyRendersAllocatedTiles() {
+    TestColorLayer layer = createLayer(1000, 600);
+    render(layer, new Rectangle2D.Double(0, 0, 100, 100));
+    layer.renderedSections.clear();
+
+    layer.updateSection(new Rectangle2D.Double(200, 200, 100, 100));
+
+    assertEquals(List.of(new Rectangle(200, 200, 56, 56)), layer.renderedSections);
+  }
+
+  @Test
+  void updateSectionWithoutAllocatedTilesRendersNothing() {
+    TestColorLayer layer = createLayer(1000, 600);
+
+    layer.updateSection(new Rectangle2D.Double(0, 0, 1000, 600));
+
+    assertNull(layer.clearedSection);
+    assertEquals(0, layer.renderedSections.size());
+  }
+
+  @Test
+  void tilesAtTheMapEdgeAreClipped() {
+    TestColorLayer layer = createLayer(1000, 600);
+
+    render(layer, new Rectangle2D.Double(900, 500, 200, 200));
+
+    assertEquals(
+        List.of(new Rectangle(768, 256, 232, 256), new Rectangle(768, 512, 232, 88)),
+        layer.renderedSections);
+  }
+
+  @Test
+  void leastRecentlyVisibleTilesAreEvicted() {
+    TestColorLayer layer = createLayer(1024, 256);
+    layer.setMaxBytes(256 * 256 * 4 * 2L);
+
+    for (int column = 0; column < 4; column++) {
+      render(layer, new Rectangle2D.Double(column * 256.0, 0, 256, 256));
+    }
+
+    assertEquals(2, layer.getAllocatedTileCount());
+    assertEquals(256 * 256 * 4 * 2L, layer.getBytes());
+
+    // the evicted tile is rendered completely once it becomes visible again
+    layer.renderedSections.clear();
+    render(layer, new Rectangle2D.Double(0, 0, 256, 256));
+    assertEquals(List.of(new Rectangle(0, 0, 256, 256)), layer.renderedSections);
+  }
+
+  @Test
+  void visibleTilesAreNotEvicted() {
+    TestColorLayer layer = createLayer(1000, 600);
+    layer.setMaxBytes(0);
+
+    render(layer, new Rectangle2D.Double(200, 100, 100, 100));
+
+    assertEquals(2, layer.getAllocatedTileCount());
+    assertThrows(IllegalArgumentException.class, () -> layer.setMaxBytes(-1));
+  }
+
+  private static TestColorLayer createLayer(int width, int height) {
+    IMap map = mock(IMap.class);
+    when(map.getSizeInPixels()).thenReturn(new Dimension(width, height));
+    when(map.getBounds()).thenReturn(new Rectangle2D.Double(0, 0, width, height));
+    Environment environment = mock(Environment.class);
+    when(environment.getMap()).thenReturn(map);
+    return new TestColorLayer(environment);
+  }
+
+  private static void render(ColorLayer layer, Rectangle2D viewport) {
+    BufferedImage target = new BufferedImage((int) viewport.getWidth(), (int) viewport.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = target.createGraphics();
+    layer.render(g, viewport);
+    g.dispose();
   }
 
   private static class TestColorLayer extends ColorLayer {
+    private final List<Rectangle2D> renderedSections = new ArrayList<>();
     private Rectangle2D clearedSection;
-    private Rectangle2D renderedSection;
 
     private TestColorLayer(Environment environment) {
       super(environment, Color.BLACK);
@@ -41,7 +133,7 @@ class ColorLayerTests {
 
     @Override
     protected void renderSection(Graphics2D g, Rectangle2D section) {
-      renderedSection = section;
+      renderedSections.add(section);
     }
 
     @Override
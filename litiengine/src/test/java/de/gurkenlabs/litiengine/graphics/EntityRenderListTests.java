@@ -0,0 +1,234 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.entities.Entity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class EntityRenderListTests {
+
+  @Test
+  void testEntitiesAreSortedByY() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(30);
+    TestEntity b = new TestEntity(10);
+    TestEntity c = new TestEntity(20);
+
+    // act
+    list.add(a);
+    list.add(b);
+    list.add(c);
+
+    // assert
+    assertArrayEquals(new IEntity[] {b, c, a}, render(list, true));
+  }
+
+  @Test
+  void testMovedEntitiesAreReordered() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(10);
+    TestEntity b = new TestEntity(20);
+    TestEntity c = new TestEntity(30);
+    list.add(a);
+    list.add(b);
+    list.add(c);
+    render(list, true);
+
+    // act
+    a.setY(25);
+
+    // assert
+    assertArrayEquals(new IEntity[] {b, a, c}, render(list, true));
+  }
+
+  @Test
+  void testOrderIsStableForEqualY() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(10);
+    TestEntity b = new TestEntity(10);
+    TestEntity c = new TestEntity(5);
+    list.add(a);
+    list.add(b);
+    list.add(c);
+
+    // act
+    IEntity[] result = render(list, true);
+
+    // assert
+    assertArrayEquals(new IEntity[] {c, a, b}, result);
+  }
+
+  @Test
+  void testUnsortedKeepsOrder() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(30);
+    TestEntity b = new TestEntity(10);
+    list.add(a);
+    list.add(b);
+
+    // act, assert
+    assertArrayEquals(new IEntity[] {a, b}, render(list, false));
+  }
+
+  @Test
+  void testRemove() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(10);
+    TestEntity b = new TestEntity(20);
+    list.add(a);
+    list.add(b);
+
+    // act
+    boolean removed = list.remove(a);
+
+    // assert
+    assertTrue(removed);
+    assertFalse(list.remove(a));
+    assertFalse(list.contains(a));
+    assertEquals(1, list.size());
+    assertArrayEquals(new IEntity[] {b}, render(list, true));
+  }
+
+  @Test
+  void testAddTwice() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(10);
+
+    // act
+    list.add(a);
+    boolean added = list.add(a);
+
+    // assert
+    assertFalse(added);
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  void testGrowsBeyondInitialCapacity() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity[] entities = new TestEntity[100];
+    for (int i = 0; i < entities.length; i++) {
+      entities[i] = new TestEntity(entities.length - i);
+      list.add(entities[i]);
+    }
+
+    // act
+    IEntity[] result = render(list, true);
+
+    // assert
+    assertEquals(entities.length, result.length);
+    for (int i = 0; i < result.length; i++) {
+      assertEquals(entities[entities.length - 1 - i], result[i]);
+    }
+  }
+
+  @Test
+  void testOnlyEntitiesNearTheViewportAreRendered() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity[] entities = new TestEntity[5];
+    for (int i = 0; i < entities.length; i++) {
+      entities[i] = new TestEntity(i * 100);
+      list.add(entities[i]);
+    }
+
+    // act
+    IEntity[] result = render(list, new Rectangle2D.Double(0, 150, 100, 100));
+
+    // assert
+    assertArrayEquals(new IEntity[] {entities[2]}, result);
+  }
+
+  @Test
+  void testTallEntityReachingIntoTheViewportIsRendered() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity tall = new TestEntity(0);
+    tall.setHeight(300);
+    TestEntity below = new TestEntity(500);
+    list.add(tall);
+    list.add(below);
+
+    // act
+    IEntity[] result = render(list, new Rectangle2D.Double(0, 100, 100, 50));
+
+    // assert
+    assertArrayEquals(new IEntity[] {tall}, result);
+  }
+
+  @Test
+  void testEmittersAreAlwaysRenderedInOrder() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    Emitter above = new Emitter(0, -500);
+    Emitter below = new Emitter(0, 1000);
+    TestEntity visible = new TestEntity(200);
+    TestEntity hidden = new TestEntity(600);
+    list.add(below);
+    list.add(hidden);
+    list.add(visible);
+    list.add(above);
+
+    // act
+    IEntity[] result = render(list, new Rectangle2D.Double(0, 150, 100, 100));
+
+    // assert
+    assertArrayEquals(new IEntity[] {above, visible, below}, result);
+  }
+
+  @Test
+  void testUnsortedIsNotLimitedToTheViewport() {
+    // arrange
+    EntityRenderList list = new EntityRenderList();
+    TestEntity a = new TestEntity(500);
+    TestEntity b = new TestEntity(10);
+    list.add(a);
+    list.add(b);
+
+    // act
+    IEntity[] result;
+    synchronized (list.getRenderLock()) {
+      int count = list.prepareRendering(false, new Rectangle2D.Double(0, 0, 100, 100));
+      result = Arrays.copyOf(list.getRenderBuffer(), count);
+    }
+
+    // assert
+    assertArrayEquals(new IEntity[] {a, b}, result);
+  }
+
+  private static IEntity[] render(EntityRenderList list, boolean sort) {
+    synchronized (list.getRenderLock()) {
+      int count = list.prepareRendering(sort);
+      return Arrays.copyOf(list.getRenderBuffer(), count);
+    }
+  }
+
+  private static IEntity[] render(EntityRenderList list, Rectangle2D viewport) {
+    synchronized (list.getRenderLock()) {
+      int count = list.prepareRendering(true, viewport);
+      return Arrays.copyOf(list.getRenderBuffer(), count);
+    }
+  }
+
+  private static class TestEntity extends Entity {
+    TestEntity(double y) {
+      super();
+      this.setSize(10, 10);
+      this.setY(y);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FrameCaptureTests {
+  private final FrameCapture capture = new FrameCapture();
+
+  @Test
+  void testNoFrameIsCapturedByDefault() {
+    assertNull(this.capture.nextFrame(100, 100));
+    assertFalse(this.capture.isCapturing());
+  }
+
+  @Test
+  void testRawFramesAreHandedToTheConsumer() throws InterruptedException {
+    List<BufferedImage> frames = new CopyOnWriteArrayList<>();
+    this.capture.startCapture(1000, frames::add);
+
+    FrameCapture.Frame frame = this.capture.nextFrame(40, 30);
+    assertNotNull(frame);
+    assertEquals(0, frame.index());
+    this.capture.submit(frame);
+
+    assertTrue(this.capture.awaitPendingFrames(5, TimeUnit.SECONDS));
+    assertEquals(1, frames.size());
+    assertEquals(40, frames.get(0).getWidth());
+    assertEquals(30, frames.get(0).getHeight());
+    assertEquals(1, this.capture.getCapturedFrameCount());
+  }
+
+  @Test
+  void testFramesAreWrittenAsImageSequence(@TempDir Path directory) throws InterruptedException {
+    this.capture.startCapture(directory, 1000);
+
+    this.capture.submit(this.capture.nextFrame(20, 20));
+
+    assertTrue(this.capture.awaitPendingFrames(5, TimeUnit.SECONDS));
+    assertTrue(Files.exists(directory.resolve("frame-000000.png")));
+  }
+
+  @Test
+  void testFramesAreDroppedIfTooManyArePending() throws InterruptedException {
+    this.capture.setMaxPendingFrames(1);
+    this.capture.startCapture(1000, frame -> {
+    });
+
+    FrameCapture.Frame pending = this.capture.nextFrame(20, 20);
+    Thread.sleep(5);
+
+    assertNull(this.capture.nextFrame(20, 20));
+    assertEquals(1, this.capture.getDroppedFrameCount());
+
+    this.capture.submit(pending);
+    assertTrue(this.capture.awaitPendingFrames(5, TimeUnit.SECONDS));
+    Thread.sleep(5);
+
+    // the image of the processed frame is reused
+    assertSame(pending.image(), this.capture.nextFrame(20, 20).image());
+  }
+
+  @Test
+  void testDiscardedFrameIsReturnedToThePool() throws InterruptedException {
+    this.capture.setMaxPendingFrames(1);
+    this.capture.startCapture(1000, frame -> {
+    });
+
+    FrameCapture.Frame discarded = this.capture.nextFrame(20, 20);
+    this.capture.discard(discarded);
+    Thread.sleep(5);
+
+    assertEquals(0, this.capture.getPendingFrameCount());
+    assertEquals(0, this.capture.getCapturedFrameCount());
+    assertSame(discarded.image(), this.capture.nextFrame(20, 20).image());
+  }
+
+  @Test
+  void testStoppedCaptureDoesntCaptureFrames() {
+    this.capture.startCapture(1000, frame -> {
+    });
+    this.capture.stopCapture();
+
+    assertNull(this.capture.nextFrame(20, 20));
+  }
+
+  @Test
+  void testInvalidFrameRate() {
+    assertThrows(IllegalArgumentException.class, () -> this.capture.startCapture(0, frame -> {
+    }));
+  }
+}
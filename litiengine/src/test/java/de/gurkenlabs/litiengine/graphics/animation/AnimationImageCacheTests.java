@@ -0,0 +1,82 @@
+package de.gurkenlabs.litiengine.graphics.animation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import de.gurkenlabs.litiengine.graphics.ImageEffect;
+import de.gurkenlabs.litiengine.graphics.Spritesheet;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AnimationImageCacheTests {
+  private final Spritesheet spritesheet = mock(Spritesheet.class);
+
+  @Test
+  void testGetCachedImage() {
+    AnimationImageCache cache = new AnimationImageCache(AnimationImageCache.DEFAULT_MAX_BYTES, 4);
+    BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+
+    assertNull(cache.get(this.spritesheet, 1, 0, List.of(), 0, 0));
+    cache.put(this.spritesheet, 1, 0, List.of(effect("flash")), 0, 0, image);
+
+    assertSame(image, cache.get(this.spritesheet, 1, 0, List.of(effect("flash")), 0, 0));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(64, cache.getBytes());
+  }
+
+  @Test
+  void testImagesAreDistinguishedByKey() {
+    AnimationImageCache cache = new AnimationImageCache(AnimationImageCache.DEFAULT_MAX_BYTES, 4);
+    cache.put(this.spritesheet, 1, 0, List.of(effect("flash")), 0, 0, new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+
+    assertNull(cache.get(this.spritesheet, 2, 0, List.of(effect("flash")), 0, 0));
+    assertNull(cache.get(this.spritesheet, 1, 0, List.of(), 0, 0));
+    assertNull(cache.get(this.spritesheet, 1, 0, List.of(effect("flash"), effect("shadow")), 0, 0));
+    assertNull(cache.get(this.spritesheet, 1, 0, List.of(effect("flash")), 8, 8));
+    assertNull(cache.get(this.spritesheet, 1, 3, List.of(effect("flash")), 0, 0));
+    assertNull(cache.get(mock(Spritesheet.class), 1, 0, List.of(effect("flash")), 0, 0));
+    assertEquals(6, cache.getMissCount());
+  }
+
+  @Test
+  void testLeastRecentlyUsedImagesAreEvicted() {
+    AnimationImageCache cache = new AnimationImageCache(128, 4);
+    BufferedImage first = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+    BufferedImage second = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+    cache.put(this.spritesheet, 1, 0, List.of(), 0, 0, first);
+    cache.put(this.spritesheet, 2, 0, List.of(), 0, 0, second);
+    cache.get(this.spritesheet, 1, 0, List.of(), 0, 0);
+
+    cache.put(this.spritesheet, 3, 0, List.of(), 0, 0, new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    assertSame(first, cache.get(this.spritesheet, 1, 0, List.of(), 0, 0));
+    assertNull(cache.get(this.spritesheet, 2, 0, List.of(), 0, 0));
+  }
+
+  @Test
+  void testShrinkingTheLimitEvictsImages() {
+    AnimationImageCache cache = new AnimationImageCache(AnimationImageCache.DEFAULT_MAX_BYTES, 4);
+    cache.put(this.spritesheet, 1, 0, List.of(), 0, 0, new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+    cache.put(this.spritesheet, 2, 0, List.of(), 0, 0, new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB));
+
+    cache.setMaxBytes(64);
+
+    assertEquals(1, cache.size());
+    assertEquals(64, cache.getBytes());
+  }
+
+  private static ImageEffect effect(String name) {
+    return new ImageEffect(name) {
+      @Override
+      public BufferedImage apply(BufferedImage image) {
+        return image;
+      }
+    };
+  }
+}
@@ -0,0 +1,190 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameLoop;
+import de.gurkenlabs.litiengine.attributes.RangeAttribute;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.GameWorld;
+import de.gurkenlabs.litiengine.graphics.emitters.particles.Particle;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterAttributes;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+class EmitterSystemTests {
+  private MockedStatic<Game> gameMockedStatic;
+  private Environment environment;
+  private EmitterSystem system;
+  private long ticks;
+
+  @BeforeEach
+  void setup() throws ReflectiveOperationException {
+    this.ticks = 1;
+    // static mocks are only visible to the current thread but the particles are updated on the workers of the emitter system
+    GameLoop loop = mock(GameLoop.class);
+    when(loop.getTicks()).thenAnswer(invocation -> this.ticks);
+    when(loop.getTickRate()).thenReturn(100);
+    setGameLoop(loop);
+
+    this.system = new EmitterSystem();
+    this.environment = mock(Environment.class);
+    GameWorld world = mock(GameWorld.class);
+    when(world.environment()).thenReturn(this.environment);
+    when(world.emitters()).thenReturn(this.system);
+
+    this.gameMockedStatic = mockStatic(Game.class, CALLS_REAL_METHODS);
+    this.gameMockedStatic.when(Game::world).thenReturn(world);
+  }
+
+  @AfterEach
+  void teardown() throws ReflectiveOperationException {
+    this.system.setParallelism(0);
+    this.gameMockedStatic.close();
+    setGameLoop(null);
+  }
+
+  @Test
+  void testParallelUpdateEqualsSequentialUpdate() {
+    // arrange
+    List<Emitter> sequential = createEmitters(16, 0);
+    List<Emitter> parallel = createEmitters(16, 0);
+
+    // act
+    Game.random().setSeed(42);
+    for (int i = 0; i < 30; i++) {
+      sequential.forEach(Emitter::update);
+      this.ticks++;
+    }
+
+    this.ticks = 1;
+    this.system.setParallelism(4);
+    this.environmentContains(parallel);
+    Game.random().setSeed(42);
+    for (int i = 0; i < 30; i++) {
+      this.system.update();
+      // the emitters of the environment no longer update themselves
+      parallel.forEach(Emitter::update);
+      this.ticks++;
+    }
+
+    // assert
+    for (int i = 0; i < sequential.size(); i++) {
+      List<Particle> expected = sequential.get(i).getParticles();
+      List<Particle> actual = parallel.get(i).getParticles();
+      assertEquals(expected.size(), actual.size());
+      for (int j = 0; j < expected.size(); j++) {
+        assertEquals(expected.get(j).getX(), actual.get(j).getX());
+        assertEquals(expected.get(j).getY(), actual.get(j).getY());
+        assertEquals(expected.get(j).getColor(), actual.get(j).getColor());
+      }
+    }
+  }
+
+  @Test
+  void testFinishedListenersAreCalledInOrder() {
+    // arrange
+    List<Emitter> emitters = createEmitters(20, 50);
+    this.system.setParallelism(4);
+    this.environmentContains(emitters.reversed());
+    List<Emitter> finished = new ArrayList<>();
+    for (Emitter emitter : emitters) {
+      emitter.onFinished(finished::add);
+    }
+
+    // act
+    this.system.update();
+    this.ticks += 10;
+    this.system.update();
+    assertTrue(finished.isEmpty());
+    this.system.update();
+
+    // assert
+    assertEquals(emitters, finished);
+    for (Emitter emitter : emitters) {
+      assertFalse(emitter.isActivated());
+    }
+  }
+
+  @Test
+  void testEmittersWithTheSameMapIdAreOrderedByCreation() {
+    // arrange
+    List<Emitter> emitters = createEmitters(20, 50);
+    this.system.setParallelism(4);
+    this.environmentContains(emitters.reversed());
+    List<Emitter> finished = new ArrayList<>();
+    for (Emitter emitter : emitters) {
+      emitter.setMapId(0);
+      emitter.onFinished(finished::add);
+    }
+
+    // act
+    this.system.update();
+    this.ticks += 10;
+    this.system.update();
+    this.system.update();
+
+    // assert
+    assertEquals(emitters, finished);
+  }
+
+  @Test
+  void testOnlyEmittersOfTheEnvironmentAreManaged() {
+    // arrange
+    List<Emitter> emitters = createEmitters(2, 0);
+    this.environmentContains(emitters.subList(0, 1));
+
+    // act, assert
+    assertFalse(this.system.manages(emitters.get(0)));
+    this.system.setParallelism(2);
+    assertTrue(this.system.manages(emitters.get(0)));
+    assertFalse(this.system.manages(emitters.get(1)));
+    assertThrows(IllegalArgumentException.class, () -> this.system.setParallelism(-1));
+  }
+
+  private static void setGameLoop(GameLoop loop) throws ReflectiveOperationException {
+    Field gameLoop = Game.class.getDeclaredField("gameLoop");
+    gameLoop.setAccessible(true);
+    gameLoop.set(null, loop);
+  }
+
+  private void environmentContains(List<Emitter> emitters) {
+    Set<Emitter> environmentEmitters = new LinkedHashSet<>(emitters);
+    when(this.environment.getEmitters()).thenReturn(environmentEmitters);
+  }
+
+  private static List<Emitter> createEmitters(int count, int duration) {
+    List<Emitter> emitters = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      EmitterAttributes data = new EmitterAttributes();
+      data.initDefaults();
+      data.setEmitterDuration(duration);
+      data.setSpawnRate(0);
+      data.setSpawnAmount(10);
+      data.setMaxParticles(1000);
+      data.setVelocityX(new RangeAttribute<>(1f, -2f, 2f));
+      data.setVelocityY(new RangeAttribute<>(1f, -2f, 2f));
+
+      Emitter emitter = new Emitter(i * 10, 0, data);
+      emitter.setMapId(i + 1);
+      emitter.activate();
+      emitters.add(emitter);
+    }
+
+    return emitters;
+  }
+}
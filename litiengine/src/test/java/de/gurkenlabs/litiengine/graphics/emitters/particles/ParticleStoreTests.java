@@ -0,0 +1,272 @@
+package de.gurkenlabs.litiengine.graphics.emitters.particles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.GameTime;
+import de.gurkenlabs.litiengine.attributes.RangeAttribute;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterAttributes;
+import de.gurkenlabs.litiengine.physics.Collision;
+import de.gurkenlabs.litiengine.physics.CollisionBatch;
+import de.gurkenlabs.litiengine.physics.PhysicsEngine;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+class ParticleStoreTests {
+  private MockedStatic<Game> gameMockedStatic;
+  private long ticks;
+
+  @BeforeEach
+  void setup() {
+    this.ticks = 1;
+    GameTime time = mock(GameTime.class);
+    when(time.now()).thenAnswer(invocation -> this.ticks);
+    when(time.since(anyLong())).thenAnswer(invocation -> (this.ticks - (long) invocation.getArgument(0)) * 10);
+
+    this.gameMockedStatic = mockStatic(Game.class, CALLS_REAL_METHODS);
+    this.gameMockedStatic.when(Game::time).thenReturn(time);
+  }
+
+  @AfterEach
+  void teardown() {
+    this.gameMockedStatic.close();
+  }
+
+  @Test
+  void testSpawnEqualsParticleInit() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.ELLIPSE, 1000);
+    ParticleStore store = new ParticleStore();
+
+    // act
+    int index = store.spawn(data);
+    Particle particle = store.load(index);
+
+    // assert
+    Particle expected = new EllipseParticle(4, 6).init(data);
+    assertInstanceOf(EllipseParticle.class, particle);
+    assertParticleEquals(expected, particle);
+  }
+
+  @Test
+  void testUpdateEqualsParticleUpdate() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.RECTANGLE, 1000);
+    ParticleStore store = new ParticleStore();
+    store.spawn(data);
+    Particle expected = new RectangleParticle(4, 6).init(data);
+    Point2D origin = new Point2D.Double(100, 100);
+
+    // act
+    for (int i = 0; i < 20; i++) {
+      store.update(origin, 0.5f);
+      expected.update(origin, 0.5f);
+      this.ticks++;
+    }
+
+    // assert
+    assertParticleEquals(expected, store.load(0));
+    assertEquals(expected.getAliveTime(), store.load(0).getAliveTime());
+    assertEquals(expected.getOpacity(), store.load(0).getOpacity());
+  }
+
+  @Test
+  void testDeadParticlesAreSwapRemoved() {
+    // arrange
+    ParticleStore store = new ParticleStore();
+    store.spawn(createData(ParticleType.RECTANGLE, 50));
+    store.spawn(createData(ParticleType.DIAMOND, 1000));
+    store.spawn(createData(ParticleType.LINE, 1000));
+    store.update(new Point2D.Double(), 1);
+
+    // act
+    this.ticks += 10;
+    store.update(new Point2D.Double(), 1);
+    // like particles of the emitter, dead particles are removed in the update after they died
+    store.update(new Point2D.Double(), 1);
+
+    // assert
+    assertEquals(2, store.size());
+    assertInstanceOf(LineParticle.class, store.load(0));
+    assertInstanceOf(PolygonParticle.class, store.load(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> store.load(2));
+  }
+
+  @Test
+  void testSlotsAreReused() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.RECTANGLE, 1000);
+    ParticleStore store = new ParticleStore();
+    for (int i = 0; i < 100; i++) {
+      store.spawn(data);
+    }
+
+    int capacity = store.capacity();
+
+    // act
+    store.clear();
+    for (int i = 0; i < 100; i++) {
+      store.spawn(data);
+    }
+
+    // assert
+    assertEquals(100, store.size());
+    assertEquals(capacity, store.capacity());
+  }
+
+  @Test
+  void testCollidingParticleStops() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.RECTANGLE, 1000);
+    data.setCollision(Collision.STATIC);
+    data.setFade(false);
+    data.setFadeOnCollision(true);
+    ParticleStore store = new ParticleStore();
+    store.spawn(data);
+    PhysicsEngine physicsEngine = mock(PhysicsEngine.class);
+    when(physicsEngine.collides(any(Rectangle2D.class), eq(Collision.STATIC))).thenReturn(true);
+    this.gameMockedStatic.when(Game::physics).thenReturn(physicsEngine);
+
+    // act
+    store.update(new Point2D.Double(), 1);
+    float x = store.load(0).getX();
+    this.ticks++;
+    store.update(new Point2D.Double(), 1);
+
+    // assert
+    assertEquals(x, store.load(0).getX());
+    assertEquals(3, x);
+    assertTrue(store.load(0).isFading());
+    assertTrue(store.load(0).isColliding());
+  }
+
+  @Test
+  void testRenderingDoesntOverwriteLoadedParticle() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.RECTANGLE, 1000);
+    ParticleStore store = new ParticleStore();
+    store.spawn(data);
+    data.setParticleOffsetX(new RangeAttribute<>(50f, 50f, 50f));
+    store.spawn(data);
+
+    // act
+    Particle particle = store.load(0);
+    store.render(mock(Graphics2D.class), new Point2D.Double(), new Rectangle2D.Double(1000, 1000, 1, 1));
+
+    // assert
+    assertEquals(3, particle.getX());
+  }
+
+  @Test
+  void testBatchedCollisionsEqualPhysicsQueries() {
+    // arrange
+    EmitterAttributes data = createData(ParticleType.RECTANGLE, 1000);
+    data.setCollision(Collision.STATIC);
+    data.setFade(false);
+    data.setFadeOnCollision(true);
+    ParticleStore batched = new ParticleStore();
+    ParticleStore queried = new ParticleStore();
+    for (int i = 0; i < 20; i++) {
+      float velocity = i * 0.2f;
+      data.setVelocityX(new RangeAttribute<>(velocity, velocity, velocity));
+      data.setVelocityY(new RangeAttribute<>(2 - velocity / 2, 2 - velocity / 2, 2 - velocity / 2));
+      batched.spawn(data);
+      queried.spawn(data);
+    }
+
+    CollisionBox box = new CollisionBox(20, 10, 5, 30);
+    Game.physics().add(box);
+    Point2D origin = new Point2D.Double();
+    CollisionBatch collisions = new CollisionBatch();
+
+    try {
+      // act
+      for (int i = 0; i < 20; i++) {
+        collisions.clear();
+        batched.includeCollisionArea(origin, 1, collisions);
+        collisions.gather(Game.physics());
+        batched.update(origin, 1, collisions);
+        queried.update(origin, 1);
+        this.ticks++;
+      }
+
+      // assert
+      assertTrue(collisions.size() > 0);
+      for (int i = 0; i < batched.size(); i++) {
+        Particle expected = queried.load(i);
+        float x = expected.getX();
+        float y = expected.getY();
+        boolean fading = expected.isFading();
+        Particle actual = batched.load(i);
+        assertEquals(x, actual.getX());
+        assertEquals(y, actual.getY());
+        assertEquals(fading, actual.isFading());
+      }
+    } finally {
+      Game.physics().clear();
+    }
+  }
+
+  @Test
+  void testUnsupportedType() {
+    assertFalse(ParticleStore.isSupported(ParticleType.TEXT));
+    assertFalse(ParticleStore.isSupported(ParticleType.SPRITE));
+    assertTrue(ParticleStore.isSupported(ParticleType.TRIANGLE));
+    assertThrows(IllegalArgumentException.class, () -> new ParticleStore().spawn(createData(ParticleType.TEXT, 1000)));
+  }
+
+  private static EmitterAttributes createData(ParticleType type, long timeToLive) {
+    EmitterAttributes data = new EmitterAttributes();
+    data.initDefaults();
+    data.setParticleType(type);
+    data.setParticleWidth(new RangeAttribute<>(4f, 4f, 4f));
+    data.setParticleHeight(new RangeAttribute<>(6f, 6f, 6f));
+    data.setParticleOffsetX(new RangeAttribute<>(3f, 3f, 3f));
+    data.setParticleOffsetY(new RangeAttribute<>(-2f, -2f, -2f));
+    data.setVelocityX(new RangeAttribute<>(1.5f, 1.5f, 1.5f));
+    data.setVelocityY(new RangeAttribute<>(-0.5f, -0.5f, -0.5f));
+    data.setAccelerationX(new RangeAttribute<>(0.1f, 0.1f, 0.1f));
+    data.setAccelerationY(new RangeAttribute<>(0.2f, 0.2f, 0.2f));
+    data.setDeltaWidth(new RangeAttribute<>(0.3f, 0.3f, 0.3f));
+    data.setDeltaHeight(new RangeAttribute<>(-0.1f, -0.1f, -0.1f));
+    data.setAngle(new RangeAttribute<>(10f, 10f, 10f));
+    data.setDeltaRotation(new RangeAttribute<>(2f, 2f, 2f));
+    data.setParticleTTL(new RangeAttribute<>(timeToLive, timeToLive, timeToLive));
+    data.setColors(Color.RED);
+    return data;
+  }
+
+  private static void assertParticleEquals(Particle expected, Particle actual) {
+    assertEquals(expected.getX(), actual.getX());
+    assertEquals(expected.getY(), actual.getY());
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    assertEquals(expected.getAngle(), actual.getAngle());
+    assertEquals(expected.getVelocityX(), actual.getVelocityX());
+    assertEquals(expected.getVelocityY(), actual.getVelocityY());
+    assertEquals(expected.getAccelerationX(), actual.getAccelerationX());
+    assertEquals(expected.getAccelerationY(), actual.getAccelerationY());
+    assertEquals(expected.getTimeToLive(), actual.getTimeToLive());
+    assertEquals(expected.getColor(), actual.getColor());
+    assertEquals(expected.isFading(), actual.isFading());
+    assertEquals(expected.getCollisionType(), actual.getCollisionType());
+  }
+}
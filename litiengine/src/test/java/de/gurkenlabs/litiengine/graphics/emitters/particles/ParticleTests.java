@@ -3,6 +3,7 @@ package de.gurkenlabs.litiengine.graphics.emitters.particles;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -19,6 +20,7 @@ import de.gurkenlabs.litiengine.test.GameTestSuite;
 import java.awt.Graphics2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 import org.junit.jupiter.api.AfterAll;
@@ -161,4 +163,26 @@ class ParticleTests {
     assertEquals(0.21f, part.getX(), 0.0001);
     assertEquals(0.21f, part.getY(), 0.0001);
   }
+
+  @ParameterizedTest
+  @CsvSource({"0", "30", "45", "90", "217"})
+  void testBoundingBoxIsWrittenToTheSpecifiedRectangle(float angle) {
+    Point2D origin = new Point2D.Double(10, 20);
+    Particle[] particles = {new RectangleParticle(8, 4), new PolygonParticle(8, 4, 5), new LineParticle(8, 4), new TextParticle("test"),
+      new EllipseParticle(8, 4)};
+
+    for (Particle part : particles) {
+      part.setX(3).setY(5).setAngle(angle);
+      Rectangle2D bounds = new Rectangle2D.Double();
+
+      Rectangle2D expected = part.getBoundingBox(origin);
+      assertSame(bounds, part.getBoundingBox(origin, bounds));
+
+      // the bounds of the rotated ellipse are exact while the shape bounds are based on its bezier curves
+      assertEquals(expected.getMinX(), bounds.getMinX(), 0.01);
+      assertEquals(expected.getMinY(), bounds.getMinY(), 0.01);
+      assertEquals(expected.getMaxX(), bounds.getMaxX(), 0.01);
+      assertEquals(expected.getMaxY(), bounds.getMaxY(), 0.01);
+    }
+  }
 }
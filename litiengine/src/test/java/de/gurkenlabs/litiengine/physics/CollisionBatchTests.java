@@ -0,0 +1,127 @@
+package de.gurkenlabs.litiengine.physics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CollisionBatchTests {
+  private CollisionBatch batch;
+
+  @BeforeEach
+  void setup() {
+    this.batch = new CollisionBatch();
+    Random random = new Random(7);
+    for (int i = 0; i < 200; i++) {
+      CollisionBox box = new CollisionBox(random.nextInt(1000), random.nextInt(1000), 1 + random.nextInt(30), 1 + random.nextInt(30));
+      box.setCollisionType(i % 2 == 0 ? Collision.STATIC : Collision.DYNAMIC);
+      Game.physics().add(box);
+    }
+  }
+
+  @AfterEach
+  void teardown() {
+    Game.physics().clear();
+  }
+
+  @Test
+  void testOnlyBoxesInAreaAreGathered() {
+    // arrange
+    this.batch.include(100, 100, 10, 50, 50);
+
+    // act
+    this.batch.gather(Game.physics());
+
+    // assert
+    assertEquals(new Rectangle2D.Double(90, 90, 70, 70), this.batch.getArea());
+    long expected = Game.physics().getCollisionEntities().stream().filter(e -> e.getCollisionBox().intersects(this.batch.getArea())).count();
+    assertTrue(expected > 0);
+    assertTrue(this.batch.size() >= expected);
+    assertTrue(this.batch.size() < Game.physics().getCollisionEntities().size());
+  }
+
+  @Test
+  void testRectangleCollisionsEqualPhysicsEngine() {
+    // arrange
+    this.batch.include(500, 500, 200, 0, 0);
+    this.batch.gather(Game.physics());
+    Random random = new Random(11);
+
+    for (int i = 0; i < 1000; i++) {
+      // act
+      Rectangle2D rect = new Rectangle2D.Double(320 + random.nextDouble() * 320, 320 + random.nextDouble() * 320, random.nextDouble() * 40,
+        random.nextDouble() * 40);
+
+      // assert
+      for (Collision collision : Collision.values()) {
+        assertEquals(Game.physics().collides(rect, collision), this.batch.collides(rect, collision));
+      }
+    }
+  }
+
+  @Test
+  void testLineCollisionsEqualPhysicsEngine() {
+    // arrange
+    this.batch.include(500, 500, 200, 0, 0);
+    this.batch.gather(Game.physics());
+    Random random = new Random(13);
+
+    for (int i = 0; i < 1000; i++) {
+      // act
+      double x = 320 + random.nextDouble() * 320;
+      double y = 320 + random.nextDouble() * 320;
+      Line2D line = new Line2D.Double(x, y, x + random.nextDouble() * 80 - 40, y + random.nextDouble() * 80 - 40);
+
+      // assert
+      for (Collision collision : Collision.values()) {
+        assertEquals(Game.physics().collides(line, collision),
+          this.batch.collides(line.getX1(), line.getY1(), line.getX2(), line.getY2(), collision));
+      }
+    }
+  }
+
+  @Test
+  void testChecksOutsideOfAreaAreDelegated() {
+    // arrange
+    CollisionBox box = new CollisionBox(2000, 2000, 10, 10);
+    Game.physics().add(box);
+    this.batch.include(0, 0, 10, 0, 0);
+
+    // act
+    this.batch.gather(Game.physics());
+
+    // assert
+    assertTrue(this.batch.collides(new Rectangle2D.Double(2005, 2005, 2, 2), Collision.ANY));
+    assertTrue(this.batch.collides(1990, 2005, 2020, 2005, Collision.ANY));
+    assertFalse(this.batch.collides(new Rectangle2D.Double(2005, 2020, 2, 2), Collision.ANY));
+  }
+
+  @Test
+  void testEnvironmentBoundsAreRespected() {
+    // arrange
+    Game.physics().setBounds(new Rectangle2D.Double(0, 0, 100, 100));
+    this.batch.include(100, 100, 20, 0, 0);
+
+    // act
+    this.batch.gather(Game.physics());
+
+    // assert
+    assertTrue(this.batch.collides(new Rectangle2D.Double(105, 105, 5, 5), Collision.NONE));
+  }
+
+  @Test
+  void testNothingCollidesWithoutGathering() {
+    // assert
+    assertFalse(this.batch.collides(new Rectangle2D.Double(0, 0, 1000, 1000), Collision.ANY));
+    assertFalse(this.batch.collides(0, 0, 1000, 1000, Collision.ANY));
+    assertEquals(0, this.batch.size());
+  }
+}
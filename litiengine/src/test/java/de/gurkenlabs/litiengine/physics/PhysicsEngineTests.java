@@ -16,12 +16,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(GameTestSuite.class)
 class PhysicsEngineTests {
@@ -238,6 +240,40 @@ class PhysicsEngineTests {
     assertNull(hit);
   }
 
+  @Test
+  void testGetCollisionEntitiesInArea() {
+    // arrange
+    ICollisionEntity first = new CollisionBox(0, 0, 10, 10);
+    ICollisionEntity second = new CollisionBox(5, 5, 10, 10);
+    ICollisionEntity adjacent = new CollisionBox(20, 0, 10, 10);
+    ICollisionEntity distant = new CollisionBox(500, 500, 10, 10);
+    Game.physics().add(second);
+    Game.physics().add(first);
+    Game.physics().add(adjacent);
+    Game.physics().add(distant);
+
+    // act
+    List<ICollisionEntity> entities = Game.physics().getCollisionEntities(new Rectangle2D.Double(8, 0, 12, 10));
+
+    // assert
+    assertEquals(List.of(second, first), entities);
+  }
+
+  @Test
+  void testGetCollisionEntitiesInAreaAfterMove() {
+    // arrange
+    CollisionBox box = new CollisionBox(0, 0, 10, 10);
+    Game.physics().add(box);
+    Rectangle2D area = new Rectangle2D.Double(200, 200, 10, 10);
+
+    // act
+    box.setLocation(195, 195);
+
+    // assert
+    assertEquals(List.of(box), Game.physics().getCollisionEntities(area));
+    assertTrue(Game.physics().getCollisionEntities(new Rectangle2D.Double(0, 0, 10, 10)).isEmpty());
+  }
+
   @SuppressWarnings("unused")
   private static Stream<Arguments> getRaycastCollisionArguments() {
     return Stream.of(Arguments.of(new Line2D.Double(3.5d, 3.5d, 10, 10), 7, 7), Arguments.of(new Line2D.Double(10, 10, 3.5, 3.5d), 8, 8));
@@ -0,0 +1,106 @@
+package de.gurkenlabs.litiengine.sound;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SoundBankTests {
+  private static final AudioFormat MONO = new AudioFormat(22050f, 16, 1, true, false);
+  private static final AudioFormat STEREO = new AudioFormat(44100f, 16, 2, true, false);
+
+  @TempDir
+  Path folder;
+
+  @Test
+  void testSoundsAreReadFromBank() throws Exception {
+    // arrange
+    Files.createDirectories(this.folder.resolve("audio/sfx"));
+    Files.write(this.folder.resolve("audio/sfx/bip.wav"), wav(MONO, 1, 2, 3));
+    Files.write(this.folder.resolve("audio/music.wav"), wav(STEREO, 4, 5, 6, 7));
+    Files.writeString(this.folder.resolve("audio/readme.txt"), "not a sound");
+    Path file = this.folder.resolve("audio" + SoundBank.FILE_EXTENSION);
+
+    // act
+    SoundBank.write(this.folder.resolve("audio"), file);
+    SoundBank bank = SoundBank.open(file);
+
+    // assert
+    assertEquals(2, bank.getSounds().size());
+    assertNull(bank.get("readme.txt"));
+
+    Sound bip = bank.get("sfx/bip.wav");
+    assertEquals("bip", bip.getName());
+    assertNull(bip.getRawData());
+    assertFalse(bip.isStreamed());
+    assertEquals(22050f, bip.getFormat().getSampleRate());
+    assertEquals(1, bip.getFormat().getChannels());
+    assertArrayEquals(new short[] {1, 2, 3}, samples(bip));
+
+    Sound music = bank.get("music.wav");
+    assertEquals(2, music.getFormat().getChannels());
+    assertArrayEquals(new short[] {4, 5, 6, 7}, samples(music));
+    try (InputStream stream = music.openStream()) {
+      assertEquals(8, stream.readAllBytes().length);
+    }
+  }
+
+  @Test
+  void testInvalidFileIsRejected() throws IOException {
+    // arrange
+    Path file = this.folder.resolve("invalid" + SoundBank.FILE_EXTENSION);
+    Files.write(file, new byte[32]);
+
+    // act, assert
+    assertThrows(IOException.class, () -> SoundBank.open(file));
+  }
+
+  @Test
+  void testStreamedSoundIsDecodedOnDemand() throws Exception {
+    // arrange
+    byte[] data = wav(MONO, 8, 9);
+
+    // act
+    Sound sound = new Sound(new ByteArrayInputStream(data), "streamed", true);
+
+    // assert
+    assertTrue(sound.isStreamed());
+    assertArrayEquals(data, sound.getRawData());
+    assertArrayEquals(new short[] {8, 9}, samples(sound));
+  }
+
+  private static byte[] wav(AudioFormat format, int... values) throws IOException {
+    ByteBuffer pcm = ByteBuffer.allocate(values.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+    for (int value : values) {
+      pcm.putShort((short) value);
+    }
+
+    ByteArrayOutputStream wav = new ByteArrayOutputStream();
+    AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm.array()), format, values.length / format.getChannels()),
+      AudioFileFormat.Type.WAVE, wav);
+    return wav.toByteArray();
+  }
+
+  private static short[] samples(Sound sound) {
+    short[] samples = new short[sound.getSamples().limit()];
+    sound.getSamples().get(0, samples);
+    return samples;
+  }
+}
@@ -0,0 +1,312 @@
+package de.gurkenlabs.litiengine.sound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Point2D;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SoundMixerTests {
+  private static final AudioFormat MONO = new AudioFormat(44100f, 16, 1, true, false);
+
+  private SoundMixer mixer;
+
+  @BeforeEach
+  void setup() {
+    this.mixer = new SoundMixer(SoundMixer.DEFAULT_FORMAT, 2);
+  }
+
+  @Test
+  void testRenderSilenceWithoutVoices() {
+    // arrange
+    byte[] buffer = new byte[64];
+    buffer[0] = 1;
+
+    // act
+    int written = this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertEquals(64, written);
+    for (short sample : samples(buffer, written)) {
+      assertEquals(0, sample);
+    }
+  }
+
+  @Test
+  void testVoicesAreSummed() throws Exception {
+    // arrange
+    SFXPlayback first = this.play(constant(1000, 100), 0);
+    SFXPlayback second = this.play(constant(2000, 100), 0);
+    byte[] buffer = new byte[40];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertEquals(2, this.mixer.getVoiceCount());
+    for (short sample : samples(buffer, buffer.length)) {
+      assertEquals(3000, sample);
+    }
+
+    assertTrue(first.isPlaying());
+    assertTrue(second.isPlaying());
+  }
+
+  @Test
+  void testVolumeAndPanAreApplied() throws Exception {
+    // arrange
+    SFXPlayback playback = new SFXPlayback(constant(1000, 100), () -> new Point2D.Double(0, 0), false, 100, 1f, this.mixer);
+    playback.start();
+    playback.updateLocation(new Point2D.Double(-10, 0));
+    playback.getVolumeControls().forEach(v -> v.set(1f));
+    playback.setVolume(0.5f);
+    playback.updateVolume();
+    byte[] buffer = new byte[8];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    short[] samples = samples(buffer, buffer.length);
+    // the source is right of the listener, so the left channel is muted
+    assertEquals(0, samples[0]);
+    assertEquals(500, samples[1]);
+    assertEquals(0, samples[2]);
+    assertEquals(500, samples[3]);
+  }
+
+  @Test
+  void testFinishedListenersAreCalledAtTheEnd() throws Exception {
+    // arrange
+    SFXPlayback playback = this.play(constant(1000, 10), 0);
+    List<String> events = new ArrayList<>();
+    playback.addSoundPlaybackListener(new SoundPlaybackListener() {
+      @Override
+      public void cancelled(SoundEvent event) {
+        events.add("cancelled");
+      }
+
+      @Override
+      public void finished(SoundEvent event) {
+        events.add("finished");
+      }
+    });
+    byte[] buffer = new byte[4 * 8];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+    assertTrue(events.isEmpty());
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertEquals(List.of("finished"), events);
+    assertFalse(playback.isPlaying());
+    assertEquals(0, this.mixer.getVoiceCount());
+    short[] samples = samples(buffer, buffer.length);
+    assertEquals(1000, samples[3]);
+    assertEquals(0, samples[4]);
+  }
+
+  @Test
+  void testLoopedVoicesWrapAround() throws Exception {
+    // arrange
+    SFXPlayback playback = this.play(constant(1000, 10), 0, true);
+    byte[] buffer = new byte[4 * 25];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertTrue(playback.isPlaying());
+    for (short sample : samples(buffer, buffer.length)) {
+      assertEquals(1000, sample);
+    }
+  }
+
+  @Test
+  void testStreamedVoicesAreDecodedWhileMixed() throws Exception {
+    // arrange
+    Sound sound = constant(1000, 10, true);
+    SFXPlayback playback = this.play(sound, 0, true);
+    byte[] buffer = new byte[4 * 25];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertTrue(sound.isStreamed());
+    assertTrue(playback.isPlaying());
+    for (short sample : samples(buffer, buffer.length)) {
+      assertEquals(1000, sample);
+    }
+  }
+
+  @Test
+  void testLowestPriorityVoiceIsStolen() throws Exception {
+    // arrange
+    SFXPlayback low = this.play(constant(1000, 100), 0);
+    SFXPlayback high = this.play(constant(2000, 100), 2);
+    List<SoundPlayback> cancelled = new ArrayList<>();
+    low.addSoundPlaybackListener(new SoundPlaybackListener() {
+      @Override
+      public void cancelled(SoundEvent event) {
+        cancelled.add(low);
+      }
+    });
+
+    // act
+    SFXPlayback medium = this.play(constant(3000, 100), 1);
+    SFXPlayback rejected = this.play(constant(4000, 100), 0);
+
+    // assert
+    assertEquals(List.of(low), cancelled);
+    assertFalse(low.isPlaying());
+    assertFalse(rejected.isPlaying());
+    assertTrue(high.isPlaying());
+    assertTrue(medium.isPlaying());
+    assertEquals(2, this.mixer.getVoiceCount());
+
+    byte[] buffer = new byte[4];
+    this.mixer.render(buffer, 0, buffer.length);
+    assertEquals(5000, samples(buffer, buffer.length)[0]);
+  }
+
+  @Test
+  void testReducingVoiceLimitStealsVoices() throws Exception {
+    // arrange
+    SFXPlayback low = this.play(constant(1000, 100), 0);
+    SFXPlayback high = this.play(constant(2000, 100), 1);
+
+    // act
+    this.mixer.setMaxVoices(1);
+
+    // assert
+    assertFalse(low.isPlaying());
+    assertTrue(high.isPlaying());
+    assertThrows(IllegalArgumentException.class, () -> this.mixer.setMaxVoices(0));
+  }
+
+  @Test
+  void testInaudibleVoicesAreVirtual() throws Exception {
+    // arrange
+    SFXPlayback audible = this.play(constant(1000, 100), 0);
+    SFXPlayback first = this.play(constant(2000, 100), 5, false, 0f);
+    SFXPlayback second = this.play(constant(3000, 100), 5, false, 0f);
+    byte[] buffer = new byte[8];
+
+    // act
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertEquals(3, this.mixer.getVoiceCount());
+    assertEquals(2, this.mixer.getVirtualVoiceCount());
+    assertTrue(audible.isPlaying());
+    assertTrue(first.isPlaying());
+    assertTrue(second.isPlaying());
+    for (short sample : samples(buffer, buffer.length)) {
+      assertEquals(1000, sample);
+    }
+  }
+
+  @Test
+  void testVirtualVoiceKeepsPosition() throws Exception {
+    // arrange
+    SFXPlayback playback = this.play(constant(1000, 10), 0, false, 0f);
+    byte[] buffer = new byte[4 * 8];
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // act
+    playback.setVolume(1f);
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    short[] samples = samples(buffer, buffer.length);
+    assertEquals(1000, samples[2]);
+    assertEquals(1000, samples[3]);
+    assertEquals(0, samples[4]);
+    assertFalse(playback.isPlaying());
+  }
+
+  @Test
+  void testAudibleVoicesBeyondLimitAreVirtual() throws Exception {
+    // arrange
+    SFXPlayback low = this.play(constant(1000, 100), 0);
+    SFXPlayback medium = this.play(constant(2000, 100), 1);
+    SFXPlayback high = this.play(constant(4000, 100), 2, false, 0f);
+    byte[] buffer = new byte[4];
+
+    // act
+    high.setVolume(1f);
+    this.mixer.render(buffer, 0, buffer.length);
+
+    // assert
+    assertEquals(6000, samples(buffer, buffer.length)[0]);
+    assertEquals(1, this.mixer.getVirtualVoiceCount());
+    assertTrue(low.isPlaying());
+
+    high.setVolume(0f);
+    this.mixer.render(buffer, 0, buffer.length);
+    assertEquals(3000, samples(buffer, buffer.length)[0]);
+  }
+
+  @Test
+  void testUnsupportedFormatIsRejected() {
+    AudioFormat format = new AudioFormat(44100f, 8, 2, true, false);
+    assertThrows(IllegalArgumentException.class, () -> new SoundMixer(format, 1));
+  }
+
+  private SFXPlayback play(Sound sound, int priority) {
+    return this.play(sound, priority, false);
+  }
+
+  private SFXPlayback play(Sound sound, int priority, boolean loop) {
+    return this.play(sound, priority, loop, 1f);
+  }
+
+  private SFXPlayback play(Sound sound, int priority, boolean loop, float volume) {
+    SFXPlayback playback = new SFXPlayback(sound, () -> null, loop, 0, 1f, this.mixer);
+    playback.setPriority(priority);
+    playback.setVolume(volume);
+    playback.start();
+    // ignore the sound volume of the configuration so that the samples are mixed unscaled
+    playback.getVolumeControls().forEach(v -> v.set(1f));
+    playback.setVolume(volume);
+    return playback;
+  }
+
+  private static Sound constant(int value, int frames) throws IOException, UnsupportedAudioFileException {
+    return constant(value, frames, false);
+  }
+
+  private static Sound constant(int value, int frames, boolean streamed) throws IOException, UnsupportedAudioFileException {
+    ByteBuffer pcm = ByteBuffer.allocate(frames * 2).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < frames; i++) {
+      pcm.putShort((short) value);
+    }
+
+    ByteArrayOutputStream wav = new ByteArrayOutputStream();
+    AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(pcm.array()), MONO, frames), AudioFileFormat.Type.WAVE, wav);
+    return new Sound(new ByteArrayInputStream(wav.toByteArray()), "constant" + value, streamed);
+  }
+
+  private static short[] samples(byte[] buffer, int length) {
+    short[] samples = new short[length / 2];
+    ByteBuffer.wrap(buffer, 0, length).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+    return samples;
+  }
+}
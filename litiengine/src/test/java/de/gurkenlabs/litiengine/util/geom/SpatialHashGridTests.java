@@ -0,0 +1,121 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialHashGridTests {
+
+  @Test
+  void testConstructorInvalidCellSize() {
+    // arrange, act, assert
+    assertThrows(IllegalArgumentException.class, () -> new SpatialHashGrid<String>(0));
+  }
+
+  @Test
+  void testQueryRectangle() {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>(10);
+    grid.add("a", new Rectangle2D.Double(0, 0, 5, 5));
+    grid.add("b", new Rectangle2D.Double(100, 100, 5, 5));
+
+    // act
+    List<String> result = query(grid, new Rectangle2D.Double(2, 2, 10, 10));
+
+    // assert
+    assertEquals(List.of("a"), result);
+  }
+
+  @Test
+  void testQueryReportsItemsSpanningMultipleCellsOnce() {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>(10, 4);
+    grid.add("large", new Rectangle2D.Double(0, 0, 95, 95));
+
+    // act
+    List<String> result = query(grid, new Rectangle2D.Double(10, 10, 50, 50));
+
+    // assert
+    assertEquals(List.of("large"), result);
+  }
+
+  @Test
+  void testUpdateMovesItem() {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>(10);
+    grid.add("a", new Rectangle2D.Double(0, 0, 5, 5));
+
+    // act
+    boolean updated = grid.update("a", new Rectangle2D.Double(200, 200, 5, 5));
+
+    // assert
+    assertTrue(updated);
+    assertTrue(query(grid, new Rectangle2D.Double(0, 0, 5, 5)).isEmpty());
+    assertEquals(List.of("a"), query(grid, new Rectangle2D.Double(201, 201, 1, 1)));
+  }
+
+  @Test
+  void testUpdateUnknownItem() {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>();
+
+    // act, assert
+    assertFalse(grid.update("a", new Rectangle2D.Double(0, 0, 5, 5)));
+    assertEquals(0, grid.size());
+  }
+
+  @Test
+  void testRemove() {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>(10);
+    grid.add("a", new Rectangle2D.Double(0, 0, 5, 5));
+
+    // act
+    boolean removed = grid.remove("a");
+
+    // assert
+    assertTrue(removed);
+    assertFalse(grid.contains("a"));
+    assertTrue(query(grid, new Rectangle2D.Double(0, 0, 5, 5)).isEmpty());
+  }
+
+  @ParameterizedTest(name = "testQueryLine x1={0}, y1={1}, x2={2}, y2={3}, expected={4}")
+  @CsvSource({
+    "0, 0, 1000, 1000, a;b",
+    "1000, 1000, 0, 0, a;b",
+    "0, 100, 1000, 100, ''",
+    "-5000, -5000, 5000, 5000, a;b",
+    "0, 900, 900, 0, c"
+  })
+  void testQueryLine(double x1, double y1, double x2, double y2, String expected) {
+    // arrange
+    SpatialHashGrid<String> grid = new SpatialHashGrid<>(10);
+    grid.add("a", new Rectangle2D.Double(50, 50, 5, 5));
+    grid.add("b", new Rectangle2D.Double(500, 500, 40, 40));
+    grid.add("c", new Rectangle2D.Double(95, 795, 10, 10));
+
+    // act
+    List<String> result = new ArrayList<>();
+    grid.query(new Line2D.Double(x1, y1, x2, y2), result::add);
+    result.sort(String::compareTo);
+
+    // assert
+    assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split(";")), result);
+  }
+
+  private static List<String> query(SpatialHashGrid<String> grid, Rectangle2D area) {
+    List<String> result = new ArrayList<>();
+    grid.query(area, result::add);
+    return result;
+  }
+}
@@ -0,0 +1,90 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisibilityPolygonTests {
+  private static final Point2D CENTER = new Point2D.Double(100, 100);
+  private static final Rectangle2D BOUNDS = new Rectangle2D.Double(0, 0, 200, 200);
+
+  @Test
+  void testWithoutOccludersCoversBounds() {
+    // act
+    Path2D polygon = VisibilityPolygon.compute(CENTER, BOUNDS, List.of());
+
+    // assert
+    Rectangle2D polygonBounds = polygon.getBounds2D();
+    assertEquals(0, polygonBounds.getMinX(), 0.001);
+    assertEquals(0, polygonBounds.getMinY(), 0.001);
+    assertEquals(200, polygonBounds.getMaxX(), 0.001);
+    assertEquals(200, polygonBounds.getMaxY(), 0.001);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"165, 100", "180, 95", "195, 60", "30, 30", "100, 170"})
+  void testOccludedPointsAreNotVisible(double x, double y) {
+    // act
+    Path2D polygon = VisibilityPolygon.compute(CENTER, BOUNDS, occluders());
+
+    // assert
+    assertFalse(polygon.contains(x, y));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"120, 100", "139, 100", "165, 120", "61, 61", "100, 140", "10, 190"})
+  void testUnoccludedPointsAreVisible(double x, double y) {
+    // act
+    Path2D polygon = VisibilityPolygon.compute(CENTER, BOUNDS, occluders());
+
+    // assert
+    assertTrue(polygon.contains(x, y));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"180, 100, false", "160, 75, false", "190, 140, false", "30, 180, false", "40, 190, false", "150, 60, true", "120, 100, true",
+    "60, 120, true"})
+  void testCrossingOccluders(double x, double y, boolean visible) {
+    // act
+    Path2D polygon = VisibilityPolygon.compute(CENTER, BOUNDS, crossingOccluders());
+
+    // assert
+    assertEquals(visible, polygon.contains(x, y));
+  }
+
+  @Test
+  void testOccluderContainingCenterIsIgnored() {
+    // act
+    Path2D polygon = VisibilityPolygon.compute(CENTER, BOUNDS, List.of(new Rectangle2D.Double(90, 90, 20, 20)));
+
+    // assert
+    assertTrue(polygon.contains(180, 180));
+  }
+
+  private static List<Rectangle2D> occluders() {
+    return List.of(
+      new Rectangle2D.Double(140, 90, 20, 20),
+      new Rectangle2D.Double(170, 60, 20, 80),
+      new Rectangle2D.Double(40, 40, 20, 20),
+      new Rectangle2D.Double(95, 150, 10, 10));
+  }
+
+  private static List<Shape> crossingOccluders() {
+    return List.of(
+      new Rectangle2D.Double(130, 90, 40, 20),
+      new Rectangle2D.Double(145, 70, 10, 60),
+      new Ellipse2D.Double(40, 130, 30, 30),
+      new Rectangle2D.Double(50, 140, 40, 10));
+  }
+}